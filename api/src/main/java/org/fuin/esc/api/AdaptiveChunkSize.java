@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.fuin.objects4j.common.Contract;
+
+import java.time.Duration;
+
+/**
+ * Chunk size for reading all events of a stream that adapts to the events read so far. The size is chosen so that a
+ * slice has roughly the target number of bytes and is read within the target latency. A slice never grows more than
+ * twice the previous size. If the event store does not provide the size of a slice, only the latency is used. Create
+ * a new instance for every read as the observations are specific to a stream.
+ */
+public final class AdaptiveChunkSize {
+
+    /** Weight of the latest observation for the moving averages. */
+    private static final double ALPHA = 0.5;
+
+    private final int minChunkSize;
+
+    private final int maxChunkSize;
+
+    private final long targetSliceBytes;
+
+    private final long targetSliceNanos;
+
+    private int chunkSize;
+
+    private double bytesPerEvent;
+
+    private double nanosPerEvent;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param minChunkSize       Minimum number of events to read at once. Used for the first slice.
+     * @param maxChunkSize       Maximum number of events to read at once.
+     * @param targetSliceBytes   Number of bytes a slice should have.
+     * @param targetSliceLatency Time it should take to read a slice.
+     */
+    public AdaptiveChunkSize(final int minChunkSize, final int maxChunkSize, final long targetSliceBytes,
+                             @NotNull final Duration targetSliceLatency) {
+        super();
+        Contract.requireArgMin("minChunkSize", minChunkSize, 1);
+        Contract.requireArgMin("maxChunkSize", maxChunkSize, minChunkSize);
+        Contract.requireArgMin("targetSliceBytes", targetSliceBytes, 1);
+        Contract.requireArgNotNull("targetSliceLatency", targetSliceLatency);
+        if (targetSliceLatency.isZero() || targetSliceLatency.isNegative()) {
+            throw new ConstraintViolationException("The argument 'targetSliceLatency' must be positive, but was: "
+                    + targetSliceLatency);
+        }
+        this.minChunkSize = minChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.targetSliceBytes = targetSliceBytes;
+        this.targetSliceNanos = targetSliceLatency.toNanos();
+        this.chunkSize = minChunkSize;
+        this.bytesPerEvent = -1;
+        this.nanosPerEvent = -1;
+    }
+
+    /**
+     * Returns the number of events to read with the next slice.
+     *
+     * @return Chunk size between the minimum and the maximum.
+     */
+    public synchronized int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Adjusts the chunk size with the result of a read slice.
+     *
+     * @param eventCount  Number of events read.
+     * @param sizeInBytes Number of bytes of the events read or -1 if unknown.
+     * @param nanos       Time it took to read the slice in nanoseconds.
+     */
+    public synchronized void update(final int eventCount, final long sizeInBytes, final long nanos) {
+        if (eventCount <= 0) {
+            // Nothing to learn from
+            return;
+        }
+        if (sizeInBytes >= 0) {
+            bytesPerEvent = average(bytesPerEvent, (double) sizeInBytes / eventCount);
+        }
+        nanosPerEvent = average(nanosPerEvent, (double) Math.max(nanos, 1) / eventCount);
+
+        double size = targetSliceNanos / nanosPerEvent;
+        if (bytesPerEvent > 0) {
+            size = Math.min(size, targetSliceBytes / bytesPerEvent);
+        }
+        size = Math.min(size, 2.0 * chunkSize);
+        chunkSize = (int) Math.max(minChunkSize, Math.min(maxChunkSize, size));
+    }
+
+    private static double average(final double current, final double value) {
+        if (current < 0) {
+            return value;
+        }
+        return ALPHA * value + (1 - ALPHA) * current;
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import javax.annotation.concurrent.Immutable;
+import java.time.Duration;
+
+/**
+ * Signals that an append waiting to be written together with the appends of other callers did not complete in time.
+ */
+@Immutable
+public final class AppendTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final StreamId streamId;
+
+    private final boolean outcomeUnknown;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param streamId
+     *            Unique name of the stream.
+     * @param timeout
+     *            Time waited for the append.
+     * @param outcomeUnknown
+     *            TRUE if the events were already handed over to the event store and may have been written.
+     */
+    public AppendTimeoutException(@NotNull final StreamId streamId, @NotNull final Duration timeout,
+                                  final boolean outcomeUnknown) {
+        super("Append to stream '" + streamId + "' did not complete within " + timeout
+                + (outcomeUnknown ? ": The events may have been written" : ": The events were not written"));
+        Contract.requireArgNotNull("streamId", streamId);
+        this.streamId = streamId;
+        this.outcomeUnknown = outcomeUnknown;
+    }
+
+    /**
+     * Returns the unique identifier of the stream.
+     *
+     * @return Stream the events should be appended to.
+     */
+    @NotNull
+    public StreamId getStreamId() {
+        return streamId;
+    }
+
+    /**
+     * Determines if the events may have been written.
+     *
+     * @return TRUE if the events were already handed over to the event store, FALSE if they were not written.
+     */
+    public boolean isOutcomeUnknown() {
+        return outcomeUnknown;
+    }
+
+}
@@ -0,0 +1,540 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Event store that caches the events read from the delegate. Events never change once they are appended, so a cached
+ * event stays valid as long as its stream is not deleted. Events are kept per stream and event number in a least
+ * recently used (LRU) cache that is limited by the number of bytes of the events. The size of an event is taken from
+ * {@link StreamEventsSlice#getSizeInBytes()} if the delegate provides it, otherwise a default size is used.<br>
+ * <br>
+ * {@link #readEvent(StreamId, long)} and {@link #readEventsForward(StreamId, long, int)} return cached events without
+ * calling the delegate. If only the beginning of the requested events is cached, only the remaining events are read
+ * from the delegate. A slice answered from the cache only reports the end of the stream if the last slice read from the
+ * delegate ended at the same event number and no events were appended with this event store since then. Deleting a
+ * stream with this event store removes its events from the cache, and events of a read that overlaps the deletion are
+ * not cached. Streams deleted or appended to by other clients are not detected as long as all requested events are
+ * cached. All other methods are directly forwarded to the delegate.
+ */
+public final class CachingEventStore implements EventStore {
+
+    private final EventStore delegate;
+
+    private final long maxBytes;
+
+    private final long defaultEventSize;
+
+    private final LinkedHashMap<Key, Entry> cache;
+
+    private final Map<String, StreamCache> streams;
+
+    private final LongAdder hits;
+
+    private final LongAdder misses;
+
+    private final LongAdder evictions;
+
+    private long sizeInBytes;
+
+    /**
+     * Constructor with all mandatory data.
+     *
+     * @param delegate         Delegate to read the events from.
+     * @param maxBytes         Maximum number of bytes of all cached events.
+     * @param defaultEventSize Number of bytes used for an event if the delegate does not provide the size.
+     */
+    public CachingEventStore(@NotNull final EventStore delegate, final long maxBytes, final long defaultEventSize) {
+        super();
+        Contract.requireArgNotNull("delegate", delegate);
+        Contract.requireArgMin("maxBytes", maxBytes, 1);
+        Contract.requireArgMin("defaultEventSize", defaultEventSize, 1);
+        this.delegate = delegate;
+        this.maxBytes = maxBytes;
+        this.defaultEventSize = defaultEventSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+        this.streams = new HashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    @Override
+    public CachingEventStore open() {
+        delegate.open();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public boolean isSupportsCreateStream() {
+        return delegate.isSupportsCreateStream();
+    }
+
+    @Override
+    public void createStream(final StreamId streamId) throws StreamAlreadyExistsException {
+        delegate.createStream(streamId);
+    }
+
+    @Override
+    public long appendToStream(final StreamId streamId, final long expectedVersion, final CommonEvent... events)
+            throws StreamNotFoundException, StreamDeletedException, WrongExpectedVersionException,
+            StreamReadOnlyException {
+        try {
+            return delegate.appendToStream(streamId, expectedVersion, events);
+        } finally {
+            forgetEndOfStream(streamId);
+        }
+    }
+
+    @Override
+    public long appendToStream(final StreamId streamId, final CommonEvent... events)
+            throws StreamNotFoundException, StreamDeletedException, StreamReadOnlyException {
+        try {
+            return delegate.appendToStream(streamId, events);
+        } finally {
+            forgetEndOfStream(streamId);
+        }
+    }
+
+    @Override
+    public long appendToStream(final StreamId streamId, final List<CommonEvent> events)
+            throws StreamNotFoundException, StreamDeletedException, StreamReadOnlyException {
+        try {
+            return delegate.appendToStream(streamId, events);
+        } finally {
+            forgetEndOfStream(streamId);
+        }
+    }
+
+    @Override
+    public long appendToStream(final StreamId streamId, final long expectedVersion, final List<CommonEvent> events)
+            throws StreamNotFoundException, StreamDeletedException, WrongExpectedVersionException,
+            StreamReadOnlyException {
+        try {
+            return delegate.appendToStream(streamId, expectedVersion, events);
+        } finally {
+            forgetEndOfStream(streamId);
+        }
+    }
+
+    @Override
+    public void deleteStream(final StreamId streamId, final long expectedVersion, final boolean hardDelete)
+            throws StreamDeletedException, WrongExpectedVersionException, StreamReadOnlyException {
+        try {
+            delegate.deleteStream(streamId, expectedVersion, hardDelete);
+        } finally {
+            invalidate(streamId);
+        }
+    }
+
+    @Override
+    public void deleteStream(final StreamId streamId, final boolean hardDelete)
+            throws StreamNotFoundException, StreamDeletedException, StreamReadOnlyException {
+        try {
+            delegate.deleteStream(streamId, hardDelete);
+        } finally {
+            invalidate(streamId);
+        }
+    }
+
+    @Override
+    public StreamEventsSlice readEventsForward(final StreamId streamId, final long start, final int count) {
+        Contract.requireArgNotNull("streamId", streamId);
+        Contract.requireArgMin("start", start, 0);
+        Contract.requireArgMin("count", count, 1);
+
+        final String stream = streamId.asString();
+        final List<CommonEvent> events = new ArrayList<>(count);
+        long cachedSize = 0;
+        final StreamCache streamCache;
+        synchronized (cache) {
+            for (long eventNumber = start; events.size() < count; eventNumber++) {
+                final Entry entry = cache.get(new Key(stream, eventNumber));
+                if (entry == null) {
+                    break;
+                }
+                events.add(entry.event());
+                cachedSize = (cachedSize < 0 || !entry.sizeKnown()) ? -1 : cachedSize + entry.size();
+            }
+            if (events.size() == count) {
+                hits.increment();
+                final long next = start + count;
+                final boolean endOfStream = streams.get(stream).endOfStream == next;
+                return new StreamEventsSlice(start, events, next, endOfStream, cachedSize);
+            }
+            streamCache = streamCache(stream);
+        }
+        misses.increment();
+
+        final long tailStart = start + events.size();
+        final StreamEventsSlice tail;
+        try {
+            tail = delegate.readEventsForward(streamId, tailStart, count - events.size());
+        } catch (final RuntimeException ex) {
+            if (ex instanceof StreamDeletedException) {
+                invalidate(streamId);
+            } else {
+                // Drops the stream's cache if it is still empty
+                put(stream, streamCache, tailStart, List.of(), -1);
+            }
+            throw ex;
+        }
+        synchronized (cache) {
+            streamCache.endOfStream = tail.isEndOfStream() ? tail.getNextEventNumber() : -1;
+        }
+        put(stream, streamCache, tailStart, tail.getEvents(), tail.getSizeInBytes());
+        if (events.isEmpty()) {
+            return tail;
+        }
+        events.addAll(tail.getEvents());
+        final long size = (cachedSize < 0 || tail.getSizeInBytes() < 0) ? -1 : cachedSize + tail.getSizeInBytes();
+        return new StreamEventsSlice(start, events, tail.getNextEventNumber(), tail.isEndOfStream(), size);
+    }
+
+    @Override
+    public StreamEventsSlice readEventsBackward(final StreamId streamId, final long start, final int count) {
+        return delegate.readEventsBackward(streamId, start, count);
+    }
+
+    @Override
+    public CommonEvent readEvent(final StreamId streamId, final long eventNumber) {
+        Contract.requireArgNotNull("streamId", streamId);
+
+        final String stream = streamId.asString();
+        final StreamCache streamCache;
+        synchronized (cache) {
+            final Entry entry = cache.get(new Key(stream, eventNumber));
+            if (entry != null) {
+                hits.increment();
+                return entry.event();
+            }
+            streamCache = streamCache(stream);
+        }
+        misses.increment();
+        final CommonEvent event;
+        try {
+            event = delegate.readEvent(streamId, eventNumber);
+        } catch (final RuntimeException ex) {
+            if (ex instanceof StreamDeletedException) {
+                invalidate(streamId);
+            } else {
+                // Drops the stream's cache if it is still empty
+                put(stream, streamCache, eventNumber, List.of(), -1);
+            }
+            throw ex;
+        }
+        put(stream, streamCache, eventNumber, List.of(event), -1);
+        return event;
+    }
+
+    @Override
+    public boolean streamExists(final StreamId streamId) {
+        return delegate.streamExists(streamId);
+    }
+
+    @Override
+    public StreamState streamState(final StreamId streamId) {
+        return delegate.streamState(streamId);
+    }
+
+    @Override
+    public void readAllEventsForward(final StreamId streamId, final long startingAtEventNumber, final int chunkSize,
+                                     final ChunkEventHandler handler) {
+        Contract.requireArgNotNull("handler", handler);
+        final Iterator<StreamEventsSlice> slices = new SliceIterator(streamId, startingAtEventNumber, chunkSize, null);
+        while (slices.hasNext()) {
+            handler.handle(slices.next());
+        }
+    }
+
+    /**
+     * Reads all events using the cache and adapts the chunk size to the slices returned by
+     * {@link #readEventsForward(StreamId, long, int)}, so slices answered from the cache let the chunk size grow.
+     */
+    @Override
+    public void readAllEventsForward(final StreamId streamId, final long startingAtEventNumber,
+                                     final AdaptiveChunkSize chunkSize, final ChunkEventHandler handler) {
+        Contract.requireArgNotNull("chunkSize", chunkSize);
+        Contract.requireArgNotNull("handler", handler);
+        final Iterator<StreamEventsSlice> slices = new SliceIterator(streamId, startingAtEventNumber,
+                chunkSize.getChunkSize(), chunkSize);
+        while (slices.hasNext()) {
+            handler.handle(slices.next());
+        }
+    }
+
+    @Override
+    public Stream<CommonEvent> streamAllEventsForward(final StreamId streamId, final long startingAtEventNumber,
+                                                      final int chunkSize) {
+        final Iterator<StreamEventsSlice> slices = new SliceIterator(streamId, startingAtEventNumber, chunkSize, null);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(slices,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .flatMap(slice -> slice.getEvents().stream());
+    }
+
+    /**
+     * Returns the number of reads that were answered from the cache only.
+     *
+     * @return Number of cache hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of reads that required a call to the delegate.
+     *
+     * @return Number of cache misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of events removed from the cache to stay within the maximum number of bytes.
+     *
+     * @return Number of evicted events.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of events currently cached.
+     *
+     * @return Number of events.
+     */
+    public int getEventCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Returns the number of bytes of all events currently cached.
+     *
+     * @return Size of the cache in bytes.
+     */
+    public long getSizeInBytes() {
+        synchronized (cache) {
+            return sizeInBytes;
+        }
+    }
+
+    /**
+     * Removes all events of a stream from the cache.
+     *
+     * @param streamId Stream to remove.
+     */
+    public void invalidate(@NotNull final StreamId streamId) {
+        Contract.requireArgNotNull("streamId", streamId);
+        final String stream = streamId.asString();
+        synchronized (cache) {
+            final StreamCache streamCache = streams.remove(stream);
+            if (streamCache == null) {
+                return;
+            }
+            for (final Long eventNumber : streamCache.events.keySet()) {
+                sizeInBytes -= cache.remove(new Key(stream, eventNumber)).size();
+            }
+        }
+    }
+
+    private void forgetEndOfStream(final StreamId streamId) {
+        synchronized (cache) {
+            final StreamCache streamCache = streams.get(streamId.asString());
+            if (streamCache != null) {
+                streamCache.endOfStream = -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the cache of a stream and creates it if it does not exist yet. A cache that is removed from the streams
+     * because the stream was invalidated is never used again, so it identifies the generation of the stream's cache.
+     * Must be called while holding the lock on the cache.
+     *
+     * @param stream Unique name of the stream.
+     * @return Current cache of the stream.
+     */
+    private StreamCache streamCache(final String stream) {
+        return streams.computeIfAbsent(stream, key -> new StreamCache());
+    }
+
+    private void put(final String stream, final StreamCache streamCache, final long firstEventNumber,
+                     final List<CommonEvent> events, final long totalSize) {
+        final boolean sizeKnown = totalSize >= 0 && !events.isEmpty();
+        final long eventSize = sizeKnown ? Math.max(1, totalSize / events.size()) : defaultEventSize;
+        synchronized (cache) {
+            if (streams.get(stream) != streamCache) {
+                // The stream was invalidated while reading
+                return;
+            }
+            long eventNumber = firstEventNumber;
+            for (final CommonEvent event : events) {
+                final Entry entry = new Entry(event, eventSize, sizeKnown);
+                final Entry old = cache.put(new Key(stream, eventNumber), entry);
+                if (old != null) {
+                    sizeInBytes -= old.size();
+                }
+                streamCache.events.put(eventNumber, entry);
+                sizeInBytes += eventSize;
+                eventNumber++;
+            }
+            final Iterator<Map.Entry<Key, Entry>> it = cache.entrySet().iterator();
+            while (sizeInBytes > maxBytes && it.hasNext()) {
+                final Key key = it.next().getKey();
+                it.remove();
+                remove(key);
+                evictions.increment();
+            }
+            if (streamCache.events.isEmpty()) {
+                streams.remove(stream, streamCache);
+            }
+        }
+    }
+
+    private void remove(final Key key) {
+        final StreamCache streamCache = streams.get(key.stream());
+        final Entry entry = streamCache.events.remove(key.eventNumber());
+        sizeInBytes -= entry.size();
+        if (streamCache.events.isEmpty()) {
+            streams.remove(key.stream());
+        }
+    }
+
+    /**
+     * Identifies an event.
+     *
+     * @param stream      Unique name of the stream.
+     * @param eventNumber Number of the event in the stream.
+     */
+    private record Key(String stream, long eventNumber) {
+    }
+
+    /**
+     * Cached event.
+     *
+     * @param event     Event.
+     * @param size      Number of bytes used for the event.
+     * @param sizeKnown {@literal true} if the size was provided by the delegate, {@literal false} if it is the default.
+     */
+    private record Entry(CommonEvent event, long size, boolean sizeKnown) {
+    }
+
+    /**
+     * Cached events of a single stream.
+     */
+    private static final class StreamCache {
+
+        /** Cached events by event number. */
+        private final NavigableMap<Long, Entry> events = new TreeMap<>();
+
+        /** Next event number of the last slice read that reached the end of the stream or -1 if unknown. */
+        private long endOfStream = -1;
+
+    }
+
+    /**
+     * Reads all non-empty slices of a stream using the cache.
+     */
+    private final class SliceIterator implements Iterator<StreamEventsSlice> {
+
+        private final StreamId streamId;
+
+        private final int chunkSize;
+
+        private final AdaptiveChunkSize adaptiveChunkSize;
+
+        private long sliceStart;
+
+        private boolean done;
+
+        private StreamEventsSlice next;
+
+        SliceIterator(final StreamId streamId, final long startingAtEventNumber, final int chunkSize,
+                      @Nullable final AdaptiveChunkSize adaptiveChunkSize) {
+            this.streamId = streamId;
+            this.chunkSize = chunkSize;
+            this.adaptiveChunkSize = adaptiveChunkSize;
+            this.sliceStart = startingAtEventNumber;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !done) {
+                final StreamEventsSlice slice;
+                final long started = System.nanoTime();
+                try {
+                    if (adaptiveChunkSize == null) {
+                        slice = readEventsForward(streamId, sliceStart, chunkSize);
+                    } else {
+                        slice = readEventsForward(streamId, sliceStart, adaptiveChunkSize.getChunkSize());
+                        adaptiveChunkSize.update(slice.getEvents().size(), slice.getSizeInBytes(),
+                                System.nanoTime() - started);
+                    }
+                } catch (final StreamNotFoundException ex) {
+                    // Nothing to read
+                    done = true;
+                    break;
+                }
+                done = slice.isEndOfStream();
+                sliceStart = slice.getNextEventNumber();
+                if (!slice.getEvents().isEmpty()) {
+                    next = slice;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public StreamEventsSlice next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final StreamEventsSlice slice = next;
+            next = null;
+            return slice;
+        }
+
+    }
+
+}
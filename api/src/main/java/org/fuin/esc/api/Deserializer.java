@@ -19,6 +19,12 @@ package org.fuin.esc.api;
 
 import jakarta.validation.constraints.NotNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
 /**
  * Serializes an object.
  */
@@ -43,4 +49,77 @@ public interface Deserializer {
      */
     <T> T unmarshal(@NotNull Object data, @NotNull SerializedDataType dataType, @NotNull EnhancedMimeType mimeType);
 
+    /**
+     * Determines whether {@link #unmarshal(Object, SerializedDataType, EnhancedMimeType)} accepts data of the given
+     * class. Every deserializer accepts <code>byte[]</code>. Implementations that also accept already parsed
+     * structures override this method, so callers can pass such a structure on instead of rendering it first.
+     * Deserializers that wrap another one must forward the call.
+     *
+     * @param dataClass
+     *            Class of the serialized object.
+     *
+     * @return {@literal true} if data of the given class can be unmarshalled directly.
+     */
+    default boolean supports(@NotNull final Class<?> dataClass) {
+        return byte[].class.equals(dataClass);
+    }
+
+    /**
+     * Converts the content of a stream into an object. Closing the stream is up to the caller, but implementations may
+     * close it after reading it to the end. The default
+     * implementation reads the stream into a byte array and passes it to
+     * {@link #unmarshal(Object, SerializedDataType, EnhancedMimeType)}. Implementations should override it to read
+     * directly from the stream.
+     *
+     * @param in
+     *            Stream with the serialized object.
+     * @param dataType
+     *            Unique name of the data type.
+     * @param mimeType
+     *            Type of the data in the stream.
+     *
+     * @return Deserialized object.
+     *
+     * @param <T>
+     *            Type the data is converted into.
+     */
+    default <T> T unmarshalStream(@NotNull final InputStream in, @NotNull final SerializedDataType dataType,
+                                  @NotNull final EnhancedMimeType mimeType) {
+        final byte[] data;
+        try {
+            data = in.readAllBytes();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Error reading serialized data of type '" + dataType + "'", ex);
+        }
+        return unmarshal(data, dataType, mimeType);
+    }
+
+    /**
+     * Converts the remaining bytes of a buffer into an object. The position of the buffer is not changed. Buffers
+     * backed by an accessible array are read without copying them using
+     * {@link #unmarshalStream(InputStream, SerializedDataType, EnhancedMimeType)}.
+     *
+     * @param buffer
+     *            Buffer with the serialized object between position and limit.
+     * @param dataType
+     *            Unique name of the data type.
+     * @param mimeType
+     *            Type of the data in the buffer.
+     *
+     * @return Deserialized object.
+     *
+     * @param <T>
+     *            Type the data is converted into.
+     */
+    default <T> T unmarshalBuffer(@NotNull final ByteBuffer buffer, @NotNull final SerializedDataType dataType,
+                                  @NotNull final EnhancedMimeType mimeType) {
+        if (buffer.hasArray()) {
+            return unmarshalStream(new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                    buffer.remaining()), dataType, mimeType);
+        }
+        final byte[] data = new byte[buffer.remaining()];
+        buffer.duplicate().get(data);
+        return unmarshal(data, dataType, mimeType);
+    }
+
 }
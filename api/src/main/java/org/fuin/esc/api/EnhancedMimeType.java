@@ -17,19 +17,29 @@
  */
 package org.fuin.esc.api;
 
+import jakarta.activation.MimeTypeParameterList;
 import jakarta.activation.MimeTypeParseException;
 import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
 
+import java.io.IOException;
+import java.io.ObjectInput;
 import java.nio.charset.Charset;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Enhances the {@link jakarta.activation.MimeType} class with convenience methods for accessing version and
- * encoding parameters. Equals and hash code are base on the {@link #toString()} method.
+ * encoding parameters. Equals and hash code are base on the {@link #toString()} method.<br>
+ * <br>
+ * Instances returned by the <code>create(..)</code> methods are canonical and immutable: The same string always
+ * returns the same instance without parsing it again, the string representation, hash code, base type and encoding
+ * are computed only once and trying to change the instance results in an {@link UnsupportedOperationException}.
+ * Instances created with a constructor behave like a normal {@link jakarta.activation.MimeType}.
  */
 public final class EnhancedMimeType extends jakarta.activation.MimeType {
 
@@ -39,6 +49,21 @@ public final class EnhancedMimeType extends jakarta.activation.MimeType {
     /** Encoding parameter name. */
     public static final String ENCODING = "encoding";
 
+    /** Maximum number of strings and canonical instances kept in the cache. */
+    static final int MAX_CACHE_SIZE = 1000;
+
+    private static final Map<String, EnhancedMimeType> CACHE = new ConcurrentHashMap<>();
+
+    private transient boolean frozen;
+
+    private transient String str;
+
+    private transient int hash;
+
+    private transient String baseType;
+
+    private transient Charset charset;
+
     /**
      * Default constructor for de-serialization.
      */
@@ -179,6 +204,9 @@ public final class EnhancedMimeType extends jakarta.activation.MimeType {
      */
     @Nullable
     public Charset getEncoding() {
+        if (frozen) {
+            return charset;
+        }
         final String parameter = getParameter(ENCODING);
         if (parameter == null) {
             return null;
@@ -214,6 +242,9 @@ public final class EnhancedMimeType extends jakarta.activation.MimeType {
      * @return True if they match.
      */
     public boolean matchEncoding(final EnhancedMimeType other) {
+        if (this == other) {
+            return true;
+        }
         return match(other) && Objects.equals(getEncoding(), other.getEncoding());
 
     }
@@ -224,15 +255,19 @@ public final class EnhancedMimeType extends jakarta.activation.MimeType {
      * @param str
      *            Contains base type, subtype, version and parameters.
      *
-     * @return New instance.
+     * @return Canonical instance.
      */
     @Nullable
     public static EnhancedMimeType create(@Nullable final String str) {
         if (str == null) {
             return null;
         }
+        final EnhancedMimeType cached = CACHE.get(str);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            return new EnhancedMimeType(str);
+            return canonical(str, new EnhancedMimeType(str));
         } catch (final MimeTypeParseException ex) {
             throw new RuntimeException("Failed to create versioned mime type: " + str, ex);
         }
@@ -247,7 +282,7 @@ public final class EnhancedMimeType extends jakarta.activation.MimeType {
      * @param sub
      *            Subtype.
      *
-     * @return New instance.
+     * @return Canonical instance.
      */
     @NotNull
     public static EnhancedMimeType create(@NotNull final String primary, @NotNull final String sub) {
@@ -265,7 +300,7 @@ public final class EnhancedMimeType extends jakarta.activation.MimeType {
      * @param encoding
      *            Encoding.
      *
-     * @return New instance.
+     * @return Canonical instance.
      */
     @NotNull
     public static EnhancedMimeType create(@NotNull final String primary, @NotNull final String sub,
@@ -286,7 +321,7 @@ public final class EnhancedMimeType extends jakarta.activation.MimeType {
      * @param version
      *            Version.
      *
-     * @return New instance.
+     * @return Canonical instance.
      */
     @NotNull
     public static EnhancedMimeType create(@NotNull final String primary, @NotNull final String sub,
@@ -308,20 +343,126 @@ public final class EnhancedMimeType extends jakarta.activation.MimeType {
      * @param parameters
      *            Additional parameters.
      *
-     * @return New instance.
+     * @return Canonical instance.
      */
     @NotNull
     public static EnhancedMimeType create(@NotNull final String primary, @NotNull final String sub,
                                           final Charset encoding, final String version, final Map<String, String> parameters) {
         try {
-            return new EnhancedMimeType(primary, sub, encoding, version, parameters);
+            return canonical(null, new EnhancedMimeType(primary, sub, encoding, version, parameters));
         } catch (final MimeTypeParseException ex) {
             throw new RuntimeException("Failed to create versioned mime type: " + primary + "/" + sub, ex);
         }
     }
 
+    /**
+     * Makes the instance immutable and returns the canonical instance with the same string representation.
+     * If the cache is full, the frozen instance itself is returned.
+     *
+     * @param key      String the instance was parsed from or {@literal null}.
+     * @param mimeType New instance.
+     *
+     * @return Canonical instance.
+     */
+    private static EnhancedMimeType canonical(@Nullable final String key, final EnhancedMimeType mimeType) {
+        mimeType.freeze();
+        if (CACHE.size() >= MAX_CACHE_SIZE) {
+            return mimeType;
+        }
+        final EnhancedMimeType existing = CACHE.putIfAbsent(mimeType.str, mimeType);
+        final EnhancedMimeType canonical = existing == null ? mimeType : existing;
+        if (key != null) {
+            CACHE.putIfAbsent(key, canonical);
+        }
+        return canonical;
+    }
+
+    private void freeze() {
+        baseType = super.getBaseType();
+        str = super.toString();
+        hash = str.hashCode();
+        charset = getEncoding();
+        frozen = true;
+    }
+
+    private void requireNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Instance is immutable: " + str);
+        }
+    }
+
+    @Override
+    public void setPrimaryType(final String primary) throws MimeTypeParseException {
+        requireNotFrozen();
+        super.setPrimaryType(primary);
+    }
+
+    @Override
+    public void setSubType(final String sub) throws MimeTypeParseException {
+        requireNotFrozen();
+        super.setSubType(sub);
+    }
+
+    @Override
+    public void setParameter(final String name, final String value) {
+        requireNotFrozen();
+        super.setParameter(name, value);
+    }
+
+    @Override
+    public void removeParameter(final String name) {
+        requireNotFrozen();
+        super.removeParameter(name);
+    }
+
+    /**
+     * Returns the parameters of the mime type. The list of a shared immutable instance is a copy, so changing it
+     * has no effect on the instance.
+     *
+     * @return Parameter list.
+     */
+    @Override
+    public MimeTypeParameterList getParameters() {
+        final MimeTypeParameterList parameters = super.getParameters();
+        if (!frozen) {
+            return parameters;
+        }
+        final MimeTypeParameterList copy = new MimeTypeParameterList();
+        final Enumeration<String> names = parameters.getNames();
+        while (names.hasMoreElements()) {
+            final String name = names.nextElement();
+            copy.set(name, parameters.get(name));
+        }
+        return copy;
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        requireNotFrozen();
+        super.readExternal(in);
+    }
+
+    @Override
+    public String getBaseType() {
+        if (frozen) {
+            return baseType;
+        }
+        return super.getBaseType();
+    }
+
+    @Override
+    public String toString() {
+        if (frozen) {
+            return str;
+        }
+        return super.toString();
+    }
+
     @Override
     public int hashCode() {
+        if (frozen) {
+            return hash;
+        }
         return toString().hashCode();
     }
 
@@ -337,6 +478,9 @@ public final class EnhancedMimeType extends jakarta.activation.MimeType {
             return false;
         }
         final EnhancedMimeType other = (EnhancedMimeType) obj;
+        if (frozen && other.frozen && hash != other.hash) {
+            return false;
+        }
         return toString().equals(other.toString());
     }
 
@@ -0,0 +1,424 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.validation.constraints.NotNull;
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+/**
+ * JDK Flight Recorder (JFR) events emitted by the event store implementations and serializers. All events are
+ * disabled by default and cost next to nothing unless they are enabled, for example with the settings profile
+ * {@value #SETTINGS} ({@code -XX:StartFlightRecording:settings=default,settings=/path/to/esc.jfc}) or with a
+ * recording created from {@link #configuration()}. Emitting code starts an event before the work and completes it
+ * afterward. The event data is only set if the event is enabled and exceeds the threshold:
+ * <pre>
+ * final EscJfrEvents.Append event = EscJfrEvents.Append.start();
+ * // ... do the work ...
+ * event.complete(streamId, events.size(), -1);
+ * </pre>
+ */
+public final class EscJfrEvents {
+
+    /** Classpath resource with a JFR settings profile that enables all events. */
+    public static final String SETTINGS = "/org/fuin/esc/api/esc.jfc";
+
+    private static final String CATEGORY = "Event Store Commons";
+
+    private EscJfrEvents() {
+        throw new UnsupportedOperationException("Creating instances of a utility class is not allowed.");
+    }
+
+    /**
+     * Returns the JFR settings profile {@value #SETTINGS} that enables all events of this library.
+     *
+     * @return Configuration to use with a {@link jdk.jfr.Recording}.
+     */
+    @NotNull
+    public static Configuration configuration() {
+        try (final InputStream in = EscJfrEvents.class.getResourceAsStream(SETTINGS)) {
+            if (in == null) {
+                throw new IllegalStateException("Resource not found: " + SETTINGS);
+            }
+            try (final Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return Configuration.create(reader);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Failed to read: " + SETTINGS, ex);
+        } catch (final ParseException ex) {
+            throw new IllegalStateException("Failed to parse: " + SETTINGS, ex);
+        }
+    }
+
+    /**
+     * Events appended to a stream.
+     */
+    @Name("org.fuin.esc.Append")
+    @Label("Append")
+    @Description("Events appended to a stream")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Append extends Event {
+
+        /** Unique name of the stream. */
+        @Label("Stream ID")
+        public String streamId;
+
+        /** Number of events appended. */
+        @Label("Event Count")
+        public int eventCount;
+
+        /** Number of serialized bytes appended or -1 if unknown. */
+        @Label("Size")
+        @DataAmount
+        public long bytes = -1;
+
+        /**
+         * Creates a new event and starts timing it.
+         *
+         * @return Started event.
+         */
+        public static Append start() {
+            final Append event = new Append();
+            event.begin();
+            return event;
+        }
+
+        /**
+         * Ends timing and commits the event if it's enabled.
+         *
+         * @param streamId   Stream the events were appended to.
+         * @param eventCount Number of events appended.
+         * @param bytes      Number of serialized bytes or -1 if unknown.
+         */
+        public void complete(final StreamId streamId, final int eventCount, final long bytes) {
+            end();
+            if (shouldCommit()) {
+                this.streamId = streamId.asString();
+                this.eventCount = eventCount;
+                this.bytes = bytes;
+                commit();
+            }
+        }
+
+    }
+
+    /**
+     * Slice of events read from a stream.
+     */
+    @Name("org.fuin.esc.ReadSlice")
+    @Label("Read Slice")
+    @Description("Slice of events read from a stream")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class ReadSlice extends Event {
+
+        /** Unique name of the stream. */
+        @Label("Stream ID")
+        public String streamId;
+
+        /** Number of the first event to read. */
+        @Label("Start")
+        public long start;
+
+        /** Direction of the read. */
+        @Label("Forward")
+        public boolean forward;
+
+        /** Number of events read. */
+        @Label("Event Count")
+        public int eventCount;
+
+        /** Number of serialized bytes read or -1 if unknown. */
+        @Label("Size")
+        @DataAmount
+        public long bytes = -1;
+
+        /**
+         * Creates a new event and starts timing it.
+         *
+         * @return Started event.
+         */
+        public static ReadSlice start() {
+            final ReadSlice event = new ReadSlice();
+            event.begin();
+            return event;
+        }
+
+        /**
+         * Ends timing and commits the event if it's enabled.
+         *
+         * @param streamId Stream the slice was read from.
+         * @param start    Number of the first event to read.
+         * @param forward  Direction of the read.
+         * @param slice    Slice read.
+         */
+        public void complete(final StreamId streamId, final long start, final boolean forward,
+                             final StreamEventsSlice slice) {
+            end();
+            if (shouldCommit()) {
+                this.streamId = streamId.asString();
+                this.start = start;
+                this.forward = forward;
+                this.eventCount = slice.getEvents().size();
+                this.bytes = slice.getSizeInBytes();
+                commit();
+            }
+        }
+
+    }
+
+    /**
+     * Object serialized.
+     */
+    @Name("org.fuin.esc.Serialize")
+    @Label("Serialize")
+    @Description("Object serialized by a serializer")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Serialize extends Event {
+
+        /** Serialized data type. */
+        @Label("Data Type")
+        public String dataType;
+
+        /** Mime type of the result. */
+        @Label("Mime Type")
+        public String mimeType;
+
+        /** Number of bytes created. */
+        @Label("Size")
+        @DataAmount
+        public long bytes = -1;
+
+        /**
+         * Creates a new event and starts timing it.
+         *
+         * @return Started event.
+         */
+        public static Serialize start() {
+            final Serialize event = new Serialize();
+            event.begin();
+            return event;
+        }
+
+        /**
+         * Ends timing and commits the event if it's enabled.
+         *
+         * @param type     Serialized data type.
+         * @param mimeType Mime type of the result.
+         * @param data     Serialized data.
+         */
+        public void complete(final SerializedDataType type, final EnhancedMimeType mimeType, final byte[] data) {
+            complete(type, mimeType, data.length);
+        }
+
+        /**
+         * Ends timing and commits the event if it's enabled.
+         *
+         * @param type     Serialized data type.
+         * @param mimeType Mime type of the result.
+         * @param bytes    Number of bytes written.
+         */
+        public void complete(final SerializedDataType type, final EnhancedMimeType mimeType, final long bytes) {
+            end();
+            if (shouldCommit()) {
+                this.dataType = type.asBaseType();
+                this.mimeType = mimeType.toString();
+                this.bytes = bytes;
+                commit();
+            }
+        }
+
+    }
+
+    /**
+     * Object deserialized.
+     */
+    @Name("org.fuin.esc.Deserialize")
+    @Label("Deserialize")
+    @Description("Object deserialized by a deserializer")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Deserialize extends Event {
+
+        /** Serialized data type. */
+        @Label("Data Type")
+        public String dataType;
+
+        /** Mime type of the data. */
+        @Label("Mime Type")
+        public String mimeType;
+
+        /** Number of bytes read or -1 if the data was not a byte array. */
+        @Label("Size")
+        @DataAmount
+        public long bytes = -1;
+
+        /**
+         * Creates a new event and starts timing it.
+         *
+         * @return Started event.
+         */
+        public static Deserialize start() {
+            final Deserialize event = new Deserialize();
+            event.begin();
+            return event;
+        }
+
+        /**
+         * Ends timing and commits the event if it's enabled.
+         *
+         * @param type     Serialized data type.
+         * @param mimeType Mime type of the data.
+         * @param data     Data that was deserialized.
+         */
+        public void complete(final SerializedDataType type, final EnhancedMimeType mimeType, final Object data) {
+            end();
+            if (shouldCommit()) {
+                this.dataType = type.asBaseType();
+                this.mimeType = mimeType.toString();
+                if (data instanceof byte[] raw) {
+                    this.bytes = raw.length;
+                }
+                commit();
+            }
+        }
+
+    }
+
+    /**
+     * Event delivered to a subscriber.
+     */
+    @Name("org.fuin.esc.SubscriptionDelivery")
+    @Label("Subscription Delivery")
+    @Description("Event delivered to a subscriber including the time the subscriber took")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class SubscriptionDelivery extends Event {
+
+        /** Unique name of the stream. */
+        @Label("Stream ID")
+        public String streamId;
+
+        /** Number of the delivered event. */
+        @Label("Event Number")
+        public long eventNumber;
+
+        /**
+         * Creates a new event and starts timing it.
+         *
+         * @return Started event.
+         */
+        public static SubscriptionDelivery start() {
+            final SubscriptionDelivery event = new SubscriptionDelivery();
+            event.begin();
+            return event;
+        }
+
+        /**
+         * Ends timing and commits the event if it's enabled.
+         *
+         * @param subscription Subscription the event was delivered to.
+         * @param eventNumber  Number of the delivered event.
+         */
+        public void complete(final Subscription subscription, final long eventNumber) {
+            end();
+            if (shouldCommit()) {
+                this.streamId = subscription.getStreamId().asString();
+                this.eventNumber = eventNumber;
+                commit();
+            }
+        }
+
+    }
+
+    /**
+     * Database query executed by the JPA event store.
+     */
+    @Name("org.fuin.esc.JpaQuery")
+    @Label("JPA Query")
+    @Description("Database query executed by the JPA event store")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class JpaQuery extends Event {
+
+        /** Unique name of the stream. */
+        @Label("Stream ID")
+        public String streamId;
+
+        /** Native SQL statement. */
+        @Label("SQL")
+        public String sql;
+
+        /** Number of rows returned. */
+        @Label("Row Count")
+        public int rowCount;
+
+        /**
+         * Creates a new event and starts timing it.
+         *
+         * @return Started event.
+         */
+        public static JpaQuery start() {
+            final JpaQuery event = new JpaQuery();
+            event.begin();
+            return event;
+        }
+
+        /**
+         * Ends timing and commits the event if it's enabled.
+         *
+         * @param streamId Stream the query was executed for.
+         * @param sql      Native SQL statement.
+         * @param rowCount Number of rows returned.
+         */
+        public void complete(final StreamId streamId, final String sql, final int rowCount) {
+            end();
+            if (shouldCommit()) {
+                this.streamId = streamId.asString();
+                this.sql = sql;
+                this.rowCount = rowCount;
+                commit();
+            }
+        }
+
+    }
+
+}
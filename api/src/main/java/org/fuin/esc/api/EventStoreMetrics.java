@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Receives the measurements of an instrumented event store. Methods are called on the hot path by many threads
+ * concurrently, so implementations should record without locking and without creating objects per call.
+ */
+public interface EventStoreMetrics {
+
+    /**
+     * Records the execution of an operation.
+     *
+     * @param operation Operation that was executed.
+     * @param streamId  Stream the operation was executed for.
+     * @param nanos     Time the operation took in nanoseconds.
+     * @param failed    TRUE if the operation ended with an exception.
+     */
+    void recordOperation(@NotNull Operation operation, @NotNull StreamId streamId, long nanos, boolean failed);
+
+    /**
+     * Records events that were read together with their size as provided by the event store.
+     *
+     * @param operation Operation that read the events.
+     * @param streamId  Stream the events belong to.
+     * @param count     Number of events.
+     * @param bytes     Number of serialized bytes of the events.
+     */
+    void recordEvents(@NotNull Operation operation, @NotNull StreamId streamId, int count, long bytes);
+
+    /**
+     * Records events whose serialized size is not known at the event store level. This is always the case for
+     * appended events, as they are serialized inside the event store. Their size is reported per type with
+     * {@link #recordSerialization(SerializedDataType, long, int)} if the serializers are measured.
+     *
+     * @param operation Operation that appended or read the events.
+     * @param streamId  Stream the events belong to.
+     * @param count     Number of events.
+     */
+    void recordEvents(@NotNull Operation operation, @NotNull StreamId streamId, int count);
+
+    /**
+     * Records an operation that failed with a {@link WrongExpectedVersionException}.
+     *
+     * @param streamId Stream with the conflict.
+     */
+    void recordConflict(@NotNull StreamId streamId);
+
+    /**
+     * Records the serialization of an object.
+     *
+     * @param type  Type of the serialized data.
+     * @param nanos Time the serialization took in nanoseconds.
+     * @param bytes Number of bytes created.
+     */
+    void recordSerialization(@NotNull SerializedDataType type, long nanos, int bytes);
+
+    /**
+     * Records the deserialization of an object.
+     *
+     * @param type  Type of the serialized data.
+     * @param nanos Time the deserialization took in nanoseconds.
+     */
+    void recordDeserialization(@NotNull SerializedDataType type, long nanos);
+
+    /**
+     * Operations of the event store that are measured.
+     */
+    enum Operation {
+
+        /** {@link WritableEventStore#createStream(StreamId)}. */
+        CREATE_STREAM,
+
+        /** {@link WritableEventStore#appendToStream(StreamId, long, java.util.List)} and variants. */
+        APPEND,
+
+        /** {@link WritableEventStore#deleteStream(StreamId, long, boolean)} and variants. */
+        DELETE_STREAM,
+
+        /** {@link ReadableEventStore#readEvent(StreamId, long)}. */
+        READ_EVENT,
+
+        /** {@link ReadableEventStore#readEventsForward(StreamId, long, int)}. */
+        READ_FORWARD,
+
+        /** {@link ReadableEventStore#readEventsBackward(StreamId, long, int)}. */
+        READ_BACKWARD,
+
+        /** {@link ReadableEventStore#readAllEventsForward(StreamId, long, int, ReadableEventStore.ChunkEventHandler)}. */
+        READ_ALL_FORWARD,
+
+        /** {@link ReadableEventStore#streamExists(StreamId)}. */
+        STREAM_EXISTS,
+
+        /** {@link ReadableEventStore#streamState(StreamId)}. */
+        STREAM_STATE,
+
+        /** {@link SubscribableEventStore#subscribeToStream(StreamId, long, java.util.function.BiConsumer, java.util.function.BiConsumer)}. */
+        SUBSCRIBE,
+
+        /** Events received by a subscription. */
+        SUBSCRIPTION_EVENT,
+
+        /** {@link SubscribableEventStore#unsubscribeFromStream(Subscription)}. */
+        UNSUBSCRIBE,
+
+        /** {@link ProjectionAdminEventStore#projectionExists(StreamId)}. */
+        PROJECTION_EXISTS,
+
+        /** {@link ProjectionAdminEventStore#enableProjection(StreamId)}. */
+        ENABLE_PROJECTION,
+
+        /** {@link ProjectionAdminEventStore#disableProjection(StreamId)}. */
+        DISABLE_PROJECTION,
+
+        /** {@link ProjectionAdminEventStore#createProjection(StreamId, boolean, java.util.List)} and variants. */
+        CREATE_PROJECTION,
+
+        /** {@link ProjectionAdminEventStore#deleteProjection(StreamId)}. */
+        DELETE_PROJECTION
+
+    }
+
+}
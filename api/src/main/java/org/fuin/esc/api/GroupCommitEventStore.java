@@ -0,0 +1,438 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Event store that combines appends of concurrent callers to the same stream into a single append (group commit).
+ * The first caller of a group becomes its leader. It waits for a short window or until the maximum number of events
+ * is reached and then writes all appends collected up to then with one call to the delegate. Appends that arrive
+ * while a group is written are collected for the next group, which is written by the caller of its first append.
+ * Every caller blocks until its own events are written and receives its own resulting version or exception.<br>
+ * <br>
+ * The delegate is only called on the threads of the callers. The events of a group are written with the thread,
+ * and therefore in the transaction, of its leader. Groups of several callers can only be formed if the delegate is
+ * thread-safe. An event store that is bound to a single entity manager, like the JPA event store, is not. Used by a
+ * single thread, every append is written in the caller's own transaction.<br>
+ * <br>
+ * Only appends with {@link ExpectedVersion#ANY} can join a group started by another caller. An append with a
+ * specific expected version always starts a new group, so its version check is done by the delegate as usual.
+ * If a combined append fails, the appends of the group are retried one by one to give each caller the correct
+ * result. A caller that is not written within the configured timeout receives an {@link AppendTimeoutException}.
+ * All other methods are directly forwarded to the delegate.
+ */
+public final class GroupCommitEventStore implements EventStore {
+
+    private static final long ANY = ExpectedVersion.ANY.getNo();
+
+    private final EventStore delegate;
+
+    private final long windowNanos;
+
+    private final int maxEvents;
+
+    private final Duration timeout;
+
+    private final Map<StreamId, StreamQueue> queues;
+
+    /**
+     * Constructor with all mandatory data.
+     *
+     * @param delegate  Delegate to write the combined appends to.
+     * @param window    Time the first append to a stream waits for others to join.
+     * @param maxEvents Maximum number of events written together. A group is written immediately if this
+     *                  number is reached.
+     * @param timeout   Maximum time a caller waits for another caller to write its events.
+     */
+    public GroupCommitEventStore(@NotNull final EventStore delegate,
+                                 @NotNull final Duration window,
+                                 final int maxEvents,
+                                 @NotNull final Duration timeout) {
+        super();
+        Contract.requireArgNotNull("delegate", delegate);
+        Contract.requireArgNotNull("window", window);
+        Contract.requireArgMin("maxEvents", maxEvents, 1);
+        Contract.requireArgNotNull("timeout", timeout);
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+        this.maxEvents = maxEvents;
+        this.timeout = timeout;
+        this.queues = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public GroupCommitEventStore open() {
+        delegate.open();
+        return this;
+    }
+
+    /**
+     * Closes the delegate. Appends that are still pending are written by their waiting callers, so the event store
+     * should only be closed if no more appends are running.
+     */
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public boolean isSupportsCreateStream() {
+        return delegate.isSupportsCreateStream();
+    }
+
+    @Override
+    public void createStream(final StreamId streamId) throws StreamAlreadyExistsException {
+        delegate.createStream(streamId);
+    }
+
+    @Override
+    public long appendToStream(final StreamId streamId, final long expectedVersion, final CommonEvent... events)
+            throws StreamNotFoundException, StreamDeletedException, WrongExpectedVersionException,
+            StreamReadOnlyException {
+        Contract.requireArgNotNull("events", events);
+        return appendToStream(streamId, expectedVersion, Arrays.asList(events));
+    }
+
+    @Override
+    public long appendToStream(final StreamId streamId, final CommonEvent... events)
+            throws StreamNotFoundException, StreamDeletedException, StreamReadOnlyException {
+        Contract.requireArgNotNull("events", events);
+        return appendToStream(streamId, ANY, Arrays.asList(events));
+    }
+
+    @Override
+    public long appendToStream(final StreamId streamId, final List<CommonEvent> events)
+            throws StreamNotFoundException, StreamDeletedException, StreamReadOnlyException {
+        return appendToStream(streamId, ANY, events);
+    }
+
+    @Override
+    public long appendToStream(final StreamId streamId, final long expectedVersion, final List<CommonEvent> events)
+            throws StreamNotFoundException, StreamDeletedException, WrongExpectedVersionException,
+            StreamReadOnlyException {
+
+        Contract.requireArgNotNull("streamId", streamId);
+        Contract.requireArgMin("expectedVersion", expectedVersion, ANY);
+        Contract.requireArgNotNull("events", events);
+
+        if (events.isEmpty() || events.size() >= maxEvents) {
+            // Nothing to gain
+            return delegate.appendToStream(streamId, expectedVersion, events);
+        }
+
+        final PendingAppend append = new PendingAppend(expectedVersion, List.copyOf(events));
+        // Enqueue under the map lock, so a queue is never removed while an append is added to it
+        final StreamQueue queue = queues.compute(streamId, (id, current) -> {
+            final StreamQueue q = current == null ? new StreamQueue(id) : current;
+            synchronized (q) {
+                q.pending.add(append);
+                q.eventCount = q.eventCount + append.events.size();
+                if (!q.leading) {
+                    q.leading = true;
+                    append.leader = true;
+                } else if (q.eventCount >= maxEvents) {
+                    // Wake up a leader waiting for its group to fill
+                    q.notifyAll();
+                }
+            }
+            return q;
+        });
+
+        if (append.leader) {
+            awaitGroup(queue);
+            writeNextGroup(queue);
+        } else if (awaitResultOrLead(queue, append)) {
+            writeNextGroup(queue);
+        }
+        return result(append);
+
+    }
+
+    @Override
+    public void deleteStream(final StreamId streamId, final long expectedVersion, final boolean hardDelete)
+            throws StreamDeletedException, WrongExpectedVersionException, StreamReadOnlyException {
+        delegate.deleteStream(streamId, expectedVersion, hardDelete);
+    }
+
+    @Override
+    public void deleteStream(final StreamId streamId, final boolean hardDelete)
+            throws StreamNotFoundException, StreamDeletedException, StreamReadOnlyException {
+        delegate.deleteStream(streamId, hardDelete);
+    }
+
+    @Override
+    public StreamEventsSlice readEventsForward(final StreamId streamId, final long start, final int count) {
+        return delegate.readEventsForward(streamId, start, count);
+    }
+
+    @Override
+    public StreamEventsSlice readEventsBackward(final StreamId streamId, final long start, final int count) {
+        return delegate.readEventsBackward(streamId, start, count);
+    }
+
+    @Override
+    public CommonEvent readEvent(final StreamId streamId, final long eventNumber) {
+        return delegate.readEvent(streamId, eventNumber);
+    }
+
+    @Override
+    public boolean streamExists(final StreamId streamId) {
+        return delegate.streamExists(streamId);
+    }
+
+    @Override
+    public StreamState streamState(final StreamId streamId) {
+        return delegate.streamState(streamId);
+    }
+
+    @Override
+    public void readAllEventsForward(final StreamId streamId, final long startingAtEventNumber, final int chunkSize,
+                                     final ChunkEventHandler handler) {
+        delegate.readAllEventsForward(streamId, startingAtEventNumber, chunkSize, handler);
+    }
+
+    @Override
+    public void readAllEventsForward(final StreamId streamId, final long startingAtEventNumber,
+                                     final AdaptiveChunkSize chunkSize, final ChunkEventHandler handler) {
+        delegate.readAllEventsForward(streamId, startingAtEventNumber, chunkSize, handler);
+    }
+
+    @Override
+    public Stream<CommonEvent> streamAllEventsForward(final StreamId streamId, final long startingAtEventNumber,
+                                                      final int chunkSize) {
+        return delegate.streamAllEventsForward(streamId, startingAtEventNumber, chunkSize);
+    }
+
+    /**
+     * Lets the leader wait until the window has elapsed or the maximum number of events is reached.
+     */
+    private void awaitGroup(final StreamQueue queue) {
+        final long deadline = System.nanoTime() + windowNanos;
+        synchronized (queue) {
+            long remaining = deadline - System.nanoTime();
+            while (queue.eventCount < maxEvents && remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(queue, remaining);
+                } catch (final InterruptedException ex) {
+                    // Write what is there
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Waits until another caller has written the append or this caller has to write the next group.
+     *
+     * @return {@literal true} if this caller has to write the next group.
+     */
+    private boolean awaitResultOrLead(final StreamQueue queue, final PendingAppend append) {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (queue) {
+            while (!append.result.isDone() && !append.leader) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw abandon(queue, append);
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(queue, remaining);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw abandon(queue, append);
+                }
+            }
+            return append.leader;
+        }
+    }
+
+    /**
+     * Gives up waiting for an append. Must be called while holding the lock of the queue.
+     */
+    private AppendTimeoutException abandon(final StreamQueue queue, final PendingAppend append) {
+        final boolean pending = queue.pending.remove(append);
+        if (pending) {
+            queue.eventCount = queue.eventCount - append.events.size();
+        }
+        return new AppendTimeoutException(queue.streamId, timeout, !pending);
+    }
+
+    /**
+     * Writes the group that starts with the append of the current caller.
+     */
+    private void writeNextGroup(final StreamQueue queue) {
+        final List<PendingAppend> group;
+        synchronized (queue) {
+            group = nextGroup(queue);
+        }
+        try {
+            write(queue.streamId, group);
+        } finally {
+            release(queue);
+        }
+    }
+
+    /**
+     * Ends writing a group. The caller of the next pending append becomes the new leader. If nothing is pending, the
+     * queue is removed. Runs under the map lock, so no append can be added to a queue that is removed.
+     */
+    private void release(final StreamQueue queue) {
+        queues.compute(queue.streamId, (id, current) -> {
+            synchronized (queue) {
+                // Wakes up the callers of the written group and the next leader
+                queue.notifyAll();
+                final PendingAppend next = queue.pending.peek();
+                if (next != null) {
+                    next.leader = true;
+                    return current;
+                }
+                queue.leading = false;
+                if (current == queue) {
+                    return null;
+                }
+                return current;
+            }
+        });
+    }
+
+    private static long result(final PendingAppend append) {
+        try {
+            return append.result.get();
+        } catch (final InterruptedException ex) {
+            // Cannot happen as the result is always completed at this point
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading a completed result", ex);
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Unexpected error writing events", ex.getCause());
+        }
+    }
+
+    private List<PendingAppend> nextGroup(final StreamQueue queue) {
+        final List<PendingAppend> group = new ArrayList<>();
+        final PendingAppend first = queue.pending.poll();
+        if (first == null) {
+            return group;
+        }
+        group.add(first);
+        int count = first.events.size();
+        PendingAppend next = queue.pending.peek();
+        while (next != null && next.expectedVersion == ANY && count + next.events.size() <= maxEvents) {
+            group.add(queue.pending.poll());
+            count = count + next.events.size();
+            next = queue.pending.peek();
+        }
+        queue.eventCount = queue.eventCount - count;
+        return group;
+    }
+
+    private void write(final StreamId streamId, final List<PendingAppend> group) {
+        if (group.size() == 1) {
+            writeSingle(streamId, group.get(0));
+            return;
+        }
+        final List<CommonEvent> events = new ArrayList<>();
+        for (final PendingAppend append : group) {
+            events.addAll(append.events);
+        }
+        final long version;
+        try {
+            version = delegate.appendToStream(streamId, group.get(0).expectedVersion, events);
+        } catch (final RuntimeException ex) {
+            // Let every caller find out about its own problem
+            for (final PendingAppend append : group) {
+                writeSingle(streamId, append);
+            }
+            return;
+        }
+        long callerVersion = version;
+        for (int i = group.size() - 1; i >= 0; i--) {
+            final PendingAppend append = group.get(i);
+            append.result.complete(callerVersion);
+            callerVersion = callerVersion - append.events.size();
+        }
+    }
+
+    private void writeSingle(final StreamId streamId, final PendingAppend append) {
+        try {
+            append.result.complete(delegate.appendToStream(streamId, append.expectedVersion, append.events));
+        } catch (final RuntimeException ex) {
+            append.result.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Appends of a single stream waiting to be written.
+     */
+    private static final class StreamQueue {
+
+        private final StreamId streamId;
+
+        private final Deque<PendingAppend> pending;
+
+        private int eventCount;
+
+        private boolean leading;
+
+        StreamQueue(final StreamId streamId) {
+            this.streamId = streamId;
+            this.pending = new ArrayDeque<>();
+        }
+
+    }
+
+    /**
+     * Append of a single caller.
+     */
+    private static final class PendingAppend {
+
+        private final long expectedVersion;
+
+        private final List<CommonEvent> events;
+
+        private final CompletableFuture<Long> result;
+
+        private boolean leader;
+
+        PendingAppend(final long expectedVersion, final List<CommonEvent> events) {
+            this.expectedVersion = expectedVersion;
+            this.events = events;
+            this.result = new CompletableFuture<>();
+        }
+
+    }
+
+}
@@ -0,0 +1,261 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics that keep a {@link LatencyHistogram} per operation and serialized data type in memory. Events and bytes
+ * are counted per operation. Conflicts and operations slower than a threshold are counted per stream to find hot or
+ * slow streams. Nothing is allocated when recording, except for the first time a stream or type is seen.
+ */
+public final class HistogramEventStoreMetrics implements EventStoreMetrics {
+
+    private final long slowThresholdNanos;
+
+    private final Map<Operation, LatencyHistogram> latencies;
+
+    private final Map<Operation, LongAdder> failures;
+
+    private final Map<Operation, LongAdder> events;
+
+    private final Map<Operation, LongAdder> bytes;
+
+    private final LongAdder conflicts;
+
+    private final ConcurrentMap<String, LongAdder> conflictsPerStream;
+
+    private final ConcurrentMap<String, LongAdder> slowPerStream;
+
+    private final ConcurrentMap<SerializedDataType, LatencyHistogram> serialization;
+
+    private final ConcurrentMap<SerializedDataType, LongAdder> serializedBytes;
+
+    private final ConcurrentMap<SerializedDataType, LatencyHistogram> deserialization;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param slowThreshold Operations that take longer are counted per stream.
+     */
+    public HistogramEventStoreMetrics(@NotNull final Duration slowThreshold) {
+        super();
+        Contract.requireArgNotNull("slowThreshold", slowThreshold);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        final Map<Operation, LatencyHistogram> latencyMap = new EnumMap<>(Operation.class);
+        final Map<Operation, LongAdder> failureMap = new EnumMap<>(Operation.class);
+        final Map<Operation, LongAdder> eventMap = new EnumMap<>(Operation.class);
+        final Map<Operation, LongAdder> byteMap = new EnumMap<>(Operation.class);
+        for (final Operation operation : Operation.values()) {
+            latencyMap.put(operation, new LatencyHistogram());
+            failureMap.put(operation, new LongAdder());
+            eventMap.put(operation, new LongAdder());
+            byteMap.put(operation, new LongAdder());
+        }
+        this.latencies = Collections.unmodifiableMap(latencyMap);
+        this.failures = Collections.unmodifiableMap(failureMap);
+        this.events = Collections.unmodifiableMap(eventMap);
+        this.bytes = Collections.unmodifiableMap(byteMap);
+        this.conflicts = new LongAdder();
+        this.conflictsPerStream = new ConcurrentHashMap<>();
+        this.slowPerStream = new ConcurrentHashMap<>();
+        this.serialization = new ConcurrentHashMap<>();
+        this.serializedBytes = new ConcurrentHashMap<>();
+        this.deserialization = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void recordOperation(final Operation operation, final StreamId streamId, final long nanos,
+                                final boolean failed) {
+        latencies.get(operation).record(nanos);
+        if (failed) {
+            failures.get(operation).increment();
+        }
+        if (nanos > slowThresholdNanos) {
+            counter(slowPerStream, streamId.asString()).increment();
+        }
+    }
+
+    @Override
+    public void recordEvents(final Operation operation, final StreamId streamId, final int count, final long bytes) {
+        events.get(operation).add(count);
+        this.bytes.get(operation).add(bytes);
+    }
+
+    @Override
+    public void recordEvents(final Operation operation, final StreamId streamId, final int count) {
+        events.get(operation).add(count);
+    }
+
+    @Override
+    public void recordConflict(final StreamId streamId) {
+        conflicts.increment();
+        counter(conflictsPerStream, streamId.asString()).increment();
+    }
+
+    @Override
+    public void recordSerialization(final SerializedDataType type, final long nanos, final int bytes) {
+        histogram(serialization, type).record(nanos);
+        counter(serializedBytes, type).add(bytes);
+    }
+
+    @Override
+    public void recordDeserialization(final SerializedDataType type, final long nanos) {
+        histogram(deserialization, type).record(nanos);
+    }
+
+    /**
+     * Returns the latencies of an operation in nanoseconds.
+     *
+     * @param operation Operation.
+     * @return Histogram.
+     */
+    @NotNull
+    public LatencyHistogram getLatency(@NotNull final Operation operation) {
+        return latencies.get(operation);
+    }
+
+    /**
+     * Returns the number of times an operation failed.
+     *
+     * @param operation Operation.
+     * @return Number of failures.
+     */
+    public long getFailureCount(@NotNull final Operation operation) {
+        return failures.get(operation).sum();
+    }
+
+    /**
+     * Returns the number of events appended or read by an operation.
+     *
+     * @param operation Operation.
+     * @return Number of events.
+     */
+    public long getEventCount(@NotNull final Operation operation) {
+        return events.get(operation).sum();
+    }
+
+    /**
+     * Returns the number of serialized bytes read by an operation, as far as the event store provides it. Appended
+     * bytes are counted per type, see {@link #getSerializedBytes(SerializedDataType)}.
+     *
+     * @param operation Operation.
+     * @return Number of bytes.
+     */
+    public long getByteCount(@NotNull final Operation operation) {
+        return bytes.get(operation).sum();
+    }
+
+    /**
+     * Returns the total number of {@link WrongExpectedVersionException}s.
+     *
+     * @return Number of conflicts.
+     */
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    /**
+     * Returns the number of {@link WrongExpectedVersionException}s per stream.
+     *
+     * @return Snapshot with the stream name as key.
+     */
+    @NotNull
+    public Map<String, Long> getConflictsPerStream() {
+        return snapshot(conflictsPerStream);
+    }
+
+    /**
+     * Returns the number of operations slower than the threshold per stream.
+     *
+     * @return Snapshot with the stream name as key.
+     */
+    @NotNull
+    public Map<String, Long> getSlowOperationsPerStream() {
+        return snapshot(slowPerStream);
+    }
+
+    /**
+     * Returns the serialization time in nanoseconds for a type.
+     *
+     * @param type Serialized data type.
+     * @return Histogram (empty if the type was never serialized).
+     */
+    @NotNull
+    public LatencyHistogram getSerializationLatency(@NotNull final SerializedDataType type) {
+        return histogram(serialization, type);
+    }
+
+    /**
+     * Returns the number of bytes created by serializing a type.
+     *
+     * @param type Serialized data type.
+     * @return Number of bytes.
+     */
+    public long getSerializedBytes(@NotNull final SerializedDataType type) {
+        final LongAdder adder = serializedBytes.get(type);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Returns the deserialization time in nanoseconds for a type.
+     *
+     * @param type Serialized data type.
+     * @return Histogram (empty if the type was never deserialized).
+     */
+    @NotNull
+    public LatencyHistogram getDeserializationLatency(@NotNull final SerializedDataType type) {
+        return histogram(deserialization, type);
+    }
+
+    private static <K> LongAdder counter(final ConcurrentMap<K, LongAdder> map, final K key) {
+        final LongAdder adder = map.get(key);
+        if (adder != null) {
+            return adder;
+        }
+        return map.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static LatencyHistogram histogram(final ConcurrentMap<SerializedDataType, LatencyHistogram> map,
+                                              final SerializedDataType type) {
+        final LatencyHistogram histogram = map.get(type);
+        if (histogram != null) {
+            return histogram;
+        }
+        return map.computeIfAbsent(type, k -> new LatencyHistogram());
+    }
+
+    private static Map<String, Long> snapshot(final Map<String, LongAdder> map) {
+        final Map<String, Long> result = new HashMap<>();
+        for (final Map.Entry<String, LongAdder> entry : map.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+        return result;
+    }
+
+}
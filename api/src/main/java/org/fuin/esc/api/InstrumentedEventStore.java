@@ -0,0 +1,332 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.fuin.esc.api.EventStoreMetrics.Operation.APPEND;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.CREATE_STREAM;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.DELETE_STREAM;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.READ_ALL_FORWARD;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.READ_BACKWARD;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.READ_EVENT;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.READ_FORWARD;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.STREAM_EXISTS;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.STREAM_STATE;
+
+/**
+ * Event store that reports the latency of every operation, the number of events and bytes read, and version conflicts
+ * to an {@link EventStoreMetrics} instance. The bytes appended are not known at this level. Use an
+ * {@link InstrumentedSerDeserializerRegistry} to measure them together with the serialization time. Use
+ * {@link #create(EventStore, EventStoreMetrics)} to also measure the subscriptions of a delegate that is a
+ * {@link SubscribableEventStore}.
+ */
+public class InstrumentedEventStore implements EventStore {
+
+    private final EventStore delegate;
+
+    private final EventStoreMetrics metrics;
+
+    /**
+     * Constructor with all mandatory data.
+     *
+     * @param delegate Event store to measure.
+     * @param metrics  Metrics to report to.
+     */
+    public InstrumentedEventStore(@NotNull final EventStore delegate, @NotNull final EventStoreMetrics metrics) {
+        super();
+        Contract.requireArgNotNull("delegate", delegate);
+        Contract.requireArgNotNull("metrics", metrics);
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Creates an instrumented event store with the same capabilities as the delegate.
+     *
+     * @param delegate Event store to measure.
+     * @param metrics  Metrics to report to.
+     * @return Instance that is an {@link InstrumentedSubscribableEventStore} if the delegate is a
+     * {@link SubscribableEventStore}.
+     */
+    @NotNull
+    public static InstrumentedEventStore create(@NotNull final EventStore delegate,
+                                                @NotNull final EventStoreMetrics metrics) {
+        if (delegate instanceof SubscribableEventStore) {
+            return new InstrumentedSubscribableEventStore((EventStore & SubscribableEventStore) delegate, metrics);
+        }
+        return new InstrumentedEventStore(delegate, metrics);
+    }
+
+    @Override
+    public InstrumentedEventStore open() {
+        delegate.open();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public boolean isSupportsCreateStream() {
+        return delegate.isSupportsCreateStream();
+    }
+
+    @Override
+    public void createStream(final StreamId streamId) throws StreamAlreadyExistsException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.createStream(streamId);
+            failed = false;
+        } finally {
+            metrics.recordOperation(CREATE_STREAM, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public long appendToStream(final StreamId streamId, final long expectedVersion, final CommonEvent... events)
+            throws StreamNotFoundException, StreamDeletedException, WrongExpectedVersionException,
+            StreamReadOnlyException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final long version = delegate.appendToStream(streamId, expectedVersion, events);
+            failed = false;
+            metrics.recordEvents(APPEND, streamId, events.length);
+            return version;
+        } catch (final WrongExpectedVersionException ex) {
+            metrics.recordConflict(streamId);
+            throw ex;
+        } finally {
+            metrics.recordOperation(APPEND, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public long appendToStream(final StreamId streamId, final CommonEvent... events)
+            throws StreamNotFoundException, StreamDeletedException, StreamReadOnlyException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final long version = delegate.appendToStream(streamId, events);
+            failed = false;
+            metrics.recordEvents(APPEND, streamId, events.length);
+            return version;
+        } finally {
+            metrics.recordOperation(APPEND, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public long appendToStream(final StreamId streamId, final long expectedVersion, final List<CommonEvent> events)
+            throws StreamNotFoundException, StreamDeletedException, WrongExpectedVersionException,
+            StreamReadOnlyException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final long version = delegate.appendToStream(streamId, expectedVersion, events);
+            failed = false;
+            metrics.recordEvents(APPEND, streamId, events.size());
+            return version;
+        } catch (final WrongExpectedVersionException ex) {
+            metrics.recordConflict(streamId);
+            throw ex;
+        } finally {
+            metrics.recordOperation(APPEND, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public long appendToStream(final StreamId streamId, final List<CommonEvent> events)
+            throws StreamNotFoundException, StreamDeletedException, StreamReadOnlyException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final long version = delegate.appendToStream(streamId, events);
+            failed = false;
+            metrics.recordEvents(APPEND, streamId, events.size());
+            return version;
+        } finally {
+            metrics.recordOperation(APPEND, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public void deleteStream(final StreamId streamId, final long expectedVersion, final boolean hardDelete)
+            throws StreamDeletedException, WrongExpectedVersionException, StreamReadOnlyException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.deleteStream(streamId, expectedVersion, hardDelete);
+            failed = false;
+        } catch (final WrongExpectedVersionException ex) {
+            metrics.recordConflict(streamId);
+            throw ex;
+        } finally {
+            metrics.recordOperation(DELETE_STREAM, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public void deleteStream(final StreamId streamId, final boolean hardDelete)
+            throws StreamNotFoundException, StreamDeletedException, StreamReadOnlyException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.deleteStream(streamId, hardDelete);
+            failed = false;
+        } finally {
+            metrics.recordOperation(DELETE_STREAM, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public StreamEventsSlice readEventsForward(final StreamId streamId, final long start, final int count) {
+        final long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            final StreamEventsSlice slice = delegate.readEventsForward(streamId, start, count);
+            failed = false;
+            recordSlice(READ_FORWARD, streamId, slice);
+            return slice;
+        } finally {
+            metrics.recordOperation(READ_FORWARD, streamId, System.nanoTime() - started, failed);
+        }
+    }
+
+    @Override
+    public StreamEventsSlice readEventsBackward(final StreamId streamId, final long start, final int count) {
+        final long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            final StreamEventsSlice slice = delegate.readEventsBackward(streamId, start, count);
+            failed = false;
+            recordSlice(READ_BACKWARD, streamId, slice);
+            return slice;
+        } finally {
+            metrics.recordOperation(READ_BACKWARD, streamId, System.nanoTime() - started, failed);
+        }
+    }
+
+    @Override
+    public CommonEvent readEvent(final StreamId streamId, final long eventNumber) {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final CommonEvent event = delegate.readEvent(streamId, eventNumber);
+            failed = false;
+            metrics.recordEvents(READ_EVENT, streamId, 1);
+            return event;
+        } finally {
+            metrics.recordOperation(READ_EVENT, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public boolean streamExists(final StreamId streamId) {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final boolean exists = delegate.streamExists(streamId);
+            failed = false;
+            return exists;
+        } finally {
+            metrics.recordOperation(STREAM_EXISTS, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public StreamState streamState(final StreamId streamId) {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final StreamState state = delegate.streamState(streamId);
+            failed = false;
+            return state;
+        } finally {
+            metrics.recordOperation(STREAM_STATE, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Reads all events and records the total time including the handler as a single operation.
+     */
+    @Override
+    public void readAllEventsForward(final StreamId streamId, final long startingAtEventNumber, final int chunkSize,
+                                     final ChunkEventHandler handler) {
+        Contract.requireArgNotNull("handler", handler);
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.readAllEventsForward(streamId, startingAtEventNumber, chunkSize, slice -> {
+                recordSlice(READ_ALL_FORWARD, streamId, slice);
+                handler.handle(slice);
+            });
+            failed = false;
+        } finally {
+            metrics.recordOperation(READ_ALL_FORWARD, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Reads all events and records the total time including the handler as a single operation.
+     */
+    @Override
+    public void readAllEventsForward(final StreamId streamId, final long startingAtEventNumber,
+                                     final AdaptiveChunkSize chunkSize, final ChunkEventHandler handler) {
+        Contract.requireArgNotNull("handler", handler);
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.readAllEventsForward(streamId, startingAtEventNumber, chunkSize, slice -> {
+                recordSlice(READ_ALL_FORWARD, streamId, slice);
+                handler.handle(slice);
+            });
+            failed = false;
+        } finally {
+            metrics.recordOperation(READ_ALL_FORWARD, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Counts the events when the stream is consumed. The time is not measured as it depends on the consumer.
+     */
+    @Override
+    public Stream<CommonEvent> streamAllEventsForward(final StreamId streamId, final long startingAtEventNumber,
+                                                      final int chunkSize) {
+        return delegate.streamAllEventsForward(streamId, startingAtEventNumber, chunkSize)
+                .peek(event -> metrics.recordEvents(READ_ALL_FORWARD, streamId, 1));
+    }
+
+    private void recordSlice(final EventStoreMetrics.Operation operation, final StreamId streamId,
+                             final StreamEventsSlice slice) {
+        if (slice.getSizeInBytes() < 0) {
+            metrics.recordEvents(operation, streamId, slice.getEvents().size());
+        } else {
+            metrics.recordEvents(operation, streamId, slice.getEvents().size(), slice.getSizeInBytes());
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import java.util.List;
+
+import static org.fuin.esc.api.EventStoreMetrics.Operation.CREATE_PROJECTION;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.DELETE_PROJECTION;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.DISABLE_PROJECTION;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.ENABLE_PROJECTION;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.PROJECTION_EXISTS;
+
+/**
+ * Projection admin event store that reports the latency of every operation to an {@link EventStoreMetrics} instance.
+ */
+public final class InstrumentedProjectionAdminEventStore implements ProjectionAdminEventStore {
+
+    private final ProjectionAdminEventStore delegate;
+
+    private final EventStoreMetrics metrics;
+
+    /**
+     * Constructor with all mandatory data.
+     *
+     * @param delegate Projection admin event store to measure.
+     * @param metrics  Metrics to report to.
+     */
+    public InstrumentedProjectionAdminEventStore(@NotNull final ProjectionAdminEventStore delegate,
+                                                 @NotNull final EventStoreMetrics metrics) {
+        super();
+        Contract.requireArgNotNull("delegate", delegate);
+        Contract.requireArgNotNull("metrics", metrics);
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public InstrumentedProjectionAdminEventStore open() {
+        delegate.open();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public boolean projectionExists(final StreamId projectionId) {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final boolean exists = delegate.projectionExists(projectionId);
+            failed = false;
+            return exists;
+        } finally {
+            metrics.recordOperation(PROJECTION_EXISTS, projectionId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public void enableProjection(final StreamId projectionId) throws StreamNotFoundException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.enableProjection(projectionId);
+            failed = false;
+        } finally {
+            metrics.recordOperation(ENABLE_PROJECTION, projectionId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public void disableProjection(final StreamId projectionId) throws StreamNotFoundException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.disableProjection(projectionId);
+            failed = false;
+        } finally {
+            metrics.recordOperation(DISABLE_PROJECTION, projectionId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public void createProjection(final StreamId projectionId, final boolean enable, final TypeName... eventType)
+            throws StreamAlreadyExistsException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.createProjection(projectionId, enable, eventType);
+            failed = false;
+        } finally {
+            metrics.recordOperation(CREATE_PROJECTION, projectionId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public void createProjection(final StreamId projectionId, final boolean enable, final List<TypeName> eventTypes)
+            throws StreamAlreadyExistsException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.createProjection(projectionId, enable, eventTypes);
+            failed = false;
+        } finally {
+            metrics.recordOperation(CREATE_PROJECTION, projectionId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public void deleteProjection(final StreamId projectionId) throws StreamNotFoundException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.deleteProjection(projectionId);
+            failed = false;
+        } finally {
+            metrics.recordOperation(DELETE_PROJECTION, projectionId, System.nanoTime() - start, failed);
+        }
+    }
+
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry that reports the time and size of every serialization and the time of every deserialization per
+ * {@link SerializedDataType} to an {@link EventStoreMetrics} instance. The serializers and deserializers are
+ * looked up in the given registries and wrapped once per instance.
+ */
+public final class InstrumentedSerDeserializerRegistry implements SerDeserializerRegistry {
+
+    private final SerializerRegistry serRegistry;
+
+    private final DeserializerRegistry desRegistry;
+
+    private final EventStoreMetrics metrics;
+
+    private final Map<Serializer, Serializer> serializers;
+
+    private final Map<Deserializer, Deserializer> deserializers;
+
+    /**
+     * Constructor with a combined registry.
+     *
+     * @param registry Registry to measure.
+     * @param metrics  Metrics to report to.
+     */
+    public InstrumentedSerDeserializerRegistry(@NotNull final SerDeserializerRegistry registry,
+                                               @NotNull final EventStoreMetrics metrics) {
+        this(registry, registry, metrics);
+    }
+
+    /**
+     * Constructor with all data.
+     *
+     * @param serRegistry Serializer registry to measure.
+     * @param desRegistry Deserializer registry to measure.
+     * @param metrics     Metrics to report to.
+     */
+    public InstrumentedSerDeserializerRegistry(@NotNull final SerializerRegistry serRegistry,
+                                               @NotNull final DeserializerRegistry desRegistry,
+                                               @NotNull final EventStoreMetrics metrics) {
+        super();
+        Contract.requireArgNotNull("serRegistry", serRegistry);
+        Contract.requireArgNotNull("desRegistry", desRegistry);
+        Contract.requireArgNotNull("metrics", metrics);
+        this.serRegistry = serRegistry;
+        this.desRegistry = desRegistry;
+        this.metrics = metrics;
+        this.serializers = new ConcurrentHashMap<>();
+        this.deserializers = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Serializer getSerializer(final SerializedDataType type) {
+        final Serializer serializer = serRegistry.getSerializer(type);
+        final Serializer instrumented = serializers.get(serializer);
+        if (instrumented != null) {
+            return instrumented;
+        }
+        return serializers.computeIfAbsent(serializer, InstrumentedSerializer::new);
+    }
+
+    @Override
+    public boolean serializerExists(final SerializedDataType type) {
+        return serRegistry.serializerExists(type);
+    }
+
+    @Override
+    public Deserializer getDeserializer(final SerializedDataType type, final EnhancedMimeType mimeType) {
+        return instrumented(desRegistry.getDeserializer(type, mimeType));
+    }
+
+    @Override
+    public Deserializer getDeserializer(final SerializedDataType type) {
+        return instrumented(desRegistry.getDeserializer(type));
+    }
+
+    @Override
+    @Nullable
+    public EnhancedMimeType getDefaultMimeType() {
+        return desRegistry.getDefaultMimeType();
+    }
+
+    @Override
+    public boolean deserializerExists(final SerializedDataType type) {
+        return desRegistry.deserializerExists(type);
+    }
+
+    @Override
+    public boolean deserializerExists(final SerializedDataType type, final EnhancedMimeType mimeType) {
+        return desRegistry.deserializerExists(type, mimeType);
+    }
+
+    private Deserializer instrumented(final Deserializer deserializer) {
+        final Deserializer instrumented = deserializers.get(deserializer);
+        if (instrumented != null) {
+            return instrumented;
+        }
+        return deserializers.computeIfAbsent(deserializer, InstrumentedDeserializer::new);
+    }
+
+    /**
+     * Measures a serializer.
+     */
+    private final class InstrumentedSerializer implements Serializer {
+
+        private final Serializer delegate;
+
+        InstrumentedSerializer(final Serializer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public EnhancedMimeType getMimeType() {
+            return delegate.getMimeType();
+        }
+
+        @Override
+        public <T> byte[] marshal(final T obj, final SerializedDataType type) {
+            final long start = System.nanoTime();
+            final byte[] data = delegate.marshal(obj, type);
+            metrics.recordSerialization(type, System.nanoTime() - start, data.length);
+            return data;
+        }
+
+        @Override
+        public <T> void marshal(final T obj, final SerializedDataType type, final OutputStream out) {
+            final long start = System.nanoTime();
+            final CountingOutputStream counter = new CountingOutputStream(out);
+            delegate.marshal(obj, type, counter);
+            metrics.recordSerialization(type, System.nanoTime() - start, (int) counter.getCount());
+        }
+
+        @Override
+        public boolean writesStream() {
+            return delegate.writesStream();
+        }
+
+    }
+
+    /**
+     * Measures a deserializer.
+     */
+    private final class InstrumentedDeserializer implements Deserializer {
+
+        private final Deserializer delegate;
+
+        InstrumentedDeserializer(final Deserializer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <T> T unmarshal(final Object data, final SerializedDataType dataType,
+                               final EnhancedMimeType mimeType) {
+            final long start = System.nanoTime();
+            final T obj = delegate.unmarshal(data, dataType, mimeType);
+            metrics.recordDeserialization(dataType, System.nanoTime() - start);
+            return obj;
+        }
+
+        @Override
+        public boolean supports(final Class<?> dataClass) {
+            return delegate.supports(dataClass);
+        }
+
+        @Override
+        public <T> T unmarshalStream(final InputStream in, final SerializedDataType dataType,
+                                     final EnhancedMimeType mimeType) {
+            final long start = System.nanoTime();
+            final T obj = delegate.unmarshalStream(in, dataType, mimeType);
+            metrics.recordDeserialization(dataType, System.nanoTime() - start);
+            return obj;
+        }
+
+        @Override
+        public <T> T unmarshalBuffer(final ByteBuffer buffer, final SerializedDataType dataType,
+                                     final EnhancedMimeType mimeType) {
+            final long start = System.nanoTime();
+            final T obj = delegate.unmarshalBuffer(buffer, dataType, mimeType);
+            metrics.recordDeserialization(dataType, System.nanoTime() - start);
+            return obj;
+        }
+
+    }
+
+}
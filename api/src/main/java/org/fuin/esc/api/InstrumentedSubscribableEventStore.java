@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import java.util.function.BiConsumer;
+
+import static org.fuin.esc.api.EventStoreMetrics.Operation.SUBSCRIBE;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.SUBSCRIPTION_EVENT;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.UNSUBSCRIBE;
+
+/**
+ * Instrumented event store for a delegate that also supports subscriptions. Additionally reports the latency of
+ * subscribing and unsubscribing and the number of events received by subscriptions.
+ */
+public final class InstrumentedSubscribableEventStore extends InstrumentedEventStore
+        implements SubscribableEventStore {
+
+    private final SubscribableEventStore subscribable;
+
+    private final EventStoreMetrics metrics;
+
+    /**
+     * Constructor with all mandatory data.
+     *
+     * @param delegate Event store to measure.
+     * @param metrics  Metrics to report to.
+     * @param <T>      Type of the delegate.
+     */
+    public <T extends EventStore & SubscribableEventStore> InstrumentedSubscribableEventStore(
+            @NotNull final T delegate, @NotNull final EventStoreMetrics metrics) {
+        super(delegate, metrics);
+        this.subscribable = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public InstrumentedSubscribableEventStore open() {
+        super.open();
+        return this;
+    }
+
+    /**
+     * Subscribes to the delegate and counts the received events.
+     */
+    @Override
+    public Subscription subscribeToStream(final StreamId streamId, final long eventNumber,
+                                         final BiConsumer<Subscription, CommonEvent> onEvent,
+                                         final BiConsumer<Subscription, Exception> onDrop) {
+        Contract.requireArgNotNull("onEvent", onEvent);
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final Subscription subscription = subscribable.subscribeToStream(streamId, eventNumber,
+                    (sub, event) -> {
+                        metrics.recordEvents(SUBSCRIPTION_EVENT, streamId, 1);
+                        onEvent.accept(sub, event);
+                    }, onDrop);
+            failed = false;
+            return subscription;
+        } finally {
+            metrics.recordOperation(SUBSCRIBE, streamId, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public void unsubscribeFromStream(final Subscription subscription) {
+        Contract.requireArgNotNull("subscription", subscription);
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            subscribable.unsubscribeFromStream(subscription);
+            failed = false;
+        } finally {
+            metrics.recordOperation(UNSUBSCRIBE, subscription.getStreamId(), System.nanoTime() - start, failed);
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Byte array output stream that is reused by the current thread. Serializers can write into it without growing a new
+ * buffer for every object, and the caller copies the result exactly once into its final destination. A stream must
+ * be returned with {@link #release()} after use and must not be used afterward. If a thread acquires a stream while
+ * its pooled instance is still in use, a new unpooled instance is returned. Buffers that grew beyond
+ * {@link #MAX_RETAINED_SIZE} are not kept to avoid holding large arrays per thread.
+ */
+public final class PooledByteArrayOutputStream extends ByteArrayOutputStream {
+
+    /** Initial size of the buffer. */
+    public static final int INITIAL_SIZE = 8 * 1024;
+
+    /** Maximum size of a buffer kept for the next use. */
+    public static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<PooledByteArrayOutputStream> POOL = ThreadLocal
+            .withInitial(() -> new PooledByteArrayOutputStream(true));
+
+    private final boolean pooled;
+
+    private boolean inUse;
+
+    private PooledByteArrayOutputStream(final boolean pooled) {
+        super(INITIAL_SIZE);
+        this.pooled = pooled;
+    }
+
+    /**
+     * Returns an empty stream for the current thread.
+     *
+     * @return Stream to write to. Must be released after use.
+     */
+    @NotNull
+    public static PooledByteArrayOutputStream acquire() {
+        final PooledByteArrayOutputStream out = POOL.get();
+        if (out.inUse) {
+            return new PooledByteArrayOutputStream(false);
+        }
+        out.inUse = true;
+        return out;
+    }
+
+    /**
+     * Returns the stream to the pool of the current thread.
+     */
+    public void release() {
+        if (!pooled) {
+            return;
+        }
+        inUse = false;
+        if (buf.length > MAX_RETAINED_SIZE) {
+            POOL.remove();
+        } else {
+            reset();
+        }
+    }
+
+    /**
+     * Returns a read-only view of the bytes written so far without copying them. The view is only valid until the
+     * stream is written to again or released.
+     *
+     * @return Buffer with position zero and the number of written bytes as limit.
+     */
+    @NotNull
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buf, 0, count).asReadOnlyBuffer();
+    }
+
+}
@@ -19,6 +19,9 @@ package org.fuin.esc.api;
 
 import jakarta.validation.constraints.NotNull;
 
+import java.util.Objects;
+import java.util.stream.Stream;
+
 /**
  * Interface for reading events from an event store synchronously. Calling any
  * method on a non-open event store will implicitly {@link #open()} it.
@@ -148,6 +151,73 @@ public interface ReadableEventStore extends EventStoreBasics {
                               long startingAtEventNumber, int chunkSize,
                               ChunkEventHandler handler);
 
+    /**
+     * Reads all events of a stream with a chunk size that adapts to the size
+     * of the events and the time it takes to read them. Does nothing if the
+     * stream does not exist. The default implementation does not adapt and
+     * reads all events with the current chunk size of the given instance
+     * using {@link #readAllEventsForward(StreamId, long, int, ChunkEventHandler)}.
+     *
+     * @param streamId
+     *            Unique identifier of the stream.
+     * @param startingAtEventNumber
+     *            First event number to read.
+     * @param chunkSize
+     *            Chunk size used for this read.
+     * @param handler
+     *            Handler to pass a read chunk to.
+     *
+     * @throws StreamDeletedException
+     *             A stream with the given name previously existed but was
+     *             deleted.
+     */
+    default void readAllEventsForward(@NotNull final StreamId streamId,
+                                      final long startingAtEventNumber,
+                                      @NotNull final AdaptiveChunkSize chunkSize,
+                                      @NotNull final ChunkEventHandler handler) {
+        readAllEventsForward(streamId, startingAtEventNumber, chunkSize.getChunkSize(), handler);
+    }
+
+    /**
+     * Returns all events of a stream starting with a given event number as a
+     * lazy stream. Events are read in chunks when the stream is consumed.
+     * Implementations may read the next chunks in advance while the current
+     * one is processed. The returned stream should be closed to stop reading
+     * ahead if it's not consumed completely. A stream that does not exist
+     * results in an empty stream. The default implementation reads the
+     * chunks one after the other with
+     * {@link #readEventsForward(StreamId, long, int)} without reading ahead.
+     *
+     * @param streamId
+     *            Unique identifier of the stream.
+     * @param startingAtEventNumber
+     *            First event number to read.
+     * @param chunkSize
+     *            Number of events to read in a single operation.
+     *
+     * @return Events in the order they were written.
+     *
+     * @throws StreamDeletedException
+     *             A stream with the given name previously existed but was
+     *             deleted.
+     */
+    @NotNull
+    default Stream<CommonEvent> streamAllEventsForward(@NotNull final StreamId streamId,
+                                                       final long startingAtEventNumber, final int chunkSize) {
+        // Empty start slice, so nothing is read before the stream is consumed
+        final StreamEventsSlice start = new StreamEventsSlice(startingAtEventNumber, null, startingAtEventNumber, false);
+        return Stream.iterate(start, Objects::nonNull, slice -> {
+            if (slice.isEndOfStream()) {
+                return null;
+            }
+            try {
+                return readEventsForward(streamId, slice.getNextEventNumber(), chunkSize);
+            } catch (final StreamNotFoundException ex) {
+                return null;
+            }
+        }).flatMap(slice -> slice.getEvents().stream());
+    }
+
     /**
      * Handles a number of events.
      */
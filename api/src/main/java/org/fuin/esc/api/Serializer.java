@@ -19,6 +19,10 @@ package org.fuin.esc.api;
 
 import jakarta.validation.constraints.NotNull;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
 /**
  * Serializes an object.
  */
@@ -47,4 +51,40 @@ public interface Serializer {
      */
     @NotNull <T> byte[] marshal(@NotNull T obj, @NotNull SerializedDataType type);
 
+    /**
+     * Writes the byte representation of the given object into a stream provided by the caller. The stream is
+     * flushed, but not closed. The default implementation copies the result of {@link #marshal(Object, SerializedDataType)}
+     * into the stream. Implementations should override it to write directly into the stream.
+     *
+     * @param obj
+     *            Object to serialize.
+     * @param type
+     *            Type of event.
+     * @param out
+     *            Stream to write the serialized object to.
+     *
+     * @param <T>
+     *            Type the data is converted into.
+     */
+    default <T> void marshal(@NotNull final T obj, @NotNull final SerializedDataType type, @NotNull final OutputStream out) {
+        try {
+            out.write(marshal(obj, type));
+            out.flush();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Error writing serialized data of type '" + type + "'", ex);
+        }
+    }
+
+    /**
+     * Determines whether {@link #marshal(Object, SerializedDataType, OutputStream)} writes directly into the stream.
+     * Implementations that override that method should also override this one. Otherwise, callers that need a
+     * <code>byte[]</code> use {@link #marshal(Object, SerializedDataType)} to avoid copying the result twice.
+     * Serializers that wrap another one must forward the call.
+     *
+     * @return {@literal true} if the serializer writes into a stream without creating an intermediate array.
+     */
+    default boolean writesStream() {
+        return false;
+    }
+
 }
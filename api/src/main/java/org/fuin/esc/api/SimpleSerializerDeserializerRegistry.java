@@ -17,15 +17,18 @@
  */
 package org.fuin.esc.api;
 
-import jakarta.validation.constraints.NotNull;
+import jakarta.annotation.Nullable;
 import org.fuin.objects4j.common.Contract;
 
+import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
 /**
- * Contains all known serializers and deserializers.
+ * Contains all known serializers and deserializers. The registry is immutable after it was built. Deserializers are
+ * stored in a flat open addressing table keyed on type, base mime type, encoding and version, so that lookups don't
+ * need to create any objects.
  */
 public final class SimpleSerializerDeserializerRegistry implements SerDeserializerRegistry {
 
@@ -33,35 +36,40 @@ public final class SimpleSerializerDeserializerRegistry implements SerDeserializ
 
     private final Map<SerializedDataType, Serializer> serMap;
 
-    private final Map<Key, Deserializer> desMap;
+    private final Entry[] desTable;
+
+    private final int desMask;
 
     /**
-     * Default constructor.
+     * Constructor with all data.
+     *
+     * @param defaultMimeType Default mime type.
+     * @param serMap          Serializers by type.
+     * @param desMap          Deserializers by key.
      */
-    private SimpleSerializerDeserializerRegistry(final EnhancedMimeType defaultMimeType) {
+    private SimpleSerializerDeserializerRegistry(final EnhancedMimeType defaultMimeType,
+                                                 final Map<SerializedDataType, Serializer> serMap,
+                                                 final Map<Key, Deserializer> desMap) {
         super();
-        serMap = new HashMap<>();
-        desMap = new HashMap<>();
         this.defaultMimeType = Objects.requireNonNull(defaultMimeType, "defaultMimeType==null");
-    }
-
-    private void addSerDeserializer(@NotNull final SerializedDataType type,
-                                    @NotNull final SerDeserializer serDeserializer,
-                                    final EnhancedMimeType mimeType) {
-        this.addSerializer(type, serDeserializer);
-        this.addDeserializer(type, serDeserializer, mimeType);
-    }
-
-    private void addDeserializer(@NotNull final SerializedDataType type,
-                                 @NotNull final Deserializer deserializer,
-                                 final EnhancedMimeType mimeType) {
-        final Key key = new Key(type, mimeType == null ? defaultMimeType : mimeType);
-        desMap.put(key, deserializer);
-    }
-
-    private void addSerializer(@NotNull final SerializedDataType type,
-                               @NotNull final Serializer serializer) {
-        serMap.put(type, serializer);
+        this.serMap = Map.copyOf(serMap);
+        // Capacity is a power of two with at least one free slot, so a probe always ends
+        int capacity = 2;
+        while (capacity < desMap.size() * 2) {
+            capacity = capacity << 1;
+        }
+        this.desTable = new Entry[capacity];
+        this.desMask = capacity - 1;
+        for (final Map.Entry<Key, Deserializer> entry : desMap.entrySet()) {
+            final Key key = entry.getKey();
+            final int hash = hash(key.type, key.mimeType.getPrimaryType(), key.mimeType.getSubType());
+            int idx = hash & desMask;
+            while (desTable[idx] != null) {
+                idx = (idx + 1) & desMask;
+            }
+            desTable[idx] = new Entry(hash, key.type, key.mimeType.getPrimaryType(), key.mimeType.getSubType(),
+                    key.mimeType.getEncoding(), key.mimeType.getVersion(), entry.getValue());
+        }
     }
 
     @Override
@@ -81,10 +89,9 @@ public final class SimpleSerializerDeserializerRegistry implements SerDeserializ
         Contract.requireArgNotNull("type", type);
         Contract.requireArgNotNull("mimeType", mimeType);
 
-        final Key key = new Key(type, mimeType);
-        final Deserializer des = desMap.get(key);
+        final Deserializer des = findDeserializer(type, mimeType);
         if (des == null) {
-            throw new IllegalArgumentException("No deserializer found for: " + key);
+            throw new IllegalArgumentException("No deserializer found for: " + new Key(type, mimeType));
         }
         return des;
 
@@ -94,10 +101,9 @@ public final class SimpleSerializerDeserializerRegistry implements SerDeserializ
     public Deserializer getDeserializer(final SerializedDataType type) {
         Contract.requireArgNotNull("type", type);
 
-        final Key key = new Key(type, defaultMimeType);
-        final Deserializer des = desMap.get(key);
+        final Deserializer des = findDeserializer(type, defaultMimeType);
         if (des == null) {
-            throw new IllegalArgumentException("No deserializer found for: " + key);
+            throw new IllegalArgumentException("No deserializer found for: " + new Key(type, defaultMimeType));
         }
         return des;
     }
@@ -117,9 +123,7 @@ public final class SimpleSerializerDeserializerRegistry implements SerDeserializ
     public boolean deserializerExists(final SerializedDataType type) {
         Contract.requireArgNotNull("type", type);
 
-        final Key key = new Key(type, defaultMimeType);
-        final Deserializer des = desMap.get(key);
-        return des != null;
+        return findDeserializer(type, defaultMimeType) != null;
     }
 
     @Override
@@ -127,13 +131,74 @@ public final class SimpleSerializerDeserializerRegistry implements SerDeserializ
         Contract.requireArgNotNull("type", type);
         Contract.requireArgNotNull("mimeType", mimeType);
 
-        final Key key = new Key(type, mimeType);
-        final Deserializer des = desMap.get(key);
-        return des != null;
+        return findDeserializer(type, mimeType) != null;
+    }
+
+    @Nullable
+    private Deserializer findDeserializer(final SerializedDataType type, final EnhancedMimeType mimeType) {
+        final String primaryType = mimeType.getPrimaryType();
+        final String subType = mimeType.getSubType();
+        final int hash = hash(type, primaryType, subType);
+        int idx = hash & desMask;
+        Entry entry;
+        while ((entry = desTable[idx]) != null) {
+            if (entry.hash == hash && entry.matches(type, primaryType, subType, mimeType)) {
+                return entry.deserializer;
+            }
+            idx = (idx + 1) & desMask;
+        }
+        return null;
+    }
+
+    private static int hash(final SerializedDataType type, final String primaryType, final String subType) {
+        final int h = 31 * (31 * type.hashCode() + primaryType.hashCode()) + subType.hashCode();
+        return h ^ (h >>> 16);
     }
 
     /**
-     * Key used to find an appropriate deserializer.
+     * Slot of the deserializer table. The encoding and version are not part of the hash, because the encoding
+     * parameter of a mime type may be any alias of the charset.
+     */
+    private static final class Entry {
+
+        private final int hash;
+        private final SerializedDataType type;
+        private final String primaryType;
+        private final String subType;
+        private final Charset encoding;
+        private final String version;
+        private final Deserializer deserializer;
+
+        Entry(final int hash, final SerializedDataType type, final String primaryType, final String subType,
+              final Charset encoding, final String version, final Deserializer deserializer) {
+            this.hash = hash;
+            this.type = type;
+            this.primaryType = primaryType;
+            this.subType = subType;
+            this.encoding = encoding;
+            this.version = version;
+            this.deserializer = deserializer;
+        }
+
+        boolean matches(final SerializedDataType otherType, final String otherPrimaryType, final String otherSubType,
+                        final EnhancedMimeType mimeType) {
+            return type.equals(otherType) && primaryType.equals(otherPrimaryType) && subType.equals(otherSubType)
+                    && Objects.equals(version, mimeType.getVersion())
+                    && matchesEncoding(mimeType.getParameter(EnhancedMimeType.ENCODING));
+        }
+
+        private boolean matchesEncoding(final String otherEncoding) {
+            if (encoding == null || otherEncoding == null) {
+                return encoding == null && otherEncoding == null;
+            }
+            // Only an alias like "utf8" requires a charset lookup
+            return encoding.name().equalsIgnoreCase(otherEncoding) || encoding.equals(Charset.forName(otherEncoding));
+        }
+
+    }
+
+    /**
+     * Key used to register a deserializer.
      */
     private static class Key {
 
@@ -170,10 +235,35 @@ public final class SimpleSerializerDeserializerRegistry implements SerDeserializ
      */
     public static final class Builder implements SerDeserializerRegistry.Builder<SimpleSerializerDeserializerRegistry, Builder> {
 
-        private SimpleSerializerDeserializerRegistry delegate;
+        private final EnhancedMimeType defaultMimeType;
+
+        private Map<SerializedDataType, Serializer> serMap;
+
+        private Map<Key, Deserializer> desMap;
 
         public Builder(EnhancedMimeType defaultMimeType) {
-            delegate = new SimpleSerializerDeserializerRegistry(defaultMimeType);
+            this.defaultMimeType = Objects.requireNonNull(defaultMimeType, "defaultMimeType==null");
+            this.serMap = new HashMap<>();
+            this.desMap = new HashMap<>();
+        }
+
+        private void addSerDeserializer(final SerializedDataType type,
+                                        final SerDeserializer serDeserializer,
+                                        final EnhancedMimeType mimeType) {
+            this.addSerializer(type, serDeserializer);
+            this.addDeserializer(type, serDeserializer, mimeType);
+        }
+
+        private void addDeserializer(final SerializedDataType type,
+                                     final Deserializer deserializer,
+                                     final EnhancedMimeType mimeType) {
+            final Key key = new Key(type, mimeType == null ? defaultMimeType : mimeType);
+            desMap.put(key, deserializer);
+        }
+
+        private void addSerializer(final SerializedDataType type,
+                                   final Serializer serializer) {
+            serMap.put(type, serializer);
         }
 
         @Override
@@ -181,7 +271,7 @@ public final class SimpleSerializerDeserializerRegistry implements SerDeserializ
             Objects.requireNonNull(type, "type==null");
             Objects.requireNonNull(serDeserializer, "serDeserializer==null");
 
-            delegate.addSerDeserializer(type, serDeserializer, mimeType);
+            addSerDeserializer(type, serDeserializer, mimeType);
             return this;
         }
 
@@ -190,7 +280,7 @@ public final class SimpleSerializerDeserializerRegistry implements SerDeserializ
             Objects.requireNonNull(type, "type==null");
             Objects.requireNonNull(serDeserializer, "serDeserializer==null");
 
-            delegate.addSerDeserializer(type, serDeserializer, null);
+            addSerDeserializer(type, serDeserializer, null);
             return this;
         }
 
@@ -199,7 +289,7 @@ public final class SimpleSerializerDeserializerRegistry implements SerDeserializ
             Objects.requireNonNull(type, "type==null");
             Objects.requireNonNull(deserializer, "deserializer==null");
 
-            delegate.addDeserializer(type, deserializer, mimeType);
+            addDeserializer(type, deserializer, mimeType);
             return this;
         }
 
@@ -208,7 +298,7 @@ public final class SimpleSerializerDeserializerRegistry implements SerDeserializ
             Objects.requireNonNull(type, "type==null");
             Objects.requireNonNull(deserializer, "deserializer==null");
 
-            delegate.addDeserializer(type, deserializer, null);
+            addDeserializer(type, deserializer, null);
             return this;
         }
 
@@ -217,14 +307,21 @@ public final class SimpleSerializerDeserializerRegistry implements SerDeserializ
             Objects.requireNonNull(type, "type==null");
             Objects.requireNonNull(serializer, "serializer==null");
 
-            delegate.addSerializer(type, serializer);
+            addSerializer(type, serializer);
             return this;
         }
 
+        /**
+         * Creates an immutable registry with the lookup tables computed once. The builder is cleared afterwards.
+         *
+         * @return New instance.
+         */
         public SimpleSerializerDeserializerRegistry build() {
-            final SimpleSerializerDeserializerRegistry tmp = delegate;
-            delegate = new SimpleSerializerDeserializerRegistry(tmp.getDefaultMimeType());
-            return tmp;
+            final SimpleSerializerDeserializerRegistry registry = new SimpleSerializerDeserializerRegistry(
+                    defaultMimeType, serMap, desMap);
+            serMap = new HashMap<>();
+            desMap = new HashMap<>();
+            return registry;
         }
 
     }
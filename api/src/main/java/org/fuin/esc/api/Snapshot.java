@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Objects;
+
+/**
+ * State of a stream after applying all events up to and including a given version. Restoring the state from a
+ * snapshot and only applying the events appended afterward avoids replaying the complete stream.
+ */
+@Immutable
+public final class Snapshot {
+
+    private final StreamId streamId;
+
+    private final long version;
+
+    private final TypeName dataType;
+
+    private final Object data;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param streamId Unique identifier of the stream.
+     * @param version  Number of the last event contained in the state or {@link ExpectedVersion#NO_OR_EMPTY_STREAM}
+     *                 if no event was applied yet.
+     * @param dataType Unique name of the type of the state.
+     * @param data     State of the stream.
+     */
+    public Snapshot(@NotNull final StreamId streamId, final long version, @NotNull final TypeName dataType,
+                    @NotNull final Object data) {
+        super();
+        Contract.requireArgNotNull("streamId", streamId);
+        Contract.requireArgMin("version", version, ExpectedVersion.NO_OR_EMPTY_STREAM.getNo());
+        Contract.requireArgNotNull("dataType", dataType);
+        Contract.requireArgNotNull("data", data);
+        this.streamId = streamId;
+        this.version = version;
+        this.dataType = dataType;
+        this.data = data;
+    }
+
+    /**
+     * Returns the unique identifier of the stream.
+     *
+     * @return Stream the state belongs to.
+     */
+    @NotNull
+    public StreamId getStreamId() {
+        return streamId;
+    }
+
+    /**
+     * Returns the number of the last event contained in the state. The value can directly be used as expected
+     * version when appending new events to the stream.
+     *
+     * @return Event number or {@link ExpectedVersion#NO_OR_EMPTY_STREAM} if no event was applied yet.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the unique name of the type of the state.
+     *
+     * @return Type of the state.
+     */
+    @NotNull
+    public TypeName getDataType() {
+        return dataType;
+    }
+
+    /**
+     * Returns the state of the stream.
+     *
+     * @return State.
+     */
+    @NotNull
+    public Object getData() {
+        return data;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Snapshot other)) {
+            return false;
+        }
+        return version == other.version && streamId.equals(other.streamId) && dataType.equals(other.dataType)
+                && data.equals(other.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(streamId, version, dataType, data);
+    }
+
+    @Override
+    public String toString() {
+        return "Snapshot{streamId=" + streamId.asString() + ", version=" + version + ", dataType=" + dataType + "}";
+    }
+
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Restores the state of a stream from its latest snapshot and the events appended after it. A new snapshot is
+ * stored as soon as more than the configured number of events had to be applied, so the number of events read when
+ * loading a stream stays bounded by the snapshot interval. A stored snapshot with a different data type than the
+ * requested one is ignored and the stream is replayed from the beginning. This class is thread-safe if the event
+ * and snapshot store are.
+ */
+public final class SnapshotLoader {
+
+    private final ReadableEventStore eventStore;
+
+    private final SnapshotStore snapshotStore;
+
+    private final int chunkSize;
+
+    private final int snapshotInterval;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param eventStore       Event store to read the events from.
+     * @param snapshotStore    Store used to load and save snapshots.
+     * @param chunkSize        Number of events to read in a single operation.
+     * @param snapshotInterval Number of applied events that triggers storing a new snapshot.
+     */
+    public SnapshotLoader(@NotNull final ReadableEventStore eventStore, @NotNull final SnapshotStore snapshotStore,
+                          final int chunkSize, final int snapshotInterval) {
+        super();
+        Contract.requireArgNotNull("eventStore", eventStore);
+        Contract.requireArgNotNull("snapshotStore", snapshotStore);
+        Contract.requireArgMin("chunkSize", chunkSize, 1);
+        Contract.requireArgMin("snapshotInterval", snapshotInterval, 1);
+        this.eventStore = eventStore;
+        this.snapshotStore = snapshotStore;
+        this.chunkSize = chunkSize;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Loads the current state of a stream.
+     *
+     * @param streamId     Unique identifier of the stream.
+     * @param dataType     Unique name of the type of the state.
+     * @param initialState Creates the state before the first event if no snapshot exists.
+     * @param applier      Applies an event to a state and returns the resulting state.
+     * @param <T>          Type of the state.
+     *
+     * @return Current state with the number of the last applied event.
+     *
+     * @throws StreamDeletedException The stream was deleted.
+     */
+    @NotNull
+    public <T> Snapshot load(@NotNull final StreamId streamId, @NotNull final TypeName dataType,
+                             @NotNull final Supplier<T> initialState,
+                             @NotNull final BiFunction<T, CommonEvent, T> applier) {
+
+        Contract.requireArgNotNull("streamId", streamId);
+        Contract.requireArgNotNull("dataType", dataType);
+        Contract.requireArgNotNull("initialState", initialState);
+        Contract.requireArgNotNull("applier", applier);
+
+        final Replay<T> replay = start(streamId, dataType, initialState, applier);
+        final long snapshotVersion = replay.version;
+        try {
+            eventStore.readAllEventsForward(streamId, snapshotVersion + 1, chunkSize, replay);
+        } catch (final StreamNotFoundException ex) {
+            // Nothing to apply
+        }
+
+        final Snapshot current = new Snapshot(streamId, replay.version, dataType, replay.state);
+        if (replay.version - snapshotVersion >= snapshotInterval) {
+            snapshotStore.saveSnapshot(current);
+        }
+        return current;
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Replay<T> start(final StreamId streamId, final TypeName dataType, final Supplier<T> initialState,
+                                final BiFunction<T, CommonEvent, T> applier) {
+        final Snapshot snapshot = snapshotStore.loadSnapshot(streamId);
+        if (snapshot == null || !snapshot.getDataType().equals(dataType)) {
+            return new Replay<>(initialState.get(), ExpectedVersion.NO_OR_EMPTY_STREAM.getNo(), applier);
+        }
+        return new Replay<>((T) snapshot.getData(), snapshot.getVersion(), applier);
+    }
+
+    /**
+     * Applies the events of the read slices to the state.
+     *
+     * @param <T> Type of the state.
+     */
+    private static final class Replay<T> implements ReadableEventStore.ChunkEventHandler {
+
+        private T state;
+
+        private long version;
+
+        private final BiFunction<T, CommonEvent, T> applier;
+
+        Replay(final T state, final long version, final BiFunction<T, CommonEvent, T> applier) {
+            this.state = state;
+            this.version = version;
+            this.applier = applier;
+        }
+
+        @Override
+        public void handle(final StreamEventsSlice currentSlice) {
+            for (final CommonEvent event : currentSlice.getEvents()) {
+                state = applier.apply(state, event);
+            }
+            if (!currentSlice.getEvents().isEmpty()) {
+                version = currentSlice.getFromEventNumber() + currentSlice.getEvents().size() - 1;
+            }
+        }
+
+    }
+
+}
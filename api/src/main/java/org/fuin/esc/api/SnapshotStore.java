@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Stores the latest snapshot of a stream. Implementations keep only one snapshot per stream. The state is
+ * serialized with the serializer registered for the data type of the snapshot if the backend requires it.
+ */
+public interface SnapshotStore {
+
+    /**
+     * Stores a snapshot. Replaces any snapshot previously stored for the same stream.
+     *
+     * @param snapshot Snapshot to store.
+     */
+    void saveSnapshot(@NotNull Snapshot snapshot);
+
+    /**
+     * Loads the latest snapshot of a stream.
+     *
+     * @param streamId Unique identifier of the stream.
+     *
+     * @return Snapshot or {@literal null} if no snapshot was stored for the stream.
+     */
+    @Nullable
+    Snapshot loadSnapshot(@NotNull StreamId streamId);
+
+    /**
+     * Deletes the snapshot of a stream. Does nothing if no snapshot exists.
+     *
+     * @param streamId Unique identifier of the stream.
+     */
+    void deleteSnapshot(@NotNull StreamId streamId);
+
+}
@@ -40,6 +40,8 @@ public final class StreamEventsSlice {
 
     private final List<CommonEvent> events;
 
+    private final long sizeInBytes;
+
     /**
      * Constructor with all data.
      *
@@ -57,6 +59,29 @@ public final class StreamEventsSlice {
     public StreamEventsSlice(final long fromEventNumber,
                              @Nullable final List<CommonEvent> events, final long nextEventNumber,
                              final boolean endOfStream) {
+        this(fromEventNumber, events, nextEventNumber, endOfStream, -1);
+    }
+
+    /**
+     * Constructor with all data including the size of the serialized events.
+     *
+     * @param fromEventNumber
+     *            The starting point (represented as a sequence number) of the
+     *            read.
+     * @param events
+     *            The events read. The list is internally copied to avoid
+     *            external dependencies.
+     * @param nextEventNumber
+     *            The next event number that can be read.
+     * @param endOfStream
+     *            Determines whether this is the end of the stream.
+     * @param sizeInBytes
+     *            Number of bytes of the serialized data and meta data of all
+     *            events or -1 if unknown.
+     */
+    public StreamEventsSlice(final long fromEventNumber,
+                             @Nullable final List<CommonEvent> events, final long nextEventNumber,
+                             final boolean endOfStream, final long sizeInBytes) {
 
         this.fromEventNumber = fromEventNumber;
         if (events == null || events.isEmpty()) {
@@ -66,6 +91,7 @@ public final class StreamEventsSlice {
         }
         this.nextEventNumber = nextEventNumber;
         this.endOfStream = endOfStream;
+        this.sizeInBytes = sizeInBytes;
     }
 
     /**
@@ -107,6 +133,17 @@ public final class StreamEventsSlice {
         return endOfStream;
     }
 
+    /**
+     * Returns the number of bytes of the serialized data and meta data of all
+     * events as read from the event store. The size is not part of
+     * {@link #equals(Object)}.
+     *
+     * @return Size in bytes or -1 if the event store does not provide it.
+     */
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
 
     @Override
     public int hashCode() {
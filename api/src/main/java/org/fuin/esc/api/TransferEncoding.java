@@ -0,0 +1,174 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Transfer encodings that are used for content embedded as {@link IBase64Data} into an envelope of a different
+ * content type. The encoding is recorded as "transfer-encoding" parameter of the content type stored in the
+ * {@link IEscMeta}. The Base64 step itself is done by the envelope, so {@link #encode(byte[])} and
+ * {@link #decode(byte[])} only handle the bytes before or after it.
+ */
+public enum TransferEncoding {
+
+    /** Content is only Base64 encoded. */
+    BASE64("base64"),
+
+    /** Content is compressed with GZIP and then Base64 encoded. */
+    GZIP_BASE64("gzip+base64");
+
+    /** Name of the content type parameter. */
+    public static final String PARAMETER = "transfer-encoding";
+
+    private final String value;
+
+    TransferEncoding(final String value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the value used for the content type parameter.
+     *
+     * @return Name of the transfer encoding.
+     */
+    public final String getName() {
+        return value;
+    }
+
+    /**
+     * Determines if the content is compressed.
+     *
+     * @return TRUE if {@link #encode(byte[])} compresses the content, else FALSE.
+     */
+    public final boolean isCompressed() {
+        return this == GZIP_BASE64;
+    }
+
+    /**
+     * Encodes serialized content before it is wrapped in Base64 data.
+     *
+     * @param data Serialized content.
+     *
+     * @return Encoded content.
+     */
+    public final byte[] encode(@NotNull final byte[] data) {
+        Objects.requireNonNull(data, "data==null");
+        if (!isCompressed()) {
+            return data;
+        }
+        final PooledByteArrayOutputStream out = PooledByteArrayOutputStream.acquire();
+        try {
+            try (final GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(data);
+            }
+            return out.toByteArray();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Failed to compress content", ex);
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * Decodes content that was unwrapped from Base64 data.
+     *
+     * @param data Encoded content.
+     *
+     * @return Serialized content.
+     */
+    public final byte[] decode(@NotNull final byte[] data) {
+        Objects.requireNonNull(data, "data==null");
+        if (!isCompressed()) {
+            return data;
+        }
+        try (final GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Failed to decompress content", ex);
+        }
+    }
+
+    /**
+     * Returns the transfer encoding for a given name.
+     *
+     * @param name
+     *            Name of the transfer encoding or {@literal null}.
+     *
+     * @return Transfer encoding or {@literal null} if the name was {@literal null}.
+     *
+     * @throws IllegalArgumentException The name is unknown.
+     */
+    @Nullable
+    public static TransferEncoding forName(@Nullable final String name) {
+        if (name == null) {
+            return null;
+        }
+        for (final TransferEncoding encoding : values()) {
+            if (encoding.value.equalsIgnoreCase(name)) {
+                return encoding;
+            }
+        }
+        throw new IllegalArgumentException("Unknown transfer encoding: '" + name + "'");
+    }
+
+    /**
+     * Returns the transfer encoding of a content type.
+     *
+     * @param mimeType
+     *            Content type or {@literal null}.
+     *
+     * @return Transfer encoding or {@literal null} if the content type is {@literal null} or has no transfer encoding.
+     *
+     * @throws IllegalArgumentException The transfer encoding is unknown.
+     */
+    @Nullable
+    public static TransferEncoding of(@Nullable final EnhancedMimeType mimeType) {
+        if (mimeType == null) {
+            return null;
+        }
+        return forName(mimeType.getParameter(PARAMETER));
+    }
+
+    /**
+     * Decodes content that was unwrapped from Base64 data using the transfer encoding of its content type.
+     *
+     * @param mimeType
+     *            Content type of the data.
+     * @param data
+     *            Encoded content.
+     *
+     * @return Serialized content.
+     */
+    public static byte[] decode(@Nullable final EnhancedMimeType mimeType, @NotNull final byte[] data) {
+        final TransferEncoding encoding = of(mimeType);
+        if (encoding == null) {
+            return data;
+        }
+        return encoding.decode(data);
+    }
+
+}
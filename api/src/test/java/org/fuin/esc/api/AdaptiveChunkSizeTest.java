@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the {@link AdaptiveChunkSize} class.
+ */
+public class AdaptiveChunkSizeTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void testStartsWithMinimum() {
+        final AdaptiveChunkSize testee = new AdaptiveChunkSize(10, 1000, 1024 * 1024, Duration.ofMillis(100));
+        assertThat(testee.getChunkSize()).isEqualTo(10);
+    }
+
+    @Test
+    public void testGrowsAtMostTwiceWithSmallFastEvents() {
+
+        // PREPARE
+        final AdaptiveChunkSize testee = new AdaptiveChunkSize(10, 1000, 1024 * 1024, Duration.ofMillis(100));
+
+        // TEST & VERIFY
+        testee.update(10, 1000, MS);
+        assertThat(testee.getChunkSize()).isEqualTo(20);
+        testee.update(20, 2000, MS);
+        assertThat(testee.getChunkSize()).isEqualTo(40);
+        for (int i = 0; i < 10; i++) {
+            testee.update(testee.getChunkSize(), testee.getChunkSize() * 100L, MS);
+        }
+        assertThat(testee.getChunkSize()).isEqualTo(1000);
+
+    }
+
+    @Test
+    public void testShrinksWithLargeEvents() {
+
+        // PREPARE
+        final AdaptiveChunkSize testee = new AdaptiveChunkSize(1, 1000, 100_000, Duration.ofSeconds(10));
+        for (int i = 0; i < 10; i++) {
+            testee.update(testee.getChunkSize(), testee.getChunkSize() * 100L, MS);
+        }
+        assertThat(testee.getChunkSize()).isEqualTo(1000);
+
+        // TEST
+        for (int i = 0; i < 10; i++) {
+            testee.update(testee.getChunkSize(), testee.getChunkSize() * 10_000L, MS);
+        }
+
+        // VERIFY
+        assertThat(testee.getChunkSize()).isEqualTo(10);
+
+    }
+
+    @Test
+    public void testShrinksWithSlowReads() {
+
+        // PREPARE
+        final AdaptiveChunkSize testee = new AdaptiveChunkSize(1, 1000, Long.MAX_VALUE, Duration.ofMillis(100));
+
+        // TEST
+        for (int i = 0; i < 10; i++) {
+            // 10 ms per event without a known size
+            testee.update(testee.getChunkSize(), -1, testee.getChunkSize() * 10 * MS);
+        }
+
+        // VERIFY
+        assertThat(testee.getChunkSize()).isEqualTo(10);
+
+    }
+
+    @Test
+    public void testIgnoresEmptySlices() {
+        final AdaptiveChunkSize testee = new AdaptiveChunkSize(5, 1000, 1024, Duration.ofMillis(100));
+        testee.update(0, 0, MS);
+        assertThat(testee.getChunkSize()).isEqualTo(5);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThatThrownBy(() -> new AdaptiveChunkSize(0, 10, 1, Duration.ofMillis(1)))
+                .isInstanceOf(ConstraintViolationException.class);
+        assertThatThrownBy(() -> new AdaptiveChunkSize(10, 5, 1, Duration.ofMillis(1)))
+                .isInstanceOf(ConstraintViolationException.class);
+        assertThatThrownBy(() -> new AdaptiveChunkSize(1, 5, 1, Duration.ZERO))
+                .isInstanceOf(ConstraintViolationException.class);
+    }
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fuin.utils4j.Utils4J.deserialize;
+import static org.fuin.utils4j.Utils4J.serialize;
+
+/**
+ * Tests the {@link AppendTimeoutException} class.
+ */
+public class AppendTimeoutExceptionTest {
+
+    private static final StreamId STREAM_ID = new SimpleStreamId("MyStream");
+
+    @Test
+    public void testGetter() {
+
+        final AppendTimeoutException notWritten = new AppendTimeoutException(STREAM_ID, Duration.ofSeconds(5), false);
+        final AppendTimeoutException unknown = new AppendTimeoutException(STREAM_ID, Duration.ofSeconds(5), true);
+
+        assertThat(notWritten.getStreamId()).isEqualTo(STREAM_ID);
+        assertThat(notWritten.isOutcomeUnknown()).isFalse();
+        assertThat(notWritten.getMessage())
+                .isEqualTo("Append to stream 'MyStream' did not complete within PT5S: The events were not written");
+        assertThat(unknown.isOutcomeUnknown()).isTrue();
+        assertThat(unknown.getMessage()).endsWith("The events may have been written");
+
+    }
+
+    @Test
+    public void testSerializeDeserialize() {
+
+        // PREPARE
+        final AppendTimeoutException original = new AppendTimeoutException(STREAM_ID, Duration.ofSeconds(5), true);
+
+        // TEST
+        final byte[] data = serialize(original);
+        final AppendTimeoutException copy = deserialize(data);
+
+        // VERIFY
+        assertThat(copy.getMessage()).isEqualTo(original.getMessage());
+        assertThat(copy.getStreamId()).isEqualTo(original.getStreamId());
+        assertThat(copy.isOutcomeUnknown()).isTrue();
+
+    }
+
+}
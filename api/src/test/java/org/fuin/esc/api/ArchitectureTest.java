@@ -41,6 +41,7 @@ class ArchitectureTest {
             .onlyDependOnClassesThat()
             .resideInAnyPackage(API_PACKAGE,
                     "java..",
+                    "jdk.jfr..",
                     "jakarta.activation..",
                     "jakarta.annotation..",
                     "jakarta.validation..",
@@ -0,0 +1,354 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for {@link CachingEventStore}.
+ */
+public class CachingEventStoreTest {
+
+    private static final StreamId STREAM_ID = new SimpleStreamId("MyStream");
+
+    private EventStore delegate;
+
+    private List<CommonEvent> events;
+
+    @BeforeEach
+    public void setup() {
+        delegate = mock(EventStore.class);
+        events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            events.add(new SimpleCommonEvent(new EventId(), new TypeName("MyEvent"), "Event " + i));
+        }
+    }
+
+    @Test
+    public void testReadEventIsCached() {
+
+        // PREPARE
+        when(delegate.readEvent(STREAM_ID, 3)).thenReturn(events.get(3));
+        final CachingEventStore testee = new CachingEventStore(delegate, 1000, 10);
+
+        // TEST
+        final CommonEvent first = testee.readEvent(STREAM_ID, 3);
+        final CommonEvent second = testee.readEvent(new SimpleStreamId("MyStream"), 3);
+
+        // VERIFY
+        assertThat(first).isSameAs(events.get(3));
+        assertThat(second).isSameAs(events.get(3));
+        verify(delegate, times(1)).readEvent(STREAM_ID, 3);
+        assertThat(testee.getHitCount()).isEqualTo(1);
+        assertThat(testee.getMissCount()).isEqualTo(1);
+        assertThat(testee.getEventCount()).isEqualTo(1);
+        assertThat(testee.getSizeInBytes()).isEqualTo(10);
+
+    }
+
+    @Test
+    public void testReadEventsForwardFetchesOnlyTail() {
+
+        // PREPARE
+        when(delegate.readEventsForward(STREAM_ID, 0, 3)).thenReturn(slice(0, 3, false));
+        when(delegate.readEventsForward(STREAM_ID, 3, 2)).thenReturn(slice(3, 2, false));
+        final CachingEventStore testee = new CachingEventStore(delegate, 1000, 10);
+        testee.readEventsForward(STREAM_ID, 0, 3);
+
+        // TEST
+        final StreamEventsSlice result = testee.readEventsForward(STREAM_ID, 0, 5);
+
+        // VERIFY
+        assertThat(result.getEvents()).containsExactlyElementsOf(events.subList(0, 5));
+        assertThat(result.getFromEventNumber()).isEqualTo(0);
+        assertThat(result.getNextEventNumber()).isEqualTo(5);
+        assertThat(result.isEndOfStream()).isFalse();
+        assertThat(result.getSizeInBytes()).isEqualTo(5 * 100);
+        verify(delegate).readEventsForward(STREAM_ID, 3, 2);
+        assertThat(testee.getMissCount()).isEqualTo(2);
+        // Size is taken from the slice
+        assertThat(testee.getSizeInBytes()).isEqualTo(5 * 100);
+
+    }
+
+    @Test
+    public void testReadEventsForwardFullyCached() {
+
+        // PREPARE
+        when(delegate.readEventsForward(STREAM_ID, 0, 5)).thenReturn(slice(0, 5, false));
+        final CachingEventStore testee = new CachingEventStore(delegate, 1000, 10);
+        testee.readEventsForward(STREAM_ID, 0, 5);
+
+        // TEST
+        final StreamEventsSlice result = testee.readEventsForward(STREAM_ID, 1, 3);
+
+        // VERIFY
+        assertThat(result.getEvents()).containsExactlyElementsOf(events.subList(1, 4));
+        assertThat(result.getNextEventNumber()).isEqualTo(4);
+        assertThat(result.isEndOfStream()).isFalse();
+        assertThat(result.getSizeInBytes()).isEqualTo(3 * 100);
+        verify(delegate).readEventsForward(STREAM_ID, 0, 5);
+        verifyNoMoreInteractions(delegate);
+        assertThat(testee.getHitCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    public void testReadEventsForwardFullyCachedEndOfStream() {
+
+        // PREPARE
+        when(delegate.readEventsForward(STREAM_ID, 0, 5)).thenReturn(slice(0, 5, true));
+        final CachingEventStore testee = new CachingEventStore(delegate, 1000, 10);
+        testee.readEventsForward(STREAM_ID, 0, 5);
+
+        // TEST
+        final StreamEventsSlice last = testee.readEventsForward(STREAM_ID, 3, 2);
+        final StreamEventsSlice middle = testee.readEventsForward(STREAM_ID, 2, 2);
+
+        // VERIFY
+        assertThat(last.isEndOfStream()).isTrue();
+        assertThat(last.getNextEventNumber()).isEqualTo(5);
+        assertThat(middle.isEndOfStream()).isFalse();
+        assertThat(testee.getHitCount()).isEqualTo(2);
+
+    }
+
+    @Test
+    public void testAppendForgetsEndOfStream() {
+
+        // PREPARE
+        when(delegate.readEventsForward(STREAM_ID, 0, 5)).thenReturn(slice(0, 5, true));
+        final CachingEventStore testee = new CachingEventStore(delegate, 1000, 10);
+        testee.readEventsForward(STREAM_ID, 0, 5);
+
+        // TEST
+        testee.appendToStream(STREAM_ID, events.get(5));
+
+        // VERIFY
+        assertThat(testee.readEventsForward(STREAM_ID, 3, 2).isEndOfStream()).isFalse();
+        assertThat(testee.getEventCount()).isEqualTo(5);
+
+    }
+
+    @Test
+    public void testReadEventsForwardUnknownSize() {
+
+        // PREPARE
+        when(delegate.readEvent(STREAM_ID, 0)).thenReturn(events.get(0));
+        when(delegate.readEventsForward(STREAM_ID, 1, 1)).thenReturn(slice(1, 1, false));
+        final CachingEventStore testee = new CachingEventStore(delegate, 1000, 10);
+        testee.readEvent(STREAM_ID, 0);
+
+        // TEST
+        final StreamEventsSlice merged = testee.readEventsForward(STREAM_ID, 0, 2);
+        final StreamEventsSlice cached = testee.readEventsForward(STREAM_ID, 0, 2);
+
+        // VERIFY
+        assertThat(merged.getEvents()).containsExactlyElementsOf(events.subList(0, 2));
+        assertThat(merged.getSizeInBytes()).isEqualTo(-1);
+        assertThat(cached.getSizeInBytes()).isEqualTo(-1);
+        assertThat(testee.readEventsForward(STREAM_ID, 1, 1).getSizeInBytes()).isEqualTo(100);
+
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEventsAreEvicted() {
+
+        // PREPARE
+        for (int i = 0; i < 4; i++) {
+            when(delegate.readEvent(STREAM_ID, i)).thenReturn(events.get(i));
+        }
+        final CachingEventStore testee = new CachingEventStore(delegate, 30, 10);
+        testee.readEvent(STREAM_ID, 0);
+        testee.readEvent(STREAM_ID, 1);
+        testee.readEvent(STREAM_ID, 2);
+        testee.readEvent(STREAM_ID, 0);
+
+        // TEST
+        testee.readEvent(STREAM_ID, 3);
+
+        // VERIFY
+        assertThat(testee.getEvictionCount()).isEqualTo(1);
+        assertThat(testee.getEventCount()).isEqualTo(3);
+        assertThat(testee.getSizeInBytes()).isEqualTo(30);
+        testee.readEvent(STREAM_ID, 0);
+        verify(delegate, times(1)).readEvent(STREAM_ID, 0);
+        testee.readEvent(STREAM_ID, 1);
+        verify(delegate, times(2)).readEvent(STREAM_ID, 1);
+
+    }
+
+    @Test
+    public void testDeleteStreamInvalidates() {
+
+        // PREPARE
+        when(delegate.readEventsForward(STREAM_ID, 0, 5)).thenReturn(slice(0, 5, true));
+        final CachingEventStore testee = new CachingEventStore(delegate, 1000, 10);
+        testee.readEventsForward(STREAM_ID, 0, 5);
+        assertThat(testee.getEventCount()).isEqualTo(5);
+
+        // TEST
+        testee.deleteStream(STREAM_ID, false);
+
+        // VERIFY
+        verify(delegate).deleteStream(STREAM_ID, false);
+        assertThat(testee.getEventCount()).isZero();
+        assertThat(testee.getSizeInBytes()).isZero();
+
+    }
+
+    @Test
+    public void testDeleteDuringReadIsNotCached() {
+
+        // PREPARE
+        final CachingEventStore testee = new CachingEventStore(delegate, 1000, 10);
+        when(delegate.readEventsForward(STREAM_ID, 0, 5)).thenAnswer(invocation -> {
+            final StreamEventsSlice slice = slice(0, 5, true);
+            testee.deleteStream(STREAM_ID, false);
+            return slice;
+        });
+        when(delegate.readEvent(STREAM_ID, 7)).thenAnswer(invocation -> {
+            testee.deleteStream(STREAM_ID, false);
+            return events.get(7);
+        });
+
+        // TEST
+        final StreamEventsSlice result = testee.readEventsForward(STREAM_ID, 0, 5);
+        final CommonEvent event = testee.readEvent(STREAM_ID, 7);
+
+        // VERIFY
+        assertThat(result.getEvents()).hasSize(5);
+        assertThat(event).isSameAs(events.get(7));
+        assertThat(testee.getEventCount()).isZero();
+        assertThat(testee.getSizeInBytes()).isZero();
+
+    }
+
+    @Test
+    public void testDeleteStreamKeepsOtherStreams() {
+
+        // PREPARE
+        final StreamId otherId = new SimpleStreamId("OtherStream");
+        when(delegate.readEventsForward(STREAM_ID, 0, 5)).thenReturn(slice(0, 5, true));
+        when(delegate.readEventsForward(otherId, 0, 2)).thenReturn(slice(0, 2, true));
+        final CachingEventStore testee = new CachingEventStore(delegate, 1000, 10);
+        testee.readEventsForward(STREAM_ID, 0, 5);
+        testee.readEventsForward(otherId, 0, 2);
+
+        // TEST
+        testee.deleteStream(STREAM_ID, false);
+
+        // VERIFY
+        assertThat(testee.getEventCount()).isEqualTo(2);
+        assertThat(testee.getSizeInBytes()).isEqualTo(200);
+        assertThat(testee.readEventsForward(otherId, 0, 2).getEvents()).containsExactlyElementsOf(events.subList(0, 2));
+        assertThat(testee.getHitCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    public void testStreamDeletedElsewhereInvalidates() {
+
+        // PREPARE
+        when(delegate.readEventsForward(STREAM_ID, 0, 2)).thenReturn(slice(0, 2, false));
+        when(delegate.readEventsForward(STREAM_ID, 2, 2)).thenThrow(new StreamDeletedException(STREAM_ID));
+        final CachingEventStore testee = new CachingEventStore(delegate, 1000, 10);
+        testee.readEventsForward(STREAM_ID, 0, 2);
+
+        // TEST & VERIFY
+        assertThatThrownBy(() -> testee.readEventsForward(STREAM_ID, 0, 4)).isInstanceOf(StreamDeletedException.class);
+        assertThat(testee.getEventCount()).isZero();
+
+    }
+
+    @Test
+    public void testReadAllEventsForward() {
+
+        // PREPARE
+        when(delegate.readEventsForward(STREAM_ID, 0, 4)).thenReturn(slice(0, 4, false));
+        when(delegate.readEventsForward(STREAM_ID, 4, 4)).thenReturn(slice(4, 4, false));
+        when(delegate.readEventsForward(STREAM_ID, 8, 4)).thenReturn(slice(8, 2, true));
+        final CachingEventStore testee = new CachingEventStore(delegate, 10_000, 10);
+        final List<CommonEvent> first = new ArrayList<>();
+        testee.readAllEventsForward(STREAM_ID, 0, 4, slice -> first.addAll(slice.getEvents()));
+
+        // TEST
+        final List<CommonEvent> second = testee.streamAllEventsForward(STREAM_ID, 0, 5).toList();
+
+        // VERIFY
+        assertThat(first).containsExactlyElementsOf(events);
+        assertThat(second).containsExactlyElementsOf(events);
+        verify(delegate, never()).readEventsForward(STREAM_ID, 0, 5);
+        // The end of the stream is known from the first read
+        verify(delegate, never()).readEventsForward(STREAM_ID, 10, 5);
+
+    }
+
+    @Test
+    public void testReadAllEventsForwardAdaptive() {
+
+        // PREPARE
+        when(delegate.readEventsForward(STREAM_ID, 0, 2)).thenReturn(slice(0, 2, false));
+        when(delegate.readEventsForward(STREAM_ID, 2, 4)).thenReturn(slice(2, 4, false));
+        when(delegate.readEventsForward(STREAM_ID, 6, 8)).thenReturn(slice(6, 4, true));
+        final CachingEventStore testee = new CachingEventStore(delegate, 10_000, 10);
+        final AdaptiveChunkSize chunkSize = new AdaptiveChunkSize(2, 100, 1024 * 1024, Duration.ofHours(1));
+        final List<CommonEvent> result = new ArrayList<>();
+
+        // TEST
+        testee.readAllEventsForward(STREAM_ID, 0, chunkSize, slice -> result.addAll(slice.getEvents()));
+
+        // VERIFY
+        assertThat(result).containsExactlyElementsOf(events);
+        assertThat(chunkSize.getChunkSize()).isEqualTo(16);
+        assertThat(testee.getEventCount()).isEqualTo(10);
+
+    }
+
+    @Test
+    public void testReadAllEventsForwardStreamNotFound() {
+
+        // PREPARE
+        when(delegate.readEventsForward(STREAM_ID, 0, 4)).thenThrow(new StreamNotFoundException(STREAM_ID));
+        final CachingEventStore testee = new CachingEventStore(delegate, 1000, 10);
+
+        // TEST & VERIFY
+        assertThat(testee.streamAllEventsForward(STREAM_ID, 0, 4)).isEmpty();
+
+    }
+
+    private StreamEventsSlice slice(final int start, final int count, final boolean endOfStream) {
+        return new StreamEventsSlice(start, events.subList(start, start + count), start + count, endOfStream,
+                count * 100L);
+    }
+
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link CountingOutputStream}.
+ */
+public class CountingOutputStreamTest {
+
+    @Test
+    public void testCount() throws IOException {
+
+        // PREPARE
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final CountingOutputStream testee = new CountingOutputStream(target);
+
+        // TEST
+        testee.write(1);
+        testee.write(new byte[]{2, 3, 4, 5}, 1, 2);
+        testee.write(new byte[]{6});
+
+        // VERIFY
+        assertThat(testee.getCount()).isEqualTo(4);
+        assertThat(target.toByteArray()).containsExactly(1, 3, 4, 6);
+
+    }
+
+    @Test
+    public void testCloseDoesNotCloseTarget() throws IOException {
+
+        // PREPARE
+        final boolean[] state = new boolean[2];
+        final OutputStream target = new OutputStream() {
+            @Override
+            public void write(final int b) {
+                // Not used
+            }
+
+            @Override
+            public void flush() {
+                state[0] = true;
+            }
+
+            @Override
+            public void close() {
+                state[1] = true;
+            }
+        };
+
+        // TEST
+        new CountingOutputStream(target).close();
+
+        // VERIFY
+        assertThat(state[0]).isTrue();
+        assertThat(state[1]).isFalse();
+
+    }
+
+}
@@ -17,10 +17,7 @@
  */
 package org.fuin.esc.api;
 
-import jakarta.activation.MimeTypeParameterList;
 import jakarta.activation.MimeTypeParseException;
-import nl.jqno.equalsverifier.EqualsVerifier;
-import nl.jqno.equalsverifier.Warning;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +27,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests the {@link EnhancedMimeType} class.
@@ -110,12 +108,68 @@ public class EnhancedMimeTypeTest {
 
     @Test
     public void testEqualsHashCode() throws MimeTypeParseException {
-        final MimeTypeParameterList listA = new MimeTypeParameterList(";charset=utf-8");
-        final MimeTypeParameterList listB = new MimeTypeParameterList(";charset=iso-8859-2");
-        EqualsVerifier.forClass(EnhancedMimeType.class)
-                .suppress(Warning.NULL_FIELDS, Warning.NONFINAL_FIELDS)
-                .withPrefabValues(MimeTypeParameterList.class, listA, listB)
-                .verify();
+
+        // The cached fields of canonical instances are derived from the MimeType fields, so EqualsVerifier
+        // (that changes each field independently) cannot be used here
+        final EnhancedMimeType a = new EnhancedMimeType("application/xml; version=1.0.2; encoding=utf-8");
+        final EnhancedMimeType b = EnhancedMimeType.create("application/xml;version=1.0.2;encoding=utf-8");
+        final EnhancedMimeType c = EnhancedMimeType.create("application/xml; version=1.0.2; encoding=utf-8");
+        final EnhancedMimeType other = EnhancedMimeType.create("application/xml; version=1.0.3; encoding=utf-8");
+
+        assertThat(a).isEqualTo(testee).isEqualTo(b).isEqualTo(c).isNotEqualTo(other).isNotEqualTo(null)
+                .isNotEqualTo("application/xml");
+        assertThat(b).isEqualTo(a).isEqualTo(c).isNotEqualTo(other);
+        assertThat(a.hashCode()).isEqualTo(testee.hashCode()).isEqualTo(b.hashCode()).isEqualTo(c.hashCode());
+        assertThat(a).hasToString(b.toString());
+
+    }
+
+    @Test
+    public void testCreateCanonical() {
+
+        // TEST
+        final EnhancedMimeType a = EnhancedMimeType.create("application/json; encoding=UTF-8");
+        final EnhancedMimeType b = EnhancedMimeType.create("application/json;encoding=UTF-8");
+        final EnhancedMimeType c = EnhancedMimeType.create("application", "json", StandardCharsets.UTF_8);
+
+        // VERIFY
+        assertThat(EnhancedMimeType.create((String) null)).isNull();
+        assertThat(b).isSameAs(a);
+        assertThat(c).isSameAs(a);
+        assertThat(EnhancedMimeType.create("application/json; encoding=UTF-8")).isSameAs(a);
+        assertThat(a.isJson()).isTrue();
+        assertThat(a.getBaseType()).isEqualTo("application/json");
+        assertThat(a.getEncoding()).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(a.matchEncoding(c)).isTrue();
+
+    }
+
+    @Test
+    public void testCreateImmutable() {
+
+        // PREPARE
+        final EnhancedMimeType mimeType = EnhancedMimeType.create("application/json; encoding=UTF-8");
+
+        // TEST & VERIFY
+        assertThatThrownBy(() -> mimeType.setParameter("version", "1"))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessage("Instance is immutable: application/json; encoding=UTF-8");
+        assertThatThrownBy(() -> mimeType.removeParameter(EnhancedMimeType.ENCODING))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> mimeType.setPrimaryType("text")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> mimeType.setSubType("xml")).isInstanceOf(UnsupportedOperationException.class);
+        mimeType.getParameters().set(EnhancedMimeType.ENCODING, "ISO-8859-1");
+        mimeType.getParameters().remove(EnhancedMimeType.ENCODING);
+        assertThat(mimeType.getParameters().get(EnhancedMimeType.ENCODING)).isEqualTo("UTF-8");
+        assertThat(mimeType.getParameter(EnhancedMimeType.ENCODING)).isEqualTo("UTF-8");
+        assertThat(mimeType.getEncoding()).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(mimeType).hasToString("application/json; encoding=UTF-8");
+        assertThat(EnhancedMimeType.create("application/json; encoding=UTF-8")).hasToString("application/json; encoding=UTF-8");
+
+        // Constructed instances stay mutable
+        testee.setParameter(EnhancedMimeType.VERSION, "2");
+        assertThat(testee.getVersion()).isEqualTo("2");
+
     }
 
 }
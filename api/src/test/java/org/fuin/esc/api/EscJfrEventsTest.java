@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link EscJfrEvents}.
+ */
+public class EscJfrEventsTest {
+
+    private static final StreamId STREAM_ID = new SimpleStreamId("MyStream");
+
+    @Test
+    public void testConfiguration() {
+
+        // TEST
+        final Configuration configuration = EscJfrEvents.configuration();
+
+        // VERIFY
+        assertThat(configuration.getLabel()).isEqualTo("Event Store Commons");
+        assertThat(configuration.getSettings())
+                .containsEntry("org.fuin.esc.Append#enabled", "true")
+                .containsEntry("org.fuin.esc.ReadSlice#enabled", "true")
+                .containsEntry("org.fuin.esc.Serialize#enabled", "true")
+                .containsEntry("org.fuin.esc.Deserialize#enabled", "true")
+                .containsEntry("org.fuin.esc.SubscriptionDelivery#enabled", "true")
+                .containsEntry("org.fuin.esc.JpaQuery#enabled", "true");
+
+    }
+
+    @Test
+    public void testConfigurationMatchesAnnotations() {
+
+        // PREPARE
+        final Map<String, String> settings = EscJfrEvents.configuration().getSettings();
+
+        // TEST & VERIFY
+        for (final Class<?> clasz : EscJfrEvents.class.getClasses()) {
+            if (Event.class.isAssignableFrom(clasz)) {
+                final String name = clasz.getAnnotation(Name.class).value();
+                final StackTrace stackTrace = clasz.getAnnotation(StackTrace.class);
+                final boolean expected = stackTrace == null || stackTrace.value();
+                assertThat(settings).as(name).containsEntry(name + "#stackTrace", String.valueOf(expected));
+            }
+        }
+
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertThat(EscJfrEvents.Append.start().isEnabled()).isFalse();
+    }
+
+    @Test
+    public void testRecording(@TempDir final Path dir) throws Exception {
+
+        // PREPARE
+        final Path file = dir.resolve("recording.jfr");
+        final StreamEventsSlice slice = new StreamEventsSlice(0, List.of(), 0, true, 0);
+
+        // TEST
+        try (final Recording recording = new Recording(EscJfrEvents.configuration())) {
+            recording.start();
+            EscJfrEvents.Append.start().complete(STREAM_ID, 2, 123);
+            EscJfrEvents.ReadSlice.start().complete(STREAM_ID, 0, true, slice);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // VERIFY
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("org.fuin.esc."))
+                .toList();
+        assertThat(events).hasSize(2);
+        final RecordedEvent append = events.stream()
+                .filter(event -> event.getEventType().getName().equals("org.fuin.esc.Append")).findFirst()
+                .orElseThrow();
+        assertThat(append.getString("streamId")).isEqualTo("MyStream");
+        assertThat(append.getInt("eventCount")).isEqualTo(2);
+        assertThat(append.getLong("bytes")).isEqualTo(123);
+        final RecordedEvent read = events.stream()
+                .filter(event -> event.getEventType().getName().equals("org.fuin.esc.ReadSlice")).findFirst()
+                .orElseThrow();
+        assertThat(read.getBoolean("forward")).isTrue();
+        assertThat(read.getLong("bytes")).isZero();
+
+    }
+
+}
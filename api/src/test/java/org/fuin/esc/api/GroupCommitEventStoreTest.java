@@ -0,0 +1,270 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for {@link GroupCommitEventStore}.
+ */
+public class GroupCommitEventStoreTest {
+
+    private static final long ANY_VERSION = ExpectedVersion.ANY.getNo();
+
+    private static final StreamId STREAM_ID = new SimpleStreamId("MyStream");
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private ExecutorService executor;
+
+    private EventStore delegate;
+
+    private List<List<CommonEvent>> appended;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+        delegate = mock(EventStore.class);
+        appended = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentAppendsAreCombined() throws Exception {
+
+        // PREPARE
+        when(delegate.appendToStream(eq(STREAM_ID), eq(ANY_VERSION), anyList())).thenAnswer(invocation -> {
+            appended.add(invocation.getArgument(2));
+            return 9L;
+        });
+        final GroupCommitEventStore testee = new GroupCommitEventStore(delegate, Duration.ofMillis(300), 100, TIMEOUT);
+
+        // TEST
+        final CompletableFuture<Long> a = CompletableFuture.supplyAsync(() -> testee.appendToStream(STREAM_ID, event()), executor);
+        final CompletableFuture<Long> b = CompletableFuture.supplyAsync(() -> testee.appendToStream(STREAM_ID, event()), executor);
+        final CompletableFuture<Long> c = CompletableFuture.supplyAsync(() -> testee.appendToStream(STREAM_ID, event()), executor);
+
+        // VERIFY
+        assertThat(List.of(a.get(5, TimeUnit.SECONDS), b.get(5, TimeUnit.SECONDS), c.get(5, TimeUnit.SECONDS)))
+                .containsExactlyInAnyOrder(7L, 8L, 9L);
+        assertThat(appended).hasSize(1);
+        assertThat(appended.get(0)).hasSize(3);
+
+    }
+
+    @Test
+    public void testMaxEventsWritesImmediately() throws Exception {
+
+        // PREPARE
+        when(delegate.appendToStream(eq(STREAM_ID), eq(ANY_VERSION), anyList())).thenAnswer(invocation -> {
+            appended.add(invocation.getArgument(2));
+            return 1L;
+        });
+        final GroupCommitEventStore testee = new GroupCommitEventStore(delegate, Duration.ofHours(1), 2, TIMEOUT);
+
+        // TEST
+        final CompletableFuture<Long> a = CompletableFuture.supplyAsync(() -> testee.appendToStream(STREAM_ID, event()), executor);
+        final CompletableFuture<Long> b = CompletableFuture.supplyAsync(() -> testee.appendToStream(STREAM_ID, event()), executor);
+
+        // VERIFY
+        assertThat(List.of(a.get(5, TimeUnit.SECONDS), b.get(5, TimeUnit.SECONDS))).containsExactlyInAnyOrder(0L, 1L);
+        assertThat(appended).hasSize(1);
+
+    }
+
+    @Test
+    public void testLargeAppendIsForwarded() {
+
+        // PREPARE
+        final List<CommonEvent> events = List.of(event(), event());
+        when(delegate.appendToStream(STREAM_ID, ANY_VERSION, events)).thenReturn(1L);
+        final GroupCommitEventStore testee = new GroupCommitEventStore(delegate, Duration.ofHours(1), 2, TIMEOUT);
+
+        // TEST
+        final long version = testee.appendToStream(STREAM_ID, events);
+
+        // VERIFY
+        assertThat(version).isEqualTo(1L);
+        verify(delegate).appendToStream(STREAM_ID, ANY_VERSION, events);
+
+    }
+
+    @Test
+    public void testFailedGroupIsRetriedPerCaller() throws Exception {
+
+        // PREPARE
+        when(delegate.appendToStream(eq(STREAM_ID), eq(5L), anyList())).thenThrow(
+                new WrongExpectedVersionException(STREAM_ID, 5L, 6L));
+        when(delegate.appendToStream(eq(STREAM_ID), eq(ANY_VERSION), anyList())).thenReturn(7L);
+        final GroupCommitEventStore testee = new GroupCommitEventStore(delegate, Duration.ofMillis(500), 100, TIMEOUT);
+
+        // TEST
+        final CompletableFuture<Long> a = CompletableFuture.supplyAsync(() -> testee.appendToStream(STREAM_ID, 5L, event()), executor);
+        Thread.sleep(100);
+        final CompletableFuture<Long> b = CompletableFuture.supplyAsync(() -> testee.appendToStream(STREAM_ID, event()), executor);
+
+        // VERIFY
+        assertThat(b.get(5, TimeUnit.SECONDS)).isEqualTo(7L);
+        assertThatThrownBy(() -> a.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(WrongExpectedVersionException.class);
+
+    }
+
+    @Test
+    public void testConcurrentAppendsNeverOverlap() throws Exception {
+
+        // PREPARE
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final AtomicLong version = new AtomicLong(-1);
+        when(delegate.appendToStream(eq(STREAM_ID), eq(ANY_VERSION), anyList())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.yield();
+                final List<CommonEvent> events = invocation.getArgument(2);
+                return version.addAndGet(events.size());
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        final GroupCommitEventStore testee = new GroupCommitEventStore(delegate, Duration.ofMillis(1), 3, TIMEOUT);
+        final int threads = 16;
+        final int appendsPerThread = 100;
+
+        // TEST
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < appendsPerThread; j++) {
+                    testee.appendToStream(STREAM_ID, event());
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+        // VERIFY
+        assertThat(maxInFlight.get()).isEqualTo(1);
+        assertThat(version.get()).isEqualTo(threads * appendsPerThread - 1);
+
+    }
+
+    @Test
+    public void testCallerThreadWrites() {
+
+        // PREPARE
+        final Thread caller = Thread.currentThread();
+        when(delegate.appendToStream(eq(STREAM_ID), eq(ANY_VERSION), anyList())).thenAnswer(invocation -> {
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            return 0L;
+        });
+        final GroupCommitEventStore testee = new GroupCommitEventStore(delegate, Duration.ofMillis(1), 10, TIMEOUT);
+
+        // TEST & VERIFY
+        assertThat(testee.appendToStream(STREAM_ID, event())).isZero();
+
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+
+        // PREPARE
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch stuck = new CountDownLatch(1);
+        when(delegate.appendToStream(eq(STREAM_ID), eq(ANY_VERSION), anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            stuck.await();
+            return 0L;
+        });
+        final GroupCommitEventStore testee = new GroupCommitEventStore(delegate, Duration.ofMillis(1), 10,
+                Duration.ofMillis(100));
+        final CompletableFuture<Long> leader = CompletableFuture.supplyAsync(
+                () -> testee.appendToStream(STREAM_ID, event()), executor);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // TEST & VERIFY
+        assertThatThrownBy(() -> testee.appendToStream(STREAM_ID, event()))
+                .isInstanceOf(AppendTimeoutException.class)
+                .hasMessageContaining("The events were not written");
+        stuck.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isZero();
+        verify(delegate, times(1)).appendToStream(eq(STREAM_ID), eq(ANY_VERSION), anyList());
+
+    }
+
+    @Test
+    public void testReadAllEventsForwardAdaptive() {
+
+        // PREPARE
+        final GroupCommitEventStore testee = new GroupCommitEventStore(delegate, Duration.ofMillis(10), 10, TIMEOUT);
+        final AdaptiveChunkSize chunkSize = new AdaptiveChunkSize(5, 100, 1024, Duration.ofSeconds(1));
+        final ReadableEventStore.ChunkEventHandler handler = slice -> {
+        };
+
+        // TEST
+        testee.readAllEventsForward(STREAM_ID, 0, chunkSize, handler);
+
+        // VERIFY
+        verify(delegate).readAllEventsForward(STREAM_ID, 0, chunkSize, handler);
+
+    }
+
+    @Test
+    public void testClose() {
+
+        // PREPARE
+        final GroupCommitEventStore testee = new GroupCommitEventStore(delegate, Duration.ofMillis(10), 10, TIMEOUT);
+
+        // TEST
+        testee.close();
+
+        // VERIFY
+        verify(delegate).close();
+
+    }
+
+    private static CommonEvent event() {
+        return new SimpleCommonEvent(new EventId(), new TypeName("MyEvent"), "data");
+    }
+
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.APPEND;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.READ_FORWARD;
+
+/**
+ * Test for {@link HistogramEventStoreMetrics}.
+ */
+public class HistogramEventStoreMetricsTest {
+
+    private static final StreamId STREAM_ID = new SimpleStreamId("MyStream");
+
+    private static final SerializedDataType TYPE = new SerializedDataType("MyEvent");
+
+    @Test
+    public void testOperations() {
+
+        // PREPARE
+        final HistogramEventStoreMetrics testee = new HistogramEventStoreMetrics(Duration.ofMillis(10));
+
+        // TEST
+        testee.recordOperation(APPEND, STREAM_ID, 1_000, false);
+        testee.recordOperation(APPEND, STREAM_ID, 20_000_000, true);
+        testee.recordEvents(APPEND, STREAM_ID, 3);
+        testee.recordEvents(READ_FORWARD, STREAM_ID, 5, 500);
+
+        // VERIFY
+        assertThat(testee.getLatency(APPEND).getCount()).isEqualTo(2);
+        assertThat(testee.getLatency(APPEND).getMax()).isEqualTo(20_000_000);
+        assertThat(testee.getLatency(READ_FORWARD).getCount()).isZero();
+        assertThat(testee.getFailureCount(APPEND)).isEqualTo(1);
+        assertThat(testee.getEventCount(APPEND)).isEqualTo(3);
+        assertThat(testee.getByteCount(APPEND)).isZero();
+        assertThat(testee.getEventCount(READ_FORWARD)).isEqualTo(5);
+        assertThat(testee.getByteCount(READ_FORWARD)).isEqualTo(500);
+        assertThat(testee.getSlowOperationsPerStream()).containsEntry("MyStream", 1L).hasSize(1);
+
+    }
+
+    @Test
+    public void testConflicts() {
+
+        // PREPARE
+        final HistogramEventStoreMetrics testee = new HistogramEventStoreMetrics(Duration.ofSeconds(1));
+
+        // TEST
+        testee.recordConflict(STREAM_ID);
+        testee.recordConflict(STREAM_ID);
+        testee.recordConflict(new SimpleStreamId("Other"));
+
+        // VERIFY
+        assertThat(testee.getConflictCount()).isEqualTo(3);
+        assertThat(testee.getConflictsPerStream()).containsEntry("MyStream", 2L).containsEntry("Other", 1L);
+
+    }
+
+    @Test
+    public void testSerialization() {
+
+        // PREPARE
+        final HistogramEventStoreMetrics testee = new HistogramEventStoreMetrics(Duration.ofSeconds(1));
+
+        // TEST
+        testee.recordSerialization(TYPE, 100, 40);
+        testee.recordSerialization(TYPE, 300, 60);
+        testee.recordDeserialization(TYPE, 200);
+
+        // VERIFY
+        assertThat(testee.getSerializationLatency(TYPE).getCount()).isEqualTo(2);
+        assertThat(testee.getSerializationLatency(TYPE).getMean()).isEqualTo(200.0);
+        assertThat(testee.getSerializedBytes(TYPE)).isEqualTo(100);
+        assertThat(testee.getDeserializationLatency(TYPE).getMax()).isEqualTo(200);
+        assertThat(testee.getSerializedBytes(new SerializedDataType("Unknown"))).isZero();
+
+    }
+
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.APPEND;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.READ_ALL_FORWARD;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.READ_EVENT;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.READ_FORWARD;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for {@link InstrumentedEventStore}.
+ */
+public class InstrumentedEventStoreTest {
+
+    private static final StreamId STREAM_ID = new SimpleStreamId("MyStream");
+
+    private EventStore delegate;
+
+    private HistogramEventStoreMetrics metrics;
+
+    private InstrumentedEventStore testee;
+
+    @BeforeEach
+    public void setup() {
+        delegate = mock(EventStore.class);
+        metrics = new HistogramEventStoreMetrics(Duration.ofSeconds(1));
+        testee = new InstrumentedEventStore(delegate, metrics);
+    }
+
+    @Test
+    public void testAppend() {
+
+        // PREPARE
+        when(delegate.appendToStream(eq(STREAM_ID), eq(4L), anyList())).thenReturn(6L);
+
+        // TEST
+        final long version = testee.appendToStream(STREAM_ID, 4L, List.of(event(), event()));
+
+        // VERIFY
+        assertThat(version).isEqualTo(6L);
+        assertThat(metrics.getLatency(APPEND).getCount()).isEqualTo(1);
+        assertThat(metrics.getEventCount(APPEND)).isEqualTo(2);
+        assertThat(metrics.getFailureCount(APPEND)).isZero();
+
+    }
+
+    @Test
+    public void testAppendConflict() {
+
+        // PREPARE
+        when(delegate.appendToStream(eq(STREAM_ID), eq(1L), anyList()))
+                .thenThrow(new WrongExpectedVersionException(STREAM_ID, 1L, 2L));
+
+        // TEST
+        assertThatThrownBy(() -> testee.appendToStream(STREAM_ID, 1L, List.of(event())))
+                .isInstanceOf(WrongExpectedVersionException.class);
+
+        // VERIFY
+        assertThat(metrics.getConflictCount()).isEqualTo(1);
+        assertThat(metrics.getFailureCount(APPEND)).isEqualTo(1);
+        assertThat(metrics.getEventCount(APPEND)).isZero();
+
+    }
+
+    @Test
+    public void testReadEventsForward() {
+
+        // PREPARE
+        when(delegate.readEventsForward(STREAM_ID, 0, 10))
+                .thenReturn(new StreamEventsSlice(0, List.of(event(), event(), event()), 3, true, 300));
+
+        // TEST
+        testee.readEventsForward(STREAM_ID, 0, 10);
+
+        // VERIFY
+        assertThat(metrics.getLatency(READ_FORWARD).getCount()).isEqualTo(1);
+        assertThat(metrics.getEventCount(READ_FORWARD)).isEqualTo(3);
+        assertThat(metrics.getByteCount(READ_FORWARD)).isEqualTo(300);
+
+    }
+
+    @Test
+    public void testReadAllEventsForward() {
+
+        // PREPARE
+        doAnswer(invocation -> {
+            final ReadableEventStore.ChunkEventHandler handler = invocation.getArgument(3);
+            handler.handle(new StreamEventsSlice(0, List.of(event(), event()), 2, false));
+            handler.handle(new StreamEventsSlice(2, List.of(event()), 3, true));
+            return null;
+        }).when(delegate).readAllEventsForward(eq(STREAM_ID), anyLong(), anyInt(), any());
+        final List<StreamEventsSlice> slices = new ArrayList<>();
+
+        // TEST
+        testee.readAllEventsForward(STREAM_ID, 0, 2, slices::add);
+
+        // VERIFY
+        assertThat(slices).hasSize(2);
+        assertThat(metrics.getLatency(READ_ALL_FORWARD).getCount()).isEqualTo(1);
+        assertThat(metrics.getEventCount(READ_ALL_FORWARD)).isEqualTo(3);
+
+    }
+
+    @Test
+    public void testReadAllEventsForwardAdaptive() {
+
+        // PREPARE
+        final AdaptiveChunkSize chunkSize = new AdaptiveChunkSize(5, 100, 1024, Duration.ofSeconds(1));
+        doAnswer(invocation -> {
+            final ReadableEventStore.ChunkEventHandler handler = invocation.getArgument(3);
+            handler.handle(new StreamEventsSlice(0, List.of(event(), event()), 2, true, 200));
+            return null;
+        }).when(delegate).readAllEventsForward(eq(STREAM_ID), anyLong(), eq(chunkSize), any());
+        final List<StreamEventsSlice> slices = new ArrayList<>();
+
+        // TEST
+        testee.readAllEventsForward(STREAM_ID, 0, chunkSize, slices::add);
+
+        // VERIFY
+        assertThat(slices).hasSize(1);
+        assertThat(metrics.getLatency(READ_ALL_FORWARD).getCount()).isEqualTo(1);
+        assertThat(metrics.getEventCount(READ_ALL_FORWARD)).isEqualTo(2);
+        assertThat(metrics.getByteCount(READ_ALL_FORWARD)).isEqualTo(200);
+
+    }
+
+    @Test
+    public void testReadWithoutSize() {
+
+        // PREPARE
+        when(delegate.readEventsForward(STREAM_ID, 0, 10))
+                .thenReturn(new StreamEventsSlice(0, List.of(event(), event()), 2, true));
+        when(delegate.readEvent(STREAM_ID, 0)).thenReturn(event());
+
+        // TEST
+        testee.readEventsForward(STREAM_ID, 0, 10);
+        testee.readEvent(STREAM_ID, 0);
+
+        // VERIFY
+        assertThat(metrics.getEventCount(READ_FORWARD)).isEqualTo(2);
+        assertThat(metrics.getByteCount(READ_FORWARD)).isZero();
+        assertThat(metrics.getEventCount(READ_EVENT)).isEqualTo(1);
+        assertThat(metrics.getByteCount(READ_EVENT)).isZero();
+
+    }
+
+    @Test
+    public void testCreate() {
+
+        assertThat(testee).isNotInstanceOf(SubscribableEventStore.class);
+        assertThat(InstrumentedEventStore.create(delegate, metrics))
+                .isExactlyInstanceOf(InstrumentedEventStore.class)
+                .isNotInstanceOf(SubscribableEventStore.class);
+        assertThat(InstrumentedEventStore.create(mock(InstrumentedSubscribableEventStoreTest.SubscribableStore.class),
+                metrics)).isInstanceOf(InstrumentedSubscribableEventStore.class);
+
+    }
+
+    private static CommonEvent event() {
+        return new SimpleCommonEvent(new EventId(), new TypeName("MyEvent"), "Hello");
+    }
+
+}
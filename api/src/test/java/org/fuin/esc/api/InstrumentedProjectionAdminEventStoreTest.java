@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.CREATE_PROJECTION;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.ENABLE_PROJECTION;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.PROJECTION_EXISTS;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for {@link InstrumentedProjectionAdminEventStore}.
+ */
+public class InstrumentedProjectionAdminEventStoreTest {
+
+    private static final StreamId PROJECTION_ID = new SimpleStreamId("MyProjection");
+
+    @Test
+    public void testOperationsAreMeasured() {
+
+        // PREPARE
+        final ProjectionAdminEventStore delegate = mock(ProjectionAdminEventStore.class);
+        when(delegate.projectionExists(PROJECTION_ID)).thenReturn(true);
+        doThrow(new StreamNotFoundException(PROJECTION_ID)).when(delegate).enableProjection(PROJECTION_ID);
+        final HistogramEventStoreMetrics metrics = new HistogramEventStoreMetrics(Duration.ofSeconds(1));
+        final InstrumentedProjectionAdminEventStore testee = new InstrumentedProjectionAdminEventStore(delegate, metrics);
+
+        // TEST
+        final boolean exists = testee.projectionExists(PROJECTION_ID);
+        testee.createProjection(PROJECTION_ID, true, new TypeName("MyEvent"));
+        assertThatThrownBy(() -> testee.enableProjection(PROJECTION_ID)).isInstanceOf(StreamNotFoundException.class);
+
+        // VERIFY
+        assertThat(exists).isTrue();
+        verify(delegate).createProjection(PROJECTION_ID, true, new TypeName("MyEvent"));
+        assertThat(metrics.getLatency(PROJECTION_EXISTS).getCount()).isEqualTo(1);
+        assertThat(metrics.getLatency(CREATE_PROJECTION).getCount()).isEqualTo(1);
+        assertThat(metrics.getFailureCount(ENABLE_PROJECTION)).isEqualTo(1);
+
+    }
+
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for {@link InstrumentedSerDeserializerRegistry}.
+ */
+public class InstrumentedSerDeserializerRegistryTest {
+
+    private static final SerializedDataType TYPE = new SerializedDataType("MyEvent");
+
+    private static final EnhancedMimeType MIME_TYPE = EnhancedMimeType.create("application", "json");
+
+    @Test
+    public void testSerializationIsMeasured() {
+
+        // PREPARE
+        final Serializer serializer = mock(Serializer.class);
+        when(serializer.marshal(any(), any())).thenReturn(new byte[]{1, 2, 3});
+        final SerDeserializerRegistry registry = mock(SerDeserializerRegistry.class);
+        when(registry.getSerializer(TYPE)).thenReturn(serializer);
+        final HistogramEventStoreMetrics metrics = new HistogramEventStoreMetrics(Duration.ofSeconds(1));
+        final InstrumentedSerDeserializerRegistry testee = new InstrumentedSerDeserializerRegistry(registry, metrics);
+
+        // TEST
+        final Serializer instrumented = testee.getSerializer(TYPE);
+        final byte[] data = instrumented.marshal("Hello", TYPE);
+
+        // VERIFY
+        assertThat(data).containsExactly(1, 2, 3);
+        assertThat(testee.getSerializer(TYPE)).isSameAs(instrumented);
+        assertThat(metrics.getSerializationLatency(TYPE).getCount()).isEqualTo(1);
+        assertThat(metrics.getSerializedBytes(TYPE)).isEqualTo(3);
+
+    }
+
+    @Test
+    public void testDeserializationIsMeasured() {
+
+        // PREPARE
+        final Deserializer deserializer = mock(Deserializer.class);
+        when(deserializer.unmarshal(any(), any(), any())).thenReturn("Hello");
+        final SerDeserializerRegistry registry = mock(SerDeserializerRegistry.class);
+        when(registry.getDeserializer(TYPE, MIME_TYPE)).thenReturn(deserializer);
+        when(registry.getDefaultMimeType()).thenReturn(MIME_TYPE);
+        final HistogramEventStoreMetrics metrics = new HistogramEventStoreMetrics(Duration.ofSeconds(1));
+        final InstrumentedSerDeserializerRegistry testee = new InstrumentedSerDeserializerRegistry(registry, metrics);
+
+        // TEST
+        final String result = testee.getDeserializer(TYPE, MIME_TYPE).unmarshal(new byte[0], TYPE, MIME_TYPE);
+
+        // VERIFY
+        assertThat(result).isEqualTo("Hello");
+        assertThat(testee.getDefaultMimeType()).isEqualTo(MIME_TYPE);
+        assertThat(metrics.getDeserializationLatency(TYPE).getCount()).isEqualTo(1);
+
+    }
+
+    @Test
+    public void testStreamSerializationIsMeasured() {
+
+        // PREPARE
+        final Serializer serializer = new TextSerializer();
+        final SerDeserializerRegistry registry = mock(SerDeserializerRegistry.class);
+        when(registry.getSerializer(TYPE)).thenReturn(serializer);
+        final HistogramEventStoreMetrics metrics = new HistogramEventStoreMetrics(Duration.ofSeconds(1));
+        final InstrumentedSerDeserializerRegistry testee = new InstrumentedSerDeserializerRegistry(registry, metrics);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // TEST
+        testee.getSerializer(TYPE).marshal("Hello", TYPE, out);
+
+        // VERIFY
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("Hello");
+        assertThat(metrics.getSerializationLatency(TYPE).getCount()).isEqualTo(1);
+        assertThat(metrics.getSerializedBytes(TYPE)).isEqualTo(5);
+
+    }
+
+    @Test
+    public void testStreamAndBufferDeserializationIsMeasured() {
+
+        // PREPARE
+        final SerDeserializerRegistry registry = mock(SerDeserializerRegistry.class);
+        when(registry.getDeserializer(TYPE, MIME_TYPE)).thenReturn(new TextDeserializer());
+        final HistogramEventStoreMetrics metrics = new HistogramEventStoreMetrics(Duration.ofSeconds(1));
+        final InstrumentedSerDeserializerRegistry testee = new InstrumentedSerDeserializerRegistry(registry, metrics);
+        final Deserializer instrumented = testee.getDeserializer(TYPE, MIME_TYPE);
+        final byte[] bytes = "xHellox".getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer heap = ByteBuffer.wrap(bytes, 1, 5).slice();
+        final ByteBuffer direct = ByteBuffer.allocateDirect(5).put(bytes, 1, 5).flip();
+
+        // TEST
+        final String fromStream = instrumented.unmarshalStream(new ByteArrayInputStream(bytes, 1, 5), TYPE, MIME_TYPE);
+        final String fromHeap = instrumented.unmarshalBuffer(heap, TYPE, MIME_TYPE);
+        final String fromDirect = instrumented.unmarshalBuffer(direct, TYPE, MIME_TYPE);
+
+        // VERIFY
+        assertThat(fromStream).isEqualTo("Hello");
+        assertThat(fromHeap).isEqualTo("Hello");
+        assertThat(fromDirect).isEqualTo("Hello");
+        assertThat(heap.position()).isZero();
+        assertThat(direct.position()).isZero();
+        assertThat(metrics.getDeserializationLatency(TYPE).getCount()).isEqualTo(3);
+
+    }
+
+    @Test
+    public void testSupportsIsForwarded() {
+
+        // PREPARE
+        final Deserializer deserializer = mock(Deserializer.class);
+        when(deserializer.supports(String.class)).thenReturn(true);
+        final SerDeserializerRegistry registry = mock(SerDeserializerRegistry.class);
+        when(registry.getDeserializer(TYPE, MIME_TYPE)).thenReturn(deserializer);
+        final InstrumentedSerDeserializerRegistry testee = new InstrumentedSerDeserializerRegistry(registry,
+                new HistogramEventStoreMetrics(Duration.ofSeconds(1)));
+
+        // TEST
+        final Deserializer instrumented = testee.getDeserializer(TYPE, MIME_TYPE);
+
+        // VERIFY
+        assertThat(instrumented.supports(String.class)).isTrue();
+        assertThat(instrumented.supports(Integer.class)).isFalse();
+
+    }
+
+    @Test
+    public void testWritesStreamIsForwarded() {
+
+        // PREPARE
+        final Serializer serializer = mock(Serializer.class);
+        when(serializer.writesStream()).thenReturn(true);
+        final SerDeserializerRegistry registry = mock(SerDeserializerRegistry.class);
+        when(registry.getSerializer(TYPE)).thenReturn(serializer);
+        final InstrumentedSerDeserializerRegistry testee = new InstrumentedSerDeserializerRegistry(registry,
+                new HistogramEventStoreMetrics(Duration.ofSeconds(1)));
+
+        // TEST & VERIFY
+        assertThat(testee.getSerializer(TYPE).writesStream()).isTrue();
+        assertThat(new TextSerializer().writesStream()).isFalse();
+
+    }
+
+    @Test
+    public void testSupportsDefault() {
+
+        final Deserializer testee = new TextDeserializer();
+
+        assertThat(testee.supports(byte[].class)).isTrue();
+        assertThat(testee.supports(String.class)).isFalse();
+
+    }
+
+    /**
+     * Serializer that only implements the array based method.
+     */
+    private static final class TextSerializer implements Serializer {
+
+        @Override
+        public EnhancedMimeType getMimeType() {
+            return MIME_TYPE;
+        }
+
+        @Override
+        public <T> byte[] marshal(final T obj, final SerializedDataType type) {
+            return obj.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+    }
+
+    /**
+     * Deserializer that only implements the object based method.
+     */
+    private static final class TextDeserializer implements Deserializer {
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T unmarshal(final Object data, final SerializedDataType dataType, final EnhancedMimeType mimeType) {
+            return (T) new String((byte[]) data, StandardCharsets.UTF_8);
+        }
+
+    }
+
+}
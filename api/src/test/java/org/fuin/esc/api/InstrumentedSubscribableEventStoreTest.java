@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.SUBSCRIBE;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.SUBSCRIPTION_EVENT;
+import static org.fuin.esc.api.EventStoreMetrics.Operation.UNSUBSCRIBE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test for {@link InstrumentedSubscribableEventStore}.
+ */
+public class InstrumentedSubscribableEventStoreTest {
+
+    private static final StreamId STREAM_ID = new SimpleStreamId("MyStream");
+
+    private SubscribableStore delegate;
+
+    private HistogramEventStoreMetrics metrics;
+
+    private InstrumentedSubscribableEventStore testee;
+
+    @BeforeEach
+    public void setup() {
+        delegate = mock(SubscribableStore.class);
+        metrics = new HistogramEventStoreMetrics(Duration.ofSeconds(1));
+        testee = new InstrumentedSubscribableEventStore(delegate, metrics);
+    }
+
+    @Test
+    public void testSubscribeAndUnsubscribe() {
+
+        // PREPARE
+        final Subscription subscription = new Subscription(STREAM_ID, 0L) {
+        };
+        doAnswer(invocation -> {
+            final BiConsumer<Subscription, CommonEvent> onEvent = invocation.getArgument(2);
+            onEvent.accept(subscription, event());
+            onEvent.accept(subscription, event());
+            return subscription;
+        }).when(delegate).subscribeToStream(eq(STREAM_ID), eq(0L), any(), any());
+        final List<CommonEvent> received = new ArrayList<>();
+
+        // TEST
+        final Subscription result = testee.subscribeToStream(STREAM_ID, 0, (sub, event) -> received.add(event),
+                (sub, ex) -> { });
+        testee.unsubscribeFromStream(result);
+
+        // VERIFY
+        assertThat(result).isSameAs(subscription);
+        assertThat(received).hasSize(2);
+        assertThat(metrics.getEventCount(SUBSCRIPTION_EVENT)).isEqualTo(2);
+        assertThat(metrics.getByteCount(SUBSCRIPTION_EVENT)).isZero();
+        assertThat(metrics.getLatency(SUBSCRIBE).getCount()).isEqualTo(1);
+        assertThat(metrics.getLatency(UNSUBSCRIBE).getCount()).isEqualTo(1);
+        verify(delegate).unsubscribeFromStream(subscription);
+
+    }
+
+    @Test
+    public void testOpen() {
+        assertThat(testee.open()).isSameAs(testee);
+        verify(delegate).open();
+    }
+
+    private static CommonEvent event() {
+        return new SimpleCommonEvent(new EventId(), new TypeName("MyEvent"), "Hello");
+    }
+
+    /**
+     * Event store that supports subscriptions.
+     */
+    interface SubscribableStore extends EventStore, SubscribableEventStore {
+    }
+
+}
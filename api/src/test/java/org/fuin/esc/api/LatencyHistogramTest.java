@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        final LatencyHistogram testee = new LatencyHistogram();
+        assertThat(testee.getCount()).isZero();
+        assertThat(testee.getMax()).isZero();
+        assertThat(testee.getMean()).isZero();
+        assertThat(testee.getValueAtPercentile(99)).isZero();
+    }
+
+    @Test
+    public void testBucketsAreContiguous() {
+        for (int i = 1; i < 1888; i++) {
+            final long lowest = LatencyHistogram.lowestValue(i);
+            assertThat(LatencyHistogram.index(lowest)).isEqualTo(i);
+            assertThat(LatencyHistogram.index(lowest - 1)).isEqualTo(i - 1);
+        }
+        assertThat(LatencyHistogram.index(Long.MAX_VALUE)).isEqualTo(1887);
+    }
+
+    @Test
+    public void testPercentiles() {
+
+        // PREPARE
+        final LatencyHistogram testee = new LatencyHistogram();
+
+        // TEST
+        for (int i = 1; i <= 1000; i++) {
+            testee.record(i * 1000L);
+        }
+
+        // VERIFY
+        assertThat(testee.getCount()).isEqualTo(1000);
+        assertThat(testee.getMax()).isEqualTo(1_000_000L);
+        assertThat(testee.getMean()).isEqualTo(500_500.0);
+        assertThat(testee.getValueAtPercentile(50)).isBetween(500_000L, 500_000L * 104 / 100);
+        assertThat(testee.getValueAtPercentile(99)).isBetween(990_000L, 1_000_000L);
+        assertThat(testee.getValueAtPercentile(100)).isEqualTo(1_000_000L);
+        assertThat(testee.getValueAtPercentile(0)).isBetween(1000L, 1040L);
+
+    }
+
+    @Test
+    public void testNegativeValue() {
+        final LatencyHistogram testee = new LatencyHistogram();
+        testee.record(-5);
+        assertThat(testee.getCount()).isEqualTo(1);
+        assertThat(testee.getMax()).isZero();
+    }
+
+    @Test
+    public void testInvalidPercentile() {
+        final LatencyHistogram testee = new LatencyHistogram();
+        assertThatThrownBy(() -> testee.getValueAtPercentile(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testConcurrentRecording() {
+
+        // PREPARE
+        final LatencyHistogram testee = new LatencyHistogram();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+
+            // TEST
+            final CompletableFuture<?>[] futures = new CompletableFuture<?>[4];
+            for (int t = 0; t < futures.length; t++) {
+                futures[t] = CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        testee.record(i);
+                    }
+                }, executor);
+            }
+            CompletableFuture.allOf(futures).join();
+
+            // VERIFY
+            assertThat(testee.getCount()).isEqualTo(40_000);
+            assertThat(testee.getMax()).isEqualTo(9_999);
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link PooledByteArrayOutputStream}.
+ */
+public class PooledByteArrayOutputStreamTest {
+
+    @Test
+    public void testReusedAfterRelease() {
+
+        // PREPARE
+        final PooledByteArrayOutputStream first = PooledByteArrayOutputStream.acquire();
+        first.writeBytes(new byte[]{1, 2, 3});
+        first.release();
+
+        // TEST
+        final PooledByteArrayOutputStream second = PooledByteArrayOutputStream.acquire();
+        try {
+
+            // VERIFY
+            assertThat(second).isSameAs(first);
+            assertThat(second.size()).isZero();
+
+        } finally {
+            second.release();
+        }
+
+    }
+
+    @Test
+    public void testNestedAcquireReturnsNewInstance() {
+
+        final PooledByteArrayOutputStream outer = PooledByteArrayOutputStream.acquire();
+        try {
+            final PooledByteArrayOutputStream inner = PooledByteArrayOutputStream.acquire();
+            inner.release();
+            assertThat(inner).isNotSameAs(outer);
+            assertThat(PooledByteArrayOutputStream.acquire()).isNotSameAs(outer);
+        } finally {
+            outer.release();
+        }
+
+    }
+
+    @Test
+    public void testOtherThreadUsesOtherInstance() throws Exception {
+
+        final PooledByteArrayOutputStream mine = PooledByteArrayOutputStream.acquire();
+        mine.release();
+
+        final PooledByteArrayOutputStream other = CompletableFuture.supplyAsync(() -> {
+            final PooledByteArrayOutputStream out = PooledByteArrayOutputStream.acquire();
+            out.release();
+            return out;
+        }).get();
+
+        assertThat(other).isNotSameAs(mine);
+
+    }
+
+    @Test
+    public void testLargeBufferIsNotRetained() {
+
+        // PREPARE
+        final PooledByteArrayOutputStream large = PooledByteArrayOutputStream.acquire();
+        large.writeBytes(new byte[PooledByteArrayOutputStream.MAX_RETAINED_SIZE + 1]);
+        large.release();
+
+        // TEST
+        final PooledByteArrayOutputStream next = PooledByteArrayOutputStream.acquire();
+        next.release();
+
+        // VERIFY
+        assertThat(next).isNotSameAs(large);
+
+    }
+
+    @Test
+    public void testToByteBuffer() {
+
+        final PooledByteArrayOutputStream out = PooledByteArrayOutputStream.acquire();
+        try {
+            out.writeBytes(new byte[]{1, 2, 3});
+
+            final ByteBuffer buffer = out.toByteBuffer();
+
+            assertThat(buffer.isReadOnly()).isTrue();
+            assertThat(buffer.position()).isZero();
+            assertThat(buffer.remaining()).isEqualTo(3);
+            assertThat(buffer.get(2)).isEqualTo((byte) 3);
+        } finally {
+            out.release();
+        }
+
+    }
+
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for the default methods of {@link ReadableEventStore}.
+ */
+public class ReadableEventStoreTest {
+
+    private static final StreamId STREAM_ID = new SimpleStreamId("MyStream");
+
+    @Test
+    public void testStreamAllEventsForward() {
+
+        // PREPARE
+        final CommonEvent e0 = event();
+        final CommonEvent e1 = event();
+        final CommonEvent e2 = event();
+        final ReadableEventStore testee = mock(ReadableEventStore.class);
+        when(testee.streamAllEventsForward(eq(STREAM_ID), anyLong(), anyInt())).thenCallRealMethod();
+        when(testee.readEventsForward(STREAM_ID, 0, 2)).thenReturn(new StreamEventsSlice(0, List.of(e0, e1), 2, false));
+        when(testee.readEventsForward(STREAM_ID, 2, 2)).thenReturn(new StreamEventsSlice(2, List.of(e2), 3, true));
+
+        // TEST
+        final Stream<CommonEvent> stream = testee.streamAllEventsForward(STREAM_ID, 0, 2);
+
+        // VERIFY
+        verify(testee).streamAllEventsForward(STREAM_ID, 0, 2);
+        verifyNoMoreInteractions(testee);
+        assertThat(stream).containsExactly(e0, e1, e2);
+
+    }
+
+    @Test
+    public void testStreamAllEventsForwardNotFound() {
+
+        // PREPARE
+        final ReadableEventStore testee = mock(ReadableEventStore.class);
+        when(testee.streamAllEventsForward(eq(STREAM_ID), anyLong(), anyInt())).thenCallRealMethod();
+        when(testee.readEventsForward(STREAM_ID, 0, 2)).thenThrow(new StreamNotFoundException(STREAM_ID));
+
+        // TEST & VERIFY
+        assertThat(testee.streamAllEventsForward(STREAM_ID, 0, 2)).isEmpty();
+
+    }
+
+    @Test
+    public void testReadAllEventsForwardAdaptive() {
+
+        // PREPARE
+        final ReadableEventStore testee = mock(ReadableEventStore.class);
+        final AdaptiveChunkSize chunkSize = new AdaptiveChunkSize(5, 100, 1024, Duration.ofSeconds(1));
+        final ReadableEventStore.ChunkEventHandler handler = slice -> {
+        };
+        doCallRealMethod().when(testee).readAllEventsForward(eq(STREAM_ID), anyLong(),
+                any(AdaptiveChunkSize.class), any());
+
+        // TEST
+        testee.readAllEventsForward(STREAM_ID, 3, chunkSize, handler);
+
+        // VERIFY
+        verify(testee).readAllEventsForward(STREAM_ID, 3, 5, handler);
+
+    }
+
+    private static CommonEvent event() {
+        return new SimpleCommonEvent(new EventId(), new TypeName("MyEvent"), "data");
+    }
+
+}
@@ -17,12 +17,15 @@
  */
 package org.fuin.esc.api;
 
+import com.sun.management.ThreadMXBean;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.lang.management.ManagementFactory;
 import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests the {@link SimpleSerializerDeserializerRegistry} class.
@@ -85,5 +88,87 @@ public class SimpleSerializerDeserializerRegistryTest {
 
     }
 
+    @Test
+    public void testGetDeserializerEncodingAndVersion() {
+
+        // PREPARE
+        final SerializedDataType type = new SerializedDataType("MyType");
+        final Deserializer utf8v1 = Mockito.mock(Deserializer.class);
+        final Deserializer utf16 = Mockito.mock(Deserializer.class);
+        final Deserializer none = Mockito.mock(Deserializer.class);
+        final SimpleSerializerDeserializerRegistry registry = new SimpleSerializerDeserializerRegistry.Builder(
+                EnhancedMimeType.create("application", "json"))
+                .add(type, utf8v1, EnhancedMimeType.create("application", "json", StandardCharsets.UTF_8, "1"))
+                .add(type, utf16, EnhancedMimeType.create("application", "json", StandardCharsets.UTF_16))
+                .add(type, none)
+                .build();
+
+        // TEST & VERIFY
+        assertThat(registry.getDeserializer(type, EnhancedMimeType.create("application/json; version=1; encoding=utf8")))
+                .isSameAs(utf8v1);
+        assertThat(registry.getDeserializer(type, EnhancedMimeType.create("application/json; encoding=UTF-16; transfer-encoding=base64")))
+                .isSameAs(utf16);
+        assertThat(registry.getDeserializer(type)).isSameAs(none);
+        assertThat(registry.deserializerExists(type, EnhancedMimeType.create("application/json; encoding=UTF-8"))).isFalse();
+        assertThat(registry.deserializerExists(type, EnhancedMimeType.create("application/xml"))).isFalse();
+        assertThat(registry.deserializerExists(new SerializedDataType("Other"))).isFalse();
+        assertThatThrownBy(() -> registry.getDeserializer(type, EnhancedMimeType.create("text/plain")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No deserializer found for: Key [type=MyType, mimeType=text/plain]");
+
+    }
+
+    @Test
+    public void testBuilderIsClearedAfterBuild() {
+
+        // PREPARE
+        final SerializedDataType type = new SerializedDataType("MyType");
+        final SimpleSerializerDeserializerRegistry.Builder testee = new SimpleSerializerDeserializerRegistry.Builder(
+                EnhancedMimeType.create("application", "json"));
+        testee.add(type, Mockito.mock(SerDeserializer.class));
+
+        // TEST
+        final SimpleSerializerDeserializerRegistry first = testee.build();
+        final SimpleSerializerDeserializerRegistry second = testee.build();
+
+        // VERIFY
+        assertThat(first.serializerExists(type)).isTrue();
+        assertThat(first.deserializerExists(type)).isTrue();
+        assertThat(second.serializerExists(type)).isFalse();
+        assertThat(second.deserializerExists(type)).isFalse();
+
+    }
+
+    @Test
+    public void testGetDeserializerDoesNotAllocate() {
+
+        // PREPARE
+        final SimpleSerializerDeserializerRegistry.Builder builder = new SimpleSerializerDeserializerRegistry.Builder(
+                EnhancedMimeType.create("application", "json", StandardCharsets.UTF_8));
+        final SerializedDataType[] types = new SerializedDataType[100];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = new SerializedDataType("MyType" + i);
+            builder.add(types[i], Mockito.mock(Deserializer.class));
+        }
+        final SimpleSerializerDeserializerRegistry registry = builder.build();
+        final EnhancedMimeType mimeType = EnhancedMimeType.create("application/json; encoding=UTF-8; transfer-encoding=base64");
+        final ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 100_000; i++) {
+            registry.getDeserializer(types[i % types.length], mimeType);
+        }
+
+        // TEST
+        final long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            registry.getDeserializer(types[i % types.length], mimeType);
+        }
+        final long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        // VERIFY (The old implementation allocated a mime type and a key of about 1.7 KB per lookup)
+        assertThat(allocated).isLessThan(100_000);
+
+    }
+
 }
 
@@ -0,0 +1,172 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for {@link SnapshotLoader}.
+ */
+public class SnapshotLoaderTest {
+
+    private static final StreamId STREAM_ID = new SimpleStreamId("MyStream");
+
+    private static final TypeName STATE_TYPE = new TypeName("MyState");
+
+    private static final BiFunction<String, CommonEvent, String> APPLIER = (state, event) -> state + event.getData();
+
+    private ReadableEventStore eventStore;
+
+    private SnapshotStore snapshotStore;
+
+    private List<CommonEvent> events;
+
+    @BeforeEach
+    public void setup() {
+        eventStore = mock(ReadableEventStore.class);
+        snapshotStore = mock(SnapshotStore.class);
+        events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            events.add(new SimpleCommonEvent(new EventId(), new TypeName("MyEvent"), String.valueOf(i)));
+        }
+        doAnswer(invocation -> {
+            final long start = invocation.getArgument(1);
+            final int chunkSize = invocation.getArgument(2);
+            final ReadableEventStore.ChunkEventHandler handler = invocation.getArgument(3);
+            for (long next = start; next < events.size(); next = next + chunkSize) {
+                final int end = (int) Math.min(next + chunkSize, events.size());
+                handler.handle(new StreamEventsSlice(next, events.subList((int) next, end), end,
+                        end == events.size()));
+            }
+            return null;
+        }).when(eventStore).readAllEventsForward(eq(STREAM_ID), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    public void testLoadWithoutSnapshot() {
+
+        // PREPARE
+        final SnapshotLoader testee = new SnapshotLoader(eventStore, snapshotStore, 3, 100);
+
+        // TEST
+        final Snapshot result = testee.load(STREAM_ID, STATE_TYPE, () -> "", APPLIER);
+
+        // VERIFY
+        assertThat(result.getStreamId()).isEqualTo(STREAM_ID);
+        assertThat(result.getVersion()).isEqualTo(9);
+        assertThat(result.getDataType()).isEqualTo(STATE_TYPE);
+        assertThat(result.getData()).isEqualTo("0123456789");
+        verify(eventStore).readAllEventsForward(eq(STREAM_ID), eq(0L), eq(3), any());
+        verify(snapshotStore, never()).saveSnapshot(any());
+
+    }
+
+    @Test
+    public void testLoadReadsOnlyTail() {
+
+        // PREPARE
+        when(snapshotStore.loadSnapshot(STREAM_ID)).thenReturn(new Snapshot(STREAM_ID, 6, STATE_TYPE, "0123456"));
+        final SnapshotLoader testee = new SnapshotLoader(eventStore, snapshotStore, 3, 100);
+
+        // TEST
+        final Snapshot result = testee.load(STREAM_ID, STATE_TYPE, () -> "", APPLIER);
+
+        // VERIFY
+        assertThat(result.getVersion()).isEqualTo(9);
+        assertThat(result.getData()).isEqualTo("0123456789");
+        verify(eventStore).readAllEventsForward(eq(STREAM_ID), eq(7L), eq(3), any());
+
+    }
+
+    @Test
+    public void testLoadSavesSnapshotAfterInterval() {
+
+        // PREPARE
+        when(snapshotStore.loadSnapshot(STREAM_ID)).thenReturn(new Snapshot(STREAM_ID, 4, STATE_TYPE, "01234"));
+        final SnapshotLoader testee = new SnapshotLoader(eventStore, snapshotStore, 3, 5);
+
+        // TEST
+        final Snapshot result = testee.load(STREAM_ID, STATE_TYPE, () -> "", APPLIER);
+
+        // VERIFY
+        verify(snapshotStore).saveSnapshot(result);
+        assertThat(result).isEqualTo(new Snapshot(STREAM_ID, 9, STATE_TYPE, "0123456789"));
+
+    }
+
+    @Test
+    public void testLoadIgnoresSnapshotOfOtherType() {
+
+        // PREPARE
+        when(snapshotStore.loadSnapshot(STREAM_ID)).thenReturn(
+                new Snapshot(STREAM_ID, 6, new TypeName("OldState"), "x"));
+        final SnapshotLoader testee = new SnapshotLoader(eventStore, snapshotStore, 3, 100);
+
+        // TEST
+        final Snapshot result = testee.load(STREAM_ID, STATE_TYPE, () -> "", APPLIER);
+
+        // VERIFY
+        assertThat(result.getData()).isEqualTo("0123456789");
+        verify(eventStore).readAllEventsForward(eq(STREAM_ID), eq(0L), eq(3), any());
+
+    }
+
+    @Test
+    public void testLoadStreamNotFound() {
+
+        // PREPARE
+        doThrow(new StreamNotFoundException(STREAM_ID)).when(eventStore)
+                .readAllEventsForward(eq(STREAM_ID), anyLong(), anyInt(), any());
+        final SnapshotLoader testee = new SnapshotLoader(eventStore, snapshotStore, 3, 1);
+
+        // TEST
+        final Snapshot result = testee.load(STREAM_ID, STATE_TYPE, () -> "initial", APPLIER);
+
+        // VERIFY
+        assertThat(result.getVersion()).isEqualTo(ExpectedVersion.NO_OR_EMPTY_STREAM.getNo());
+        assertThat(result.getData()).isEqualTo("initial");
+        verify(snapshotStore, never()).saveSnapshot(any());
+
+    }
+
+    @Test
+    public void testConstructorInvalidInterval() {
+        assertThatThrownBy(() -> new SnapshotLoader(eventStore, snapshotStore, 3, 0))
+                .isInstanceOf(ConstraintViolationException.class);
+    }
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link Snapshot}.
+ */
+public class SnapshotTest {
+
+    private static final StreamId STREAM_ID = new SimpleStreamId("MyStream");
+
+    private static final TypeName STATE_TYPE = new TypeName("MyState");
+
+    @Test
+    public void testEqualsHashCode() {
+        EqualsVerifier.forClass(Snapshot.class)
+                .withPrefabValues(StreamId.class, new SimpleStreamId("a"), new SimpleStreamId("b"))
+                .suppress(Warning.NULL_FIELDS)
+                .verify();
+    }
+
+    @Test
+    public void testCreate() {
+
+        // TEST
+        final Snapshot testee = new Snapshot(STREAM_ID, 5, STATE_TYPE, "state");
+
+        // VERIFY
+        assertThat(testee.getStreamId()).isEqualTo(STREAM_ID);
+        assertThat(testee.getVersion()).isEqualTo(5);
+        assertThat(testee.getDataType()).isEqualTo(STATE_TYPE);
+        assertThat(testee.getData()).isEqualTo("state");
+        assertThat(testee).hasToString("Snapshot{streamId=MyStream, version=5, dataType=MyState}");
+
+    }
+
+    @Test
+    public void testCreateEmptyStream() {
+        assertThat(new Snapshot(STREAM_ID, -1, STATE_TYPE, "state").getVersion()).isEqualTo(-1);
+        assertThatThrownBy(() -> new Snapshot(STREAM_ID, -2, STATE_TYPE, "state"))
+                .isInstanceOf(ConstraintViolationException.class);
+    }
+
+}
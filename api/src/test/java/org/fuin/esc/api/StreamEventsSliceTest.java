@@ -71,7 +71,7 @@ public class StreamEventsSliceTest {
 
     @Test
     public void testEqualsHashCode() {
-        EqualsVerifier.forClass(StreamEventsSlice.class).verify();
+        EqualsVerifier.forClass(StreamEventsSlice.class).withIgnoredFields("sizeInBytes").verify();
     }
 
     @Test
@@ -80,6 +80,8 @@ public class StreamEventsSliceTest {
         assertThat(testee.getNextEventNumber()).isEqualTo(NEXT);
         assertThat(testee.isEndOfStream()).isEqualTo(EOS);
         assertThat(testee.getEvents()).isEqualTo(events);
+        assertThat(testee.getSizeInBytes()).isEqualTo(-1);
+        assertThat(new StreamEventsSlice(FROM, events, NEXT, EOS, 123).getSizeInBytes()).isEqualTo(123);
 
     }
 
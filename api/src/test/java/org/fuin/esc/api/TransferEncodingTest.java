@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link TransferEncoding} class.
+ */
+public final class TransferEncodingTest {
+
+    private static final byte[] DATA = "<myEvent><description>Hello, XML!</description></myEvent>".repeat(100)
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public final void testBase64() {
+
+        // TEST + VERIFY
+        assertThat(TransferEncoding.BASE64.isCompressed()).isFalse();
+        assertThat(TransferEncoding.BASE64.encode(DATA)).isSameAs(DATA);
+        assertThat(TransferEncoding.BASE64.decode(DATA)).isSameAs(DATA);
+
+    }
+
+    @Test
+    public final void testGzipBase64() {
+
+        // TEST
+        final byte[] encoded = TransferEncoding.GZIP_BASE64.encode(DATA);
+        final byte[] decoded = TransferEncoding.GZIP_BASE64.decode(encoded);
+
+        // VERIFY
+        assertThat(TransferEncoding.GZIP_BASE64.isCompressed()).isTrue();
+        assertThat(encoded.length).isLessThan(DATA.length / 10);
+        assertThat(decoded).isEqualTo(DATA);
+
+    }
+
+    @Test
+    public final void testForName() {
+
+        // TEST + VERIFY
+        assertThat(TransferEncoding.forName(null)).isNull();
+        assertThat(TransferEncoding.forName("base64")).isEqualTo(TransferEncoding.BASE64);
+        assertThat(TransferEncoding.forName("GZIP+BASE64")).isEqualTo(TransferEncoding.GZIP_BASE64);
+        assertThatThrownBy(() -> TransferEncoding.forName("brotli"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown transfer encoding: 'brotli'");
+
+    }
+
+    @Test
+    public final void testOf() {
+
+        // TEST + VERIFY
+        assertThat(TransferEncoding.of(null)).isNull();
+        assertThat(TransferEncoding.of(EnhancedMimeType.create("application/xml; encoding=UTF-8"))).isNull();
+        assertThat(TransferEncoding.of(EnhancedMimeType.create("application/xml; transfer-encoding=base64")))
+                .isEqualTo(TransferEncoding.BASE64);
+        assertThat(TransferEncoding.of(EnhancedMimeType.create("application/xml; transfer-encoding=gzip+base64; encoding=UTF-8")))
+                .isEqualTo(TransferEncoding.GZIP_BASE64);
+
+    }
+
+    @Test
+    public final void testDecodeMimeType() {
+
+        // PREPARE
+        final EnhancedMimeType gzip = EnhancedMimeType.create("application/xml; transfer-encoding=gzip+base64");
+        final byte[] encoded = TransferEncoding.GZIP_BASE64.encode(DATA);
+
+        // TEST + VERIFY
+        assertThat(TransferEncoding.decode(null, DATA)).isSameAs(DATA);
+        assertThat(TransferEncoding.decode(EnhancedMimeType.create("application/xml"), DATA)).isSameAs(DATA);
+        assertThat(TransferEncoding.decode(gzip, encoded)).isEqualTo(DATA);
+
+    }
+
+}
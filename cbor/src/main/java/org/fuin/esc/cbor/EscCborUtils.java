@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.cbor;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.jackson.Base64Data;
+import org.fuin.esc.jackson.EscEvent;
+import org.fuin.esc.jackson.EscEvents;
+import org.fuin.esc.jackson.EscMeta;
+import org.fuin.esc.jackson.JacksonSerDeserializer;
+import org.fuin.objects4j.jackson.ImmutableObjectMapper;
+
+/**
+ * Utilities for the CBOR serialization module. The envelope types ({@link EscEvents}, {@link EscEvent}, {@link EscMeta}
+ * and {@link Base64Data}), the {@link org.fuin.esc.jackson.BaseTypeFactory} and the {@link JacksonSerDeserializer} of
+ * the Jackson module are reused. Register the {@link org.fuin.esc.jackson.EscJacksonModule} with a CBOR object mapper
+ * and the envelope stores binary content as raw bytes instead of Base64 text. The standard ESC types are added with
+ * {@link org.fuin.esc.jackson.EscJacksonUtils#addEscSerDeserializer(org.fuin.esc.api.SerDeserializerRegistry.Builder, JacksonSerDeserializer)}.
+ */
+public final class EscCborUtils {
+
+    /**
+     * THE standard mime type that is used by this implementation.
+     */
+    public static final EnhancedMimeType MIME_TYPE = EnhancedMimeType.create("application", "cbor");
+
+    /**
+     * Private utility constructor.
+     */
+    private EscCborUtils() {
+        throw new UnsupportedOperationException("Creating instances of a utility class is not allowed.");
+    }
+
+    /**
+     * Creates a builder for an object mapper that uses the CBOR factory.
+     *
+     * @return New mapper builder.
+     */
+    public static ImmutableObjectMapper.Builder objectMapperBuilder() {
+        return new ImmutableObjectMapper.Builder(new CBORMapper());
+    }
+
+    /**
+     * Creates a builder for a serializer/deserializer that reads and writes {@link #MIME_TYPE}. The object mapper
+     * set on the builder must be created with the CBOR factory, for example by using {@link #objectMapperBuilder()}.
+     *
+     * @return New builder with the CBOR content type already set.
+     */
+    public static JacksonSerDeserializer.Builder serDeserializerBuilder() {
+        return JacksonSerDeserializer.builder().withMimeType(MIME_TYPE);
+    }
+
+}
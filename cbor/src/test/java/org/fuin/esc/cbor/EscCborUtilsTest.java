@@ -0,0 +1,214 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.cbor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.SerDeserializerRegistry;
+import org.fuin.esc.api.SerializedDataTypeRegistry;
+import org.fuin.esc.api.SimpleSerializedDataTypeRegistry;
+import org.fuin.esc.api.SimpleSerializerDeserializerRegistry;
+import org.fuin.esc.jackson.DataWrapper;
+import org.fuin.esc.jackson.EscEvent;
+import org.fuin.esc.jackson.EscJacksonModule;
+import org.fuin.esc.jackson.EscMeta;
+import org.fuin.esc.jackson.JacksonSerDeserializer;
+import org.fuin.esc.jaxb.XmlDeSerializer;
+import org.fuin.objects4j.jackson.ImmutableObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.esc.cbor.EscCborUtils.MIME_TYPE;
+import static org.fuin.esc.jackson.EscJacksonUtils.addEscSerDeserializer;
+import static org.fuin.esc.jackson.EscJacksonUtils.addEscTypes;
+
+/**
+ * Test for {@link EscCborUtils} class.
+ */
+public class EscCborUtilsTest {
+
+    @Test
+    public void testCborEnvelopeWithJaxB() throws Exception {
+
+        // PREPARE
+        final UUID eventId = UUID.fromString("b2a936ce-d479-414f-b67f-3df4da383d47");
+        final MyEvent myEvent = new MyEvent(UUID.fromString("b2a936ce-d479-414f-b67f-3df4da383d47"), "Hello, CBOR!");
+        final MyMeta myMeta = new MyMeta("abc");
+
+        final EnhancedMimeType dataContentType = EnhancedMimeType.create("application/xml; encoding=UTF-8");
+        final EnhancedMimeType metaContentType = EnhancedMimeType.create("application/xml; encoding=UTF-8");
+        final EscMeta escMeta = new EscMeta(MyEvent.SER_TYPE.asBaseType(), dataContentType, MyMeta.SER_TYPE.asBaseType(), metaContentType, myMeta);
+        final EscEvent expectedEvent = new EscEvent(eventId, MyEvent.TYPE.asBaseType(), new DataWrapper(myEvent), new DataWrapper(escMeta));
+
+        final SerializedDataTypeRegistry typeRegistry = addEscTypes(new SimpleSerializedDataTypeRegistry.Builder())
+                .add(MyEvent.SER_TYPE, MyEvent.class)
+                .add(MyMeta.SER_TYPE, MyMeta.class)
+                .build();
+        final ImmutableObjectMapper.Builder mapperBuilder = EscCborUtils.objectMapperBuilder();
+        final ImmutableObjectMapper.Provider mapperProvider = new ImmutableObjectMapper.Provider(mapperBuilder);
+        final JacksonSerDeserializer cborDeSer = EscCborUtils.serDeserializerBuilder()
+                .withObjectMapper(mapperProvider)
+                .withTypeRegistry(typeRegistry)
+                .build();
+        final XmlDeSerializer jaxbDeSer = XmlDeSerializer.builder().add(MyEvent.class).add(MyMeta.class).build();
+        final SerDeserializerRegistry serDeserializerRegistry = addEscSerDeserializer(new SimpleSerializerDeserializerRegistry.Builder(MIME_TYPE), cborDeSer)
+                .add(MyMeta.SER_TYPE, jaxbDeSer, jaxbDeSer.getMimeType())
+                .add(MyEvent.SER_TYPE, jaxbDeSer, jaxbDeSer.getMimeType())
+                .build();
+        mapperBuilder.registerModule(new EscJacksonModule(serDeserializerRegistry, serDeserializerRegistry));
+
+        // TEST
+        final byte[] cbor = cborDeSer.marshal(expectedEvent, EscEvent.SER_TYPE);
+        final EscEvent copy = cborDeSer.unmarshal(cbor, EscEvent.SER_TYPE, MIME_TYPE);
+
+        // VERIFY raw XML bytes are embedded without Base64
+        final JsonNode tree = mapperProvider.reader().readTree(cbor);
+        final JsonNode dataNode = tree.get("Data");
+        assertThat(dataNode.isBinary()).isTrue();
+        assertThat(new String(dataNode.binaryValue(), StandardCharsets.UTF_8)).contains("<description>Hello, CBOR!</description>");
+        assertThat(tree.get("MetaData").get("MyMeta").isBinary()).isTrue();
+
+        // VERIFY copy
+        assertThat(copy.getEventId()).isEqualTo(expectedEvent.getEventId());
+        assertThat(copy.getEventType()).isEqualTo(expectedEvent.getEventType());
+        assertThat(copy.getData().getObj()).isInstanceOf(MyEvent.class);
+        final MyEvent copyMyEvent = (MyEvent) copy.getData().getObj();
+        assertThat(copyMyEvent.getId()).isEqualTo(myEvent.getId());
+        assertThat(copyMyEvent.getDescription()).isEqualTo(myEvent.getDescription());
+        final EscMeta actualEscMeta = (EscMeta) copy.getMeta().getObj();
+        assertThat(actualEscMeta.getDataType()).isEqualTo(escMeta.getDataType());
+        assertThat(actualEscMeta.getDataContentType()).isEqualTo(escMeta.getDataContentType());
+        assertThat(actualEscMeta.getMetaType()).isEqualTo(escMeta.getMetaType());
+        assertThat(actualEscMeta.getMetaContentType()).isEqualTo(escMeta.getMetaContentType());
+        assertThat(actualEscMeta.getMeta()).isInstanceOf(MyMeta.class);
+        assertThat(((MyMeta) actualEscMeta.getMeta()).getUser()).isEqualTo(myMeta.getUser());
+
+        // Serializing the copy should result in the same bytes
+        assertThat(cborDeSer.marshal(copy, EscEvent.SER_TYPE)).isEqualTo(cbor);
+
+    }
+
+    @Test
+    public void testMarshalUnmarshalBytes() {
+
+        // PREPARE
+        final JacksonSerDeserializer testee = createTestee();
+        final MyEvent original = new MyEvent(UUID.randomUUID(), "Hello, CBOR!");
+
+        // TEST
+        final byte[] data = testee.marshal(original, MyEvent.SER_TYPE);
+        final MyEvent copy = testee.unmarshal(data, MyEvent.SER_TYPE, MIME_TYPE);
+
+        // VERIFY
+        assertThat(testee.getMimeType()).isEqualTo(MIME_TYPE);
+        assertThat(data[0] & 0xE0).as("CBOR major type 5 (map)").isEqualTo(0xA0);
+        assertThat(copy.getId()).isEqualTo(original.getId());
+        assertThat(copy.getDescription()).isEqualTo(original.getDescription());
+
+    }
+
+    @Test
+    public void testMarshalUnmarshalStream() {
+
+        // PREPARE
+        final JacksonSerDeserializer testee = createTestee();
+        final MyEvent original = new MyEvent(UUID.randomUUID(), "Hello, stream!");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // TEST
+        testee.marshal(original, MyEvent.SER_TYPE, out);
+        final MyEvent copy = testee.unmarshalStream(new ByteArrayInputStream(out.toByteArray()), MyEvent.SER_TYPE,
+                MIME_TYPE);
+
+        // VERIFY
+        assertThat(testee.writesStream()).isTrue();
+        assertThat(out.toByteArray()).isEqualTo(testee.marshal(original, MyEvent.SER_TYPE));
+        assertThat(copy.getId()).isEqualTo(original.getId());
+        assertThat(copy.getDescription()).isEqualTo(original.getDescription());
+
+    }
+
+    @Test
+    public void testUnmarshalJsonNode() throws Exception {
+
+        // PREPARE
+        final JacksonSerDeserializer testee = createTestee();
+        final MyEvent original = new MyEvent(UUID.randomUUID(), "Hello, tree!");
+        final JsonNode node = testee.mapper().reader().readTree(testee.marshal(original, MyEvent.SER_TYPE));
+
+        // TEST
+        final MyEvent copy = testee.unmarshal(node, MyEvent.SER_TYPE, MIME_TYPE);
+
+        // VERIFY
+        assertThat(copy.getId()).isEqualTo(original.getId());
+
+    }
+
+    @Test
+    public void testSupports() {
+
+        final JacksonSerDeserializer testee = createTestee();
+
+        assertThat(testee.supports(byte[].class)).isTrue();
+        assertThat(testee.supports(JsonNode.class)).isTrue();
+        assertThat(testee.supports(ObjectNode.class)).isTrue();
+        assertThat(testee.supports(String.class)).isFalse();
+
+    }
+
+    @Test
+    public void testUnmarshalWrongMimeType() {
+
+        final JacksonSerDeserializer testee = createTestee();
+        final EnhancedMimeType json = EnhancedMimeType.create("application", "json");
+
+        assertThatThrownBy(() -> testee.unmarshal(new byte[0], MyEvent.SER_TYPE, json))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("application/json");
+
+    }
+
+    @Test
+    public void testUnmarshalUnsupportedType() {
+
+        final JacksonSerDeserializer testee = createTestee();
+
+        assertThatThrownBy(() -> testee.unmarshal("Hello", MyEvent.SER_TYPE, MIME_TYPE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(String.class.getName());
+
+    }
+
+    private static JacksonSerDeserializer createTestee() {
+        final SerializedDataTypeRegistry typeRegistry = new SimpleSerializedDataTypeRegistry.Builder()
+                .add(MyEvent.SER_TYPE, MyEvent.class)
+                .build();
+        return EscCborUtils.serDeserializerBuilder()
+                .withObjectMapper(new ImmutableObjectMapper.Provider(EscCborUtils.objectMapperBuilder()))
+                .withTypeRegistry(typeRegistry)
+                .build();
+    }
+
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.Position;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.CommonEvent;
+import org.fuin.objects4j.common.Contract;
+
+import java.util.List;
+
+/**
+ * Events read from the "$all" stream together with the position to continue reading from.
+ */
+public final class AllEventsSlice {
+
+    private final List<CommonEvent> events;
+
+    private final Position nextPosition;
+
+    private final boolean endOfStream;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param events       Events read (never {@literal null}).
+     * @param nextPosition Position to pass to the next read. This is at least the position of the last event,
+     *                     but may be further ahead if the server skipped events that did not match the filter.
+     * @param endOfStream  Determines if the end of the "$all" stream was reached.
+     */
+    public AllEventsSlice(@NotNull final List<CommonEvent> events,
+                          @NotNull final Position nextPosition,
+                          final boolean endOfStream) {
+        super();
+        Contract.requireArgNotNull("events", events);
+        Contract.requireArgNotNull("nextPosition", nextPosition);
+        this.events = List.copyOf(events);
+        this.nextPosition = nextPosition;
+        this.endOfStream = endOfStream;
+    }
+
+    /**
+     * Returns the events read.
+     *
+     * @return Immutable list of events.
+     */
+    @NotNull
+    public List<CommonEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns the position to continue reading from.
+     *
+     * @return Position after the last event (or checkpoint) of this slice.
+     */
+    @NotNull
+    public Position getNextPosition() {
+        return nextPosition;
+    }
+
+    /**
+     * Returns if the end of the "$all" stream was reached.
+     *
+     * @return TRUE if there are currently no more events to read.
+     */
+    public boolean isEndOfStream() {
+        return endOfStream;
+    }
+
+    @Override
+    public String toString() {
+        return "AllEventsSlice{events=" + events.size() + ", nextPosition=" + nextPosition
+                + ", endOfStream=" + endOfStream + "}";
+    }
+
+}
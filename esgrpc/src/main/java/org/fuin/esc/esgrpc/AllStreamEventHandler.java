@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.Position;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.CommonEvent;
+
+/**
+ * Receives the events of a filtered subscription to the "$all" stream.
+ */
+public interface AllStreamEventHandler {
+
+    /**
+     * Handles an event that matched the filter.
+     *
+     * @param event    Event.
+     * @param position Position of the event in the "$all" stream.
+     */
+    void onEvent(@NotNull CommonEvent event, @NotNull Position position);
+
+    /**
+     * Handles a checkpoint. The server sends checkpoints in regular intervals even if no event matched the filter.
+     * Storing the position allows to resubscribe without scanning the skipped events again.
+     *
+     * @param position Position in the "$all" stream up to which all matching events were delivered.
+     */
+    default void onCheckpoint(@NotNull Position position) {
+        // Ignore by default
+    }
+
+}
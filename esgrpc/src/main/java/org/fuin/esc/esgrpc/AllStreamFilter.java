@@ -0,0 +1,199 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.Checkpointer;
+import io.kurrent.dbclient.SubscriptionFilter;
+import io.kurrent.dbclient.SubscriptionFilterBuilder;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.TenantId;
+import org.fuin.objects4j.common.Contract;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Server side filter used when reading or subscribing to the "$all" stream. The server can filter either by
+ * event type or by stream name, so a filter is created with one of the static factory methods.
+ * Stream name prefixes are automatically prefixed with the tenant of the event store.
+ */
+public final class AllStreamFilter {
+
+    /** Regular expression that matches all event types that are not system events. */
+    private static final String NO_SYSTEM_EVENTS = "^[^\\$].*";
+
+    private final boolean eventType;
+
+    private final List<String> prefixes;
+
+    private final String regex;
+
+    private AllStreamFilter(final boolean eventType, final List<String> prefixes, final String regex) {
+        super();
+        this.eventType = eventType;
+        this.prefixes = prefixes;
+        this.regex = regex;
+    }
+
+    /**
+     * Returns a filter that accepts all events except the system events whose type starts with a '$'.
+     *
+     * @return New filter.
+     */
+    public static AllStreamFilter excludeSystemEvents() {
+        return new AllStreamFilter(true, List.of(), NO_SYSTEM_EVENTS);
+    }
+
+    /**
+     * Returns a filter that accepts events with a type starting with one of the given prefixes.
+     *
+     * @param prefixes One or more event type prefixes.
+     * @return New filter.
+     */
+    public static AllStreamFilter eventTypePrefixes(@NotEmpty final String... prefixes) {
+        return new AllStreamFilter(true, requirePrefixes(prefixes), null);
+    }
+
+    /**
+     * Returns a filter that accepts events with a type that matches the given regular expression.
+     *
+     * @param regex Regular expression.
+     * @return New filter.
+     */
+    public static AllStreamFilter eventTypeRegex(@NotEmpty final String regex) {
+        Contract.requireArgNotEmpty("regex", regex);
+        return new AllStreamFilter(true, List.of(), regex);
+    }
+
+    /**
+     * Returns a filter that accepts events from streams with a name starting with one of the given prefixes.
+     *
+     * @param prefixes One or more stream name prefixes (without tenant).
+     * @return New filter.
+     */
+    public static AllStreamFilter streamNamePrefixes(@NotEmpty final String... prefixes) {
+        return new AllStreamFilter(false, requirePrefixes(prefixes), null);
+    }
+
+    /**
+     * Returns a filter that accepts events from streams with a name that matches the given regular expression.
+     * The expression is applied to the full stream name including the tenant.
+     *
+     * @param regex Regular expression.
+     * @return New filter.
+     */
+    public static AllStreamFilter streamNameRegex(@NotEmpty final String regex) {
+        Contract.requireArgNotEmpty("regex", regex);
+        return new AllStreamFilter(false, List.of(), regex);
+    }
+
+    private static List<String> requirePrefixes(final String... prefixes) {
+        Contract.requireArgNotNull("prefixes", prefixes);
+        if (prefixes.length == 0) {
+            throw new IllegalArgumentException("At least one prefix is required");
+        }
+        for (final String prefix : prefixes) {
+            Contract.requireArgNotEmpty("prefix", prefix);
+        }
+        return List.of(prefixes);
+    }
+
+    /**
+     * Determines if the filter is applied to the event type.
+     *
+     * @return TRUE if the event type is filtered, FALSE if the stream name is filtered.
+     */
+    public boolean isEventType() {
+        return eventType;
+    }
+
+    /**
+     * Returns the prefixes.
+     *
+     * @return Immutable list of prefixes - Empty if a regular expression is used.
+     */
+    @NotNull
+    public List<String> getPrefixes() {
+        return prefixes;
+    }
+
+    /**
+     * Returns the regular expression.
+     *
+     * @return Regular expression or {@literal null} if prefixes are used.
+     */
+    @Nullable
+    public String getRegex() {
+        return regex;
+    }
+
+    /**
+     * Creates the filter used by the client.
+     *
+     * @param tenantId     Tenant to prefix stream names with or {@literal null}.
+     * @param checkpointer Receives the checkpoints.
+     * @param multiplier   Checkpoint interval multiplier.
+     * @return New filter.
+     */
+    SubscriptionFilter toSubscriptionFilter(@Nullable final TenantId tenantId,
+                                            @NotNull final Checkpointer checkpointer,
+                                            final int multiplier) {
+        final SubscriptionFilterBuilder builder = SubscriptionFilter.newBuilder()
+                .withCheckpointer(checkpointer, multiplier);
+        if (eventType) {
+            if (regex != null) {
+                builder.withEventTypeRegularExpression(regex);
+            }
+            for (final String prefix : prefixes) {
+                builder.addEventTypePrefix(prefix);
+            }
+        } else {
+            if (regex != null) {
+                builder.withStreamNameRegularExpression(regex);
+            }
+            for (final String prefix : prefixes) {
+                builder.addStreamNamePrefix(tenantId == null ? prefix : tenantId.asString() + "-" + prefix);
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventType, prefixes, regex);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof AllStreamFilter other)) {
+            return false;
+        }
+        return eventType == other.eventType && prefixes.equals(other.prefixes) && Objects.equals(regex, other.regex);
+    }
+
+    @Override
+    public String toString() {
+        return (eventType ? "eventType" : "streamName") + (regex == null ? "Prefixes=" + prefixes : "Regex=" + regex);
+    }
+
+}
@@ -29,16 +29,26 @@ import org.fuin.esc.api.IEscMeta;
 import org.fuin.esc.api.SerializedDataType;
 import org.fuin.esc.api.Serializer;
 import org.fuin.esc.api.SerializerRegistry;
+import org.fuin.esc.api.TransferEncoding;
+import org.fuin.esc.api.TypeName;
 import org.fuin.esc.spi.EscSpiUtils;
 import org.fuin.objects4j.common.Contract;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Converts a {@link CommonEvent} into {@link EventData}.
+ * Converts a {@link CommonEvent} into {@link EventData}. The serializers and content types required for a combination
+ * of data and meta type are looked up only once and reused for all following events of the same types. Therefore,
+ * the serializer registry must not change after the first conversion. Data and meta data that reach a compression
+ * threshold are GZIP compressed and embedded with the transfer encoding "gzip+base64". This class is thread-safe.
  */
 public final class CommonEvent2EventDataConverter implements Converter<CommonEvent, EventData> {
 
+    /** Threshold that disables compression. */
+    public static final int NO_COMPRESSION = -1;
+
     private static final EnhancedMimeType XML_UTF8 = EnhancedMimeType.create("application", "xml",
             StandardCharsets.UTF_8);
 
@@ -51,6 +61,12 @@ public final class CommonEvent2EventDataConverter implements Converter<CommonEve
 
     private final EnhancedMimeType targetContentType;
 
+    private final int compressionThreshold;
+
+    private final Map<TypeName, Integer> compressionThresholds;
+
+    private final Map<PlanKey, ConversionPlan> plans;
+
     /**
      * Constructor with all mandatory data.
      *
@@ -62,10 +78,31 @@ public final class CommonEvent2EventDataConverter implements Converter<CommonEve
     public CommonEvent2EventDataConverter(@NotNull final SerializerRegistry serRegistry,
                                           @NotNull final IBaseTypeFactory baseTypeFactory,
                                           final EnhancedMimeType targetContentType) {
+        this(serRegistry, baseTypeFactory, targetContentType, NO_COMPRESSION, Map.of());
+    }
+
+    /**
+     * Constructor with all data.
+     *
+     * @param serRegistry           Registry used to locate serializers.
+     * @param baseTypeFactory       Factory used to create basic types.
+     * @param targetContentType     Target content type (Allows only 'application/xml'
+     *                              or 'application/json' with 'utf-8' encoding).
+     * @param compressionThreshold  Minimum size in bytes of serialized data or meta data that is compressed
+     *                              ({@link #NO_COMPRESSION} = Never compress).
+     * @param compressionThresholds Thresholds for single data or meta types that replace the default threshold.
+     */
+    public CommonEvent2EventDataConverter(@NotNull final SerializerRegistry serRegistry,
+                                          @NotNull final IBaseTypeFactory baseTypeFactory,
+                                          final EnhancedMimeType targetContentType,
+                                          final int compressionThreshold,
+                                          @NotNull final Map<TypeName, Integer> compressionThresholds) {
         super();
         Contract.requireArgNotNull("serRegistry", serRegistry);
         Contract.requireArgNotNull("baseTypeFactory", baseTypeFactory);
         Contract.requireArgNotNull("targetContentType", targetContentType);
+        Contract.requireArgMin("compressionThreshold", compressionThreshold, NO_COMPRESSION);
+        Contract.requireArgNotNull("compressionThresholds", compressionThresholds);
         if (!(targetContentType.matchEncoding(JSON_UTF8) || targetContentType.matchEncoding(XML_UTF8))) {
             throw new IllegalArgumentException(
                     "Only 'application/xml' or 'application/json' with 'utf-8' encoding is allowed, but was: "
@@ -74,6 +111,9 @@ public final class CommonEvent2EventDataConverter implements Converter<CommonEve
         this.serRegistry = serRegistry;
         this.baseTypeFactory = baseTypeFactory;
         this.targetContentType = targetContentType;
+        this.compressionThreshold = compressionThreshold;
+        this.compressionThresholds = Map.copyOf(compressionThresholds);
+        this.plans = new ConcurrentHashMap<>();
     }
 
     /**
@@ -85,36 +125,78 @@ public final class CommonEvent2EventDataConverter implements Converter<CommonEve
     @Override
     public EventData convert(final CommonEvent commonEvent) {
 
+        final Object meta = commonEvent.getMeta();
+        final ConversionPlan plan = plan(commonEvent.getDataType().asBaseType(),
+                meta == null ? null : commonEvent.getMetaType().asBaseType());
+
         // User's data
-        final String dataType = commonEvent.getDataType().asBaseType();
-        final SerializedDataType serUserDataType = new SerializedDataType(dataType);
-        final Serializer userDataSerializer = serRegistry.getSerializer(serUserDataType);
-        final byte[] serUserData = userDataSerializer.marshal(commonEvent.getData(), serUserDataType);
+        final byte[] serUserData = EscSpiUtils.marshal(plan.dataSerializer, commonEvent.getData(), plan.dataSerType);
+        final EnhancedMimeType dataContentType;
         final byte[] serData;
-        if (userDataSerializer.getMimeType().matchEncoding(targetContentType)) {
-            serData = serUserData;
+        if (compress(plan.dataCompressionThreshold, serUserData)) {
+            dataContentType = plan.dataGzipContentType;
+            serData = marshalBase64(plan, TransferEncoding.GZIP_BASE64.encode(serUserData));
+        } else if (plan.dataBase64) {
+            dataContentType = plan.dataContentType;
+            serData = marshalBase64(plan, serUserData);
         } else {
-            final IBase64Data base64data = baseTypeFactory.createBase64Data(serUserData);
-            final Serializer base64Serializer = serRegistry.getSerializer(IBase64Data.SER_TYPE);
-            serData = base64Serializer.marshal(base64data, IBase64Data.SER_TYPE);
+            dataContentType = plan.dataContentType;
+            serData = serUserData;
         }
 
         // EscMeta
-        final IEscMeta escMeta = EscSpiUtils.createEscMeta(serRegistry, baseTypeFactory, targetContentType, commonEvent);
-        final SerializedDataType escMetaType = new SerializedDataType(IEscMeta.TYPE.asBaseType());
-        final Serializer escMetaSerializer = getSerializer(escMetaType);
-        final byte[] escSerMeta = escMetaSerializer.marshal(escMeta, escMetaType);
+        final IEscMeta escMeta = createEscMeta(plan, dataContentType, meta);
+        final byte[] escSerMeta = EscSpiUtils.marshal(plan.escMetaSerializer, escMeta, plan.escMetaType);
 
         // Create event data
         if (targetContentType.isJson()) {
-            return EventDataBuilder.json(commonEvent.getId().asBaseType(), dataType, serData)
+            return EventDataBuilder.json(commonEvent.getId().asBaseType(), plan.dataType, serData)
                     .metadataAsBytes(escSerMeta).build();
         }
-        return EventDataBuilder.binary(commonEvent.getId().asBaseType(), dataType, serData)
+        return EventDataBuilder.binary(commonEvent.getId().asBaseType(), plan.dataType, serData)
                 .metadataAsBytes(escSerMeta).build();
 
     }
 
+    private byte[] marshalBase64(final ConversionPlan plan, final byte[] data) {
+        final IBase64Data base64data = baseTypeFactory.createBase64Data(data);
+        return EscSpiUtils.marshal(plan.base64Serializer, base64data, IBase64Data.SER_TYPE);
+    }
+
+    private IEscMeta createEscMeta(final ConversionPlan plan, final EnhancedMimeType dataContentType, final Object meta) {
+        if (meta == null) {
+            return baseTypeFactory.createEscMeta(plan.dataType, dataContentType, null, null, null);
+        }
+        if (plan.metaBase64 || plan.metaCompressionThreshold != NO_COMPRESSION) {
+            // Meta data that is embedded as is must also be serialized to find out if it reaches the threshold
+            final byte[] serMeta = EscSpiUtils.marshal(plan.metaSerializer, meta, plan.metaSerType);
+            if (compress(plan.metaCompressionThreshold, serMeta)) {
+                return baseTypeFactory.createEscMeta(plan.dataType, dataContentType, plan.metaType,
+                        plan.metaGzipContentType,
+                        baseTypeFactory.createBase64Data(TransferEncoding.GZIP_BASE64.encode(serMeta)));
+            }
+            if (plan.metaBase64) {
+                return baseTypeFactory.createEscMeta(plan.dataType, dataContentType, plan.metaType,
+                        plan.metaContentType, baseTypeFactory.createBase64Data(serMeta));
+            }
+        }
+        return baseTypeFactory.createEscMeta(plan.dataType, dataContentType, plan.metaType,
+                plan.metaContentType, meta);
+    }
+
+    private static boolean compress(final int threshold, final byte[] data) {
+        return threshold != NO_COMPRESSION && data.length >= threshold;
+    }
+
+    private int compressionThreshold(final String type) {
+        return compressionThresholds.getOrDefault(new TypeName(type), compressionThreshold);
+    }
+
+    private ConversionPlan plan(final String dataType, final String metaType) {
+        return plans.computeIfAbsent(new PlanKey(dataType, metaType),
+                key -> new ConversionPlan(key.dataType(), key.metaType()));
+    }
+
     private Serializer getSerializer(final SerializedDataType serDataType) {
         final Serializer serializer = serRegistry.getSerializer(serDataType);
         if (!serializer.getMimeType().matchEncoding(targetContentType)) {
@@ -134,4 +216,92 @@ public final class CommonEvent2EventDataConverter implements Converter<CommonEve
         return EventData.class;
     }
 
+    /**
+     * Key of the plan cache. The meta type is {@literal null} for events without meta data.
+     */
+    private record PlanKey(String dataType, String metaType) {
+    }
+
+    /**
+     * Everything that only depends on the data and meta type of an event and the target content type.
+     */
+    private final class ConversionPlan {
+
+        private final String dataType;
+
+        private final SerializedDataType dataSerType;
+
+        private final Serializer dataSerializer;
+
+        private final EnhancedMimeType dataContentType;
+
+        private final boolean dataBase64;
+
+        private final int dataCompressionThreshold;
+
+        private final EnhancedMimeType dataGzipContentType;
+
+        /** Serializer for the base64 envelope or {@literal null} if the data is always embedded as is. */
+        private final Serializer base64Serializer;
+
+        private final String metaType;
+
+        private final SerializedDataType metaSerType;
+
+        private final Serializer metaSerializer;
+
+        private final EnhancedMimeType metaContentType;
+
+        private final boolean metaBase64;
+
+        private final int metaCompressionThreshold;
+
+        private final EnhancedMimeType metaGzipContentType;
+
+        private final Serializer escMetaSerializer;
+
+        private final SerializedDataType escMetaType;
+
+        ConversionPlan(final String dataType, final String metaType) {
+            this.dataType = dataType;
+            this.dataSerType = new SerializedDataType(dataType);
+            this.dataSerializer = serRegistry.getSerializer(dataSerType);
+            this.dataContentType = EscSpiUtils.contentType(dataSerializer.getMimeType(), targetContentType);
+            this.dataBase64 = !dataSerializer.getMimeType().matchEncoding(targetContentType);
+            this.dataCompressionThreshold = compressionThreshold(dataType);
+            this.dataGzipContentType = gzipContentType(dataSerializer, dataCompressionThreshold);
+            if (dataBase64 || dataCompressionThreshold != NO_COMPRESSION) {
+                this.base64Serializer = serRegistry.getSerializer(IBase64Data.SER_TYPE);
+            } else {
+                this.base64Serializer = null;
+            }
+            this.metaType = metaType;
+            if (metaType == null) {
+                this.metaSerType = null;
+                this.metaSerializer = null;
+                this.metaContentType = null;
+                this.metaBase64 = false;
+                this.metaCompressionThreshold = NO_COMPRESSION;
+                this.metaGzipContentType = null;
+            } else {
+                this.metaSerType = new SerializedDataType(metaType);
+                this.metaSerializer = serRegistry.getSerializer(metaSerType);
+                this.metaContentType = EscSpiUtils.contentType(metaSerializer.getMimeType(), targetContentType);
+                this.metaBase64 = !metaSerializer.getMimeType().matchEncoding(targetContentType);
+                this.metaCompressionThreshold = compressionThreshold(metaType);
+                this.metaGzipContentType = gzipContentType(metaSerializer, metaCompressionThreshold);
+            }
+            this.escMetaType = new SerializedDataType(IEscMeta.TYPE.asBaseType());
+            this.escMetaSerializer = getSerializer(escMetaType);
+        }
+
+        private static EnhancedMimeType gzipContentType(final Serializer serializer, final int threshold) {
+            if (threshold == NO_COMPRESSION) {
+                return null;
+            }
+            return EscSpiUtils.contentType(serializer.getMimeType(), TransferEncoding.GZIP_BASE64);
+        }
+
+    }
+
 }
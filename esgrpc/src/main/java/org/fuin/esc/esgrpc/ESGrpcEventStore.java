@@ -25,13 +25,18 @@ import io.kurrent.dbclient.EventData;
 import io.kurrent.dbclient.KurrentDBClient;
 import io.kurrent.dbclient.ReadResult;
 import io.kurrent.dbclient.ReadStreamOptions;
+import io.kurrent.dbclient.RecordedEvent;
 import io.kurrent.dbclient.ResolvedEvent;
+import io.kurrent.dbclient.SubscribeToStreamOptions;
+import io.kurrent.dbclient.SubscriptionListener;
 import io.kurrent.dbclient.WriteResult;
 import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
 import org.fuin.esc.api.CommonEvent;
 import org.fuin.esc.api.DeserializerRegistry;
 import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.EscApiUtils;
+import org.fuin.esc.api.EscJfrEvents;
 import org.fuin.esc.api.EventNotFoundException;
 import org.fuin.esc.api.ExpectedVersion;
 import org.fuin.esc.api.IBaseTypeFactory;
@@ -44,18 +49,32 @@ import org.fuin.esc.api.StreamId;
 import org.fuin.esc.api.StreamNotFoundException;
 import org.fuin.esc.api.StreamReadOnlyException;
 import org.fuin.esc.api.StreamState;
+import org.fuin.esc.api.Subscription;
 import org.fuin.esc.api.TenantId;
+import org.fuin.esc.api.TypeName;
 import org.fuin.esc.api.WrongExpectedVersionException;
 import org.fuin.esc.spi.AbstractReadableEventStore;
 import org.fuin.esc.spi.EscSpiUtils;
 import org.fuin.esc.spi.TenantStreamId;
 import org.fuin.objects4j.common.Contract;
 import org.fuin.utils4j.TestOmitted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import static org.fuin.esc.api.ExpectedVersion.ANY;
 
@@ -65,6 +84,10 @@ import static org.fuin.esc.api.ExpectedVersion.ANY;
 @TestOmitted("Tested in the 'test' project")
 public final class ESGrpcEventStore extends AbstractReadableEventStore implements IESGrpcEventStore {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ESGrpcEventStore.class);
+
+    private static final int STREAM_STATE_CACHE_MAX_ENTRIES = 10000;
+
     private final KurrentDBClient es;
 
     private final CommonEvent2EventDataConverter ce2edConv;
@@ -73,33 +96,81 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
 
     private final TenantId tenantId;
 
+    private final int subscriptionRetries;
+
+    private final Duration subscriptionRetryDelay;
+
+    private final AtomicInteger subscriberIdSequence;
+
+    private final Map<Integer, CatchUpSubscription> subscriptions;
+
+    private final StreamStateCache stateCache;
+
+    private final ListConverter<ResolvedEvent, CommonEvent> eventsConverter;
+
+    private final int prefetchDepth;
+
     /**
      * Private constructor with all data used by the builder.
      *
-     * @param es                Connection that is maintained outside. Opening/Closing is up to the caller!
-     * @param serRegistry       Registry used to locate serializers.
-     * @param desRegistry       Registry used to locate deserializers.
-     * @param baseTypeFactory   Factory used to create basic types.
-     * @param targetContentType Target content type (Allows only 'application/xml'
-     *                          or 'application/json' with 'utf-8' encoding).
-     * @param tenantId          Unique tenant identifier.
+     * @param es                     Connection that is maintained outside. Opening/Closing is up to the caller!
+     * @param serRegistry            Registry used to locate serializers.
+     * @param desRegistry            Registry used to locate deserializers.
+     * @param baseTypeFactory        Factory used to create basic types.
+     * @param targetContentType      Target content type (Allows only 'application/xml'
+     *                               or 'application/json' with 'utf-8' encoding).
+     * @param tenantId               Unique tenant identifier.
+     * @param subscriptionRetries    Number of times a subscription dropped by the server is re-established
+     *                               before the subscriber is notified.
+     * @param subscriptionRetryDelay Time to wait before re-establishing a dropped subscription.
+     * @param streamStateCacheTtl    Time the state of a stream is cached ({@literal null} or zero = No caching).
+     * @param lazyDeserialization    Deserialize data and meta data of read events only when they are accessed.
+     * @param conversionPool         Pool used to convert large slices in parallel ({@literal null} = Sequential only).
+     * @param parallelThreshold      Minimum number of events in a slice to convert it in parallel.
+     * @param prefetchDepth          Number of slices read in advance when reading all events of a stream.
+     * @param compressionThreshold   Minimum size in bytes of serialized data or meta data that is compressed.
+     * @param compressionThresholds  Compression thresholds for single data or meta types.
      */
     private ESGrpcEventStore(@NotNull final KurrentDBClient es,
                              @NotNull final SerializerRegistry serRegistry,
                              @NotNull final DeserializerRegistry desRegistry,
                              @NotNull final IBaseTypeFactory baseTypeFactory,
                              @NotNull final EnhancedMimeType targetContentType,
-                             @Nullable final TenantId tenantId) {
+                             @Nullable final TenantId tenantId,
+                             final int subscriptionRetries,
+                             @NotNull final Duration subscriptionRetryDelay,
+                             @Nullable final Duration streamStateCacheTtl,
+                             final boolean lazyDeserialization,
+                             @Nullable final ForkJoinPool conversionPool,
+                             final int parallelThreshold,
+                             final int prefetchDepth,
+                             final int compressionThreshold,
+                             @NotNull final Map<TypeName, Integer> compressionThresholds) {
         super();
         Contract.requireArgNotNull("es", es);
         Contract.requireArgNotNull("serRegistry", serRegistry);
         Contract.requireArgNotNull("desRegistry", desRegistry);
         Contract.requireArgNotNull("baseTypeFactory", baseTypeFactory);
         Contract.requireArgNotNull("targetContentType", targetContentType);
+        Contract.requireArgMin("subscriptionRetries", subscriptionRetries, 0);
+        Contract.requireArgNotNull("subscriptionRetryDelay", subscriptionRetryDelay);
+        Contract.requireArgMin("prefetchDepth", prefetchDepth, 0);
         this.es = es;
-        this.ce2edConv = new CommonEvent2EventDataConverter(serRegistry, baseTypeFactory, targetContentType);
-        this.ed2ceConv = new RecordedEvent2CommonEventConverter(desRegistry);
+        this.ce2edConv = new CommonEvent2EventDataConverter(serRegistry, baseTypeFactory, targetContentType,
+                compressionThreshold, compressionThresholds);
+        this.ed2ceConv = new RecordedEvent2CommonEventConverter(desRegistry, lazyDeserialization);
         this.tenantId = tenantId;
+        this.subscriptionRetries = subscriptionRetries;
+        this.subscriptionRetryDelay = subscriptionRetryDelay;
+        this.subscriberIdSequence = new AtomicInteger();
+        this.subscriptions = new ConcurrentHashMap<>();
+        this.eventsConverter = new ListConverter<>(this::asCommonEvent, conversionPool, parallelThreshold);
+        this.prefetchDepth = prefetchDepth;
+        if (streamStateCacheTtl == null || streamStateCacheTtl.isZero() || streamStateCacheTtl.isNegative()) {
+            this.stateCache = null;
+        } else {
+            this.stateCache = new StreamStateCache(streamStateCacheTtl, STREAM_STATE_CACHE_MAX_ENTRIES);
+        }
     }
 
     @Override
@@ -111,7 +182,11 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
 
     @Override
     public void close() {
-        // Do nothing - Connection is handled outside
+        // Connection is handled outside - Only stop our own subscriptions
+        for (final CatchUpSubscription subscription : subscriptions.values()) {
+            subscription.stop();
+        }
+        subscriptions.clear();
     }
 
     @Override
@@ -159,16 +234,20 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
             throw new StreamReadOnlyException(sid);
         }
 
+        final EscJfrEvents.Append jfrEvent = EscJfrEvents.Append.start();
         try {
-            final Iterator<EventData> eventDataIt = asEventData(commonEvents).iterator();
+            final List<EventData> eventData = asEventData(commonEvents);
             final WriteResult result = es.appendToStream(sid.asString(),
-                    AppendToStreamOptions.get().streamState(version2State(expectedVersion)), eventDataIt).get();
+                    AppendToStreamOptions.get().streamState(version2State(expectedVersion)), eventData.iterator()).get();
+            cacheState(sid, StreamState.ACTIVE);
+            jfrEvent.complete(sid, eventData.size(), jfrEvent.isEnabled() ? eventDataSize(eventData) : -1);
             return result.getNextExpectedRevision().toRawLong();
         } catch (final ExecutionException ex) {
             if (ex.getCause() instanceof io.kurrent.dbclient.WrongExpectedVersionException cause) {
                 throw new WrongExpectedVersionException(sid, expectedVersion, cause.getActualState().toRawLong());
             }
             if (statusIsDeleted(ex)) {
+                cacheState(sid, StreamState.HARD_DELETED);
                 throw new StreamDeletedException(sid);
             }
             if (ex.getCause() instanceof io.kurrent.dbclient.StreamNotFoundException) {
@@ -200,8 +279,12 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
                     .streamState(version2State(expectedVersion));
             if (hardDelete) {
                 es.tombstoneStream(sid.asString(), options).get();
+                cacheState(sid, StreamState.HARD_DELETED);
             } else {
                 es.deleteStream(sid.asString(), options).get();
+                if (stateCache != null) {
+                    stateCache.remove(sid.asString());
+                }
             }
         } catch (final ExecutionException ex) {
             if (ex.getCause() instanceof io.kurrent.dbclient.WrongExpectedVersionException cause) {
@@ -237,6 +320,7 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
         ensureOpen();
 
         final TenantStreamId sid = new TenantStreamId(tenantId, streamId);
+        final EscJfrEvents.ReadSlice jfrEvent = EscJfrEvents.ReadSlice.start();
         try {
 
             final ReadStreamOptions options = ReadStreamOptions.get().forwards().fromRevision(start).maxCount(count)
@@ -245,7 +329,10 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
             final ReadResult readResult = es.readStream(sid.asString(), options).get();
             final List<CommonEvent> events = asCommonEvents(readResult.getEvents());
             final boolean endOfStream = count > events.size();
-            return new StreamEventsSlice(start, events, start + events.size(), endOfStream);
+            final StreamEventsSlice slice = new StreamEventsSlice(start, events, start + events.size(), endOfStream,
+                    sizeInBytes(readResult.getEvents()));
+            jfrEvent.complete(sid, start, true, slice);
+            return slice;
         } catch (ExecutionException ex) {
             if (statusIsDeleted(ex)) {
                 throw new StreamDeletedException(sid);
@@ -260,6 +347,66 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
 
     }
 
+    @Override
+    protected CompletableFuture<StreamEventsSlice> readEventsForwardAsync(final StreamId streamId, final long start,
+                                                                          final int count) {
+
+        Contract.requireArgNotNull("streamId", streamId);
+        Contract.requireArgMin("start", start, 0);
+        Contract.requireArgMin("count", count, 1);
+        ensureOpen();
+
+        final TenantStreamId sid = new TenantStreamId(tenantId, streamId);
+        final ReadStreamOptions options = ReadStreamOptions.get().forwards().fromRevision(start).maxCount(count)
+                .resolveLinkTos();
+        final EscJfrEvents.ReadSlice jfrEvent = EscJfrEvents.ReadSlice.start();
+        return es.readStream(sid.asString(), options).handle((readResult, throwable) -> {
+            if (throwable != null) {
+                final Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                if (statusIsDeleted(cause)) {
+                    throw new StreamDeletedException(sid);
+                }
+                if (cause instanceof io.kurrent.dbclient.StreamNotFoundException) {
+                    throw new StreamNotFoundException(sid);
+                }
+                throw new RuntimeException("Error executing readEventsForwardAsync(..)", cause);
+            }
+            final List<CommonEvent> events = asCommonEvents(readResult.getEvents());
+            final boolean endOfStream = count > events.size();
+            final StreamEventsSlice slice = new StreamEventsSlice(start, events, start + events.size(), endOfStream,
+                    sizeInBytes(readResult.getEvents()));
+            jfrEvent.complete(sid, start, true, slice);
+            return slice;
+        });
+
+    }
+
+    @Override
+    protected int getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    @Override
+    public Flow.Publisher<CommonEvent> readEventsForwardReactive(final StreamId streamId, final long start) {
+
+        Contract.requireArgNotNull("streamId", streamId);
+        Contract.requireArgMin("start", start, 0);
+        ensureOpen();
+
+        final TenantStreamId sid = new TenantStreamId(tenantId, streamId);
+        final ReadStreamOptions options = ReadStreamOptions.get().forwards().fromRevision(start).resolveLinkTos();
+        return new ReadMessagePublisher(es.readStreamReactive(sid.asString(), options), this::asCommonEvent, ex -> {
+            if (statusIsDeleted(ex)) {
+                return new StreamDeletedException(sid);
+            }
+            if (ex instanceof io.kurrent.dbclient.StreamNotFoundException) {
+                return new StreamNotFoundException(sid);
+            }
+            return ex;
+        });
+
+    }
+
     @Override
     public StreamEventsSlice readEventsBackward(final StreamId streamId, final long start, final int count) {
 
@@ -269,6 +416,7 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
         ensureOpen();
 
         final TenantStreamId sid = new TenantStreamId(tenantId, streamId);
+        final EscJfrEvents.ReadSlice jfrEvent = EscJfrEvents.ReadSlice.start();
         try {
             final ReadStreamOptions options = ReadStreamOptions.get().backwards().fromRevision(start).maxCount(count)
                     .resolveLinkTos();
@@ -279,7 +427,10 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
             if (endOfStream) {
                 nextEventNumber = 0;
             }
-            return new StreamEventsSlice(start, events, nextEventNumber, endOfStream);
+            final StreamEventsSlice result = new StreamEventsSlice(start, events, nextEventNumber, endOfStream,
+                    sizeInBytes(slice.getEvents()));
+            jfrEvent.complete(sid, start, false, result);
+            return result;
         } catch (ExecutionException ex) {
             if (statusIsDeleted(ex)) {
                 throw new StreamDeletedException(sid);
@@ -303,6 +454,63 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
         return slice.getEvents().get(0);
     }
 
+    @Override
+    public Subscription subscribeToStream(final StreamId streamId, final long eventNumber,
+                                          final BiConsumer<Subscription, CommonEvent> onEvent,
+                                          final BiConsumer<Subscription, Exception> onDrop) {
+
+        Contract.requireArgNotNull("streamId", streamId);
+        Contract.requireArgMin("eventNumber", eventNumber, EscApiUtils.SUBSCRIBE_TO_NEW_EVENTS);
+        Contract.requireArgNotNull("onEvent", onEvent);
+        Contract.requireArgNotNull("onDrop", onDrop);
+        ensureOpen();
+
+        final TenantStreamId sid = new TenantStreamId(tenantId, streamId);
+
+        // Catch-up subscriptions start AFTER the given revision, so we always remember the
+        // revision of the last event seen. This is also the point to resume from after a drop.
+        final long lastRevision;
+        if (eventNumber == EscApiUtils.SUBSCRIBE_TO_NEW_EVENTS) {
+            lastRevision = lastRevision(sid);
+        } else {
+            lastRevision = eventNumber - 1;
+        }
+
+        final ESGrpcSubscription subscription = new ESGrpcSubscription(subscriberIdSequence.incrementAndGet(),
+                streamId, lastRevision < 0 ? null : lastRevision);
+        final CatchUpSubscription catchUp = new CatchUpSubscription(subscription, sid, lastRevision, onEvent, onDrop);
+        subscriptions.put(subscription.getSubscriberId(), catchUp);
+        try {
+            catchUp.started(es.subscribeToStream(sid.asString(), catchUp, subscribeOptions(lastRevision)).get());
+            return subscription;
+        } catch (final ExecutionException ex) {
+            subscriptions.remove(subscription.getSubscriberId());
+            if (statusIsDeleted(ex.getCause())) {
+                throw new StreamDeletedException(sid);
+            }
+            throw new RuntimeException("Error executing subscribeToStream(..)", ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            subscriptions.remove(subscription.getSubscriberId());
+            throw new RuntimeException("Error waiting for subscribeToStream(..) result", ex);
+        }
+
+    }
+
+    @Override
+    public void unsubscribeFromStream(final Subscription subscription) {
+
+        Contract.requireArgNotNull("subscription", subscription);
+        if (!(subscription instanceof ESGrpcSubscription grpcSubscription)) {
+            throw new IllegalArgumentException("Can only handle subscriptions of type "
+                    + ESGrpcSubscription.class.getSimpleName() + ", not: " + subscription.getClass().getName());
+        }
+        final CatchUpSubscription catchUp = subscriptions.remove(grpcSubscription.getSubscriberId());
+        if (catchUp != null) {
+            catchUp.stop();
+        }
+
+    }
+
     @Override
     public boolean streamExists(final StreamId streamId) {
 
@@ -310,9 +518,13 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
         ensureOpen();
 
         final TenantStreamId sid = new TenantStreamId(tenantId, streamId);
+        final StreamState cached = cachedState(sid);
+        if (cached != null) {
+            return cached == StreamState.ACTIVE;
+        }
         try {
-            final ReadStreamOptions options = ReadStreamOptions.get().forwards().fromRevision(0).maxCount(1);
-            es.readStream(sid.asString(), options).get();
+            es.readStream(sid.asString(), lastEventOnly()).get();
+            cacheState(sid, StreamState.ACTIVE);
             return true;
         } catch (ExecutionException ex) {
             if (ex.getCause() instanceof StatusRuntimeException) {
@@ -335,11 +547,17 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
         ensureOpen();
 
         final TenantStreamId sid = new TenantStreamId(tenantId, streamId);
+        final StreamState cached = cachedState(sid);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            es.readStream(sid.asString(), ReadStreamOptions.get().forwards().fromRevision(0)).get();
+            es.readStream(sid.asString(), lastEventOnly()).get();
+            cacheState(sid, StreamState.ACTIVE);
             return StreamState.ACTIVE;
         } catch (ExecutionException ex) {
             if (statusIsDeleted(ex)) {
+                cacheState(sid, StreamState.HARD_DELETED);
                 return StreamState.HARD_DELETED;
             }
             if (ex.getCause() instanceof io.kurrent.dbclient.StreamNotFoundException) {
@@ -352,11 +570,45 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
 
     }
 
+    @Nullable
+    private StreamState cachedState(final TenantStreamId sid) {
+        if (stateCache == null) {
+            return null;
+        }
+        return stateCache.get(sid.asString());
+    }
+
+    private void cacheState(final TenantStreamId sid, final StreamState state) {
+        if (stateCache != null) {
+            stateCache.put(sid.asString(), state);
+        }
+    }
+
+    private long lastRevision(final TenantStreamId sid) {
+        try {
+            final List<ResolvedEvent> events = es.readStream(sid.asString(), lastEventOnly()).get().getEvents();
+            if (events.isEmpty()) {
+                return -1;
+            }
+            return events.get(0).getOriginalEvent().getRevision();
+        } catch (final ExecutionException ex) {
+            if (statusIsDeleted(ex)) {
+                throw new StreamDeletedException(sid);
+            }
+            if (ex.getCause() instanceof io.kurrent.dbclient.StreamNotFoundException) {
+                return -1;
+            }
+            throw new RuntimeException("Error reading last revision", ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            throw new RuntimeException("Error waiting for last revision", ex);
+        }
+    }
+
     private StreamState softDeleted(final StreamId streamId) {
         // Workaround for reading metadata because of:
         // https://github.com/EventStore/KurrentDB-Client-Java/issues/240
         try {
-            es.readStream("$$" + streamId.asString(), ReadStreamOptions.get().forwards().fromRevision(0)).get();
+            es.readStream("$$" + streamId.asString(), lastEventOnly()).get();
             throw new StreamNotFoundException(streamId);
         } catch (ExecutionException ex) {
             if (ex.getCause() instanceof io.kurrent.dbclient.StreamNotFoundException) {
@@ -377,11 +629,24 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
     }
 
     private List<CommonEvent> asCommonEvents(final List<ResolvedEvent> resolvedEvents) {
-        final List<CommonEvent> list = new ArrayList<>(resolvedEvents.size());
+        return eventsConverter.convert(resolvedEvents);
+    }
+
+    private static long eventDataSize(final List<EventData> eventData) {
+        long size = 0;
+        for (final EventData data : eventData) {
+            size += data.getEventData().length + data.getUserMetadata().length;
+        }
+        return size;
+    }
+
+    private static long sizeInBytes(final List<ResolvedEvent> resolvedEvents) {
+        long size = 0;
         for (final ResolvedEvent resolvedEvent : resolvedEvents) {
-            list.add(asCommonEvent(resolvedEvent));
+            final RecordedEvent event = resolvedEvent.getEvent();
+            size += event.getEventData().length + event.getUserMetadata().length;
         }
-        return list;
+        return size;
     }
 
     private CommonEvent asCommonEvent(final ResolvedEvent resolvedEvent) {
@@ -395,12 +660,169 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
     }
 
     private static boolean statusIsDeleted(ExecutionException ex) {
-        if (ex.getCause() instanceof StatusRuntimeException sre) {
+        return statusIsDeleted(ex.getCause());
+    }
+
+    private static boolean statusIsDeleted(Throwable cause) {
+        if (cause instanceof StatusRuntimeException sre) {
             return sre.getStatus().getCode().equals(Status.FAILED_PRECONDITION.getCode())
                     && sre.getStatus().getDescription() != null
                     && sre.getStatus().getDescription().contains("is deleted");
         }
-        return ex.getCause() instanceof io.kurrent.dbclient.StreamDeletedException;
+        return cause instanceof io.kurrent.dbclient.StreamDeletedException;
+    }
+
+    /**
+     * Reads only the last event of a stream - Enough to find out if it exists without transferring the whole stream.
+     */
+    private static ReadStreamOptions lastEventOnly() {
+        return ReadStreamOptions.get().backwards().fromEnd().maxCount(1).notResolveLinkTos();
+    }
+
+    private static SubscribeToStreamOptions subscribeOptions(final long lastRevision) {
+        final SubscribeToStreamOptions options = SubscribeToStreamOptions.get().resolveLinkTos();
+        if (lastRevision < 0) {
+            return options.fromStart();
+        }
+        return options.fromRevision(lastRevision);
+    }
+
+    /**
+     * Catch-up subscription that converts the received events and re-subscribes after the last delivered
+     * revision in case the server drops the subscription.
+     */
+    private final class CatchUpSubscription extends SubscriptionListener {
+
+        private final ESGrpcSubscription subscription;
+
+        private final TenantStreamId sid;
+
+        private final BiConsumer<Subscription, CommonEvent> onEvent;
+
+        private final BiConsumer<Subscription, Exception> onDrop;
+
+        private volatile io.kurrent.dbclient.Subscription current;
+
+        private volatile long lastRevision;
+
+        private volatile boolean stopped;
+
+        private volatile int retries;
+
+        /**
+         * Constructor with all mandatory data.
+         *
+         * @param subscription Subscription returned to the caller.
+         * @param sid          Stream to subscribe to.
+         * @param lastRevision Revision of the last event already seen or -1 for "from start".
+         * @param onEvent      Will be called for an event.
+         * @param onDrop       Will be called when the subscription was exceptionally dropped.
+         */
+        CatchUpSubscription(final ESGrpcSubscription subscription,
+                            final TenantStreamId sid,
+                            final long lastRevision,
+                            final BiConsumer<Subscription, CommonEvent> onEvent,
+                            final BiConsumer<Subscription, Exception> onDrop) {
+            super();
+            this.subscription = subscription;
+            this.sid = sid;
+            this.lastRevision = lastRevision;
+            this.onEvent = onEvent;
+            this.onDrop = onDrop;
+        }
+
+        /**
+         * Sets the currently active server subscription.
+         *
+         * @param serverSubscription Server subscription.
+         */
+        void started(final io.kurrent.dbclient.Subscription serverSubscription) {
+            this.current = serverSubscription;
+            if (stopped) {
+                serverSubscription.stop();
+            }
+        }
+
+        /**
+         * Stops the subscription without notifying the subscriber.
+         */
+        void stop() {
+            stopped = true;
+            final io.kurrent.dbclient.Subscription sub = current;
+            if (sub != null) {
+                sub.stop();
+            }
+        }
+
+        @Override
+        public void onConfirmation(final io.kurrent.dbclient.Subscription sub) {
+            retries = 0;
+        }
+
+        @Override
+        public void onEvent(final io.kurrent.dbclient.Subscription sub, final ResolvedEvent resolvedEvent) {
+            final long revision = resolvedEvent.getOriginalEvent().getRevision();
+            if (stopped || revision <= lastRevision) {
+                // Already delivered before the subscription was re-established
+                return;
+            }
+            try {
+                final EscJfrEvents.SubscriptionDelivery jfrEvent = EscJfrEvents.SubscriptionDelivery.start();
+                onEvent.accept(subscription, asCommonEvent(resolvedEvent));
+                jfrEvent.complete(subscription, revision);
+                lastRevision = revision;
+            } catch (final RuntimeException ex) {
+                drop(ex);
+            }
+        }
+
+        @Override
+        public void onCancelled(final io.kurrent.dbclient.Subscription sub, final Throwable throwable) {
+            if (stopped || throwable == null) {
+                // Stopped on request
+                return;
+            }
+            if (statusIsDeleted(throwable)) {
+                drop(new StreamDeletedException(sid));
+                return;
+            }
+            if (retries >= subscriptionRetries) {
+                drop(throwable);
+                return;
+            }
+            retries++;
+            LOG.warn("Subscription {} to '{}' dropped - Re-subscribing after revision {} (attempt {}/{})",
+                    subscription, sid, lastRevision, retries, subscriptionRetries, throwable);
+            CompletableFuture.runAsync(this::resubscribe,
+                    CompletableFuture.delayedExecutor(subscriptionRetryDelay.toMillis(), TimeUnit.MILLISECONDS));
+        }
+
+        private void resubscribe() {
+            if (stopped) {
+                return;
+            }
+            es.subscribeToStream(sid.asString(), this, subscribeOptions(lastRevision))
+                    .whenComplete((sub, ex) -> {
+                        if (ex == null) {
+                            started(sub);
+                        } else if (ex instanceof CompletionException && ex.getCause() != null) {
+                            onCancelled(null, ex.getCause());
+                        } else {
+                            onCancelled(null, ex);
+                        }
+                    });
+        }
+
+        private void drop(final Throwable cause) {
+            stop();
+            subscriptions.remove(subscription.getSubscriberId());
+            if (cause instanceof Exception ex) {
+                onDrop.accept(subscription, ex);
+            } else {
+                onDrop.accept(subscription, new RuntimeException(cause));
+            }
+        }
+
     }
 
     private static io.kurrent.dbclient.StreamState version2State(long version) {
@@ -430,6 +852,24 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
 
         private TenantId tenantId;
 
+        private int subscriptionRetries = 3;
+
+        private Duration subscriptionRetryDelay = Duration.ofSeconds(1);
+
+        private Duration streamStateCacheTtl;
+
+        private boolean lazyDeserialization;
+
+        private ForkJoinPool conversionPool;
+
+        private int parallelThreshold = 500;
+
+        private int prefetchDepth = 1;
+
+        private int compressionThreshold = CommonEvent2EventDataConverter.NO_COMPRESSION;
+
+        private final Map<TypeName, Integer> compressionThresholds = new HashMap<>();
+
         /**
          * Sets the event store to use internally.
          *
@@ -510,6 +950,125 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
             return this;
         }
 
+        /**
+         * Sets the number of times a subscription dropped by the server is re-established before
+         * the subscriber's "onDrop" handler is called. Defaults to 3.
+         *
+         * @param subscriptionRetries Number of retries (0 = notify the subscriber immediately).
+         * @return Builder
+         */
+        public Builder subscriptionRetries(final int subscriptionRetries) {
+            this.subscriptionRetries = subscriptionRetries;
+            return this;
+        }
+
+        /**
+         * Sets the time to wait before a dropped subscription is re-established. Defaults to one second.
+         *
+         * @param subscriptionRetryDelay Delay before re-subscribing.
+         * @return Builder
+         */
+        public Builder subscriptionRetryDelay(final Duration subscriptionRetryDelay) {
+            this.subscriptionRetryDelay = subscriptionRetryDelay;
+            return this;
+        }
+
+        /**
+         * Sets the time the state of a stream is cached. Within this period {@link ESGrpcEventStore#streamExists(StreamId)}
+         * and {@link ESGrpcEventStore#streamState(StreamId)} don't contact the server again, so changes made by other
+         * clients may be seen late. Changes made through this instance are always reflected immediately.
+         * Defaults to no caching.
+         *
+         * @param streamStateCacheTtl Time to live of a cached state ({@literal null} or zero = No caching).
+         * @return Builder
+         */
+        public Builder streamStateCacheTtl(final Duration streamStateCacheTtl) {
+            this.streamStateCacheTtl = streamStateCacheTtl;
+            return this;
+        }
+
+        /**
+         * Defines if the data and meta data of read or subscribed events are deserialized only when they are accessed.
+         * This avoids parsing the payload of events that are skipped anyway, for example by subscribers that are
+         * only interested in some event types. Deserialization errors are then thrown when the data or meta data
+         * is accessed instead of when the event is read. Defaults to {@literal false}.
+         *
+         * @param lazyDeserialization {@literal true} to deserialize on first access.
+         * @return Builder
+         */
+        public Builder lazyDeserialization(final boolean lazyDeserialization) {
+            this.lazyDeserialization = lazyDeserialization;
+            return this;
+        }
+
+        /**
+         * Sets a pool that converts the events of large read slices in parallel. The order of the events is always
+         * preserved. The pool is maintained outside - Opening/Closing is up to the caller! Defaults to
+         * {@literal null} (Events are converted sequentially in the calling thread). All deserializers of the
+         * registry must be thread-safe if a pool is set, as they are then called from several pool threads at once.
+         *
+         * @param conversionPool Bounded pool used for the conversion.
+         * @return Builder
+         */
+        public Builder conversionPool(final ForkJoinPool conversionPool) {
+            this.conversionPool = conversionPool;
+            return this;
+        }
+
+        /**
+         * Sets the minimum number of events in a slice that are converted in parallel if a
+         * {@link #conversionPool(ForkJoinPool)} is set. Smaller slices are always converted in the calling thread.
+         * Defaults to 500.
+         *
+         * @param parallelThreshold Minimum number of events (2 or more).
+         * @return Builder
+         */
+        public Builder parallelThreshold(final int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the number of slices that are read in advance while the current slice is processed when reading
+         * all events of a stream. Defaults to 1.
+         *
+         * @param prefetchDepth Number of slices (0 = No read-ahead).
+         * @return Builder
+         */
+        public Builder prefetchDepth(final int prefetchDepth) {
+            this.prefetchDepth = prefetchDepth;
+            return this;
+        }
+
+        /**
+         * Sets the minimum size of serialized data or meta data that is GZIP compressed before it is written.
+         * The content type in the meta data then has the transfer encoding "gzip+base64" and the content is
+         * decompressed transparently when it is read. Defaults to no compression.
+         *
+         * @param compressionThreshold Minimum size in bytes ({@link CommonEvent2EventDataConverter#NO_COMPRESSION}
+         *                             = Never compress).
+         * @return Builder
+         */
+        public Builder compressionThreshold(final int compressionThreshold) {
+            this.compressionThreshold = compressionThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the minimum size of serialized data or meta data of a given type that is GZIP compressed before it
+         * is written. This replaces the threshold set with {@link #compressionThreshold(int)} for the type.
+         *
+         * @param type                 Data or meta type.
+         * @param compressionThreshold Minimum size in bytes ({@link CommonEvent2EventDataConverter#NO_COMPRESSION}
+         *                             = Never compress).
+         * @return Builder
+         */
+        public Builder compressionThreshold(final TypeName type, final int compressionThreshold) {
+            Contract.requireArgNotNull("type", type);
+            this.compressionThresholds.put(type, compressionThreshold);
+            return this;
+        }
+
         private void verifyNotNull(final String name, final Object value) {
             if (value == null) {
                 throw new IllegalStateException(
@@ -529,7 +1088,10 @@ public final class ESGrpcEventStore extends AbstractReadableEventStore implement
             verifyNotNull("desRegistry", desRegistry);
             verifyNotNull("baseTypeFactory", baseTypeFactory);
             verifyNotNull("targetContentType", targetContentType);
-            return new ESGrpcEventStore(eventStore, serRegistry, desRegistry, baseTypeFactory, targetContentType, tenantId);
+            verifyNotNull("subscriptionRetryDelay", subscriptionRetryDelay);
+            return new ESGrpcEventStore(eventStore, serRegistry, desRegistry, baseTypeFactory, targetContentType, tenantId,
+                    subscriptionRetries, subscriptionRetryDelay, streamStateCacheTtl, lazyDeserialization,
+                    conversionPool, parallelThreshold, prefetchDepth, compressionThreshold, compressionThresholds);
         }
 
     }
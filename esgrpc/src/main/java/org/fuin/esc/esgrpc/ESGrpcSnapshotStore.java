@@ -0,0 +1,239 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.DeleteStreamOptions;
+import io.kurrent.dbclient.EventData;
+import io.kurrent.dbclient.EventDataBuilder;
+import io.kurrent.dbclient.KurrentDBClient;
+import io.kurrent.dbclient.ReadStreamOptions;
+import io.kurrent.dbclient.RecordedEvent;
+import io.kurrent.dbclient.ResolvedEvent;
+import io.kurrent.dbclient.StreamMetadata;
+import io.kurrent.dbclient.StreamState;
+import io.kurrent.dbclient.WriteResult;
+import jakarta.annotation.Nullable;
+import jakarta.json.Json;
+import jakarta.json.JsonException;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonString;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.Deserializer;
+import org.fuin.esc.api.DeserializerRegistry;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.SerializedDataType;
+import org.fuin.esc.api.Serializer;
+import org.fuin.esc.api.SerializerRegistry;
+import org.fuin.esc.api.Snapshot;
+import org.fuin.esc.api.SnapshotStore;
+import org.fuin.esc.api.StreamId;
+import org.fuin.esc.api.TenantId;
+import org.fuin.esc.api.TypeName;
+import org.fuin.esc.spi.EscSpiUtils;
+import org.fuin.esc.spi.TenantStreamId;
+import org.fuin.objects4j.common.Contract;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * KurrentDB based snapshot store. The snapshot of a stream is appended to a companion stream named like the stream
+ * with a {@link #STREAM_PREFIX} prefix. The companion stream is limited to a single event, so the server drops
+ * older snapshots. The event type is the data type of the state, the event data is the serialized state and the
+ * event metadata is a small JSON object with the version and content type of the state. The metadata is written and
+ * read with JSON-P, so a JSON-P implementation is required at runtime.
+ */
+public final class ESGrpcSnapshotStore implements SnapshotStore {
+
+    /** Prefix of the companion streams that contain the snapshots. */
+    public static final String STREAM_PREFIX = "snapshot-";
+
+    private static final String VERSION = "version";
+
+    private static final String CONTENT_TYPE = "contentType";
+
+    private final KurrentDBClient es;
+
+    private final TenantId tenantId;
+
+    private final SerializerRegistry serRegistry;
+
+    private final DeserializerRegistry desRegistry;
+
+    /**
+     * Constructor without tenant.
+     *
+     * @param es          Connection that is maintained outside. Opening/Closing is up to the caller!
+     * @param serRegistry Registry used to locate serializers.
+     * @param desRegistry Registry used to locate deserializers.
+     */
+    public ESGrpcSnapshotStore(@NotNull final KurrentDBClient es, @NotNull final SerializerRegistry serRegistry,
+                               @NotNull final DeserializerRegistry desRegistry) {
+        this(es, null, serRegistry, desRegistry);
+    }
+
+    /**
+     * Constructor with all data.
+     *
+     * @param es          Connection that is maintained outside. Opening/Closing is up to the caller!
+     * @param tenantId    Tenant ID or {@literal null}.
+     * @param serRegistry Registry used to locate serializers.
+     * @param desRegistry Registry used to locate deserializers.
+     */
+    public ESGrpcSnapshotStore(@NotNull final KurrentDBClient es, @Nullable final TenantId tenantId,
+                               @NotNull final SerializerRegistry serRegistry,
+                               @NotNull final DeserializerRegistry desRegistry) {
+        super();
+        Contract.requireArgNotNull("es", es);
+        Contract.requireArgNotNull("serRegistry", serRegistry);
+        Contract.requireArgNotNull("desRegistry", desRegistry);
+        this.es = es;
+        this.tenantId = tenantId;
+        this.serRegistry = serRegistry;
+        this.desRegistry = desRegistry;
+    }
+
+    @Override
+    public void saveSnapshot(@NotNull final Snapshot snapshot) {
+        Contract.requireArgNotNull("snapshot", snapshot);
+
+        final String streamName = streamName(snapshot.getStreamId());
+        final String type = snapshot.getDataType().asBaseType();
+        final SerializedDataType serDataType = new SerializedDataType(type);
+        final Serializer serializer = serRegistry.getSerializer(serDataType);
+        final EnhancedMimeType mimeType = serializer.getMimeType();
+        final byte[] raw = EscSpiUtils.marshal(serializer, snapshot.getData(), serDataType);
+        final byte[] meta = writeMeta(snapshot.getVersion(), mimeType);
+        final EventDataBuilder builder;
+        if (mimeType.isJson()) {
+            builder = EventDataBuilder.json(type, raw);
+        } else {
+            builder = EventDataBuilder.binary(type, raw);
+        }
+        final EventData eventData = builder.metadataAsBytes(meta).build();
+
+        try {
+            final WriteResult result = es.appendToStream(streamName, eventData).get();
+            if (result.getNextExpectedRevision().toRawLong() == 0) {
+                // First snapshot: Let the server drop all but the latest one
+                final StreamMetadata metadata = new StreamMetadata();
+                metadata.setMaxCount(1L);
+                es.setStreamMetadata(streamName, metadata).get();
+            }
+        } catch (final ExecutionException ex) {
+            throw new RuntimeException("Error saving snapshot: " + streamName, ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            throw new RuntimeException("Error waiting for snapshot to be saved: " + streamName, ex);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Snapshot loadSnapshot(@NotNull final StreamId streamId) {
+        Contract.requireArgNotNull("streamId", streamId);
+
+        final String streamName = streamName(streamId);
+        final List<ResolvedEvent> events;
+        try {
+            final ReadStreamOptions options = ReadStreamOptions.get().backwards().fromEnd().maxCount(1)
+                    .notResolveLinkTos();
+            events = es.readStream(streamName, options).get().getEvents();
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof io.kurrent.dbclient.StreamNotFoundException) {
+                return null;
+            }
+            throw new RuntimeException("Error loading snapshot: " + streamName, ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            throw new RuntimeException("Error waiting for snapshot to be loaded: " + streamName, ex);
+        }
+        if (events.isEmpty()) {
+            return null;
+        }
+
+        final RecordedEvent event = events.get(0).getOriginalEvent();
+        final JsonObject meta = readMeta(event.getUserMetadata(), streamName);
+        final long version = meta.getJsonNumber(VERSION).longValueExact();
+        final EnhancedMimeType mimeType = EnhancedMimeType.create(meta.getString(CONTENT_TYPE));
+        final SerializedDataType serDataType = new SerializedDataType(event.getEventType());
+        final Deserializer deserializer = desRegistry.getDeserializer(serDataType, mimeType);
+        final Object data = deserializer.unmarshal(event.getEventData(), serDataType, mimeType);
+        return new Snapshot(streamId, version, new TypeName(event.getEventType()), data);
+    }
+
+    @Override
+    public void deleteSnapshot(@NotNull final StreamId streamId) {
+        Contract.requireArgNotNull("streamId", streamId);
+
+        final String streamName = streamName(streamId);
+        try {
+            es.deleteStream(streamName, DeleteStreamOptions.get().streamState(StreamState.any())).get();
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof io.kurrent.dbclient.StreamNotFoundException) {
+                return;
+            }
+            throw new RuntimeException("Error deleting snapshot: " + streamName, ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            throw new RuntimeException("Error waiting for snapshot to be deleted: " + streamName, ex);
+        }
+    }
+
+    private String streamName(final StreamId streamId) {
+        return STREAM_PREFIX + new TenantStreamId(tenantId, streamId).asString();
+    }
+
+    /**
+     * Creates the metadata of a snapshot event.
+     *
+     * @param version  Version of the snapshot.
+     * @param mimeType Content type of the serialized state.
+     *
+     * @return UTF-8 encoded JSON object.
+     */
+    static byte[] writeMeta(final long version, final EnhancedMimeType mimeType) {
+        return Json.createObjectBuilder()
+                .add(VERSION, version)
+                .add(CONTENT_TYPE, mimeType.toString())
+                .build().toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the metadata of a snapshot event.
+     *
+     * @param meta       UTF-8 encoded JSON object.
+     * @param streamName Name of the snapshot stream for error messages.
+     *
+     * @return JSON object with version and content type.
+     */
+    static JsonObject readMeta(final byte[] meta, final String streamName) {
+        try (final JsonReader reader = Json.createReader(new ByteArrayInputStream(meta))) {
+            final JsonObject obj = reader.readObject();
+            if (!(obj.get(VERSION) instanceof JsonNumber) || !(obj.get(CONTENT_TYPE) instanceof JsonString)) {
+                throw new IllegalStateException("Invalid snapshot metadata in stream '" + streamName + "': " + obj);
+            }
+            return obj;
+        } catch (final JsonException ex) {
+            throw new IllegalStateException("Invalid snapshot metadata in stream '" + streamName + "': "
+                    + new String(meta, StandardCharsets.UTF_8), ex);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.StreamId;
+import org.fuin.esc.api.Subscription;
+
+/**
+ * Result of subscribing to a stream of the GRPC event store. Hash code and equals are
+ * based on the subscriber ID.
+ */
+public final class ESGrpcSubscription extends Subscription implements Comparable<ESGrpcSubscription> {
+
+    private static final long serialVersionUID = 1000L;
+
+    private final int subscriberId;
+
+    /**
+     * Creates a subscription.
+     *
+     * @param subscriberId
+     *            Uniquely identifies a subscriber.
+     * @param streamId
+     *            Unique stream identifier.
+     * @param lastEventNumber
+     *            Number of the event the subscription started after or {@literal null} if it started with the first event.
+     */
+    public ESGrpcSubscription(final int subscriberId,
+                              @NotNull final StreamId streamId,
+                              @Nullable final Long lastEventNumber) {
+        super(streamId, lastEventNumber);
+        this.subscriberId = subscriberId;
+    }
+
+    /**
+     * Returns the subscriber ID.
+     *
+     * @return Uniquely identifies a subscriber.
+     */
+    public int getSubscriberId() {
+        return subscriberId;
+    }
+
+    @Override
+    public int hashCode() {
+        return subscriberId;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ESGrpcSubscription other)) {
+            return false;
+        }
+        return subscriberId == other.subscriberId;
+    }
+
+    @Override
+    public int compareTo(final ESGrpcSubscription other) {
+        return Integer.compare(subscriberId, other.subscriberId);
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + "#" + subscriberId;
+    }
+
+}
@@ -0,0 +1,473 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.Checkpointer;
+import io.kurrent.dbclient.KurrentDBClient;
+import io.kurrent.dbclient.Position;
+import io.kurrent.dbclient.ResolvedEvent;
+import io.kurrent.dbclient.SubscribeToAllOptions;
+import io.kurrent.dbclient.SubscriptionListener;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.CommonEvent;
+import org.fuin.esc.api.DeserializerRegistry;
+import org.fuin.esc.api.TenantId;
+import org.fuin.objects4j.common.Contract;
+import org.fuin.utils4j.TestOmitted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads and subscribes to the "$all" stream using server side filters of the GRPC API. In contrast to
+ * projections, this requires no additional streams on the server and link events never need to be resolved.
+ * The positions passed to the handlers can be stored as checkpoints to continue reading later.
+ * The client version used does not support filtered reads, so reads are executed as a filtered catch-up
+ * subscription that is stopped after the requested number of events or when it caught up with the end of "$all".
+ */
+@TestOmitted("Tested with an integration test")
+public final class GrpcAllStreamEventStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GrpcAllStreamEventStore.class);
+
+    private final KurrentDBClient es;
+
+    private final RecordedEvent2CommonEventConverter ed2ceConv;
+
+    private final TenantId tenantId;
+
+    private final int checkpointIntervalMultiplier;
+
+    private final Duration readTimeout;
+
+    private final AtomicInteger subscriberIdSequence;
+
+    private final Map<Integer, AllSubscription> subscriptions;
+
+    /**
+     * Private constructor with all data used by the builder.
+     *
+     * @param es                           Connection that is maintained outside. Opening/Closing is up to the caller!
+     * @param desRegistry                  Registry used to locate deserializers.
+     * @param tenantId                     Unique tenant identifier.
+     * @param checkpointIntervalMultiplier Number of filter windows (32 events each) the server scans before it
+     *                                     sends a checkpoint.
+     * @param readTimeout                  Maximum time a read may take.
+     */
+    private GrpcAllStreamEventStore(@NotNull final KurrentDBClient es,
+                                    @NotNull final DeserializerRegistry desRegistry,
+                                    @Nullable final TenantId tenantId,
+                                    final int checkpointIntervalMultiplier,
+                                    @NotNull final Duration readTimeout) {
+        super();
+        Contract.requireArgNotNull("es", es);
+        Contract.requireArgNotNull("desRegistry", desRegistry);
+        Contract.requireArgMin("checkpointIntervalMultiplier", checkpointIntervalMultiplier, 1);
+        Contract.requireArgNotNull("readTimeout", readTimeout);
+        this.es = es;
+        this.ed2ceConv = new RecordedEvent2CommonEventConverter(desRegistry);
+        this.tenantId = tenantId;
+        this.checkpointIntervalMultiplier = checkpointIntervalMultiplier;
+        this.readTimeout = readTimeout;
+        this.subscriberIdSequence = new AtomicInteger();
+        this.subscriptions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Stops all subscriptions created by this instance.
+     */
+    public void close() {
+        for (final AllSubscription subscription : subscriptions.values()) {
+            subscription.stop();
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * Reads events from the "$all" stream that match a filter.
+     *
+     * @param position Position after which to start reading ({@literal null} = Start of the "$all" stream).
+     * @param count    Maximum number of events to read.
+     * @param filter   Server side filter.
+     * @return Events read.
+     */
+    @NotNull
+    public AllEventsSlice readAllEventsForward(@Nullable final Position position, final int count,
+                                               @NotNull final AllStreamFilter filter) {
+
+        Contract.requireArgMin("count", count, 1);
+        Contract.requireArgNotNull("filter", filter);
+
+        final SliceReader reader = new SliceReader(count, position == null ? new Position(0, 0) : position);
+        io.kurrent.dbclient.Subscription sub = null;
+        try {
+            sub = es.subscribeToAll(reader, options(position, filter, reader)).get();
+            final boolean endOfStream = reader.done.get(readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return reader.slice(endOfStream);
+        } catch (final ExecutionException ex) {
+            throw new RuntimeException("Error executing readAllEventsForward(..)", ex);
+        } catch (final TimeoutException ex) {
+            throw new RuntimeException("Reading from '$all' did not finish within " + readTimeout, ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            throw new RuntimeException("Error waiting for readAllEventsForward(..) result", ex);
+        } finally {
+            if (sub != null) {
+                sub.stop();
+            }
+        }
+
+    }
+
+    /**
+     * Subscribes to the events of the "$all" stream that match a filter. If the server drops the subscription,
+     * the "onDrop" handler is called and the caller can resubscribe from the last position it received.
+     *
+     * @param position Position after which to start ({@literal null} = Start of the "$all" stream).
+     * @param filter   Server side filter.
+     * @param handler  Will be called for events and checkpoints.
+     * @param onDrop   Will be called when the subscription was exceptionally dropped.
+     * @return Subscription result.
+     */
+    @NotNull
+    public GrpcAllSubscription subscribeToAll(@Nullable final Position position,
+                                              @NotNull final AllStreamFilter filter,
+                                              @NotNull final AllStreamEventHandler handler,
+                                              @NotNull final BiConsumer<GrpcAllSubscription, Exception> onDrop) {
+
+        Contract.requireArgNotNull("filter", filter);
+        Contract.requireArgNotNull("handler", handler);
+        Contract.requireArgNotNull("onDrop", onDrop);
+
+        final GrpcAllSubscription subscription = new GrpcAllSubscription(subscriberIdSequence.incrementAndGet(), filter);
+        final AllSubscription listener = new AllSubscription(subscription, handler, onDrop);
+        subscriptions.put(subscription.getSubscriberId(), listener);
+        try {
+            listener.started(es.subscribeToAll(listener, options(position, filter, listener)).get());
+            return subscription;
+        } catch (final ExecutionException ex) {
+            subscriptions.remove(subscription.getSubscriberId());
+            throw new RuntimeException("Error executing subscribeToAll(..)", ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            subscriptions.remove(subscription.getSubscriberId());
+            throw new RuntimeException("Error waiting for subscribeToAll(..) result", ex);
+        }
+
+    }
+
+    /**
+     * Stops a subscription. If the given subscription does not exist, nothing happens.
+     *
+     * @param subscription Subscription to be terminated.
+     */
+    public void unsubscribeFromAll(@NotNull final GrpcAllSubscription subscription) {
+        Contract.requireArgNotNull("subscription", subscription);
+        final AllSubscription listener = subscriptions.remove(subscription.getSubscriberId());
+        if (listener != null) {
+            listener.stop();
+        }
+    }
+
+    private SubscribeToAllOptions options(final Position position, final AllStreamFilter filter,
+                                          final Checkpointer checkpointer) {
+        final SubscribeToAllOptions options = SubscribeToAllOptions.get().notResolveLinkTos()
+                .filter(filter.toSubscriptionFilter(tenantId, checkpointer, checkpointIntervalMultiplier));
+        if (position == null) {
+            return options.fromStart();
+        }
+        return options.fromPosition(position);
+    }
+
+    /**
+     * Determines if the event belongs to the tenant. Required for event type filters as the "$all" stream
+     * contains the events of all tenants.
+     */
+    private boolean isTenantEvent(final ResolvedEvent resolvedEvent) {
+        return tenantId == null
+                || resolvedEvent.getOriginalEvent().getStreamId().startsWith(tenantId.asString() + "-");
+    }
+
+    private static Position max(final Position a, final Position b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    /**
+     * Collects the events for a single read.
+     */
+    private final class SliceReader extends SubscriptionListener implements Checkpointer {
+
+        private final int count;
+
+        private final List<CommonEvent> events;
+
+        private final CompletableFuture<Boolean> done;
+
+        private Position lastPosition;
+
+        SliceReader(final int count, final Position start) {
+            super();
+            this.count = count;
+            this.events = new ArrayList<>();
+            this.done = new CompletableFuture<>();
+            this.lastPosition = start;
+        }
+
+        @Override
+        public synchronized void onEvent(final io.kurrent.dbclient.Subscription sub, final ResolvedEvent resolvedEvent) {
+            if (done.isDone()) {
+                return;
+            }
+            lastPosition = max(lastPosition, resolvedEvent.getOriginalEvent().getPosition());
+            if (isTenantEvent(resolvedEvent)) {
+                try {
+                    events.add(ed2ceConv.convert(resolvedEvent.getEvent()));
+                } catch (final RuntimeException ex) {
+                    done.completeExceptionally(ex);
+                    return;
+                }
+            }
+            if (events.size() == count) {
+                done.complete(false);
+            }
+        }
+
+        @Override
+        public synchronized CompletableFuture<Void> onCheckpoint(final io.kurrent.dbclient.Subscription sub,
+                                                                 final Position position) {
+            if (!done.isDone()) {
+                lastPosition = max(lastPosition, position);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void onCaughtUp(final io.kurrent.dbclient.Subscription sub) {
+            done.complete(true);
+        }
+
+        @Override
+        public void onCancelled(final io.kurrent.dbclient.Subscription sub, final Throwable throwable) {
+            if (throwable == null) {
+                done.complete(true);
+            } else {
+                done.completeExceptionally(throwable);
+            }
+        }
+
+        synchronized AllEventsSlice slice(final boolean endOfStream) {
+            return new AllEventsSlice(events, lastPosition, endOfStream);
+        }
+
+    }
+
+    /**
+     * Listener for one subscription.
+     */
+    private final class AllSubscription extends SubscriptionListener implements Checkpointer {
+
+        private final GrpcAllSubscription subscription;
+
+        private final AllStreamEventHandler handler;
+
+        private final BiConsumer<GrpcAllSubscription, Exception> onDrop;
+
+        private volatile io.kurrent.dbclient.Subscription current;
+
+        private volatile boolean stopped;
+
+        AllSubscription(final GrpcAllSubscription subscription,
+                        final AllStreamEventHandler handler,
+                        final BiConsumer<GrpcAllSubscription, Exception> onDrop) {
+            super();
+            this.subscription = subscription;
+            this.handler = handler;
+            this.onDrop = onDrop;
+        }
+
+        void started(final io.kurrent.dbclient.Subscription serverSubscription) {
+            this.current = serverSubscription;
+            if (stopped) {
+                serverSubscription.stop();
+            }
+        }
+
+        void stop() {
+            stopped = true;
+            final io.kurrent.dbclient.Subscription sub = current;
+            if (sub != null) {
+                sub.stop();
+            }
+        }
+
+        @Override
+        public void onEvent(final io.kurrent.dbclient.Subscription sub, final ResolvedEvent resolvedEvent) {
+            if (stopped || !isTenantEvent(resolvedEvent)) {
+                return;
+            }
+            try {
+                handler.onEvent(ed2ceConv.convert(resolvedEvent.getEvent()),
+                        resolvedEvent.getOriginalEvent().getPosition());
+            } catch (final RuntimeException ex) {
+                LOG.error("Handling event {} failed for {}", resolvedEvent, subscription, ex);
+                drop(sub, ex);
+            }
+        }
+
+        @Override
+        public CompletableFuture<Void> onCheckpoint(final io.kurrent.dbclient.Subscription sub,
+                                                    final Position position) {
+            if (!stopped) {
+                try {
+                    handler.onCheckpoint(position);
+                } catch (final RuntimeException ex) {
+                    LOG.error("Handling checkpoint {} failed for {}", position, subscription, ex);
+                    drop(sub, ex);
+                }
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void onCancelled(final io.kurrent.dbclient.Subscription sub, final Throwable throwable) {
+            if (stopped || throwable == null) {
+                // Stopped on request
+                return;
+            }
+            if (throwable instanceof Exception ex) {
+                drop(sub, ex);
+            } else {
+                drop(sub, new RuntimeException(throwable));
+            }
+        }
+
+        private void drop(final io.kurrent.dbclient.Subscription sub, final Exception ex) {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            subscriptions.remove(subscription.getSubscriberId());
+            sub.stop();
+            onDrop.accept(subscription, ex);
+        }
+
+    }
+
+    /**
+     * Builder used to create a new instance.
+     */
+    public static final class Builder {
+
+        private KurrentDBClient eventStore;
+
+        private DeserializerRegistry desRegistry;
+
+        private TenantId tenantId;
+
+        private int checkpointIntervalMultiplier = 1;
+
+        private Duration readTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Sets the client to use internally.
+         *
+         * @param eventStore Client.
+         * @return Builder.
+         */
+        public Builder eventStore(final KurrentDBClient eventStore) {
+            this.eventStore = eventStore;
+            return this;
+        }
+
+        /**
+         * Sets the deserializer registry.
+         *
+         * @param desRegistry Registry used to locate deserializers.
+         * @return Builder.
+         */
+        public Builder desRegistry(final DeserializerRegistry desRegistry) {
+            this.desRegistry = desRegistry;
+            return this;
+        }
+
+        /**
+         * Sets the tenant identifier. Only events of streams that belong to the tenant are returned.
+         *
+         * @param tenantId Unique tenant identifier.
+         * @return Builder
+         */
+        public Builder tenantId(final TenantId tenantId) {
+            this.tenantId = tenantId;
+            return this;
+        }
+
+        /**
+         * Sets the number of filter windows the server scans before it sends a checkpoint. Defaults to 1.
+         *
+         * @param checkpointIntervalMultiplier Checkpoint interval multiplier.
+         * @return Builder
+         */
+        public Builder checkpointIntervalMultiplier(final int checkpointIntervalMultiplier) {
+            this.checkpointIntervalMultiplier = checkpointIntervalMultiplier;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time a read may take. Defaults to 30 seconds.
+         *
+         * @param readTimeout Maximum duration of a read.
+         * @return Builder
+         */
+        public Builder readTimeout(final Duration readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        private void verifyNotNull(final String name, final Object value) {
+            if (value == null) {
+                throw new IllegalStateException(
+                        "It is mandatory to set the value of '" + name + "' before calling the 'build()' method");
+            }
+        }
+
+        /**
+         * Creates a new instance from the attributes set via the builder.
+         *
+         * @return New instance.
+         */
+        public GrpcAllStreamEventStore build() {
+            verifyNotNull("eventStore", eventStore);
+            verifyNotNull("desRegistry", desRegistry);
+            verifyNotNull("readTimeout", readTimeout);
+            return new GrpcAllStreamEventStore(eventStore, desRegistry, tenantId, checkpointIntervalMultiplier,
+                    readTimeout);
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+/**
+ * Result of subscribing to the "$all" stream of the GRPC event store. Hash code and equals are based on the
+ * subscriber ID.
+ */
+public final class GrpcAllSubscription implements Comparable<GrpcAllSubscription> {
+
+    private final int subscriberId;
+
+    private final AllStreamFilter filter;
+
+    /**
+     * Creates a subscription.
+     *
+     * @param subscriberId Uniquely identifies a subscriber.
+     * @param filter       Filter used for the subscription.
+     */
+    public GrpcAllSubscription(final int subscriberId, @NotNull final AllStreamFilter filter) {
+        super();
+        Contract.requireArgNotNull("filter", filter);
+        this.subscriberId = subscriberId;
+        this.filter = filter;
+    }
+
+    /**
+     * Returns the subscriber ID.
+     *
+     * @return Uniquely identifies a subscriber.
+     */
+    public int getSubscriberId() {
+        return subscriberId;
+    }
+
+    /**
+     * Returns the filter.
+     *
+     * @return Filter used for the subscription.
+     */
+    @NotNull
+    public AllStreamFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public int hashCode() {
+        return subscriberId;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof GrpcAllSubscription other)) {
+            return false;
+        }
+        return subscriberId == other.subscriberId;
+    }
+
+    @Override
+    public int compareTo(final GrpcAllSubscription other) {
+        return Integer.compare(subscriberId, other.subscriberId);
+    }
+
+    @Override
+    public String toString() {
+        return "GrpcAllSubscription{subscriberId=" + subscriberId + ", filter=" + filter + "}";
+    }
+
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.StreamId;
+import org.fuin.esc.api.Subscription;
+
+/**
+ * Result of connecting to a persistent subscription (consumer group) of the GRPC event store.
+ * Hash code and equals are based on the subscriber ID.
+ */
+public final class GrpcPersistentSubscription extends Subscription implements Comparable<GrpcPersistentSubscription> {
+
+    private static final long serialVersionUID = 1000L;
+
+    private final int subscriberId;
+
+    private final String groupName;
+
+    /**
+     * Creates a subscription.
+     *
+     * @param subscriberId
+     *            Uniquely identifies a subscriber.
+     * @param streamId
+     *            Unique stream identifier.
+     * @param groupName
+     *            Name of the consumer group.
+     */
+    public GrpcPersistentSubscription(final int subscriberId,
+                                      @NotNull final StreamId streamId,
+                                      @NotEmpty final String groupName) {
+        super(streamId, null);
+        this.subscriberId = subscriberId;
+        this.groupName = groupName;
+    }
+
+    /**
+     * Returns the subscriber ID.
+     *
+     * @return Uniquely identifies a subscriber.
+     */
+    public int getSubscriberId() {
+        return subscriberId;
+    }
+
+    /**
+     * Returns the name of the consumer group.
+     *
+     * @return Group name.
+     */
+    @NotEmpty
+    public String getGroupName() {
+        return groupName;
+    }
+
+    @Override
+    public int hashCode() {
+        return subscriberId;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof GrpcPersistentSubscription other)) {
+            return false;
+        }
+        return subscriberId == other.subscriberId;
+    }
+
+    @Override
+    public int compareTo(final GrpcPersistentSubscription other) {
+        return Integer.compare(subscriberId, other.subscriberId);
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + "#" + subscriberId + " [" + groupName + "]";
+    }
+
+}
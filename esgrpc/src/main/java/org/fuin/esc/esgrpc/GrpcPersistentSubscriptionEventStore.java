@@ -0,0 +1,523 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.kurrent.dbclient.CreatePersistentSubscriptionToStreamOptions;
+import io.kurrent.dbclient.KurrentDBPersistentSubscriptionsClient;
+import io.kurrent.dbclient.NackAction;
+import io.kurrent.dbclient.PersistentSubscription;
+import io.kurrent.dbclient.PersistentSubscriptionListener;
+import io.kurrent.dbclient.ResolvedEvent;
+import io.kurrent.dbclient.SubscribePersistentSubscriptionOptions;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.CommonEvent;
+import org.fuin.esc.api.DeserializerRegistry;
+import org.fuin.esc.api.EscApiUtils;
+import org.fuin.esc.api.StreamId;
+import org.fuin.esc.api.Subscription;
+import org.fuin.esc.api.TenantId;
+import org.fuin.esc.spi.TenantStreamId;
+import org.fuin.objects4j.common.Contract;
+import org.fuin.utils4j.TestOmitted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Provides access to the persistent subscriptions (consumer groups) of the event store using the GRPC API.
+ * The server distributes the events of a stream among all subscribers of a group. Events are acknowledged in
+ * batches after the subscriber handled them without an exception. If the handler fails, the event is
+ * retried until the group's maximum retry count is reached and then parked by the server. Events that cannot
+ * be deserialized at all are parked immediately.
+ */
+@TestOmitted("Tested with an integration test")
+public final class GrpcPersistentSubscriptionEventStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GrpcPersistentSubscriptionEventStore.class);
+
+    private final KurrentDBPersistentSubscriptionsClient es;
+
+    private final RecordedEvent2CommonEventConverter ed2ceConv;
+
+    private final TenantId tenantId;
+
+    private final int bufferSize;
+
+    private final int ackBatchSize;
+
+    private final Duration ackMaxDelay;
+
+    private final AtomicInteger subscriberIdSequence;
+
+    private final Map<Integer, GroupSubscription> subscriptions;
+
+    /**
+     * Private constructor with all data used by the builder.
+     *
+     * @param es           Connection that is maintained outside. Opening/Closing is up to the caller!
+     * @param desRegistry  Registry used to locate deserializers.
+     * @param tenantId     Unique tenant identifier.
+     * @param bufferSize   Maximum number of events the server sends without receiving an acknowledgement.
+     * @param ackBatchSize Maximum number of events that are acknowledged together.
+     * @param ackMaxDelay  Maximum time an acknowledgement is delayed to collect a batch.
+     */
+    private GrpcPersistentSubscriptionEventStore(@NotNull final KurrentDBPersistentSubscriptionsClient es,
+                                                 @NotNull final DeserializerRegistry desRegistry,
+                                                 @Nullable final TenantId tenantId,
+                                                 final int bufferSize,
+                                                 final int ackBatchSize,
+                                                 @NotNull final Duration ackMaxDelay) {
+        super();
+        Contract.requireArgNotNull("es", es);
+        Contract.requireArgNotNull("desRegistry", desRegistry);
+        Contract.requireArgMin("bufferSize", bufferSize, 1);
+        Contract.requireArgMin("ackBatchSize", ackBatchSize, 1);
+        Contract.requireArgNotNull("ackMaxDelay", ackMaxDelay);
+        if (ackBatchSize > bufferSize) {
+            throw new IllegalArgumentException("The 'ackBatchSize' (" + ackBatchSize
+                    + ") cannot be greater than the 'bufferSize' (" + bufferSize + ")");
+        }
+        this.es = es;
+        this.ed2ceConv = new RecordedEvent2CommonEventConverter(desRegistry);
+        this.tenantId = tenantId;
+        this.bufferSize = bufferSize;
+        this.ackBatchSize = ackBatchSize;
+        this.ackMaxDelay = ackMaxDelay;
+        this.subscriberIdSequence = new AtomicInteger();
+        this.subscriptions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Stops all subscriptions created by this instance. Pending acknowledgements are sent before.
+     */
+    public void close() {
+        for (final GroupSubscription subscription : subscriptions.values()) {
+            subscription.stop();
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * Creates a new consumer group for a stream.
+     *
+     * @param streamId      Stream the group consumes.
+     * @param groupName     Unique name of the group (per stream).
+     * @param eventNumber   Number of the first event to deliver ({@link EscApiUtils#SUBSCRIBE_TO_NEW_EVENTS} = New events,
+     *                      0 = First event, 1..N).
+     * @param maxRetryCount Number of times a failed event is retried before the server parks it.
+     */
+    public void createConsumerGroup(@NotNull final StreamId streamId,
+                                    @NotEmpty final String groupName,
+                                    final long eventNumber,
+                                    final int maxRetryCount) {
+
+        Contract.requireArgNotNull("streamId", streamId);
+        Contract.requireArgNotEmpty("groupName", groupName);
+        Contract.requireArgMin("eventNumber", eventNumber, EscApiUtils.SUBSCRIBE_TO_NEW_EVENTS);
+        Contract.requireArgMin("maxRetryCount", maxRetryCount, 0);
+
+        final TenantStreamId sid = new TenantStreamId(tenantId, streamId);
+        final CreatePersistentSubscriptionToStreamOptions options = CreatePersistentSubscriptionToStreamOptions.get()
+                .resolveLinkTos().maxRetryCount(maxRetryCount);
+        if (eventNumber == EscApiUtils.SUBSCRIBE_TO_NEW_EVENTS) {
+            options.fromEnd();
+        } else if (eventNumber == 0) {
+            options.fromStart();
+        } else {
+            options.startFrom(eventNumber);
+        }
+        try {
+            es.createToStream(sid.asString(), groupName, options).get();
+        } catch (final ExecutionException ex) {
+            if (hasStatus(ex, Status.Code.ALREADY_EXISTS)) {
+                throw new IllegalStateException("Consumer group '" + groupName + "' already exists for: " + sid);
+            }
+            throw new RuntimeException("Error executing createToStream(..)", ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            throw new RuntimeException("Error waiting for createToStream(..) result", ex);
+        }
+
+    }
+
+    /**
+     * Determines if a consumer group exists.
+     *
+     * @param streamId  Stream the group consumes.
+     * @param groupName Name of the group.
+     * @return TRUE if the group exists, else FALSE.
+     */
+    public boolean consumerGroupExists(@NotNull final StreamId streamId, @NotEmpty final String groupName) {
+
+        Contract.requireArgNotNull("streamId", streamId);
+        Contract.requireArgNotEmpty("groupName", groupName);
+
+        final TenantStreamId sid = new TenantStreamId(tenantId, streamId);
+        try {
+            return es.getInfoToStream(sid.asString(), groupName).get().isPresent();
+        } catch (final ExecutionException ex) {
+            if (hasStatus(ex, Status.Code.NOT_FOUND)) {
+                return false;
+            }
+            throw new RuntimeException("Error executing getInfoToStream(..)", ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            throw new RuntimeException("Error waiting for getInfoToStream(..) result", ex);
+        }
+
+    }
+
+    /**
+     * Deletes a consumer group. If the group does not exist, nothing happens.
+     *
+     * @param streamId  Stream the group consumes.
+     * @param groupName Name of the group.
+     */
+    public void deleteConsumerGroup(@NotNull final StreamId streamId, @NotEmpty final String groupName) {
+
+        Contract.requireArgNotNull("streamId", streamId);
+        Contract.requireArgNotEmpty("groupName", groupName);
+
+        final TenantStreamId sid = new TenantStreamId(tenantId, streamId);
+        try {
+            es.deleteToStream(sid.asString(), groupName).get();
+        } catch (final ExecutionException ex) {
+            if (hasStatus(ex, Status.Code.NOT_FOUND)) {
+                return;
+            }
+            throw new RuntimeException("Error executing deleteToStream(..)", ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            throw new RuntimeException("Error waiting for deleteToStream(..) result", ex);
+        }
+
+    }
+
+    /**
+     * Moves all parked events of a consumer group back into the group so they are delivered again.
+     *
+     * @param streamId  Stream the group consumes.
+     * @param groupName Name of the group.
+     */
+    public void replayParkedEvents(@NotNull final StreamId streamId, @NotEmpty final String groupName) {
+
+        Contract.requireArgNotNull("streamId", streamId);
+        Contract.requireArgNotEmpty("groupName", groupName);
+
+        final TenantStreamId sid = new TenantStreamId(tenantId, streamId);
+        try {
+            es.replayParkedMessagesToStream(sid.asString(), groupName).get();
+        } catch (final ExecutionException ex) {
+            throw new RuntimeException("Error executing replayParkedMessagesToStream(..)", ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            throw new RuntimeException("Error waiting for replayParkedMessagesToStream(..) result", ex);
+        }
+
+    }
+
+    /**
+     * Connects to a consumer group. The events delivered to this subscriber are acknowledged after the event
+     * handler returns without an exception.
+     *
+     * @param streamId  Stream the group consumes.
+     * @param groupName Name of the group.
+     * @param onEvent   Will be called for an event.
+     * @param onDrop    Will be called when the subscription was exceptionally dropped.
+     * @return Subscription result.
+     */
+    @NotNull
+    public GrpcPersistentSubscription subscribeToConsumerGroup(@NotNull final StreamId streamId,
+                                                               @NotEmpty final String groupName,
+                                                               @NotNull final BiConsumer<Subscription, CommonEvent> onEvent,
+                                                               @NotNull final BiConsumer<Subscription, Exception> onDrop) {
+
+        Contract.requireArgNotNull("streamId", streamId);
+        Contract.requireArgNotEmpty("groupName", groupName);
+        Contract.requireArgNotNull("onEvent", onEvent);
+        Contract.requireArgNotNull("onDrop", onDrop);
+
+        final TenantStreamId sid = new TenantStreamId(tenantId, streamId);
+        final GrpcPersistentSubscription subscription = new GrpcPersistentSubscription(
+                subscriberIdSequence.incrementAndGet(), streamId, groupName);
+        final GroupSubscription groupSubscription = new GroupSubscription(subscription, onEvent, onDrop);
+        subscriptions.put(subscription.getSubscriberId(), groupSubscription);
+        try {
+            groupSubscription.started(es.subscribeToStream(sid.asString(), groupName,
+                    SubscribePersistentSubscriptionOptions.get().bufferSize(bufferSize), groupSubscription).get());
+            return subscription;
+        } catch (final ExecutionException ex) {
+            subscriptions.remove(subscription.getSubscriberId());
+            if (hasStatus(ex, Status.Code.NOT_FOUND)) {
+                throw new IllegalStateException("Consumer group '" + groupName + "' does not exist for: " + sid);
+            }
+            throw new RuntimeException("Error executing subscribeToStream(..)", ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            subscriptions.remove(subscription.getSubscriberId());
+            throw new RuntimeException("Error waiting for subscribeToStream(..) result", ex);
+        }
+
+    }
+
+    /**
+     * Disconnects from a consumer group. Pending acknowledgements are sent before. If the given subscription
+     * does not exist, nothing happens.
+     *
+     * @param subscription Subscription to be terminated.
+     */
+    public void unsubscribeFromConsumerGroup(@NotNull final GrpcPersistentSubscription subscription) {
+        Contract.requireArgNotNull("subscription", subscription);
+        final GroupSubscription groupSubscription = subscriptions.remove(subscription.getSubscriberId());
+        if (groupSubscription != null) {
+            groupSubscription.stop();
+        }
+    }
+
+    private static boolean hasStatus(final ExecutionException ex, final Status.Code code) {
+        return ex.getCause() instanceof StatusRuntimeException sre && sre.getStatus().getCode() == code;
+    }
+
+    /**
+     * Listener for one connection to a consumer group.
+     */
+    private final class GroupSubscription extends PersistentSubscriptionListener {
+
+        private final GrpcPersistentSubscription subscription;
+
+        private final BiConsumer<Subscription, CommonEvent> onEvent;
+
+        private final BiConsumer<Subscription, Exception> onDrop;
+
+        private final PersistentSubscriptionAckBuffer ackBuffer;
+
+        private volatile PersistentSubscription current;
+
+        private volatile boolean stopped;
+
+        /**
+         * Constructor with all mandatory data.
+         *
+         * @param subscription Subscription returned to the caller.
+         * @param onEvent      Will be called for an event.
+         * @param onDrop       Will be called when the subscription was exceptionally dropped.
+         */
+        GroupSubscription(final GrpcPersistentSubscription subscription,
+                          final BiConsumer<Subscription, CommonEvent> onEvent,
+                          final BiConsumer<Subscription, Exception> onDrop) {
+            super();
+            this.subscription = subscription;
+            this.onEvent = onEvent;
+            this.onDrop = onDrop;
+            this.ackBuffer = new PersistentSubscriptionAckBuffer(ackBatchSize,
+                    CompletableFuture.delayedExecutor(ackMaxDelay.toMillis(), TimeUnit.MILLISECONDS),
+                    this::ack);
+        }
+
+        /**
+         * Sets the server subscription.
+         *
+         * @param serverSubscription Server subscription.
+         */
+        void started(final PersistentSubscription serverSubscription) {
+            this.current = serverSubscription;
+            if (stopped) {
+                serverSubscription.stop();
+            }
+        }
+
+        /**
+         * Sends the pending acknowledgements and stops the subscription without notifying the subscriber.
+         */
+        void stop() {
+            stopped = true;
+            final PersistentSubscription sub = current;
+            if (sub != null) {
+                ackBuffer.flush();
+                sub.stop();
+            }
+        }
+
+        @Override
+        public void onEvent(final PersistentSubscription sub, final int retryCount, final ResolvedEvent resolvedEvent) {
+            if (stopped) {
+                return;
+            }
+            final CommonEvent commonEvent;
+            try {
+                commonEvent = ed2ceConv.convert(resolvedEvent.getEvent());
+            } catch (final RuntimeException ex) {
+                // Retrying will never succeed
+                LOG.error("Parking event {} that cannot be converted for {}", resolvedEvent, subscription, ex);
+                sub.nack(NackAction.Park, reason(ex), resolvedEvent);
+                return;
+            }
+            try {
+                onEvent.accept(subscription, commonEvent);
+            } catch (final RuntimeException ex) {
+                LOG.warn("Handler failed for event {} (retry {}) of {}", commonEvent, retryCount, subscription, ex);
+                sub.nack(NackAction.Retry, reason(ex), resolvedEvent);
+                return;
+            }
+            ackBuffer.add(resolvedEvent);
+        }
+
+        @Override
+        public void onCancelled(final PersistentSubscription sub, final Throwable throwable) {
+            ackBuffer.clear();
+            if (stopped || throwable == null) {
+                // Stopped on request
+                return;
+            }
+            stopped = true;
+            subscriptions.remove(subscription.getSubscriberId());
+            if (throwable instanceof Exception ex) {
+                onDrop.accept(subscription, ex);
+            } else {
+                onDrop.accept(subscription, new RuntimeException(throwable));
+            }
+        }
+
+        private void ack(final List<ResolvedEvent> events) {
+            final PersistentSubscription sub = current;
+            if (sub != null) {
+                sub.ack(events.iterator());
+            }
+        }
+
+        private String reason(final Exception ex) {
+            return ex.getClass().getSimpleName() + ": " + ex.getMessage();
+        }
+
+    }
+
+    /**
+     * Builder used to create a new instance.
+     */
+    public static final class Builder {
+
+        private KurrentDBPersistentSubscriptionsClient eventStore;
+
+        private DeserializerRegistry desRegistry;
+
+        private TenantId tenantId;
+
+        private int bufferSize = 100;
+
+        private int ackBatchSize = 50;
+
+        private Duration ackMaxDelay = Duration.ofMillis(200);
+
+        /**
+         * Sets the persistent subscriptions client to use internally.
+         *
+         * @param eventStore Persistent subscriptions client.
+         * @return Builder.
+         */
+        public Builder eventStore(final KurrentDBPersistentSubscriptionsClient eventStore) {
+            this.eventStore = eventStore;
+            return this;
+        }
+
+        /**
+         * Sets the deserializer registry.
+         *
+         * @param desRegistry Registry used to locate deserializers.
+         * @return Builder.
+         */
+        public Builder desRegistry(final DeserializerRegistry desRegistry) {
+            this.desRegistry = desRegistry;
+            return this;
+        }
+
+        /**
+         * Sets the tenant identifier.
+         *
+         * @param tenantId Unique tenant identifier.
+         * @return Builder
+         */
+        public Builder tenantId(final TenantId tenantId) {
+            this.tenantId = tenantId;
+            return this;
+        }
+
+        /**
+         * Sets the number of in-flight events the server sends to a subscriber without receiving an
+         * acknowledgement. Defaults to 100.
+         *
+         * @param bufferSize In-flight buffer size.
+         * @return Builder
+         */
+        public Builder bufferSize(final int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of events that are acknowledged with a single message. Defaults to 50.
+         *
+         * @param ackBatchSize Maximum batch size (Cannot be greater than the buffer size).
+         * @return Builder
+         */
+        public Builder ackBatchSize(final int ackBatchSize) {
+            this.ackBatchSize = ackBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time an acknowledgement is delayed to collect a batch. Defaults to 200 milliseconds.
+         *
+         * @param ackMaxDelay Maximum delay.
+         * @return Builder
+         */
+        public Builder ackMaxDelay(final Duration ackMaxDelay) {
+            this.ackMaxDelay = ackMaxDelay;
+            return this;
+        }
+
+        private void verifyNotNull(final String name, final Object value) {
+            if (value == null) {
+                throw new IllegalStateException(
+                        "It is mandatory to set the value of '" + name + "' before calling the 'build()' method");
+            }
+        }
+
+        /**
+         * Creates a new instance from the attributes set via the builder.
+         *
+         * @return New instance.
+         */
+        public GrpcPersistentSubscriptionEventStore build() {
+            verifyNotNull("eventStore", eventStore);
+            verifyNotNull("desRegistry", desRegistry);
+            verifyNotNull("ackMaxDelay", ackMaxDelay);
+            return new GrpcPersistentSubscriptionEventStore(eventStore, desRegistry, tenantId, bufferSize,
+                    ackBatchSize, ackMaxDelay);
+        }
+
+    }
+
+}
@@ -17,12 +17,33 @@
  */
 package org.fuin.esc.esgrpc;
 
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.CommonEvent;
 import org.fuin.esc.api.EventStore;
+import org.fuin.esc.api.StreamId;
+import org.fuin.esc.api.SubscribableEventStore;
+
+import java.util.concurrent.Flow;
 
 /**
  * Interface for the implementation that connects to the <a href="http://www.geteventstore.com">Eventstore</a> via TCP API.
  * This allows dependency injections frameworks like CDI to use this interface rather than the (final) implementation.
  */
-public interface IESGrpcEventStore extends EventStore {
+public interface IESGrpcEventStore extends EventStore, SubscribableEventStore {
+
+    /**
+     * Reads all events of a stream starting with a given event number. In contrast to
+     * {@link #readAllEventsForward(StreamId, long, int, ChunkEventHandler)} the events are not read in
+     * chunks, but streamed from the server as requested by the subscriber. The read starts when a subscriber
+     * subscribes and every subscription reads the stream again. A stream that doesn't exist or was deleted is
+     * signalled by passing a {@link org.fuin.esc.api.StreamNotFoundException} or
+     * {@link org.fuin.esc.api.StreamDeletedException} to the subscriber's "onError" method.
+     *
+     * @param streamId Unique identifier of the stream to read.
+     * @param start    Number of the first event to read (inclusive).
+     * @return Publisher of the events.
+     */
+    @NotNull
+    Flow.Publisher<CommonEvent> readEventsForwardReactive(@NotNull StreamId streamId, long start);
 
 }
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Converts all elements of a list. Lists with at least a given number of elements are converted in parallel
+ * using a fork join pool, so the converter must be thread-safe if a pool is used. The order of the result always
+ * matches the order of the source list.
+ *
+ * @param <S> Source type.
+ * @param <T> Target type.
+ */
+final class ListConverter<S, T> {
+
+    private final Function<S, T> converter;
+
+    private final ForkJoinPool pool;
+
+    private final int parallelThreshold;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param converter         Converts a single element.
+     * @param pool              Pool used for parallel conversion or {@literal null} to always convert sequentially.
+     * @param parallelThreshold Minimum number of elements to convert in parallel.
+     */
+    ListConverter(@NotNull final Function<S, T> converter, @Nullable final ForkJoinPool pool,
+                  final int parallelThreshold) {
+        super();
+        Contract.requireArgNotNull("converter", converter);
+        Contract.requireArgMin("parallelThreshold", parallelThreshold, 2);
+        this.converter = converter;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Converts a list.
+     *
+     * @param source Elements to convert.
+     * @return Unmodifiable list with the converted elements in the same order.
+     */
+    List<T> convert(@NotNull final List<S> source) {
+        if (pool == null || source.size() < parallelThreshold) {
+            final List<T> list = new ArrayList<>(source.size());
+            for (final S element : source) {
+                list.add(converter.apply(element));
+            }
+            return Collections.unmodifiableList(list);
+        }
+        try {
+            // A parallel stream started inside a task uses the pool of that task
+            return pool.submit(() -> source.parallelStream().map(converter).toList()).get();
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Error converting " + source.size() + " elements in parallel", ex);
+        } catch (final InterruptedException ex) { // NOSONAR
+            throw new RuntimeException("Error waiting for the parallel conversion of " + source.size() + " elements", ex);
+        }
+    }
+
+}
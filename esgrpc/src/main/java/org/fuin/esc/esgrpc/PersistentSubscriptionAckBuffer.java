@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.ResolvedEvent;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Collects the events of a persistent subscription that should be acknowledged and sends them as one batch
+ * when either the batch size is reached or the delayed flush is executed. This class is thread-safe.
+ */
+final class PersistentSubscriptionAckBuffer {
+
+    private final int batchSize;
+
+    private final Executor flushExecutor;
+
+    private final Consumer<List<ResolvedEvent>> sink;
+
+    private List<ResolvedEvent> pending;
+
+    private boolean flushScheduled;
+
+    /**
+     * Constructor with all mandatory data.
+     *
+     * @param batchSize     Maximum number of events to collect before they are acknowledged.
+     * @param flushExecutor Executor that runs the flush after the maximum delay for a non-full batch.
+     * @param sink          Receives the batches to acknowledge.
+     */
+    PersistentSubscriptionAckBuffer(final int batchSize,
+                                    @NotNull final Executor flushExecutor,
+                                    @NotNull final Consumer<List<ResolvedEvent>> sink) {
+        super();
+        Contract.requireArgMin("batchSize", batchSize, 1);
+        Contract.requireArgNotNull("flushExecutor", flushExecutor);
+        Contract.requireArgNotNull("sink", sink);
+        this.batchSize = batchSize;
+        this.flushExecutor = flushExecutor;
+        this.sink = sink;
+        this.pending = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Adds an event to acknowledge. Sends the batch if it's full.
+     *
+     * @param event Event to acknowledge.
+     */
+    void add(@NotNull final ResolvedEvent event) {
+        final List<ResolvedEvent> batch;
+        synchronized (this) {
+            pending.add(event);
+            if (pending.size() < batchSize) {
+                if (!flushScheduled) {
+                    flushScheduled = true;
+                    flushExecutor.execute(this::scheduledFlush);
+                }
+                return;
+            }
+            batch = drain();
+        }
+        sink.accept(batch);
+    }
+
+    /**
+     * Sends all pending events immediately.
+     */
+    void flush() {
+        final List<ResolvedEvent> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+        sink.accept(batch);
+    }
+
+    /**
+     * Discards all pending events without sending them.
+     */
+    synchronized void clear() {
+        pending.clear();
+    }
+
+    /**
+     * Returns the number of events waiting to be acknowledged.
+     *
+     * @return Number of pending events.
+     */
+    synchronized int size() {
+        return pending.size();
+    }
+
+    private void scheduledFlush() {
+        synchronized (this) {
+            flushScheduled = false;
+        }
+        flush();
+    }
+
+    private List<ResolvedEvent> drain() {
+        final List<ResolvedEvent> batch = pending;
+        pending = new ArrayList<>(batchSize);
+        return batch;
+    }
+
+}
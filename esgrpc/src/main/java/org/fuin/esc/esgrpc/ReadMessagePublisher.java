@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.ReadMessage;
+import io.kurrent.dbclient.ResolvedEvent;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.CommonEvent;
+import org.fuin.objects4j.common.Contract;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * Adapts the reactive read of the KurrentDB client to a {@link Flow.Publisher} of common events. Events are converted
+ * one at a time when they arrive and the demand of the subscriber is passed directly to the server, so memory
+ * usage doesn't depend on the length of the stream. Messages without an event (like stream positions) are skipped
+ * and replaced by requesting another message.
+ */
+final class ReadMessagePublisher implements Flow.Publisher<CommonEvent> {
+
+    private final Publisher<ReadMessage> source;
+
+    private final Function<ResolvedEvent, CommonEvent> converter;
+
+    private final Function<Throwable, Throwable> errorMapper;
+
+    /**
+     * Constructor with all mandatory data.
+     *
+     * @param source      Publisher of the KurrentDB client.
+     * @param converter   Converts a resolved event into a common event.
+     * @param errorMapper Maps errors of the source before they are passed to the subscriber.
+     */
+    ReadMessagePublisher(@NotNull final Publisher<ReadMessage> source,
+                         @NotNull final Function<ResolvedEvent, CommonEvent> converter,
+                         @NotNull final Function<Throwable, Throwable> errorMapper) {
+        super();
+        Contract.requireArgNotNull("source", source);
+        Contract.requireArgNotNull("converter", converter);
+        Contract.requireArgNotNull("errorMapper", errorMapper);
+        this.source = source;
+        this.converter = converter;
+        this.errorMapper = errorMapper;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super CommonEvent> subscriber) {
+        Contract.requireArgNotNull("subscriber", subscriber);
+        source.subscribe(new ConvertingSubscriber(subscriber));
+    }
+
+    /**
+     * Receives the messages from the client and passes the converted events to the downstream subscriber.
+     */
+    private final class ConvertingSubscriber implements Subscriber<ReadMessage>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super CommonEvent> downstream;
+
+        private volatile Subscription upstream;
+
+        private volatile boolean done;
+
+        ConvertingSubscriber(final Flow.Subscriber<? super CommonEvent> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(final ReadMessage message) {
+            if (done) {
+                return;
+            }
+            if (!message.hasEvent()) {
+                upstream.request(1);
+                return;
+            }
+            final CommonEvent event;
+            try {
+                event = converter.apply(message.getEvent());
+            } catch (final RuntimeException ex) {
+                cancel();
+                downstream.onError(ex);
+                return;
+            }
+            downstream.onNext(event);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(errorMapper.apply(throwable));
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void request(final long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Requested number of events must be positive, but was: " + n));
+                return;
+            }
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            upstream.cancel();
+        }
+
+    }
+
+}
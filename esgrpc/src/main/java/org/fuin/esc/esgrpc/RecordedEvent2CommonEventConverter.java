@@ -29,6 +29,7 @@ import org.fuin.esc.api.IBase64Data;
 import org.fuin.esc.api.IEscMeta;
 import org.fuin.esc.api.SerializedDataType;
 import org.fuin.esc.api.SimpleCommonEvent;
+import org.fuin.esc.api.TransferEncoding;
 import org.fuin.esc.api.TypeName;
 import org.fuin.objects4j.common.Contract;
 
@@ -41,15 +42,30 @@ public final class RecordedEvent2CommonEventConverter implements Converter<Recor
 
     private final DeserializerRegistry deserRegistry;
 
+    private final boolean lazy;
+
     /**
-     * Constructor with all mandatory data.
+     * Constructor with mandatory data. Events are deserialized completely during conversion.
      *
      * @param deserRegistry Registry used to locate deserializers.
      */
     public RecordedEvent2CommonEventConverter(@NotNull final DeserializerRegistry deserRegistry) {
+        this(deserRegistry, false);
+    }
+
+    /**
+     * Constructor with all data.
+     *
+     * @param deserRegistry Registry used to locate deserializers.
+     * @param lazy          If {@literal true} only the event ID and data type are read during conversion.
+     *                      The envelope, data and meta data are deserialized on first access. Errors are then
+     *                      thrown by the getter that triggers the deserialization.
+     */
+    public RecordedEvent2CommonEventConverter(@NotNull final DeserializerRegistry deserRegistry, final boolean lazy) {
         super();
         Contract.requireArgNotNull("deserRegistry", deserRegistry);
         this.deserRegistry = deserRegistry;
+        this.lazy = lazy;
     }
 
     /**
@@ -62,35 +78,52 @@ public final class RecordedEvent2CommonEventConverter implements Converter<Recor
     @Override
     public CommonEvent convert(final RecordedEvent eventData) {
 
+        final EventId eventId = new EventId(eventData.getEventId());
+        final TypeName dataType = new TypeName(eventData.getEventType());
+        if (lazy) {
+            return new LazyCommonEvent(eventId, dataType, eventData);
+        }
+
+        final Envelope envelope = envelope(eventData);
+        final Object data = data(envelope, eventData);
+        if (envelope.escMeta().getMetaType() == null) {
+            return new SimpleCommonEvent(eventId, dataType, data);
+        }
+        final TypeName metaType = new TypeName(envelope.escMeta().getMetaType());
+        return new SimpleCommonEvent(eventId, dataType, data, metaType, meta(envelope));
+    }
+
+    private Envelope envelope(final RecordedEvent eventData) {
         final EnhancedMimeType escMetaMimeType = metaMimeType(eventData.getContentType().equals("application/json"));
         final SerializedDataType escSerMetaType = new SerializedDataType(IEscMeta.TYPE.asBaseType());
         final Deserializer escMetaDeserializer = deserRegistry.getDeserializer(escSerMetaType, escMetaMimeType);
         final IEscMeta escMeta = escMetaDeserializer.unmarshal(eventData.getUserMetadata(), escSerMetaType, escMetaMimeType);
-        final EnhancedMimeType metaMimeType = escMeta.getMetaContentType();
-        final String metaTransferEncoding;
-        if (escMeta.getMetaType() == null || escMeta.getMetaContentType() == null) {
-            metaTransferEncoding = null;
-        } else {
-            metaTransferEncoding = escMeta.getMetaContentType().getParameter("transfer-encoding");
-        }
+        return new Envelope(escMeta, escMetaMimeType);
+    }
+
+    private Object data(final Envelope envelope, final RecordedEvent eventData) {
+        final IEscMeta escMeta = envelope.escMeta();
         final EnhancedMimeType dataMimeType = escMeta.getDataContentType();
         final SerializedDataType serDataType = new SerializedDataType(escMeta.getDataType());
         final Deserializer dataDeserializer = deserRegistry.getDeserializer(serDataType, dataMimeType);
-        final String dataTransferEncoding = escMeta.getDataContentType().getParameter("transfer-encoding");
-        final Object data = unmarshal(dataTransferEncoding, serDataType, dataDeserializer, dataMimeType,
-                eventData.getEventData(), metaMimeType, escMetaMimeType);
+        final String dataTransferEncoding = dataMimeType.getParameter(TransferEncoding.PARAMETER);
+        return unmarshal(dataTransferEncoding, serDataType, dataDeserializer, dataMimeType,
+                eventData.getEventData(), envelope.escMetaMimeType());
+    }
 
-        final EventId eventId = new EventId(eventData.getEventId());
-        final TypeName dataType = new TypeName(eventData.getEventType());
-        if (escMeta.getMetaType() == null) {
-            return new SimpleCommonEvent(eventId, dataType, data);
+    private Object meta(final Envelope envelope) {
+        final IEscMeta escMeta = envelope.escMeta();
+        final EnhancedMimeType metaMimeType = escMeta.getMetaContentType();
+        final String metaTransferEncoding;
+        if (metaMimeType == null) {
+            metaTransferEncoding = null;
+        } else {
+            metaTransferEncoding = metaMimeType.getParameter(TransferEncoding.PARAMETER);
         }
-        final TypeName metaType = new TypeName(escMeta.getMetaType());
         final SerializedDataType serMetaType = new SerializedDataType(escMeta.getMetaType());
         final Deserializer metaDeserializer = deserRegistry.getDeserializer(serMetaType, metaMimeType);
-        final Object meta = unmarshal(metaTransferEncoding, serMetaType, metaDeserializer, metaMimeType,
-                escMeta.getMeta(), metaMimeType, escMetaMimeType);
-        return new SimpleCommonEvent(eventId, dataType, data, metaType, meta);
+        return unmarshal(metaTransferEncoding, serMetaType, metaDeserializer, metaMimeType,
+                escMeta.getMeta(), envelope.escMetaMimeType());
     }
 
     private Object unmarshal(final String transferEncoding,
@@ -98,21 +131,21 @@ public final class RecordedEvent2CommonEventConverter implements Converter<Recor
                              final Deserializer dataDeserializer,
                              final EnhancedMimeType dataMimeType,
                              final Object data,
-                             final EnhancedMimeType metaMimeType,
                              final EnhancedMimeType escMetaMimeType) {
 
         if (transferEncoding == null) {
             return dataDeserializer.unmarshal(data, dataType, dataMimeType);
         }
 
+        // Content is wrapped in Base64 data and may be compressed ('base64' or 'gzip+base64')
+        final TransferEncoding encoding = TransferEncoding.forName(transferEncoding);
         if (data instanceof IBase64Data base64Data) {
-            return dataDeserializer.unmarshal(base64Data.getDecoded(), dataType, dataMimeType);
+            return dataDeserializer.unmarshal(encoding.decode(base64Data.getDecoded()), dataType, dataMimeType);
         }
 
-        // Currently only 'base64' is supported
         final Deserializer base64Deserializer = deserRegistry.getDeserializer(IBase64Data.SER_TYPE, escMetaMimeType);
         final IBase64Data base64Data = base64Deserializer.unmarshal(data, IBase64Data.SER_TYPE, escMetaMimeType);
-        return dataDeserializer.unmarshal(base64Data.getDecoded(), dataType, dataMimeType);
+        return dataDeserializer.unmarshal(encoding.decode(base64Data.getDecoded()), dataType, dataMimeType);
     }
 
     private EnhancedMimeType metaMimeType(final boolean json) {
@@ -132,4 +165,114 @@ public final class RecordedEvent2CommonEventConverter implements Converter<Recor
         return CommonEvent.class;
     }
 
+    /**
+     * Deserialized envelope with the content type it was read with.
+     */
+    private record Envelope(IEscMeta escMeta, EnhancedMimeType escMetaMimeType) {
+    }
+
+    /**
+     * Event that deserializes the envelope, data and meta data only when they are accessed for the first time.
+     * The meta type is taken from the envelope without deserializing the meta data. Equals and hash code are
+     * not overridden as the event cannot be compared symmetrically with other {@link CommonEvent} implementations.
+     * This class is thread-safe.
+     */
+    private final class LazyCommonEvent implements CommonEvent {
+
+        private final EventId id;
+
+        private final TypeName dataType;
+
+        private RecordedEvent eventData;
+
+        private Envelope envelope;
+
+        private boolean dataLoaded;
+
+        private Object data;
+
+        private boolean metaTypeLoaded;
+
+        private TypeName metaType;
+
+        private boolean metaLoaded;
+
+        private Object meta;
+
+        LazyCommonEvent(final EventId id, final TypeName dataType, final RecordedEvent eventData) {
+            this.id = id;
+            this.dataType = dataType;
+            this.eventData = eventData;
+        }
+
+        @Override
+        public EventId getId() {
+            return id;
+        }
+
+        @Override
+        public TypeName getDataType() {
+            return dataType;
+        }
+
+        @Override
+        public synchronized Object getData() {
+            if (!dataLoaded) {
+                data = data(envelope(), eventData);
+                dataLoaded = true;
+                releaseEventData();
+            }
+            return data;
+        }
+
+        @Override
+        public synchronized TypeName getMetaType() {
+            if (!metaTypeLoaded) {
+                final String type = envelope().escMeta().getMetaType();
+                if (type != null) {
+                    metaType = new TypeName(type);
+                }
+                metaTypeLoaded = true;
+            }
+            return metaType;
+        }
+
+        @Override
+        public synchronized Object getMeta() {
+            loadMeta();
+            return meta;
+        }
+
+        private Envelope envelope() {
+            if (envelope == null) {
+                envelope = RecordedEvent2CommonEventConverter.this.envelope(eventData);
+            }
+            return envelope;
+        }
+
+        private void loadMeta() {
+            if (!metaLoaded) {
+                if (getMetaType() != null) {
+                    meta = meta(envelope());
+                }
+                metaLoaded = true;
+                releaseEventData();
+            }
+        }
+
+        private void releaseEventData() {
+            // The recorded event is no longer required when everything is deserialized
+            if (dataLoaded && metaLoaded) {
+                eventData = null;
+                envelope = null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return dataType + " " + id;
+        }
+
+    }
+
 }
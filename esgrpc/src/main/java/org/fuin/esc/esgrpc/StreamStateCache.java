@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.StreamState;
+import org.fuin.objects4j.common.Contract;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the state of streams for a short time to avoid a server round trip for every existence check.
+ * Entries expire after the configured time to live, so changes made by other clients become visible
+ * after at most that period. This class is thread-safe.
+ */
+final class StreamStateCache {
+
+    private final long ttlNanos;
+
+    private final int maxEntries;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * Constructor with mandatory data.
+     *
+     * @param ttl        Time an entry stays valid.
+     * @param maxEntries Maximum number of entries before expired ones are purged.
+     */
+    StreamStateCache(@NotNull final Duration ttl, final int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    /**
+     * Constructor with all data.
+     *
+     * @param ttl        Time an entry stays valid.
+     * @param maxEntries Maximum number of entries before expired ones are purged.
+     * @param nanoClock  Source of the current time in nanoseconds.
+     */
+    StreamStateCache(@NotNull final Duration ttl, final int maxEntries, @NotNull final LongSupplier nanoClock) {
+        super();
+        Contract.requireArgNotNull("ttl", ttl);
+        Contract.requireArgMin("maxEntries", maxEntries, 1);
+        Contract.requireArgNotNull("nanoClock", nanoClock);
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the cached state of a stream.
+     *
+     * @param streamName Unique name of the stream.
+     * @return State or {@literal null} if the state is unknown or expired.
+     */
+    @Nullable
+    StreamState get(@NotNull final String streamName) {
+        final Entry entry = entries.get(streamName);
+        if (entry == null) {
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.expiresAt() >= 0) {
+            entries.remove(streamName, entry);
+            return null;
+        }
+        return entry.state();
+    }
+
+    /**
+     * Remembers the state of a stream.
+     *
+     * @param streamName Unique name of the stream.
+     * @param state      Current state.
+     */
+    void put(@NotNull final String streamName, @NotNull final StreamState state) {
+        final long now = nanoClock.getAsLong();
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(streamName, new Entry(state, now + ttlNanos));
+    }
+
+    /**
+     * Forgets the state of a stream.
+     *
+     * @param streamName Unique name of the stream.
+     */
+    void remove(@NotNull final String streamName) {
+        entries.remove(streamName);
+    }
+
+    /**
+     * Returns the number of entries including the expired ones not purged yet.
+     *
+     * @return Number of entries.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    private record Entry(StreamState state, long expiresAt) {
+    }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.Position;
+import org.fuin.esc.api.CommonEvent;
+import org.fuin.esc.api.EventId;
+import org.fuin.esc.api.SimpleCommonEvent;
+import org.fuin.esc.api.TypeName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the class {@link AllEventsSlice}.
+ */
+public class AllEventsSliceTest {
+
+    @Test
+    public void testCreate() {
+
+        // PREPARE
+        final List<CommonEvent> events = new ArrayList<>();
+        events.add(new SimpleCommonEvent(new EventId(), new TypeName("Test"), "One"));
+        final Position position = new Position(10, 10);
+
+        // TEST
+        final AllEventsSlice testee = new AllEventsSlice(events, position, true);
+        events.clear();
+
+        // VERIFY
+        assertThat(testee.getEvents()).hasSize(1);
+        assertThat(testee.getNextPosition()).isEqualTo(position);
+        assertThat(testee.isEndOfStream()).isTrue();
+        assertThatThrownBy(() -> testee.getEvents().clear()).isInstanceOf(UnsupportedOperationException.class);
+
+    }
+
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.fuin.esc.api.SimpleTenantId;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the class {@link AllStreamFilter}.
+ */
+public class AllStreamFilterTest {
+
+    @Test
+    public void testEventTypePrefixes() {
+
+        final AllStreamFilter testee = AllStreamFilter.eventTypePrefixes("Order", "Customer");
+
+        assertThat(testee.isEventType()).isTrue();
+        assertThat(testee.getPrefixes()).containsExactly("Order", "Customer");
+        assertThat(testee.getRegex()).isNull();
+        assertThat(testee).hasToString("eventTypePrefixes=[Order, Customer]");
+
+    }
+
+    @Test
+    public void testStreamNameRegex() {
+
+        final AllStreamFilter testee = AllStreamFilter.streamNameRegex("^order-.*");
+
+        assertThat(testee.isEventType()).isFalse();
+        assertThat(testee.getPrefixes()).isEmpty();
+        assertThat(testee.getRegex()).isEqualTo("^order-.*");
+
+    }
+
+    @Test
+    public void testExcludeSystemEvents() {
+
+        final AllStreamFilter testee = AllStreamFilter.excludeSystemEvents();
+
+        assertThat(testee.isEventType()).isTrue();
+        assertThat("OrderCreated").matches(testee.getRegex());
+        assertThat("$metadata").doesNotMatch(testee.getRegex());
+
+    }
+
+    @Test
+    public void testNoPrefixes() {
+        assertThatThrownBy(AllStreamFilter::streamNamePrefixes).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testToSubscriptionFilter() {
+
+        final AllStreamFilter testee = AllStreamFilter.streamNamePrefixes("order-");
+
+        assertThat(testee.toSubscriptionFilter(new SimpleTenantId("acme"), (sub, pos) -> null, 1)).isNotNull();
+        assertThat(AllStreamFilter.eventTypeRegex("^Order.*")
+                .toSubscriptionFilter(null, (sub, pos) -> null, 1)).isNotNull();
+
+    }
+
+    @Test
+    public void testEqualsHashCode() {
+        EqualsVerifier.forClass(AllStreamFilter.class).withNonnullFields("prefixes").verify();
+    }
+
+}
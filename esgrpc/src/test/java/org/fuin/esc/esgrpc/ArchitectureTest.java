@@ -55,6 +55,7 @@ class ArchitectureTest {
                     "org.slf4j..",
                     "io.kurrent.dbclient..",
                     "io.grpc..",
+                    "org.reactivestreams..",
                     "org.fuin.utils4j.."
             );
 
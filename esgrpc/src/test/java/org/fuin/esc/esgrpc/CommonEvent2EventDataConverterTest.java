@@ -22,10 +22,14 @@ import org.fuin.esc.api.CommonEvent;
 import org.fuin.esc.api.EnhancedMimeType;
 import org.fuin.esc.api.EventId;
 import org.fuin.esc.api.SerDeserializerRegistry;
+import org.fuin.esc.api.SerializedDataType;
 import org.fuin.esc.api.SerializedDataTypeRegistry;
+import org.fuin.esc.api.Serializer;
+import org.fuin.esc.api.SerializerRegistry;
 import org.fuin.esc.api.SimpleCommonEvent;
 import org.fuin.esc.api.SimpleSerializedDataTypeRegistry;
 import org.fuin.esc.api.SimpleSerializerDeserializerRegistry;
+import org.fuin.esc.api.TransferEncoding;
 import org.fuin.esc.jaxb.EscJaxbUtils;
 import org.fuin.esc.jaxb.XmlDeSerializer;
 import org.fuin.esc.jsonb.EscJsonbUtils;
@@ -36,6 +40,8 @@ import org.xmlunit.diff.Diff;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
@@ -194,5 +200,112 @@ public final class CommonEvent2EventDataConverterTest extends AbstractTest {
 
     }
 
-}
+    @Test
+    public final void testConvertSameTypesMultipleTimes() throws IOException {
+
+        // PREPARE
+        final SerializedDataTypeRegistry jsonbTypeRegistry = EscJsonbUtils.addEscTypes(new SimpleSerializedDataTypeRegistry.Builder())
+                .add(MyEvent.SER_TYPE, MyEvent.class)
+                .build();
+        final JsonbSerDeserializer jsonbSerDeser = new JsonbSerDeserializer(getJsonbProvider(), jsonbTypeRegistry, StandardCharsets.UTF_8);
+        final SerDeserializerRegistry serDeserRegistry =
+                EscJsonbUtils.addEscSerDeserializer(new SimpleSerializerDeserializerRegistry.Builder(JSON_UTF8), jsonbSerDeser)
+                        .add(MyEvent.SER_TYPE, jsonbSerDeser, jsonbSerDeser.getMimeType())
+                        .build();
+        TestUtils.register(getJsonbConfig(), serDeserRegistry, serDeserRegistry);
+        final Map<SerializedDataType, Integer> lookups = new HashMap<>();
+        final SerializerRegistry countingRegistry = new SerializerRegistry() {
+            @Override
+            public Serializer getSerializer(final SerializedDataType type) {
+                lookups.merge(type, 1, Integer::sum);
+                return serDeserRegistry.getSerializer(type);
+            }
+
+            @Override
+            public boolean serializerExists(final SerializedDataType type) {
+                return serDeserRegistry.serializerExists(type);
+            }
+        };
+        final CommonEvent2EventDataConverter testee = new CommonEvent2EventDataConverter(countingRegistry, new org.fuin.esc.jsonb.BaseTypeFactory(), JSON_UTF8);
+
+        final MyEvent eventA = new MyEvent(UUID.fromString("52faeb52-3933-422e-a1f4-4393a6517678"), "A");
+        final MyEvent eventB = new MyEvent(UUID.fromString("c8e2e7a4-0b0c-4b8e-9d7a-3c3f4a6f1c2d"), "B");
+
+        // TEST
+        final EventData eventDataA = testee.convert(new SimpleCommonEvent(new EventId(eventA.getId()), MyEvent.TYPE, eventA));
+        final EventData eventDataB = testee.convert(new SimpleCommonEvent(new EventId(eventB.getId()), MyEvent.TYPE, eventB));
+        testee.convert(new SimpleCommonEvent(new EventId(eventA.getId()), MyEvent.TYPE, eventA));
 
+        // VERIFY the plan is computed once and reused
+        assertThat(lookups).containsEntry(MyEvent.SER_TYPE, 1);
+
+        // VERIFY
+        assertThatJson(new String(eventDataA.getEventData(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":\"52faeb52-3933-422e-a1f4-4393a6517678\",\"description\":\"A\"}");
+        assertThatJson(new String(eventDataB.getEventData(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":\"c8e2e7a4-0b0c-4b8e-9d7a-3c3f4a6f1c2d\",\"description\":\"B\"}");
+        final String expectedEscMetaJson = """
+                {
+                  "data-type": "MyEvent",
+                  "data-content-type" : "application/json; encoding=UTF-8"
+                }
+                """;
+        assertThatJson(new String(eventDataA.getUserMetadata(), StandardCharsets.UTF_8)).isEqualTo(expectedEscMetaJson);
+        assertThatJson(new String(eventDataB.getUserMetadata(), StandardCharsets.UTF_8)).isEqualTo(expectedEscMetaJson);
+
+    }
+
+    @Test
+    public final void testConvertCompressed() throws IOException {
+
+        // PREPARE
+        final SerializedDataTypeRegistry jsonbTypeRegistry = EscJsonbUtils.addEscTypes(new SimpleSerializedDataTypeRegistry.Builder())
+                .add(MyEvent.SER_TYPE, MyEvent.class)
+                .add(MyMeta.SER_TYPE, MyMeta.class)
+                .build();
+        final JsonbSerDeserializer jsonbSerDeser = new JsonbSerDeserializer(getJsonbProvider(), jsonbTypeRegistry, StandardCharsets.UTF_8);
+        final SerDeserializerRegistry serDeserRegistry =
+                EscJsonbUtils.addEscSerDeserializer(new SimpleSerializerDeserializerRegistry.Builder(JSON_UTF8), jsonbSerDeser)
+                        .add(MyEvent.SER_TYPE, jsonbSerDeser, jsonbSerDeser.getMimeType())
+                        .add(MyMeta.SER_TYPE, jsonbSerDeser, jsonbSerDeser.getMimeType())
+                        .build();
+        TestUtils.register(getJsonbConfig(), serDeserRegistry, serDeserRegistry);
+        final CommonEvent2EventDataConverter testee = new CommonEvent2EventDataConverter(serDeserRegistry,
+                new org.fuin.esc.jsonb.BaseTypeFactory(), JSON_UTF8, CommonEvent2EventDataConverter.NO_COMPRESSION,
+                Map.of(MyEvent.TYPE, 1000));
+
+        final MyEvent smallEvent = new MyEvent(UUID.fromString("52faeb52-3933-422e-a1f4-4393a6517678"), "Small");
+        final MyEvent largeEvent = new MyEvent(UUID.fromString("c8e2e7a4-0b0c-4b8e-9d7a-3c3f4a6f1c2d"), "Large ".repeat(1000));
+        final MyMeta myMeta = new MyMeta("michael");
+
+        // TEST
+        final EventData smallEventData = testee.convert(new SimpleCommonEvent(new EventId(smallEvent.getId()), MyEvent.TYPE,
+                smallEvent, MyMeta.TYPE, myMeta));
+        final EventData largeEventData = testee.convert(new SimpleCommonEvent(new EventId(largeEvent.getId()), MyEvent.TYPE,
+                largeEvent, MyMeta.TYPE, myMeta));
+
+        // VERIFY small event is embedded as is
+        assertThatJson(new String(smallEventData.getEventData(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":\"52faeb52-3933-422e-a1f4-4393a6517678\",\"description\":\"Small\"}");
+
+        // VERIFY large event is compressed, but meta data is not
+        final String expectedEscMetaJson = """
+                {
+                  "data-type": "MyEvent",
+                  "data-content-type" : "application/json; transfer-encoding=gzip+base64; encoding=UTF-8",
+                  "meta-type" : "MyMeta",
+                  "meta-content-type" : "application/json; encoding=UTF-8",
+                  "MyMeta" : { "user" : "michael" }
+                }
+                """;
+        assertThatJson(new String(largeEventData.getUserMetadata(), StandardCharsets.UTF_8)).isEqualTo(expectedEscMetaJson);
+        assertThat(largeEventData.getEventData().length).isLessThan(1000);
+        final org.fuin.esc.jsonb.Base64Data base64Data = jsonbSerDeser.unmarshal(largeEventData.getEventData(),
+                org.fuin.esc.jsonb.Base64Data.SER_TYPE, JSON_UTF8);
+        final MyEvent copy = jsonbSerDeser.unmarshal(TransferEncoding.GZIP_BASE64.decode(base64Data.getDecoded()),
+                MyEvent.SER_TYPE, JSON_UTF8);
+        assertThat(copy.getDescription()).isEqualTo(largeEvent.getDescription());
+
+    }
+
+}
@@ -0,0 +1,174 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.KurrentDBClient;
+import io.kurrent.dbclient.KurrentDBClientSettings;
+import io.kurrent.dbclient.KurrentDBConnectionString;
+import jakarta.json.bind.JsonbConfig;
+import org.fuin.esc.api.CommonEvent;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.EscApiUtils;
+import org.fuin.esc.api.EventId;
+import org.fuin.esc.api.SerDeserializerRegistry;
+import org.fuin.esc.api.SerializedDataTypeRegistry;
+import org.fuin.esc.api.SimpleCommonEvent;
+import org.fuin.esc.api.SimpleSerializedDataTypeRegistry;
+import org.fuin.esc.api.SimpleSerializerDeserializerRegistry;
+import org.fuin.esc.api.SimpleStreamId;
+import org.fuin.esc.api.StreamId;
+import org.fuin.esc.api.Subscription;
+import org.fuin.esc.jsonb.BaseTypeFactory;
+import org.fuin.esc.jsonb.EscJsonbUtils;
+import org.fuin.esc.jsonb.JsonbSerDeserializer;
+import org.fuin.objects4j.jsonb.JsonbProvider;
+import org.fuin.utils4j.TestOmitted;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the catch-up subscriptions of the {@link ESGrpcEventStore} class against a KurrentDB server.
+ */
+@TestOmitted("This is only a test class")
+@SuppressWarnings("java:S2187")
+class ESGrpcEventStoreSubscriptionIT {
+
+    private static final EnhancedMimeType JSON_UTF8 = EnhancedMimeType.create("application", "json", StandardCharsets.UTF_8);
+
+    private static KurrentDBClient client;
+
+    private JsonbProvider jsonbProvider;
+
+    private ESGrpcEventStore testee;
+
+    @BeforeAll
+    static void beforeAll() {
+        final KurrentDBClientSettings setts = KurrentDBConnectionString
+                .parseOrThrow("esdb://localhost:2113?tls=false");
+        client = KurrentDBClient.create(setts);
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        final JsonbConfig jsonbConfig = TestUtils.createJsonbConfig();
+        jsonbProvider = new JsonbProvider(jsonbConfig);
+        final SerializedDataTypeRegistry typeRegistry =
+                EscJsonbUtils.addEscTypes(new SimpleSerializedDataTypeRegistry.Builder())
+                        .add(MyEvent.SER_TYPE, MyEvent.class)
+                        .build();
+        final JsonbSerDeserializer serDeser = new JsonbSerDeserializer(jsonbProvider, typeRegistry,
+                StandardCharsets.UTF_8);
+        final SerDeserializerRegistry registry =
+                EscJsonbUtils.addEscSerDeserializer(new SimpleSerializerDeserializerRegistry.Builder(JSON_UTF8), serDeser)
+                        .add(MyEvent.SER_TYPE, serDeser, serDeser.getMimeType())
+                        .build();
+        TestUtils.register(jsonbConfig, registry, registry);
+        testee = new ESGrpcEventStore.Builder()
+                .eventStore(client)
+                .serDesRegistry(registry)
+                .baseTypeFactory(new BaseTypeFactory())
+                .targetContentType(JSON_UTF8)
+                .build()
+                .open();
+    }
+
+    @AfterEach
+    void afterEach() {
+        testee.close();
+        jsonbProvider.close();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        client.shutdown();
+        client = null;
+    }
+
+    @Test
+    void testCatchUpFromStart() throws InterruptedException {
+
+        // GIVEN
+        final StreamId streamId = new SimpleStreamId("grpc-test-catch-up-" + UUID.randomUUID());
+        final CommonEvent first = event("First");
+        final CommonEvent second = event("Second");
+        testee.appendToStream(streamId, first, second);
+        final List<CommonEvent> received = new CopyOnWriteArrayList<>();
+        final List<Exception> dropped = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(3);
+
+        // WHEN
+        final Subscription subscription = testee.subscribeToStream(streamId, 0, (sub, event) -> {
+            received.add(event);
+            latch.countDown();
+        }, (sub, ex) -> dropped.add(ex));
+        final CommonEvent third = event("Third");
+        testee.appendToStream(streamId, third);
+
+        // THEN
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        testee.unsubscribeFromStream(subscription);
+        assertThat(received).extracting(CommonEvent::getId).containsExactly(first.getId(), second.getId(),
+                third.getId());
+        assertThat(dropped).isEmpty();
+
+    }
+
+    @Test
+    void testSubscribeToNewEvents() throws InterruptedException {
+
+        // GIVEN
+        final StreamId streamId = new SimpleStreamId("grpc-test-catch-up-new-" + UUID.randomUUID());
+        testee.appendToStream(streamId, event("Old"));
+        final List<CommonEvent> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        // WHEN
+        final Subscription subscription = testee.subscribeToStream(streamId, EscApiUtils.SUBSCRIBE_TO_NEW_EVENTS,
+                (sub, event) -> {
+                    received.add(event);
+                    latch.countDown();
+                }, (sub, ex) -> {
+                });
+        final CommonEvent created = event("New");
+        testee.appendToStream(streamId, created);
+
+        // THEN
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        testee.unsubscribeFromStream(subscription);
+        assertThat(received).extracting(CommonEvent::getId).containsExactly(created.getId());
+
+    }
+
+    private static CommonEvent event(final String description) {
+        final MyEvent myEvent = new MyEvent(UUID.randomUUID(), description);
+        return new SimpleCommonEvent(new EventId(myEvent.getId()), MyEvent.TYPE, myEvent);
+    }
+
+}
@@ -0,0 +1,257 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.kurrent.dbclient.EventData;
+import io.kurrent.dbclient.KurrentDBClient;
+import io.kurrent.dbclient.Position;
+import io.kurrent.dbclient.ResolvedEvent;
+import io.kurrent.dbclient.SubscribeToStreamOptions;
+import io.kurrent.dbclient.SubscriptionListener;
+import org.fuin.esc.api.CommonEvent;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.EventId;
+import org.fuin.esc.api.SerDeserializerRegistry;
+import org.fuin.esc.api.SerializedDataTypeRegistry;
+import org.fuin.esc.api.SimpleCommonEvent;
+import org.fuin.esc.api.SimpleSerializedDataTypeRegistry;
+import org.fuin.esc.api.SimpleSerializerDeserializerRegistry;
+import org.fuin.esc.api.SimpleStreamId;
+import org.fuin.esc.api.StreamDeletedException;
+import org.fuin.esc.api.StreamId;
+import org.fuin.esc.api.Subscription;
+import org.fuin.esc.jsonb.BaseTypeFactory;
+import org.fuin.esc.jsonb.EscJsonbUtils;
+import org.fuin.esc.jsonb.JsonbSerDeserializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.verification.VerificationMode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fuin.esc.esgrpc.TestUtils.recordedEvent;
+import static org.fuin.esc.esgrpc.TestUtils.systemMetadata;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the catch-up subscriptions of the {@link ESGrpcEventStore} class with a mocked client.
+ */
+public class ESGrpcEventStoreSubscriptionTest extends AbstractTest {
+
+    private static final EnhancedMimeType JSON_UTF8 = EnhancedMimeType.create("application", "json", StandardCharsets.UTF_8);
+
+    private static final StreamId STREAM_ID = new SimpleStreamId("mystream");
+
+    private SerDeserializerRegistry registry;
+
+    private KurrentDBClient client;
+
+    private io.kurrent.dbclient.Subscription serverSubscription;
+
+    private List<CommonEvent> received;
+
+    private List<Exception> dropped;
+
+    @BeforeEach
+    public void setupClient() {
+        final SerializedDataTypeRegistry typeRegistry =
+                EscJsonbUtils.addEscTypes(new SimpleSerializedDataTypeRegistry.Builder())
+                        .add(MyEvent.SER_TYPE, MyEvent.class)
+                        .build();
+        final JsonbSerDeserializer serDeser = new JsonbSerDeserializer(getJsonbProvider(), typeRegistry,
+                StandardCharsets.UTF_8);
+        registry = EscJsonbUtils.addEscSerDeserializer(new SimpleSerializerDeserializerRegistry.Builder(JSON_UTF8), serDeser)
+                .add(MyEvent.SER_TYPE, serDeser, serDeser.getMimeType())
+                .build();
+        TestUtils.register(getJsonbConfig(), registry, registry);
+
+        client = mock(KurrentDBClient.class);
+        serverSubscription = mock(io.kurrent.dbclient.Subscription.class);
+        when(client.subscribeToStream(anyString(), any(SubscriptionListener.class), any(SubscribeToStreamOptions.class)))
+                .thenReturn(CompletableFuture.completedFuture(serverSubscription));
+        received = new CopyOnWriteArrayList<>();
+        dropped = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    public void testEventsAlreadyDeliveredAreSkipped() {
+
+        // PREPARE
+        final ESGrpcEventStore testee = createTestee(0, Duration.ZERO);
+        final SubscriptionListener listener = subscribe(testee);
+        final ResolvedEvent first = event(0);
+        final ResolvedEvent second = event(1);
+
+        // TEST
+        listener.onEvent(serverSubscription, first);
+        listener.onEvent(serverSubscription, second);
+        listener.onEvent(serverSubscription, first);
+        listener.onEvent(serverSubscription, second);
+
+        // VERIFY
+        assertThat(received).extracting(CommonEvent::getId).containsExactly(
+                new EventId(first.getOriginalEvent().getEventId()), new EventId(second.getOriginalEvent().getEventId()));
+        assertThat(dropped).isEmpty();
+
+    }
+
+    @Test
+    public void testRetryLimit() {
+
+        // PREPARE
+        final ESGrpcEventStore testee = createTestee(1, Duration.ZERO);
+        final SubscriptionListener listener = subscribe(testee);
+        final RuntimeException cause = new RuntimeException("Connection lost");
+
+        // TEST & VERIFY
+        listener.onCancelled(serverSubscription, cause);
+        verifySubscribeCalls(timeout(1000).times(2));
+        assertThat(dropped).isEmpty();
+
+        // Confirmation resets the retries
+        listener.onConfirmation(serverSubscription);
+        listener.onCancelled(serverSubscription, cause);
+        verifySubscribeCalls(timeout(1000).times(3));
+        assertThat(dropped).isEmpty();
+
+        listener.onCancelled(serverSubscription, cause);
+        verifySubscribeCalls(after(200).times(3));
+        assertThat(dropped).containsExactly(cause);
+        verify(serverSubscription).stop();
+
+    }
+
+    @Test
+    public void testDeletedStreamDrops() {
+
+        // PREPARE
+        final ESGrpcEventStore testee = createTestee(3, Duration.ZERO);
+        final SubscriptionListener listener = subscribe(testee);
+
+        // TEST
+        listener.onCancelled(serverSubscription, new StatusRuntimeException(
+                Status.FAILED_PRECONDITION.withDescription("Stream 'mystream' is deleted")));
+
+        // VERIFY
+        verifySubscribeCalls(after(200).times(1));
+        assertThat(dropped).hasSize(1);
+        assertThat(dropped.get(0)).isInstanceOf(StreamDeletedException.class);
+        verify(serverSubscription).stop();
+
+    }
+
+    @Test
+    public void testStopBeforeDelayedResubscribe() {
+
+        // PREPARE
+        final ESGrpcEventStore testee = createTestee(3, Duration.ofMillis(100));
+        final ArgumentCaptor<SubscriptionListener> captor = ArgumentCaptor.forClass(SubscriptionListener.class);
+        final Subscription subscription = testee.subscribeToStream(STREAM_ID, 0, (sub, event) -> received.add(event),
+                (sub, ex) -> dropped.add(ex));
+        verify(client).subscribeToStream(anyString(), captor.capture(), any(SubscribeToStreamOptions.class));
+        final SubscriptionListener listener = captor.getValue();
+        listener.onCancelled(serverSubscription, new RuntimeException("Connection lost"));
+
+        // TEST
+        testee.unsubscribeFromStream(subscription);
+
+        // VERIFY
+        verifySubscribeCalls(after(300).times(1));
+        listener.onEvent(serverSubscription, event(0));
+        assertThat(received).isEmpty();
+        assertThat(dropped).isEmpty();
+
+    }
+
+    @Test
+    public void testStopDuringPendingResubscribe() {
+
+        // PREPARE
+        final ESGrpcEventStore testee = createTestee(3, Duration.ZERO);
+        final ArgumentCaptor<SubscriptionListener> captor = ArgumentCaptor.forClass(SubscriptionListener.class);
+        final Subscription subscription = testee.subscribeToStream(STREAM_ID, 0, (sub, event) -> received.add(event),
+                (sub, ex) -> dropped.add(ex));
+        verify(client).subscribeToStream(anyString(), captor.capture(), any(SubscribeToStreamOptions.class));
+        final CompletableFuture<io.kurrent.dbclient.Subscription> pending = new CompletableFuture<>();
+        when(client.subscribeToStream(anyString(), any(SubscriptionListener.class), any(SubscribeToStreamOptions.class)))
+                .thenReturn(pending);
+        captor.getValue().onCancelled(serverSubscription, new RuntimeException("Connection lost"));
+        verifySubscribeCalls(timeout(1000).times(2));
+
+        // TEST
+        testee.unsubscribeFromStream(subscription);
+        final io.kurrent.dbclient.Subscription lateSubscription = mock(io.kurrent.dbclient.Subscription.class);
+        pending.complete(lateSubscription);
+
+        // VERIFY
+        verify(lateSubscription).stop();
+        assertThat(dropped).isEmpty();
+
+    }
+
+    private ESGrpcEventStore createTestee(final int retries, final Duration retryDelay) {
+        return new ESGrpcEventStore.Builder()
+                .eventStore(client)
+                .serDesRegistry(registry)
+                .baseTypeFactory(new BaseTypeFactory())
+                .targetContentType(JSON_UTF8)
+                .subscriptionRetries(retries)
+                .subscriptionRetryDelay(retryDelay)
+                .build();
+    }
+
+    private SubscriptionListener subscribe(final ESGrpcEventStore testee) {
+        testee.subscribeToStream(STREAM_ID, 0, (sub, event) -> received.add(event), (sub, ex) -> dropped.add(ex));
+        final ArgumentCaptor<SubscriptionListener> captor = ArgumentCaptor.forClass(SubscriptionListener.class);
+        verify(client).subscribeToStream(anyString(), captor.capture(), any(SubscribeToStreamOptions.class));
+        return captor.getValue();
+    }
+
+    private void verifySubscribeCalls(final VerificationMode mode) {
+        verify(client, mode).subscribeToStream(anyString(), any(SubscriptionListener.class),
+                any(SubscribeToStreamOptions.class));
+    }
+
+    private ResolvedEvent event(final long revision) {
+        final MyEvent myEvent = new MyEvent(UUID.randomUUID(), "Event " + revision);
+        final CommonEvent2EventDataConverter converter = new CommonEvent2EventDataConverter(registry,
+                new BaseTypeFactory(), JSON_UTF8);
+        final EventData eventData = converter.convert(new SimpleCommonEvent(new EventId(myEvent.getId()),
+                MyEvent.TYPE, myEvent));
+        return new ResolvedEvent(recordedEvent(STREAM_ID.asString(), revision, eventData.getEventId(),
+                new Position(0, 0), systemMetadata(eventData.getContentType(), 0, true, eventData.getEventType()),
+                eventData.getEventData(), eventData.getUserMetadata()), null, null);
+    }
+
+}
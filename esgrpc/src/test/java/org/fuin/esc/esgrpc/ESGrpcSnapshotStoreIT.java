@@ -0,0 +1,86 @@
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.KurrentDBClient;
+import io.kurrent.dbclient.KurrentDBClientSettings;
+import io.kurrent.dbclient.KurrentDBConnectionString;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.SerDeserializerRegistry;
+import org.fuin.esc.api.SerializedDataTypeRegistry;
+import org.fuin.esc.api.SimpleSerializedDataTypeRegistry;
+import org.fuin.esc.api.SimpleSerializerDeserializerRegistry;
+import org.fuin.esc.api.SimpleStreamId;
+import org.fuin.esc.api.Snapshot;
+import org.fuin.esc.api.StreamId;
+import org.fuin.esc.jsonb.JsonbSerDeserializer;
+import org.fuin.utils4j.TestOmitted;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link ESGrpcSnapshotStore} class.
+ */
+@TestOmitted("This is only a test class")
+@SuppressWarnings("java:S2187")
+class ESGrpcSnapshotStoreIT extends AbstractTest {
+
+    private static KurrentDBClient client;
+
+    private ESGrpcSnapshotStore testee;
+
+    @BeforeAll
+    static void beforeAll() {
+        final KurrentDBClientSettings setts = KurrentDBConnectionString
+                .parseOrThrow("esdb://localhost:2113?tls=false");
+        client = KurrentDBClient.create(setts);
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        final SerializedDataTypeRegistry typeRegistry = new SimpleSerializedDataTypeRegistry.Builder()
+                .add(MyEvent.SER_TYPE, MyEvent.class)
+                .build();
+        final JsonbSerDeserializer serDeser = new JsonbSerDeserializer(getJsonbProvider(), typeRegistry,
+                StandardCharsets.UTF_8);
+        final SerDeserializerRegistry registry = new SimpleSerializerDeserializerRegistry.Builder(
+                EnhancedMimeType.create("application", "json", StandardCharsets.UTF_8))
+                .add(MyEvent.SER_TYPE, serDeser, serDeser.getMimeType())
+                .build();
+        testee = new ESGrpcSnapshotStore(client, registry, registry);
+    }
+
+    @AfterAll
+    static void afterAll() {
+        client.shutdown();
+        client = null;
+    }
+
+    @Test
+    void testSaveLoadDelete() {
+
+        // GIVEN
+        final StreamId streamId = new SimpleStreamId("grpc-test-snapshot-" + UUID.randomUUID());
+        final MyEvent first = new MyEvent("first");
+        final MyEvent second = new MyEvent("second");
+
+        // WHEN
+        final Snapshot notFound = testee.loadSnapshot(streamId);
+        testee.saveSnapshot(new Snapshot(streamId, 3, MyEvent.TYPE, first));
+        testee.saveSnapshot(new Snapshot(streamId, 7, MyEvent.TYPE, second));
+        final Snapshot loaded = testee.loadSnapshot(streamId);
+        testee.deleteSnapshot(streamId);
+
+        // THEN
+        assertThat(notFound).isNull();
+        assertThat(loaded).isEqualTo(new Snapshot(streamId, 7, MyEvent.TYPE, second));
+        assertThat(testee.loadSnapshot(streamId)).isNull();
+
+    }
+
+}
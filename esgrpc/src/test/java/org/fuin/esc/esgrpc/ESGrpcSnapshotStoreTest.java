@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import jakarta.json.JsonObject;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the metadata handling of the class {@link ESGrpcSnapshotStore}. Reading and writing snapshots is tested in
+ * {@link ESGrpcSnapshotStoreIT}.
+ */
+public class ESGrpcSnapshotStoreTest {
+
+    @Test
+    public void testWriteReadMetaWithQuotedParameter() {
+
+        // PREPARE
+        final EnhancedMimeType mimeType = EnhancedMimeType.create("application/json; encoding=UTF-8; note=\"a; \\\"b\\\"\"");
+
+        // TEST
+        final byte[] meta = ESGrpcSnapshotStore.writeMeta(4711L, mimeType);
+        final JsonObject testee = ESGrpcSnapshotStore.readMeta(meta, "snapshot-abc");
+
+        // VERIFY
+        assertThat(testee.getJsonNumber("version").longValueExact()).isEqualTo(4711L);
+        assertThat(EnhancedMimeType.create(testee.getString("contentType"))).isEqualTo(mimeType);
+
+    }
+
+    @Test
+    public void testReadInvalidMeta() {
+
+        final byte[] meta = "{\"version\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> ESGrpcSnapshotStore.readMeta(meta, "snapshot-abc"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Invalid snapshot metadata in stream 'snapshot-abc': {\"version\":\"1\"}");
+
+    }
+
+}
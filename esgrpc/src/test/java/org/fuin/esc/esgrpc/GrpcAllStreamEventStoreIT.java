@@ -0,0 +1,65 @@
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.KurrentDBClient;
+import io.kurrent.dbclient.KurrentDBClientSettings;
+import io.kurrent.dbclient.KurrentDBConnectionString;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.SimpleSerializerDeserializerRegistry;
+import org.fuin.utils4j.TestOmitted;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link GrpcAllStreamEventStore} class.
+ */
+@TestOmitted("This is only a test class")
+@SuppressWarnings("java:S2187")
+class GrpcAllStreamEventStoreIT {
+
+    private static KurrentDBClient client;
+
+    private GrpcAllStreamEventStore testee;
+
+    @BeforeAll
+    static void beforeAll() {
+        final KurrentDBClientSettings setts = KurrentDBConnectionString
+                .parseOrThrow("esdb://localhost:2113?tls=false");
+        client = KurrentDBClient.create(setts);
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        testee = new GrpcAllStreamEventStore.Builder()
+                .eventStore(client)
+                .desRegistry(new SimpleSerializerDeserializerRegistry.Builder(
+                        EnhancedMimeType.create("application", "json", StandardCharsets.UTF_8)).build())
+                .build();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        client.shutdown();
+        client = null;
+    }
+
+    @Test
+    void testReadNoMatchingEvents() {
+
+        // WHEN
+        final AllEventsSlice slice = testee.readAllEventsForward(null, 10,
+                AllStreamFilter.streamNamePrefixes("grpc-test-all-" + UUID.randomUUID()));
+
+        // THEN
+        assertThat(slice.getEvents()).isEmpty();
+        assertThat(slice.isEndOfStream()).isTrue();
+
+    }
+
+}
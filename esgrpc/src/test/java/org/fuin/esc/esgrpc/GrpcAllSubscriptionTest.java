@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the class {@link GrpcAllSubscription}.
+ */
+public class GrpcAllSubscriptionTest {
+
+    @Test
+    public void testCreate() {
+
+        // PREPARE
+        final AllStreamFilter filter = AllStreamFilter.eventTypePrefixes("Order");
+
+        // TEST
+        final GrpcAllSubscription testee = new GrpcAllSubscription(4711, filter);
+
+        // VERIFY
+        assertThat(testee.getSubscriberId()).isEqualTo(4711);
+        assertThat(testee.getFilter()).isEqualTo(filter);
+
+    }
+
+    @Test
+    public void testCompareTo() {
+        final AllStreamFilter filter = AllStreamFilter.excludeSystemEvents();
+        assertThat(new GrpcAllSubscription(1, filter).compareTo(new GrpcAllSubscription(2, filter))).isNegative();
+        assertThat(new GrpcAllSubscription(2, filter).compareTo(new GrpcAllSubscription(2, filter))).isZero();
+    }
+
+    @Test
+    public void testEqualsHashCode() {
+        EqualsVerifier.forClass(GrpcAllSubscription.class).suppress(Warning.ALL_FIELDS_SHOULD_BE_USED).verify();
+    }
+
+}
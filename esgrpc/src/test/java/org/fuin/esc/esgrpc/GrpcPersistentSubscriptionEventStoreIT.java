@@ -0,0 +1,82 @@
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.KurrentDBClientSettings;
+import io.kurrent.dbclient.KurrentDBConnectionString;
+import io.kurrent.dbclient.KurrentDBPersistentSubscriptionsClient;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.SimpleSerializerDeserializerRegistry;
+import org.fuin.esc.api.SimpleStreamId;
+import org.fuin.esc.api.StreamId;
+import org.fuin.utils4j.TestOmitted;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the {@link GrpcPersistentSubscriptionEventStore} class.
+ */
+@TestOmitted("This is only a test class")
+@SuppressWarnings("java:S2187")
+class GrpcPersistentSubscriptionEventStoreIT {
+
+    private static KurrentDBPersistentSubscriptionsClient client;
+
+    private GrpcPersistentSubscriptionEventStore testee;
+
+    @BeforeAll
+    static void beforeAll() {
+        final KurrentDBClientSettings setts = KurrentDBConnectionString
+                .parseOrThrow("esdb://localhost:2113?tls=false");
+        client = KurrentDBPersistentSubscriptionsClient.create(setts);
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        testee = new GrpcPersistentSubscriptionEventStore.Builder()
+                .eventStore(client)
+                .desRegistry(new SimpleSerializerDeserializerRegistry.Builder(
+                        EnhancedMimeType.create("application", "json", StandardCharsets.UTF_8)).build())
+                .build();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        client.shutdown();
+        client = null;
+    }
+
+    @Test
+    void testConsumerGroupNotExists() {
+        assertThat(testee.consumerGroupExists(new SimpleStreamId("grpc-test-ps-not-existing"), "group")).isFalse();
+    }
+
+    @Test
+    void testCreateExistsDeleteConsumerGroup() {
+
+        // GIVEN
+        final StreamId streamId = new SimpleStreamId("grpc-test-ps-create");
+        assertThat(testee.consumerGroupExists(streamId, "group")).isFalse();
+
+        // WHEN
+        testee.createConsumerGroup(streamId, "group", 0, 3);
+
+        // THEN
+        assertThat(testee.consumerGroupExists(streamId, "group")).isTrue();
+        assertThatThrownBy(() -> testee.createConsumerGroup(streamId, "group", 0, 3))
+                .isInstanceOf(IllegalStateException.class);
+
+        // WHEN
+        testee.deleteConsumerGroup(streamId, "group");
+
+        // THEN
+        assertThat(testee.consumerGroupExists(streamId, "group")).isFalse();
+
+    }
+
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the class {@link ListConverter}.
+ */
+public class ListConverterTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void beforeEach() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testBelowThresholdUsesCallingThread() {
+
+        // PREPARE
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final ListConverter<Integer, String> testee = new ListConverter<>(i -> {
+            threads.add(Thread.currentThread());
+            return "" + i;
+        }, pool, 10);
+
+        // TEST
+        final List<String> result = testee.convert(List.of(1, 2, 3));
+
+        // VERIFY
+        assertThat(result).containsExactly("1", "2", "3");
+        assertThat(threads).containsExactly(Thread.currentThread());
+
+    }
+
+    @Test
+    public void testParallelKeepsOrder() {
+
+        // PREPARE
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final ListConverter<Integer, String> testee = new ListConverter<>(i -> {
+            threads.add(Thread.currentThread());
+            return "" + i;
+        }, pool, 10);
+        final List<Integer> source = IntStream.range(0, 1000).boxed().toList();
+
+        // TEST
+        final List<String> result = testee.convert(source);
+
+        // VERIFY
+        assertThat(result).containsExactlyElementsOf(source.stream().map(i -> "" + i).toList());
+        assertThat(threads).doesNotContain(Thread.currentThread());
+
+    }
+
+    @Test
+    public void testNoPoolIsSequential() {
+
+        final ListConverter<Integer, Integer> testee = new ListConverter<>(i -> i * 2, null, 2);
+
+        assertThat(testee.convert(List.of(1, 2, 3))).containsExactly(2, 4, 6);
+
+    }
+
+    @Test
+    public void testResultIsUnmodifiable() {
+
+        // PREPARE
+        final ListConverter<Integer, Integer> testee = new ListConverter<>(i -> i, pool, 10);
+        final List<Integer> small = testee.convert(List.of(1, 2, 3));
+        final List<Integer> large = testee.convert(IntStream.range(0, 100).boxed().toList());
+
+        // TEST & VERIFY
+        assertThatThrownBy(() -> small.add(4)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> large.add(100)).isInstanceOf(UnsupportedOperationException.class);
+
+    }
+
+    @Test
+    public void testParallelRethrowsRuntimeException() {
+
+        // PREPARE
+        final ListConverter<Integer, Integer> testee = new ListConverter<>(i -> {
+            if (i == 50) {
+                throw new IllegalStateException("Conversion failed");
+            }
+            return i;
+        }, pool, 10);
+        final List<Integer> source = IntStream.range(0, 100).boxed().toList();
+
+        // TEST & VERIFY
+        assertThatThrownBy(() -> testee.convert(source)).isInstanceOf(IllegalStateException.class);
+
+    }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.ResolvedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the class {@link PersistentSubscriptionAckBuffer}.
+ */
+public class PersistentSubscriptionAckBufferTest {
+
+    @Test
+    public void testBatchSizeReached() {
+
+        // PREPARE
+        final List<Runnable> scheduled = new ArrayList<>();
+        final List<List<ResolvedEvent>> sent = new ArrayList<>();
+        final PersistentSubscriptionAckBuffer testee = new PersistentSubscriptionAckBuffer(3, scheduled::add, sent::add);
+        final ResolvedEvent one = event();
+        final ResolvedEvent two = event();
+        final ResolvedEvent three = event();
+
+        // TEST
+        testee.add(one);
+        testee.add(two);
+        assertThat(sent).isEmpty();
+        testee.add(three);
+
+        // VERIFY
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0)).containsExactly(one, two, three);
+        assertThat(testee.size()).isZero();
+        assertThat(scheduled).hasSize(1);
+
+    }
+
+    @Test
+    public void testScheduledFlush() {
+
+        // PREPARE
+        final List<Runnable> scheduled = new ArrayList<>();
+        final List<List<ResolvedEvent>> sent = new ArrayList<>();
+        final PersistentSubscriptionAckBuffer testee = new PersistentSubscriptionAckBuffer(10, scheduled::add, sent::add);
+        final ResolvedEvent one = event();
+        final ResolvedEvent two = event();
+        testee.add(one);
+        testee.add(two);
+        assertThat(scheduled).hasSize(1);
+
+        // TEST
+        scheduled.get(0).run();
+
+        // VERIFY
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0)).containsExactly(one, two);
+
+        // A new event schedules a new flush
+        testee.add(event());
+        assertThat(scheduled).hasSize(2);
+
+    }
+
+    @Test
+    public void testFlushAndClear() {
+
+        // PREPARE
+        final List<List<ResolvedEvent>> sent = new ArrayList<>();
+        final PersistentSubscriptionAckBuffer testee = new PersistentSubscriptionAckBuffer(10, runnable -> {
+        }, sent::add);
+
+        // TEST & VERIFY
+        testee.flush();
+        assertThat(sent).isEmpty();
+
+        testee.add(event());
+        testee.flush();
+        assertThat(sent).hasSize(1);
+
+        testee.add(event());
+        testee.clear();
+        testee.flush();
+        assertThat(sent).hasSize(1);
+
+    }
+
+    private static ResolvedEvent event() {
+        return new ResolvedEvent(null, null, null);
+    }
+
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import io.kurrent.dbclient.ReadMessage;
+import io.kurrent.dbclient.ResolvedEvent;
+import org.fuin.esc.api.CommonEvent;
+import org.fuin.esc.api.EventId;
+import org.fuin.esc.api.SimpleCommonEvent;
+import org.fuin.esc.api.TypeName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the class {@link ReadMessagePublisher}.
+ */
+public class ReadMessagePublisherTest {
+
+    private static final TypeName TYPE = new TypeName("Test");
+
+    @Test
+    public void testDemandIsPassedThrough() {
+
+        // PREPARE
+        final FakeSource source = new FakeSource();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        final ReadMessagePublisher testee = new ReadMessagePublisher(source, converter(), Function.identity());
+
+        // TEST
+        testee.subscribe(subscriber);
+        subscriber.subscription.request(2);
+
+        // VERIFY
+        assertThat(source.requested).isEqualTo(2);
+        source.subscriber.onNext(event());
+        source.subscriber.onNext(event());
+        assertThat(subscriber.events).hasSize(2);
+        source.subscriber.onComplete();
+        assertThat(subscriber.completed).isTrue();
+
+    }
+
+    @Test
+    public void testMessagesWithoutEventAreSkipped() {
+
+        // PREPARE
+        final FakeSource source = new FakeSource();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        final ReadMessagePublisher testee = new ReadMessagePublisher(source, converter(), Function.identity());
+        testee.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        // TEST
+        source.subscriber.onNext(ReadMessage.fromFirstStreamPosition(0));
+
+        // VERIFY
+        assertThat(subscriber.events).isEmpty();
+        assertThat(source.requested).isEqualTo(2);
+
+    }
+
+    @Test
+    public void testConversionErrorCancels() {
+
+        // PREPARE
+        final FakeSource source = new FakeSource();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        final IllegalStateException error = new IllegalStateException("Conversion failed");
+        final ReadMessagePublisher testee = new ReadMessagePublisher(source, resolvedEvent -> {
+            throw error;
+        }, Function.identity());
+        testee.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        // TEST
+        source.subscriber.onNext(event());
+        source.subscriber.onComplete();
+
+        // VERIFY
+        assertThat(source.cancelled).isTrue();
+        assertThat(subscriber.error).isSameAs(error);
+        assertThat(subscriber.completed).isFalse();
+
+    }
+
+    @Test
+    public void testErrorIsMapped() {
+
+        // PREPARE
+        final FakeSource source = new FakeSource();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        final ReadMessagePublisher testee = new ReadMessagePublisher(source, converter(),
+                ex -> new IllegalStateException("Mapped", ex));
+        testee.subscribe(subscriber);
+
+        // TEST
+        source.subscriber.onError(new RuntimeException("Original"));
+
+        // VERIFY
+        assertThat(subscriber.error).isInstanceOf(IllegalStateException.class).hasMessage("Mapped");
+
+    }
+
+    @Test
+    public void testNonPositiveRequest() {
+
+        // PREPARE
+        final FakeSource source = new FakeSource();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        final ReadMessagePublisher testee = new ReadMessagePublisher(source, converter(), Function.identity());
+        testee.subscribe(subscriber);
+
+        // TEST
+        subscriber.subscription.request(0);
+
+        // VERIFY
+        assertThat(source.cancelled).isTrue();
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+
+    }
+
+    private static Function<ResolvedEvent, CommonEvent> converter() {
+        return resolvedEvent -> new SimpleCommonEvent(new EventId(), TYPE, "data");
+    }
+
+    private static ReadMessage event() {
+        return ReadMessage.fromEvent(new ResolvedEvent(null, null, null));
+    }
+
+    private static final class FakeSource implements Publisher<ReadMessage> {
+
+        private Subscriber<? super ReadMessage> subscriber;
+
+        private long requested;
+
+        private boolean cancelled;
+
+        @Override
+        public void subscribe(final Subscriber<? super ReadMessage> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(final long n) {
+                    requested = requested + n;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<CommonEvent> {
+
+        private final List<CommonEvent> events = new ArrayList<>();
+
+        private Flow.Subscription subscription;
+
+        private Throwable error;
+
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final CommonEvent item) {
+            events.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+
+    }
+
+}
@@ -35,14 +35,14 @@ import org.fuin.esc.jsonb.JsonbSerDeserializer;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.esc.esgrpc.TestUtils.recordedEvent;
+import static org.fuin.esc.esgrpc.TestUtils.systemMetadata;
 
 /**
  * Test for {@link RecordedEvent2CommonEventConverter} class.
@@ -378,34 +378,186 @@ public class RecordedEvent2CommonEventConverterTest extends AbstractTest {
 
     }
 
-    private static Map<String, String> systemMetadata(String contentType, long created, boolean json, String type) {
-        final Map<String, String> map = new HashMap<>();
-        map.put("content-type", contentType);
-        map.put("created", "" + created);
-        map.put("is-json", "" + json);
-        map.put("type", type);
-        return map;
+    /**
+     * Tests lazy conversion with envelope XML + meta XML + data XML
+     */
+    @Test
+    public final void testConvertLazy() throws IOException {
+
+        // PREPARE
+        final XmlDeSerializer xmlSerDeser = EscJaxbUtils.xmlDeSerializerBuilder().add(MyEvent.class).add(MyMeta.class).build();
+        final SerDeserializerRegistry serDeserRegistry =
+                EscJaxbUtils.addEscSerDeserializer(new SimpleSerializerDeserializerRegistry.Builder(XML_UTF8), xmlSerDeser)
+                        .add(MyMeta.SER_TYPE, xmlSerDeser, xmlSerDeser.getMimeType())
+                        .add(MyEvent.SER_TYPE, xmlSerDeser, xmlSerDeser.getMimeType())
+                        .build();
+
+        final MyEvent myEvent = new MyEvent(UUID.randomUUID(), "Hello, lazy!");
+        final MyMeta myMeta = new MyMeta("michael");
+        final CommonEvent commonEvent = new SimpleCommonEvent(new EventId(myEvent.getId()), MyEvent.TYPE, myEvent,
+                MyMeta.TYPE, myMeta);
+
+        final CommonEvent2EventDataConverter converter = new CommonEvent2EventDataConverter(serDeserRegistry, new org.fuin.esc.jaxb.BaseTypeFactory(), XML_UTF8);
+        final EventData eventData = converter.convert(commonEvent);
+
+        final RecordedEvent recordedEvent = recordedEvent("mystream", 1, eventData.getEventId(), new Position(0, 0),
+                systemMetadata(eventData.getContentType(), 0, false, eventData.getEventType()),
+                eventData.getEventData(), eventData.getUserMetadata());
+        final RecordedEvent2CommonEventConverter testee = new RecordedEvent2CommonEventConverter(serDeserRegistry, true);
+
+        // TEST
+        final CommonEvent result = testee.convert(recordedEvent);
+
+        // VERIFY
+        assertThat(result.getId()).isEqualTo(new EventId(myEvent.getId()));
+        assertThat(result.getDataType()).isEqualTo(MyEvent.TYPE);
+        assertThat(result.getMetaType()).isEqualTo(MyMeta.TYPE);
+        assertThat(result.getMeta()).isInstanceOf(MyMeta.class);
+        assertThat(((MyMeta) result.getMeta()).getUser()).isEqualTo(myMeta.getUser());
+        assertThat(result.getData()).isInstanceOf(MyEvent.class);
+        assertThat(((MyEvent) result.getData()).getDescription()).isEqualTo(myEvent.getDescription());
+        assertThat(result.getData()).isSameAs(result.getData());
+
     }
 
-    private static RecordedEvent recordedEvent(String eventStreamId,
-                                               long streamRevision,
-                                               UUID eventId,
-                                               Position position,
-                                               Map<String, String> systemMetadata,
-                                               byte[] eventData,
-                                               byte[] userMetadata) {
-
-        try {
-            final Constructor<RecordedEvent> constructor = RecordedEvent.class.getDeclaredConstructor(String.class,
-                    long.class, UUID.class, Position.class, Map.class, byte[].class, byte[].class);
-            constructor.setAccessible(true);
-            return constructor.newInstance(eventStreamId, streamRevision, eventId, position, systemMetadata, eventData,
-                    userMetadata);
-        } catch (NoSuchMethodException | InstantiationException | InvocationTargetException | IllegalAccessException
-                 | IllegalArgumentException ex) {
-            throw new RuntimeException("Failed to create " + RecordedEvent.class.getSimpleName(), ex);
-        }
+    /**
+     * Tests that the meta type of a lazy event is read from the envelope without deserializing the meta data.
+     */
+    @Test
+    public final void testConvertLazyMetaTypeWithoutMeta() {
+
+        // PREPARE
+        final XmlDeSerializer xmlSerDeser = EscJaxbUtils.xmlDeSerializerBuilder().add(MyEvent.class).add(MyMeta.class).build();
+        final SerDeserializerRegistry serDeserRegistry =
+                EscJaxbUtils.addEscSerDeserializer(new SimpleSerializerDeserializerRegistry.Builder(XML_UTF8), xmlSerDeser)
+                        .add(MyMeta.SER_TYPE, xmlSerDeser, xmlSerDeser.getMimeType())
+                        .add(MyEvent.SER_TYPE, xmlSerDeser, xmlSerDeser.getMimeType())
+                        .build();
+        final MyEvent myEvent = new MyEvent(UUID.randomUUID(), "Hello, meta type!");
+        final CommonEvent commonEvent = new SimpleCommonEvent(new EventId(myEvent.getId()), MyEvent.TYPE, myEvent,
+                MyMeta.TYPE, new MyMeta("michael"));
+        final EventData eventData = new CommonEvent2EventDataConverter(serDeserRegistry,
+                new org.fuin.esc.jaxb.BaseTypeFactory(), XML_UTF8).convert(commonEvent);
+        final RecordedEvent recordedEvent = recordedEvent("mystream", 1, eventData.getEventId(), new Position(0, 0),
+                systemMetadata(eventData.getContentType(), 0, false, eventData.getEventType()),
+                eventData.getEventData(), eventData.getUserMetadata());
+
+        // Registry without a deserializer for the meta data
+        final XmlDeSerializer readSerDeser = EscJaxbUtils.xmlDeSerializerBuilder().add(MyEvent.class).build();
+        final SerDeserializerRegistry readRegistry =
+                EscJaxbUtils.addEscSerDeserializer(new SimpleSerializerDeserializerRegistry.Builder(XML_UTF8), readSerDeser)
+                        .add(MyEvent.SER_TYPE, readSerDeser, readSerDeser.getMimeType())
+                        .build();
+        final RecordedEvent2CommonEventConverter testee = new RecordedEvent2CommonEventConverter(readRegistry, true);
+
+        // TEST
+        final CommonEvent result = testee.convert(recordedEvent);
+
+        // VERIFY
+        assertThat(result.getMetaType()).isEqualTo(MyMeta.TYPE);
+        assertThat(((MyEvent) result.getData()).getDescription()).isEqualTo(myEvent.getDescription());
+        assertThatThrownBy(result::getMeta).isInstanceOf(RuntimeException.class);
+
     }
 
-}
+    /**
+     * Tests that equals is symmetric between a lazy event and a simple event with the same ID.
+     */
+    @Test
+    public final void testConvertLazyEqualsSymmetric() {
+
+        // PREPARE
+        final UUID id = UUID.randomUUID();
+        final byte[] invalid = "<invalid".getBytes(StandardCharsets.UTF_8);
+        final RecordedEvent recordedEvent = recordedEvent("mystream", 1, id, new Position(0, 0),
+                systemMetadata("application/octet-stream", 0, false, MyEvent.TYPE.asBaseType()), invalid, invalid);
+        final RecordedEvent2CommonEventConverter testee = new RecordedEvent2CommonEventConverter(
+                new SimpleSerializerDeserializerRegistry.Builder(XML_UTF8).build(), true);
+        final CommonEvent simple = new SimpleCommonEvent(new EventId(id), MyEvent.TYPE, "data");
+
+        // TEST
+        final CommonEvent lazy = testee.convert(recordedEvent);
+
+        // VERIFY
+        assertThat(lazy.equals(simple)).isEqualTo(simple.equals(lazy));
+        assertThat(lazy).isEqualTo(lazy);
+
+    }
+
+    /**
+     * Tests that a lazy event can be created from an event with an invalid payload that is never accessed.
+     */
+    @Test
+    public final void testConvertLazyDefersDeserialization() {
+
+        // PREPARE
+        final XmlDeSerializer xmlSerDeser = EscJaxbUtils.xmlDeSerializerBuilder().add(MyEvent.class).build();
+        final SerDeserializerRegistry serDeserRegistry =
+                EscJaxbUtils.addEscSerDeserializer(new SimpleSerializerDeserializerRegistry.Builder(XML_UTF8), xmlSerDeser)
+                        .add(MyEvent.SER_TYPE, xmlSerDeser, xmlSerDeser.getMimeType())
+                        .build();
+        final UUID id = UUID.randomUUID();
+        final byte[] invalid = "<invalid".getBytes(StandardCharsets.UTF_8);
+        final RecordedEvent recordedEvent = recordedEvent("mystream", 1, id, new Position(0, 0),
+                systemMetadata("application/octet-stream", 0, false, MyEvent.TYPE.asBaseType()), invalid, invalid);
+        final RecordedEvent2CommonEventConverter testee = new RecordedEvent2CommonEventConverter(serDeserRegistry, true);
+
+        // TEST
+        final CommonEvent result = testee.convert(recordedEvent);
+
+        // VERIFY
+        assertThat(result.getId()).isEqualTo(new EventId(id));
+        assertThat(result.getDataType()).isEqualTo(MyEvent.TYPE);
+        assertThatThrownBy(result::getData).isInstanceOf(RuntimeException.class);
+
+    }
+
+    /**
+     * Tests envelope JSON + meta XML + data JSON with everything compressed
+     */
+    @Test
+    public final void testConvertCompressed() throws IOException {
+
+        // PREPARE
+        final SerializedDataTypeRegistry jsonTypeRegistry =
+                EscJsonbUtils.addEscTypes(new SimpleSerializedDataTypeRegistry.Builder())
+                        .add(MyEvent.SER_TYPE, MyEvent.class)
+                        .build();
+        final JsonbSerDeserializer jsonbSerDeser = new JsonbSerDeserializer(getJsonbProvider(), jsonTypeRegistry, StandardCharsets.UTF_8);
+        final XmlDeSerializer xmlSerDeser = XmlDeSerializer.builder().add(MyMeta.class).build();
+        final SerDeserializerRegistry serDeserRegistry =
+                EscJsonbUtils.addEscSerDeserializer(new SimpleSerializerDeserializerRegistry.Builder(JSON_UTF8), jsonbSerDeser)
+                        .add(MyMeta.SER_TYPE, xmlSerDeser, xmlSerDeser.getMimeType())
+                        .add(MyEvent.SER_TYPE, jsonbSerDeser, jsonbSerDeser.getMimeType())
+                        .build();
+        TestUtils.register(getJsonbConfig(), serDeserRegistry, serDeserRegistry);
+
+        final MyEvent myEvent = new MyEvent(UUID.randomUUID(), "Hello, GZIP! ".repeat(100));
+        final MyMeta myMeta = new MyMeta("michael");
+        final CommonEvent commonEvent = new SimpleCommonEvent(new EventId(myEvent.getId()), MyEvent.TYPE, myEvent,
+                MyMeta.TYPE, myMeta);
+
+        final CommonEvent2EventDataConverter converter = new CommonEvent2EventDataConverter(serDeserRegistry,
+                new org.fuin.esc.jsonb.BaseTypeFactory(), JSON_UTF8, 0, Map.of());
+        final EventData eventData = converter.convert(commonEvent);
+        assertThat(new String(eventData.getUserMetadata(), StandardCharsets.UTF_8))
+                .contains("application/json; transfer-encoding=gzip+base64")
+                .contains("application/xml; transfer-encoding=gzip+base64");
 
+        final RecordedEvent recordedEvent = recordedEvent("mystream", 1, eventData.getEventId(), new Position(0, 0),
+                systemMetadata(eventData.getContentType(), 0, true, eventData.getEventType()), eventData.getEventData(),
+                eventData.getUserMetadata());
+        final RecordedEvent2CommonEventConverter testee = new RecordedEvent2CommonEventConverter(serDeserRegistry);
+
+        // TEST
+        final CommonEvent result = testee.convert(recordedEvent);
+
+        // VERIFY
+        assertThat(result.getData()).isInstanceOf(MyEvent.class);
+        assertThat(((MyEvent) result.getData()).getDescription()).isEqualTo(myEvent.getDescription());
+        assertThat(result.getMeta()).isInstanceOf(MyMeta.class);
+        assertThat(((MyMeta) result.getMeta()).getUser()).isEqualTo(myMeta.getUser());
+
+    }
+
+}
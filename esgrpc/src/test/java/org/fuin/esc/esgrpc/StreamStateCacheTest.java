@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.esgrpc;
+
+import org.fuin.esc.api.StreamState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the class {@link StreamStateCache}.
+ */
+public class StreamStateCacheTest {
+
+    @Test
+    public void testGetBeforeAndAfterExpiration() {
+
+        // PREPARE
+        final AtomicLong clock = new AtomicLong(1000);
+        final StreamStateCache testee = new StreamStateCache(Duration.ofNanos(100), 10, clock::get);
+        testee.put("a", StreamState.ACTIVE);
+
+        // TEST & VERIFY
+        clock.set(1099);
+        assertThat(testee.get("a")).isEqualTo(StreamState.ACTIVE);
+        clock.set(1100);
+        assertThat(testee.get("a")).isNull();
+        assertThat(testee.size()).isZero();
+
+    }
+
+    @Test
+    public void testUnknown() {
+
+        final StreamStateCache testee = new StreamStateCache(Duration.ofSeconds(1), 10);
+        assertThat(testee.get("a")).isNull();
+
+    }
+
+    @Test
+    public void testRemove() {
+
+        // PREPARE
+        final StreamStateCache testee = new StreamStateCache(Duration.ofSeconds(1), 10);
+        testee.put("a", StreamState.HARD_DELETED);
+
+        // TEST
+        testee.remove("a");
+
+        // VERIFY
+        assertThat(testee.get("a")).isNull();
+
+    }
+
+    @Test
+    public void testPutPurgesExpiredEntries() {
+
+        // PREPARE
+        final AtomicLong clock = new AtomicLong(0);
+        final StreamStateCache testee = new StreamStateCache(Duration.ofNanos(10), 2, clock::get);
+        testee.put("a", StreamState.ACTIVE);
+        clock.set(5);
+        testee.put("b", StreamState.ACTIVE);
+        clock.set(12);
+
+        // TEST
+        testee.put("c", StreamState.ACTIVE);
+
+        // VERIFY
+        assertThat(testee.size()).isEqualTo(2);
+        assertThat(testee.get("b")).isEqualTo(StreamState.ACTIVE);
+        assertThat(testee.get("c")).isEqualTo(StreamState.ACTIVE);
+
+    }
+
+    @Test
+    public void testPutClearsWhenFullOfValidEntries() {
+
+        // PREPARE
+        final StreamStateCache testee = new StreamStateCache(Duration.ofSeconds(10), 2);
+        testee.put("a", StreamState.ACTIVE);
+        testee.put("b", StreamState.ACTIVE);
+
+        // TEST
+        testee.put("c", StreamState.ACTIVE);
+
+        // VERIFY
+        assertThat(testee.size()).isEqualTo(1);
+        assertThat(testee.get("c")).isEqualTo(StreamState.ACTIVE);
+
+    }
+
+}
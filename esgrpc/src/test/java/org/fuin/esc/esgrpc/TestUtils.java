@@ -1,5 +1,7 @@
 package org.fuin.esc.esgrpc;
 
+import io.kurrent.dbclient.Position;
+import io.kurrent.dbclient.RecordedEvent;
 import jakarta.json.bind.JsonbConfig;
 import org.eclipse.yasson.FieldAccessStrategy;
 import org.fuin.esc.api.DeserializerRegistry;
@@ -10,7 +12,12 @@ import org.fuin.esc.jsonb.JsonbSerDeserializer;
 import org.fuin.objects4j.jsonb.JsonbProvider;
 import org.fuin.utils4j.TestOmitted;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 
 /**
@@ -47,4 +54,34 @@ final class TestUtils {
         jsonbConfig.withDeserializers(EscJsonbUtils.createEscJsonbDeserializers(serializerRegistry, deserializerRegistry));
         jsonbConfig.withSerializers(EscJsonbUtils.createEscJsonbSerializers(serializerRegistry, deserializerRegistry));
     }
+
+    public static Map<String, String> systemMetadata(String contentType, long created, boolean json, String type) {
+        final Map<String, String> map = new HashMap<>();
+        map.put("content-type", contentType);
+        map.put("created", "" + created);
+        map.put("is-json", "" + json);
+        map.put("type", type);
+        return map;
+    }
+
+    public static RecordedEvent recordedEvent(String eventStreamId,
+                                               long streamRevision,
+                                               UUID eventId,
+                                               Position position,
+                                               Map<String, String> systemMetadata,
+                                               byte[] eventData,
+                                               byte[] userMetadata) {
+
+        try {
+            final Constructor<RecordedEvent> constructor = RecordedEvent.class.getDeclaredConstructor(String.class,
+                    long.class, UUID.class, Position.class, Map.class, byte[].class, byte[].class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(eventStreamId, streamRevision, eventId, position, systemMetadata, eventData,
+                    userMetadata);
+        } catch (NoSuchMethodException | InstantiationException | InvocationTargetException | IllegalAccessException
+                 | IllegalArgumentException ex) {
+            throw new RuntimeException("Failed to create " + RecordedEvent.class.getSimpleName(), ex);
+        }
+    }
+
 }
@@ -23,8 +23,7 @@ public class Base64DataJacksonDeserializer extends StdDeserializer<Base64Data> {
     @Override
     public Base64Data deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
         final JsonNode node = jp.getCodec().readTree(jp);
-        final String base64Str = node.get(IBase64Data.EL_ROOT_NAME).asText();
-        return new Base64Data(base64Str);
+        return EscJacksonUtils.base64Data(node.get(IBase64Data.EL_ROOT_NAME));
     }
 
 }
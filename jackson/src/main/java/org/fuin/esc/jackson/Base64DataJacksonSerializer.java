@@ -22,7 +22,11 @@ public class Base64DataJacksonSerializer extends StdSerializer<Base64Data> {
     public void serialize(Base64Data base64Data, JsonGenerator generator,
                           SerializerProvider provider) throws IOException {
         generator.writeStartObject();
-        generator.writeStringField(IBase64Data.EL_ROOT_NAME, base64Data.getEncoded());
+        if (generator.canWriteBinaryNatively()) {
+            generator.writeBinaryField(IBase64Data.EL_ROOT_NAME, base64Data.getDecoded());
+        } else {
+            generator.writeStringField(IBase64Data.EL_ROOT_NAME, base64Data.getEncoded());
+        }
         generator.writeEndObject();
     }
 
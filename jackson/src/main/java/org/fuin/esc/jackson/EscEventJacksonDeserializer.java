@@ -50,7 +50,7 @@ public final class EscEventJacksonDeserializer extends StdDeserializer<EscEvent>
             final Object data = EscJacksonUtils.deserialize(dataNode, dataType, dataContentType, deserializerRegistry);
             escEvent.setData(new DataWrapper(data));
         } else {
-            escEvent.setData(new DataWrapper(new Base64Data(base64Node.asText())));
+            escEvent.setData(new DataWrapper(EscJacksonUtils.base64Data(base64Node)));
         }
         return escEvent;
     }
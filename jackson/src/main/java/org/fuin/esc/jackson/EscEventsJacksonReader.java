@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.jackson.ImmutableObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Reads events one by one from a JSON array in the format of a serialized {@link EscEvents} instance. Only the
+ * current event is held in memory, so arbitrary large batches can be processed with {@link #forEachRemaining(java.util.function.Consumer)}.
+ * Closing the reader closes the underlying stream. This class is not thread-safe.
+ */
+public final class EscEventsJacksonReader implements Iterator<EscEvent>, Closeable {
+
+    private final ObjectReader reader;
+
+    private final JsonParser parser;
+
+    private JsonToken token;
+
+    /**
+     * Constructor with mandatory data.
+     *
+     * @param mapperProvider Provides the Jackson mapper with the {@link EscJacksonModule} registered.
+     * @param in             Stream to read the events from.
+     */
+    public EscEventsJacksonReader(@NotNull final ImmutableObjectMapper.Provider mapperProvider,
+                                  @NotNull final InputStream in) {
+        super();
+        Objects.requireNonNull(mapperProvider, "mapperProvider==null");
+        Objects.requireNonNull(in, "in==null");
+        this.reader = mapperProvider.reader().forType(EscEvent.class);
+        try {
+            this.parser = reader.createParser(in);
+            final JsonToken first = parser.nextToken();
+            if (first != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected start of an array, but was: " + first);
+            }
+            token = parser.nextToken();
+        } catch (final IOException ex) {
+            throw new RuntimeException("Error starting to read events array", ex);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (token == JsonToken.START_OBJECT) {
+            return true;
+        }
+        if (token == JsonToken.END_ARRAY) {
+            return false;
+        }
+        throw new IllegalStateException("Expected an event or end of the array, but was: " + token);
+    }
+
+    @Override
+    public EscEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            final EscEvent event = reader.readValue(parser);
+            token = parser.nextToken();
+            return event;
+        } catch (final IOException ex) {
+            throw new RuntimeException("Error reading event", ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.jackson.ImmutableObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * Writes events one by one as UTF-8 JSON array to a stream. The result has the same format as a serialized
+ * {@link EscEvents} instance, but the events are never collected in memory. Closing the writer finishes the
+ * array and closes the underlying stream. This class is not thread-safe.
+ */
+public final class EscEventsJacksonWriter implements Closeable {
+
+    private final ObjectWriter writer;
+
+    private final JsonGenerator generator;
+
+    private boolean closed;
+
+    /**
+     * Constructor with mandatory data.
+     *
+     * @param mapperProvider Provides the Jackson mapper with the {@link EscJacksonModule} registered.
+     * @param out            Stream to write the events to.
+     */
+    public EscEventsJacksonWriter(@NotNull final ImmutableObjectMapper.Provider mapperProvider,
+                                  @NotNull final OutputStream out) {
+        super();
+        Objects.requireNonNull(mapperProvider, "mapperProvider==null");
+        Objects.requireNonNull(out, "out==null");
+        this.writer = mapperProvider.writer().forType(EscEvent.class);
+        try {
+            this.generator = writer.createGenerator(out);
+            generator.writeStartArray();
+        } catch (final IOException ex) {
+            throw new RuntimeException("Error starting events array", ex);
+        }
+    }
+
+    /**
+     * Appends a single event to the array.
+     *
+     * @param event Event to write.
+     */
+    public void write(@NotNull final EscEvent event) {
+        Objects.requireNonNull(event, "event==null");
+        if (closed) {
+            throw new IllegalStateException("Writer is already closed");
+        }
+        try {
+            writer.writeValue(generator, event);
+        } catch (final IOException ex) {
+            throw new RuntimeException("Error writing event: " + event.getEventId(), ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            generator.writeEndArray();
+        } finally {
+            generator.close();
+        }
+    }
+
+}
@@ -19,6 +19,7 @@ package org.fuin.esc.jackson;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
 import org.fuin.esc.api.Deserializer;
 import org.fuin.esc.api.DeserializerRegistry;
@@ -28,6 +29,7 @@ import org.fuin.esc.api.SerializedDataType;
 import org.fuin.esc.api.SerializedDataTypeRegistry;
 import org.fuin.esc.api.Serializer;
 import org.fuin.esc.api.SerializerRegistry;
+import org.fuin.esc.api.TransferEncoding;
 import org.fuin.utils4j.TestOmitted;
 
 import java.io.IOException;
@@ -86,7 +88,8 @@ public final class EscJacksonUtils {
     }
 
     /**
-     * Serializes an object under a given key in different formats depending on type and mime-type.
+     * Serializes an object under a given key in different formats depending on type and mime-type. Content that is
+     * not JSON is written as Base64 string or as raw bytes if the generator supports binary data natively.
      *
      * @param generator          Generator to use for serialization.
      * @param serializerRegistry Registry with known types.
@@ -105,10 +108,15 @@ public final class EscJacksonUtils {
                 // Meta is also JSON (with same encoding) - Just let JSON-B do it's magic
                 generator.writeObjectField(key, data);
             } else {
-                // Meta is something else (like XML, TEXT, ...) - Store it Base64
                 final byte[] bytes = serializer.marshal(data, serDataType);
-                final String base64 = Base64.getEncoder().encodeToString(bytes);
-                generator.writeStringField(key, base64);
+                if (generator.canWriteBinaryNatively()) {
+                    // Binary envelope (like CBOR) - Store the raw bytes
+                    generator.writeBinaryField(key, bytes);
+                } else {
+                    // Meta is something else (like XML, TEXT, ...) - Store it Base64
+                    final String base64 = Base64.getEncoder().encodeToString(bytes);
+                    generator.writeStringField(key, base64);
+                }
             }
         } catch (final IOException ex) {
             throw new IllegalStateException("Failed to serialize '" + key + "': " + data, ex);
@@ -116,7 +124,22 @@ public final class EscJacksonUtils {
     }
 
     /**
-     * Deserializes JSON content depending on type and mime-type.
+     * Creates Base64 data from a node that contains either a Base64 encoded string or raw bytes.
+     *
+     * @param node Node with the data.
+     * @return New instance.
+     */
+    public static Base64Data base64Data(final JsonNode node) {
+        if (node.isBinary()) {
+            return new Base64Data(((BinaryNode) node).binaryValue());
+        }
+        return new Base64Data(node.asText());
+    }
+
+    /**
+     * Deserializes JSON content depending on type and mime-type. Embedded JSON objects are passed as tree to
+     * deserializers that {@link Deserializer#supports(Class) support} it, other deserializers receive the raw bytes.
+     * These are either Base64 encoded or stored natively in binary envelope formats.
      *
      * @param dataNode             JSON structure to deserialize.
      * @param dataType             Type contained in the structure.
@@ -129,20 +152,25 @@ public final class EscJacksonUtils {
                                      final EnhancedMimeType dataContentType,
                                      DeserializerRegistry deserializerRegistry) {
 
-        if (dataContentType.getEncoding() == null) {
-            throw new IllegalStateException("Expected 'meta.data-content-type' to be set, but it's null");
-        }
-
-        byte[] bytes;
+        final Deserializer deserializer = deserializerRegistry.getDeserializer(dataType, dataContentType);
+        final byte[] bytes;
         if (dataNode.getNodeType() == JsonNodeType.STRING) {
             final String base64 = dataNode.asText();
-            bytes = Base64.getDecoder().decode(base64);
+            bytes = TransferEncoding.decode(dataContentType, Base64.getDecoder().decode(base64));
+        } else if (dataNode.isBinary()) {
+            bytes = TransferEncoding.decode(dataContentType, ((BinaryNode) dataNode).binaryValue());
         } else if (dataNode.isObject()) {
+            if (deserializer.supports(dataNode.getClass())) {
+                // Embedded JSON - Convert the tree directly instead of rendering and parsing it again
+                return deserializer.unmarshal(dataNode, dataType, dataContentType);
+            }
+            if (dataContentType.getEncoding() == null) {
+                throw new IllegalStateException("Expected encoding of 'meta.data-content-type' to be set, but it's null: " + dataContentType);
+            }
             bytes = dataNode.toString().getBytes(dataContentType.getEncoding());
         } else {
             throw new IllegalStateException("Unexpected content type '" + dataNode.getNodeType() + "': " + dataNode);
         }
-        final Deserializer deserializer = deserializerRegistry.getDeserializer(dataType, dataContentType);
         return deserializer.unmarshal(bytes, dataType, dataContentType);
 
     }
@@ -49,7 +49,7 @@ public final class EscMetaJacksonDeserializer extends StdDeserializer<EscMeta> {
                 final Object meta = EscJacksonUtils.deserialize(metaNode, metaType, metaContentType, deserializerRegistry);
                 escMeta.setMeta(meta);
             } else {
-                escMeta.setMeta(new Base64Data(base64Node.asText()));
+                escMeta.setMeta(EscJacksonUtils.base64Data(base64Node));
             }
         }
         return escMeta;
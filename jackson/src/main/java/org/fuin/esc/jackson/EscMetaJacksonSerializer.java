@@ -36,9 +36,12 @@ public final class EscMetaJacksonSerializer extends StdSerializer<EscMeta> {
             generator.writeStringField(IEscMeta.EL_META_TYPE, escMeta.getMetaType());
             generator.writeStringField(IEscMeta.EL_META_CONTENT_TYPE, Objects.requireNonNull(escMeta.getMetaContentType()).toString());
             if (escMeta.getMeta() instanceof Base64Data base64data) {
-                generator.writeStringField(IBase64Data.EL_ROOT_NAME, base64data.getEncoded());
+                if (generator.canWriteBinaryNatively()) {
+                    generator.writeBinaryField(IBase64Data.EL_ROOT_NAME, base64data.getDecoded());
+                } else {
+                    generator.writeStringField(IBase64Data.EL_ROOT_NAME, base64data.getEncoded());
+                }
             } else {
-                provider.defaultSerializeField(escMeta.getMetaType(), escMeta.getMeta(), generator);
                 final SerializedDataType serDataType = new SerializedDataType(escMeta.getMetaType());
                 EscJacksonUtils.serialize(generator, serializerRegistry,
                         serDataType, escMeta.getMetaType(), escMeta.getMeta());
@@ -17,31 +17,47 @@
  */
 package org.fuin.esc.jackson;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.CountingOutputStream;
 import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.EscJfrEvents;
+import org.fuin.esc.api.PooledByteArrayOutputStream;
 import org.fuin.esc.api.SerDeserializer;
 import org.fuin.esc.api.SerializedDataType;
 import org.fuin.esc.api.SerializedDataTypeRegistry;
 import org.fuin.objects4j.jackson.ImmutableObjectMapper;
-import org.fuin.utils4j.TestOmitted;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Serializes and deserializes an object from/to JSON using JSON-B. The content type for serialization is always "application/json". This
- * implementation supports only <code>byte[]</code> for unmarshalling content. Trying to use something else will result in an exception.
+ * Serializes and deserializes an object from/to JSON using Jackson. The content type for serialization is "application/json" by default.
+ * A mapper created with a binary factory (like CBOR) can be used together with a content type that has no encoding. This
+ * implementation supports <code>byte[]</code>, {@link JsonNode} and {@link TokenBuffer} for unmarshalling content. The latter two are
+ * converted directly into the target type without rendering them as text first. Trying to use something else will result in an exception.
+ * UTF-8, UTF-16 and UTF-32 content is generated and parsed by Jackson directly on bytes, other encodings use a JDK reader or writer.
+ * The Jackson readers and writers are resolved once per target class.
  */
-@TestOmitted("Test implicitly with other tests")
 public final class JacksonSerDeserializer implements SerDeserializer, Closeable {
 
     private final EnhancedMimeType mimeType;
@@ -50,24 +66,36 @@ public final class JacksonSerDeserializer implements SerDeserializer, Closeable
 
     private final SerializedDataTypeRegistry typeRegistry;
 
+    private final boolean binary;
+
+    private final JsonEncoding jsonEncoding;
+
+    private final Map<Class<?>, ObjectReader> readers;
+
+    private final Map<Class<?>, ObjectWriter> writers;
+
     /**
      * Constructor with Jackson context classes.
      *
      * @param mapperProvider Provides the Jackson mapper.
-     * @param encoding       Encoding to use.
      * @param typeRegistry   Mapping from type to classes.
+     * @param mimeType       Content type to use. A type without encoding is handled as binary format.
      */
     private JacksonSerDeserializer(@NotNull final ImmutableObjectMapper.Provider mapperProvider,
                                    @NotNull final SerializedDataTypeRegistry typeRegistry,
-                                   @NotNull final Charset encoding) {
+                                   @NotNull final EnhancedMimeType mimeType) {
         super();
         Objects.requireNonNull(mapperProvider, "mapperProvider==null");
         Objects.requireNonNull(typeRegistry, "typeRegistry==null");
-        Objects.requireNonNull(encoding, "encoding==null");
+        Objects.requireNonNull(mimeType, "mimeType==null");
 
         this.mapperProvider = mapperProvider;
         this.typeRegistry = typeRegistry;
-        this.mimeType = EnhancedMimeType.create("application", "json", encoding);
+        this.mimeType = mimeType;
+        this.binary = mimeType.getEncoding() == null;
+        this.jsonEncoding = jsonEncoding(mimeType.getEncoding());
+        this.readers = new ConcurrentHashMap<>();
+        this.writers = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -77,24 +105,60 @@ public final class JacksonSerDeserializer implements SerDeserializer, Closeable
 
     @Override
     public byte[] marshal(@NotNull final Object obj, @NotNull final SerializedDataType type) {
+        if (!binary && jsonEncoding != JsonEncoding.UTF8) {
+            final PooledByteArrayOutputStream out = PooledByteArrayOutputStream.acquire();
+            try {
+                marshal(obj, type, out);
+                return out.toByteArray();
+            } finally {
+                out.release();
+            }
+        }
         Objects.requireNonNull(obj, "obj==null");
         Objects.requireNonNull(type, "type==null");
 
+        final EscJfrEvents.Serialize event = EscJfrEvents.Serialize.start();
         try {
-            final Class<?> clasz = typeRegistry.findClass(type);
-            if (!obj.getClass().isAssignableFrom(clasz)) {
-                throw new IllegalStateException("The instance class '" + obj.getClass().getName() + "' is not assignable from '"
-                        + clasz.getName() + "'. The registry returned an incompatible type for '" + type + "'");
+            final byte[] result = writerFor(obj, type).writeValueAsBytes(obj);
+            event.complete(type, mimeType, result);
+            return result;
+        } catch (final IOException ex) {
+            throw new RuntimeException("Error serializing data", ex);
+        }
+    }
+
+    @Override
+    public void marshal(@NotNull final Object obj, @NotNull final SerializedDataType type, @NotNull final OutputStream out) {
+        Objects.requireNonNull(obj, "obj==null");
+        Objects.requireNonNull(type, "type==null");
+        Objects.requireNonNull(out, "out==null");
+
+        final EscJfrEvents.Serialize event = EscJfrEvents.Serialize.start();
+        try {
+            final ObjectWriter writer = writerFor(obj, type);
+            final CountingOutputStream counter = new CountingOutputStream(out);
+            if (binary) {
+                writer.writeValue(counter, obj);
+            } else if (jsonEncoding == null) {
+                try (final Writer streamWriter = new OutputStreamWriter(counter, mimeType.getEncoding())) {
+                    writer.writeValue(streamWriter, obj);
+                }
+            } else {
+                try (final JsonGenerator generator = writer.createGenerator(counter, jsonEncoding)) {
+                    writer.writeValue(generator, obj);
+                }
             }
-            final ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
-            final Writer writer = new OutputStreamWriter(bos, mimeType.getEncoding());
-            mapperProvider.writer().writeValue(writer, obj);
-            return bos.toByteArray();
+            event.complete(type, mimeType, counter.getCount());
         } catch (final IOException ex) {
             throw new RuntimeException("Error serializing data", ex);
         }
     }
 
+    @Override
+    public boolean writesStream() {
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T unmarshal(@NotNull final Object data, @NotNull final SerializedDataType type, @NotNull final EnhancedMimeType mimeType) {
@@ -105,23 +169,126 @@ public final class JacksonSerDeserializer implements SerDeserializer, Closeable
             throw new IllegalArgumentException("Cannot handle: " + mimeType);
         }
 
+        final EscJfrEvents.Deserialize event = EscJfrEvents.Deserialize.start();
         try {
             final Class<?> clasz = typeRegistry.findClass(type);
             if (clasz.isAssignableFrom(data.getClass())) {
                 return (T) data;
             }
-            if (data instanceof byte[]) {
-                final Reader reader = new InputStreamReader(new ByteArrayInputStream((byte[]) data), mimeType.getEncoding());
-                return (T) mapperProvider.reader().readValue(reader, clasz);
+            if (data instanceof byte[] bytes) {
+                final T result;
+                if (requiresReader(mimeType)) {
+                    final Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes), mimeType.getEncoding());
+                    result = readerFor(clasz).readValue(reader);
+                } else {
+                    // Jackson detects all Unicode encodings itself and parses the bytes without decoding them first
+                    result = readerFor(clasz).readValue(bytes);
+                }
+                event.complete(type, mimeType, data);
+                return result;
+            }
+            if (data instanceof JsonNode node) {
+                final T result = (T) readerFor(clasz).treeToValue(node, clasz);
+                event.complete(type, mimeType, data);
+                return result;
             }
-            throw new IllegalArgumentException("Expected data to be of type byte[], but was: " + data.getClass().getName());
+            if (data instanceof TokenBuffer tokenBuffer) {
+                try (final JsonParser parser = tokenBuffer.asParser()) {
+                    final T result = readerFor(clasz).readValue(parser);
+                    event.complete(type, mimeType, data);
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Expected data to be of type byte[], JsonNode or TokenBuffer, but was: "
+                    + data.getClass().getName());
 
         } catch (final IOException ex) {
-            final String dataStr = new String((byte[]) data, mimeType.getEncoding());
+            final String dataStr;
+            if (binary) {
+                dataStr = data.getClass().getName();
+            } else if (data instanceof byte[] bytes) {
+                dataStr = new String(bytes, mimeType.getEncoding());
+            } else {
+                dataStr = String.valueOf(data);
+            }
             throw new RuntimeException("Error de-serializing data of type '" + type + "': " + dataStr, ex);
         }
     }
 
+    @Override
+    public boolean supports(@NotNull final Class<?> dataClass) {
+        return byte[].class.equals(dataClass) || JsonNode.class.isAssignableFrom(dataClass)
+                || TokenBuffer.class.isAssignableFrom(dataClass);
+    }
+
+    @Override
+    public <T> T unmarshalStream(@NotNull final InputStream in, @NotNull final SerializedDataType type,
+                                 @NotNull final EnhancedMimeType mimeType) {
+        Objects.requireNonNull(in, "in==null");
+        Objects.requireNonNull(type, "type==null");
+        Objects.requireNonNull(mimeType, "mimeType==null");
+        if (!mimeType.getBaseType().equals(this.mimeType.getBaseType())) {
+            throw new IllegalArgumentException("Cannot handle: " + mimeType);
+        }
+
+        final EscJfrEvents.Deserialize event = EscJfrEvents.Deserialize.start();
+        try {
+            final ObjectReader reader = readerFor(typeRegistry.findClass(type));
+            final T result;
+            if (requiresReader(mimeType)) {
+                result = reader.readValue(new InputStreamReader(in, mimeType.getEncoding()));
+            } else {
+                result = reader.readValue(in);
+            }
+            event.complete(type, mimeType, in);
+            return result;
+        } catch (final IOException ex) {
+            throw new RuntimeException("Error de-serializing data of type '" + type + "' from stream", ex);
+        }
+    }
+
+    private ObjectReader readerFor(final Class<?> clasz) {
+        return readers.computeIfAbsent(clasz, c -> mapperProvider.reader().forType(c));
+    }
+
+    private ObjectWriter writerFor(final Object obj, final SerializedDataType type) {
+        final Class<?> clasz = typeRegistry.findClass(type);
+        if (!obj.getClass().isAssignableFrom(clasz)) {
+            throw new IllegalStateException("The instance class '" + obj.getClass().getName() + "' is not assignable from '"
+                    + clasz.getName() + "'. The registry returned an incompatible type for '" + type + "'");
+        }
+        return writers.computeIfAbsent(obj.getClass(), c -> mapperProvider.writer().forType(c));
+    }
+
+    /**
+     * Determines if the content must be decoded with a JDK reader as Jackson cannot parse the encoding itself.
+     *
+     * @param mimeType Content type of the data to read.
+     * @return {@literal true} if a reader is required, {@literal false} if Jackson reads the bytes directly.
+     */
+    private boolean requiresReader(final EnhancedMimeType mimeType) {
+        return !binary && mimeType.getEncoding() != null && jsonEncoding(mimeType.getEncoding()) == null;
+    }
+
+    /**
+     * Returns the Jackson encoding for a character set.
+     *
+     * @param charset Character set.
+     * @return Encoding Jackson reads and writes without a JDK reader or writer or {@literal null} if it is not supported.
+     */
+    @Nullable
+    static JsonEncoding jsonEncoding(@Nullable final Charset charset) {
+        if (charset == null) {
+            return null;
+        }
+        for (final JsonEncoding encoding : JsonEncoding.values()) {
+            if (encoding.getJavaName().equals(charset.name())) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+
     @Override
     public void close() throws IOException {
         // Do nothing
@@ -157,6 +324,8 @@ public final class JacksonSerDeserializer implements SerDeserializer, Closeable
 
         private Charset encoding = StandardCharsets.UTF_8;
 
+        private EnhancedMimeType mimeType;
+
         public Builder() {
             super();
         }
@@ -196,6 +365,20 @@ public final class JacksonSerDeserializer implements SerDeserializer, Closeable
             return this;
         }
 
+        /**
+         * Sets the content type used for serialization. Default value is 'application/json' with the configured encoding.
+         * A content type without encoding (like 'application/cbor') is handled as binary format and requires a mapper
+         * that was created with a matching factory. The encoding set with {@link #withEncoding(Charset)} is ignored if a
+         * content type is set.
+         *
+         * @param mimeType Content type.
+         * @return This builder.
+         */
+        public Builder withMimeType(final EnhancedMimeType mimeType) {
+            this.mimeType = mimeType;
+            return this;
+        }
+
         /**
          * Creates an instance with the configured values.
          * The builder will NOT be cleared.
@@ -203,7 +386,12 @@ public final class JacksonSerDeserializer implements SerDeserializer, Closeable
          * @return New instance.
          */
         public JacksonSerDeserializer build() {
-            return new JacksonSerDeserializer(mapperProvider, typeRegistry, encoding);
+            if (mimeType == null) {
+                Objects.requireNonNull(encoding, "encoding==null");
+                return new JacksonSerDeserializer(mapperProvider, typeRegistry,
+                        EnhancedMimeType.create("application", "json", encoding));
+            }
+            return new JacksonSerDeserializer(mapperProvider, typeRegistry, mimeType);
         }
 
     }
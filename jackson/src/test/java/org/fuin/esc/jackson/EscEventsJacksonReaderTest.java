@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jackson;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.esc.jackson.EscEventsJacksonWriterTest.createEvent;
+
+/**
+ * Test for {@link EscEventsJacksonReader} class.
+ */
+public class EscEventsJacksonReaderTest extends AbstractTest {
+
+    @Test
+    public void testReadEscEventsFormat() throws Exception {
+
+        // PREPARE
+        final EscEvent event1 = createEvent(1);
+        final EscEvent event2 = createEvent(2);
+        final byte[] json = getMapperProvider().writer().writeValueAsBytes(new EscEvents(event1, event2));
+
+        // TEST
+        final List<EscEvent> events = new ArrayList<>();
+        try (final EscEventsJacksonReader testee = new EscEventsJacksonReader(getMapperProvider(), new ByteArrayInputStream(json))) {
+            testee.forEachRemaining(events::add);
+            assertThat(testee.hasNext()).isFalse();
+            assertThatThrownBy(testee::next).isInstanceOf(NoSuchElementException.class);
+        }
+
+        // VERIFY
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getEventId()).isEqualTo(event1.getEventId());
+        assertThat(events.get(1).getEventId()).isEqualTo(event2.getEventId());
+        assertThat(events.get(1).getData().getObj()).isInstanceOf(MyEvent.class);
+        assertThat(((MyEvent) events.get(1).getData().getObj()).getDescription()).isEqualTo("Event #2");
+        assertThat(((EscMeta) events.get(1).getMeta().getObj()).getMeta()).isInstanceOf(MyMeta.class);
+
+    }
+
+    @Test
+    public void testReadLargeBatch() throws Exception {
+
+        // PREPARE
+        final int count = 10000;
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final EscEventsJacksonWriter writer = new EscEventsJacksonWriter(getMapperProvider(), out)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(createEvent(i));
+            }
+        }
+
+        // TEST
+        final AtomicInteger no = new AtomicInteger();
+        try (final EscEventsJacksonReader testee = new EscEventsJacksonReader(getMapperProvider(),
+                new ByteArrayInputStream(out.toByteArray()))) {
+            testee.forEachRemaining(event -> {
+                final MyEvent myEvent = (MyEvent) event.getData().getObj();
+                assertThat(myEvent.getDescription()).isEqualTo("Event #" + no.getAndIncrement());
+            });
+        }
+
+        // VERIFY
+        assertThat(no.get()).isEqualTo(count);
+
+    }
+
+    @Test
+    public void testReadNoArray() {
+
+        final byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> new EscEventsJacksonReader(getMapperProvider(), new ByteArrayInputStream(json)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expected start of an array, but was: START_OBJECT");
+
+    }
+
+}
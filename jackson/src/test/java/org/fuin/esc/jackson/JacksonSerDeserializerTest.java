@@ -0,0 +1,238 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jackson;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.HistogramEventStoreMetrics;
+import org.fuin.esc.api.InstrumentedSerDeserializerRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link JacksonSerDeserializer} class.
+ */
+public class JacksonSerDeserializerTest extends AbstractTest {
+
+    private static final String JSON = """
+            { "id": "b2a936ce-d479-414f-b67f-3df4da383d47", "description": "Hello, JSON!" }
+            """;
+
+    private static final EnhancedMimeType MIME_TYPE = EnhancedMimeType.create("application", "json", StandardCharsets.UTF_8);
+
+    @Test
+    public void testMarshalUnmarshalBytes() {
+
+        // PREPARE
+        final JacksonSerDeserializer testee = getSerDeserializer();
+        final MyEvent original = new MyEvent("Hello, bytes!");
+
+        // TEST
+        final byte[] data = testee.marshal(original, MyEvent.SER_TYPE);
+        final MyEvent copy = testee.unmarshal(data, MyEvent.SER_TYPE, MIME_TYPE);
+
+        // VERIFY
+        assertThat(copy.getId()).isEqualTo(original.getId());
+        assertThat(copy.getDescription()).isEqualTo(original.getDescription());
+
+    }
+
+    @Test
+    public void testMarshalUnmarshalStream() {
+
+        // PREPARE
+        final JacksonSerDeserializer testee = getSerDeserializer();
+        final MyEvent original = new MyEvent("Hello, stream!");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // TEST
+        testee.marshal(original, MyEvent.SER_TYPE, out);
+        final MyEvent fromStream = testee.unmarshalStream(new ByteArrayInputStream(out.toByteArray()), MyEvent.SER_TYPE, MIME_TYPE);
+        final MyEvent fromBuffer = testee.unmarshalBuffer(ByteBuffer.wrap(out.toByteArray()), MyEvent.SER_TYPE, MIME_TYPE);
+
+        // VERIFY
+        assertThat(testee.writesStream()).isTrue();
+        assertThat(out.toByteArray()).isEqualTo(testee.marshal(original, MyEvent.SER_TYPE));
+        assertThat(fromStream.getId()).isEqualTo(original.getId());
+        assertThat(fromStream.getDescription()).isEqualTo(original.getDescription());
+        assertThat(fromBuffer.getId()).isEqualTo(original.getId());
+
+    }
+
+    @Test
+    public void testMarshalUnmarshalEncodings() {
+        for (final String encoding : new String[]{"UTF-8", "UTF-16BE", "UTF-16LE", "UTF-32BE", "UTF-32LE", "ISO-8859-1", "UTF-16"}) {
+
+            // PREPARE
+            final Charset charset = Charset.forName(encoding);
+            final JacksonSerDeserializer testee = new JacksonSerDeserializer.Builder()
+                    .withObjectMapper(getMapperProvider())
+                    .withTypeRegistry(getTypeRegistry())
+                    .withEncoding(charset)
+                    .build();
+            final MyEvent original = new MyEvent("Grüße");
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // TEST
+            final byte[] data = testee.marshal(original, MyEvent.SER_TYPE);
+            testee.marshal(original, MyEvent.SER_TYPE, out);
+            final MyEvent fromBytes = testee.unmarshal(data, MyEvent.SER_TYPE, testee.getMimeType());
+            final MyEvent fromStream = testee.unmarshalStream(new ByteArrayInputStream(data), MyEvent.SER_TYPE, testee.getMimeType());
+
+            // VERIFY
+            assertThat(new String(data, charset)).as(encoding).contains("Grüße");
+            assertThat(out.toByteArray()).as(encoding).isEqualTo(data);
+            assertThat(fromBytes.getDescription()).as(encoding).isEqualTo("Grüße");
+            assertThat(fromStream.getId()).as(encoding).isEqualTo(original.getId());
+
+        }
+    }
+
+    @Test
+    public void testMimeTypeWithoutEncoding() {
+
+        // PREPARE
+        final EnhancedMimeType mimeType = EnhancedMimeType.create("application", "vnd.test+json");
+        final JacksonSerDeserializer testee = new JacksonSerDeserializer.Builder()
+                .withObjectMapper(getMapperProvider())
+                .withTypeRegistry(getTypeRegistry())
+                .withMimeType(mimeType)
+                .build();
+        final MyEvent original = new MyEvent("Hello, binary!");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // TEST
+        final byte[] data = testee.marshal(original, MyEvent.SER_TYPE);
+        testee.marshal(original, MyEvent.SER_TYPE, out);
+        final MyEvent fromBytes = testee.unmarshal(data, MyEvent.SER_TYPE, mimeType);
+        final MyEvent fromStream = testee.unmarshalStream(new ByteArrayInputStream(data), MyEvent.SER_TYPE, mimeType);
+
+        // VERIFY
+        assertThat(testee.getMimeType()).isEqualTo(mimeType);
+        assertThat(out.toByteArray()).isEqualTo(data);
+        assertThat(fromBytes.getDescription()).isEqualTo(original.getDescription());
+        assertThat(fromStream.getId()).isEqualTo(original.getId());
+        assertThatThrownBy(() -> testee.unmarshal(data, MyEvent.SER_TYPE, MIME_TYPE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("application/json");
+
+    }
+
+    @Test
+    public void testJsonEncoding() {
+
+        assertThat(JacksonSerDeserializer.jsonEncoding(StandardCharsets.UTF_8)).isEqualTo(JsonEncoding.UTF8);
+        assertThat(JacksonSerDeserializer.jsonEncoding(StandardCharsets.UTF_16LE)).isEqualTo(JsonEncoding.UTF16_LE);
+        assertThat(JacksonSerDeserializer.jsonEncoding(Charset.forName("UTF-32BE"))).isEqualTo(JsonEncoding.UTF32_BE);
+        assertThat(JacksonSerDeserializer.jsonEncoding(StandardCharsets.ISO_8859_1)).isNull();
+        assertThat(JacksonSerDeserializer.jsonEncoding(null)).isNull();
+
+    }
+
+    @Test
+    public void testUnmarshalJsonNode() throws Exception {
+
+        // PREPARE
+        final JacksonSerDeserializer testee = getSerDeserializer();
+        final JsonNode node = getMapperProvider().reader().readTree(JSON);
+
+        // TEST
+        final MyEvent myEvent = testee.unmarshal(node, MyEvent.SER_TYPE, MIME_TYPE);
+
+        // VERIFY
+        assertThat(myEvent.getId()).isEqualTo("b2a936ce-d479-414f-b67f-3df4da383d47");
+        assertThat(myEvent.getDescription()).isEqualTo("Hello, JSON!");
+
+    }
+
+    @Test
+    public void testUnmarshalTokenBuffer() throws Exception {
+
+        // PREPARE
+        final JacksonSerDeserializer testee = getSerDeserializer();
+        final TokenBuffer tokenBuffer;
+        try (final JsonParser parser = getMapperProvider().reader().createParser(JSON)) {
+            parser.nextToken();
+            tokenBuffer = TokenBuffer.asCopyOfValue(parser);
+        }
+
+        // TEST
+        final MyEvent myEvent = testee.unmarshal(tokenBuffer, MyEvent.SER_TYPE, MIME_TYPE);
+
+        // VERIFY
+        assertThat(myEvent.getId()).isEqualTo("b2a936ce-d479-414f-b67f-3df4da383d47");
+        assertThat(myEvent.getDescription()).isEqualTo("Hello, JSON!");
+
+    }
+
+    @Test
+    public void testUnmarshalUnsupportedType() {
+
+        final JacksonSerDeserializer testee = getSerDeserializer();
+
+        assertThatThrownBy(() -> testee.unmarshal(JSON, MyEvent.SER_TYPE, MIME_TYPE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(String.class.getName());
+
+    }
+
+    @Test
+    public void testSupports() {
+
+        final JacksonSerDeserializer testee = getSerDeserializer();
+
+        assertThat(testee.supports(byte[].class)).isTrue();
+        assertThat(testee.supports(ObjectNode.class)).isTrue();
+        assertThat(testee.supports(TokenBuffer.class)).isTrue();
+        assertThat(testee.supports(String.class)).isFalse();
+
+    }
+
+    @Test
+    public void testDeserializeTreeThroughInstrumentedRegistry() throws Exception {
+
+        // PREPARE
+        final HistogramEventStoreMetrics metrics = new HistogramEventStoreMetrics(Duration.ofSeconds(1));
+        final InstrumentedSerDeserializerRegistry registry = new InstrumentedSerDeserializerRegistry(
+                getSerDeserializerRegistry(), metrics);
+        final JsonNode node = getMapperProvider().reader().readTree(JSON);
+
+        // TEST
+        final MyEvent myEvent = (MyEvent) EscJacksonUtils.deserialize(node, MyEvent.SER_TYPE, MIME_TYPE, registry);
+
+        // VERIFY
+        assertThat(registry.getDeserializer(MyEvent.SER_TYPE, MIME_TYPE).supports(node.getClass())).isTrue();
+        assertThat(myEvent.getDescription()).isEqualTo("Hello, JSON!");
+        assertThat(metrics.getDeserializationLatency(MyEvent.SER_TYPE).getCount()).isEqualTo(1);
+
+    }
+
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jaxb;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+import org.fuin.esc.api.IEscEvents;
+import org.fuin.objects4j.common.Contract;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads events one by one from an XML document in the format of a marshalled {@link EscEvents} instance. The document is
+ * traversed with StAX and only the current event is unmarshalled, so arbitrary large batches can be processed with
+ * {@link #forEachRemaining(java.util.function.Consumer)}. DTDs and external entities are not supported. Closing the
+ * reader closes the underlying stream. This class is not thread-safe.
+ */
+public final class EscEventsJaxbReader implements Iterator<EscEvent>, Closeable {
+
+    private final Unmarshaller unmarshaller;
+
+    private final InputStream in;
+
+    private final XMLStreamReader reader;
+
+    /**
+     * Constructor with mandatory data.
+     *
+     * @param unmarshaller Unmarshaller that knows the {@link EscEvent} and all data classes. It must not be used
+     *                     concurrently by others.
+     * @param in           Stream to read the events from.
+     */
+    public EscEventsJaxbReader(@NotNull final Unmarshaller unmarshaller, @NotNull final InputStream in) {
+        super();
+        Contract.requireArgNotNull("unmarshaller", unmarshaller);
+        Contract.requireArgNotNull("in", in);
+        this.unmarshaller = unmarshaller;
+        this.in = in;
+        try {
+            final XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            this.reader = factory.createXMLStreamReader(in);
+            reader.nextTag();
+            if (!IEscEvents.EL_ROOT_NAME.equals(reader.getLocalName())) {
+                throw new IllegalArgumentException("Expected root element '" + IEscEvents.EL_ROOT_NAME + "', but was: "
+                        + reader.getLocalName());
+            }
+            reader.nextTag();
+        } catch (final XMLStreamException ex) {
+            throw new RuntimeException("Error starting to read events document", ex);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (reader.isStartElement()) {
+            if (IEscEvents.EL_EVENT.equals(reader.getLocalName())) {
+                return true;
+            }
+            throw new IllegalStateException("Expected element '" + IEscEvents.EL_EVENT + "', but was: " + reader.getLocalName());
+        }
+        return false;
+    }
+
+    @Override
+    public EscEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            final EscEvent event = unmarshaller.unmarshal(reader, EscEvent.class).getValue();
+            // Skip whitespace between the events
+            while (!reader.isStartElement() && !reader.isEndElement()) {
+                reader.next();
+            }
+            return event;
+        } catch (final JAXBException | XMLStreamException ex) {
+            throw new RuntimeException("Error reading event", ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (final XMLStreamException ex) {
+            throw new IOException("Error closing events document", ex);
+        } finally {
+            in.close();
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jaxb;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import org.fuin.esc.api.IEscEvents;
+import org.fuin.objects4j.common.Contract;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes events one by one as UTF-8 XML document to a stream using StAX. The result has the same format as a marshalled
+ * {@link EscEvents} instance, but the events are never collected in memory. Closing the writer finishes the document and
+ * closes the underlying stream. This class is not thread-safe.
+ */
+public final class EscEventsJaxbWriter implements Closeable {
+
+    private final Marshaller marshaller;
+
+    private final OutputStream out;
+
+    private final XMLStreamWriter writer;
+
+    private boolean closed;
+
+    /**
+     * Constructor with mandatory data.
+     *
+     * @param marshaller Marshaller that knows the {@link EscEvent} and all data classes. It is switched to fragment mode
+     *                   and must not be used concurrently by others.
+     * @param out        Stream to write the events to.
+     */
+    public EscEventsJaxbWriter(@NotNull final Marshaller marshaller, @NotNull final OutputStream out) {
+        super();
+        Contract.requireArgNotNull("marshaller", marshaller);
+        Contract.requireArgNotNull("out", out);
+        this.marshaller = marshaller;
+        this.out = out;
+        try {
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+            this.writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeStartElement(IEscEvents.EL_ROOT_NAME);
+        } catch (final JAXBException | XMLStreamException ex) {
+            throw new RuntimeException("Error starting events document", ex);
+        }
+    }
+
+    /**
+     * Appends a single event to the document.
+     *
+     * @param event Event to write.
+     */
+    public void write(@NotNull final EscEvent event) {
+        Contract.requireArgNotNull("event", event);
+        if (closed) {
+            throw new IllegalStateException("Writer is already closed");
+        }
+        try {
+            marshaller.marshal(event, writer);
+        } catch (final JAXBException ex) {
+            throw new RuntimeException("Error writing event: " + event.getEventId(), ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (final XMLStreamException ex) {
+            throw new IOException("Error finishing events document", ex);
+        } finally {
+            out.close();
+        }
+    }
+
+}
@@ -24,18 +24,22 @@ import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.bind.annotation.adapters.XmlAdapter;
+import org.fuin.esc.api.CountingOutputStream;
 import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.EscJfrEvents;
+import org.fuin.esc.api.PooledByteArrayOutputStream;
 import org.fuin.esc.api.SerDeserializer;
 import org.fuin.esc.api.SerializedDataType;
 import org.fuin.objects4j.common.Contract;
-import org.fuin.utils4j.TestOmitted;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Node;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
@@ -44,13 +48,18 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Serializes and deserializes an object from/to XML using JAXB. The content type for serialization is always
  * "application/xml". This implementation supports {@link Node} and <code>byte[]</code> for unmarshalling
- * content.
+ * content.<br>
+ * <br>
+ * JAXB marshallers and unmarshallers are not thread-safe. Therefore, every call borrows a fully configured instance
+ * from a pool and returns it afterward. New instances are created from the shared {@link JAXBContext} only if the pool
+ * is empty, so the pool never holds more instances than threads used it concurrently. This class is thread-safe.
  */
-@TestOmitted("Tested with other classes")
 public final class XmlDeSerializer implements SerDeserializer {
 
     private static final Logger LOG = LoggerFactory.getLogger(XmlDeSerializer.class);
@@ -59,10 +68,18 @@ public final class XmlDeSerializer implements SerDeserializer {
     private final EnhancedMimeType mimeType;
 
     @NotNull
-    private final Marshaller marshaller;
+    private final JAXBContext ctx;
+
+    @Nullable
+    private final XmlAdapter<?, ?>[] adapters;
+
+    private final boolean jaxbFragment;
+
+    @NotNull
+    private final Queue<Marshaller> marshallers;
 
     @NotNull
-    private final Unmarshaller unmarshaller;
+    private final Queue<Unmarshaller> unmarshallers;
 
     /**
      * Constructor with JAXB context classes.
@@ -80,35 +97,74 @@ public final class XmlDeSerializer implements SerDeserializer {
                            @NotNull final Class<?>... classesToBeBound) {
         super();
         this.mimeType = EnhancedMimeType.create("application", "xml", encoding, version);
+        this.adapters = adapters;
+        this.jaxbFragment = jaxbFragment;
+        this.marshallers = new ConcurrentLinkedQueue<>();
+        this.unmarshallers = new ConcurrentLinkedQueue<>();
         try {
-            final JAXBContext ctx = JAXBContext.newInstance(classesToBeBound);
-            marshaller = ctx.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, jaxbFragment);
-            unmarshaller = ctx.createUnmarshaller();
+            ctx = JAXBContext.newInstance(classesToBeBound);
             if ((adapters == null) || (adapters.length == 0)) {
                 LOG.debug("No adapters set");
             } else {
                 for (XmlAdapter<?, ?> adapter : adapters) {
                     LOG.debug("Set adapter : {}", adapter);
-                    marshaller.setAdapter(adapter);
-                    unmarshaller.setAdapter(adapter);
                 }
             }
-            unmarshaller.setEventHandler(event -> {
-                if (event.getSeverity() > 0) {
-                    if (event.getLinkedException() == null) {
-                        throw new RuntimeException("Error unmarshalling the data: " + event.getMessage());
-                    }
-                    throw new RuntimeException("Error unmarshalling " + "the data", event
-                            .getLinkedException());
-                }
-                return true;
-            });
+            // Fail fast in case of configuration problems
+            marshallers.offer(createMarshaller());
+            unmarshallers.offer(createUnmarshaller());
         } catch (final JAXBException ex) {
             throw new RuntimeException("Error initializing JAXB helper classes", ex);
         }
     }
 
+    private Marshaller createMarshaller() throws JAXBException {
+        final Marshaller marshaller = ctx.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, jaxbFragment);
+        if (adapters != null) {
+            for (XmlAdapter<?, ?> adapter : adapters) {
+                marshaller.setAdapter(adapter);
+            }
+        }
+        return marshaller;
+    }
+
+    private Unmarshaller createUnmarshaller() throws JAXBException {
+        final Unmarshaller unmarshaller = ctx.createUnmarshaller();
+        if (adapters != null) {
+            for (XmlAdapter<?, ?> adapter : adapters) {
+                unmarshaller.setAdapter(adapter);
+            }
+        }
+        unmarshaller.setEventHandler(event -> {
+            if (event.getSeverity() > 0) {
+                if (event.getLinkedException() == null) {
+                    throw new RuntimeException("Error unmarshalling the data: " + event.getMessage());
+                }
+                throw new RuntimeException("Error unmarshalling " + "the data", event
+                        .getLinkedException());
+            }
+            return true;
+        });
+        return unmarshaller;
+    }
+
+    private Marshaller borrowMarshaller() throws JAXBException {
+        final Marshaller marshaller = marshallers.poll();
+        if (marshaller == null) {
+            return createMarshaller();
+        }
+        return marshaller;
+    }
+
+    private Unmarshaller borrowUnmarshaller() throws JAXBException {
+        final Unmarshaller unmarshaller = unmarshallers.poll();
+        if (unmarshaller == null) {
+            return createUnmarshaller();
+        }
+        return unmarshaller;
+    }
+
     @Override
     public EnhancedMimeType getMimeType() {
         return mimeType;
@@ -116,18 +172,42 @@ public final class XmlDeSerializer implements SerDeserializer {
 
     @Override
     public byte[] marshal(@NotNull final Object obj, @NotNull final SerializedDataType type) {
+        final PooledByteArrayOutputStream out = PooledByteArrayOutputStream.acquire();
+        try {
+            marshal(obj, type, out);
+            return out.toByteArray();
+        } finally {
+            out.release();
+        }
+    }
+
+    @Override
+    public void marshal(@NotNull final Object obj, @NotNull final SerializedDataType type, @NotNull final OutputStream out) {
         Contract.requireArgNotNull("obj", obj);
         Contract.requireArgNotNull("type", type);
+        Contract.requireArgNotNull("out", out);
+        final EscJfrEvents.Serialize event = EscJfrEvents.Serialize.start();
         try {
-            final ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
-            final Writer writer = new OutputStreamWriter(bos, mimeType.getEncoding());
-            marshaller.marshal(obj, writer);
-            return bos.toByteArray();
-        } catch (final JAXBException ex) {
+            final CountingOutputStream counter = new CountingOutputStream(out);
+            try (final Writer writer = new OutputStreamWriter(counter, mimeType.getEncoding())) {
+                final Marshaller marshaller = borrowMarshaller();
+                try {
+                    marshaller.marshal(obj, writer);
+                } finally {
+                    marshallers.offer(marshaller);
+                }
+            }
+            event.complete(type, mimeType, counter.getCount());
+        } catch (final JAXBException | IOException ex) {
             throw new RuntimeException("Error serializing data", ex);
         }
     }
 
+    @Override
+    public boolean writesStream() {
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T unmarshal(final Object data, final SerializedDataType type, final EnhancedMimeType mimeType) {
@@ -137,14 +217,29 @@ public final class XmlDeSerializer implements SerDeserializer {
         if (!mimeType.getBaseType().equals(this.mimeType.getBaseType())) {
             throw new IllegalArgumentException("Cannot handle: " + mimeType);
         }
+        final EscJfrEvents.Deserialize event = EscJfrEvents.Deserialize.start();
         try {
 
             if (data instanceof byte[]) {
                 final Reader reader = new InputStreamReader(new ByteArrayInputStream((byte[]) data), mimeType.getEncoding());
-                return (T) unmarshaller.unmarshal(reader);
+                final Unmarshaller unmarshaller = borrowUnmarshaller();
+                try {
+                    final T result = (T) unmarshaller.unmarshal(reader);
+                    event.complete(type, mimeType, data);
+                    return result;
+                } finally {
+                    unmarshallers.offer(unmarshaller);
+                }
             }
             if (data instanceof Node) {
-                return (T) unmarshaller.unmarshal((Node) data);
+                final Unmarshaller unmarshaller = borrowUnmarshaller();
+                try {
+                    final T result = (T) unmarshaller.unmarshal((Node) data);
+                    event.complete(type, mimeType, data);
+                    return result;
+                } finally {
+                    unmarshallers.offer(unmarshaller);
+                }
             }
             return (T) data;
 
@@ -161,6 +256,37 @@ public final class XmlDeSerializer implements SerDeserializer {
         }
     }
 
+    @Override
+    public boolean supports(@NotNull final Class<?> dataClass) {
+        return byte[].class.equals(dataClass) || Node.class.isAssignableFrom(dataClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T unmarshalStream(@NotNull final InputStream in, @NotNull final SerializedDataType type,
+                                 @NotNull final EnhancedMimeType mimeType) {
+        Objects.requireNonNull(in, "in==null");
+        Objects.requireNonNull(type, "type==null");
+        Objects.requireNonNull(mimeType, "mimeType==null");
+        if (!mimeType.getBaseType().equals(this.mimeType.getBaseType())) {
+            throw new IllegalArgumentException("Cannot handle: " + mimeType);
+        }
+        final EscJfrEvents.Deserialize event = EscJfrEvents.Deserialize.start();
+        try {
+            final Reader reader = new InputStreamReader(in, mimeType.getEncoding());
+            final Unmarshaller unmarshaller = borrowUnmarshaller();
+            try {
+                final T result = (T) unmarshaller.unmarshal(reader);
+                event.complete(type, mimeType, in);
+                return result;
+            } finally {
+                unmarshallers.offer(unmarshaller);
+            }
+        } catch (final JAXBException ex) {
+            throw new RuntimeException("Error de-serializing data of type '" + type + "' from stream", ex);
+        }
+    }
+
     /**
      * Convenience method to return a builder.
      *
@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jaxb;
+
+import jakarta.xml.bind.Unmarshaller;
+import org.fuin.utils4j.jaxb.UnmarshallerBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.esc.jaxb.EscEventsJaxbWriterTest.createEvent;
+import static org.fuin.esc.jaxb.EscEventsJaxbWriterTest.createMarshaller;
+import static org.fuin.utils4j.jaxb.JaxbUtils.marshal;
+
+/**
+ * Test for {@link EscEventsJaxbReader} class.
+ */
+public class EscEventsJaxbReaderTest {
+
+    @Test
+    public void testReadEscEventsFormat() throws Exception {
+
+        // PREPARE
+        final EscEvent event1 = createEvent(1);
+        final EscEvent event2 = createEvent(2);
+        final String xml = marshal(createMarshaller(), new EscEvents(event1, event2));
+
+        // TEST
+        final List<EscEvent> events = new ArrayList<>();
+        try (final EscEventsJaxbReader testee = new EscEventsJaxbReader(createUnmarshaller(),
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))) {
+            testee.forEachRemaining(events::add);
+            assertThat(testee.hasNext()).isFalse();
+            assertThatThrownBy(testee::next).isInstanceOf(NoSuchElementException.class);
+        }
+
+        // VERIFY
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getEventId()).isEqualTo(event1.getEventId());
+        assertThat(events.get(1).getEventId()).isEqualTo(event2.getEventId());
+        assertThat(events.get(1).getData().getObj()).isInstanceOf(MyEvent.class);
+        assertThat(((MyEvent) events.get(1).getData().getObj()).getDescription()).isEqualTo("Event #2");
+        assertThat(((EscMeta) events.get(1).getMeta().getObj()).getMeta()).isInstanceOf(MyMeta.class);
+
+    }
+
+    @Test
+    public void testReadLargeBatch() throws Exception {
+
+        // PREPARE
+        final int count = 10000;
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final EscEventsJaxbWriter writer = new EscEventsJaxbWriter(createMarshaller(), out)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(createEvent(i));
+            }
+        }
+
+        // TEST
+        final AtomicInteger no = new AtomicInteger();
+        try (final EscEventsJaxbReader testee = new EscEventsJaxbReader(createUnmarshaller(),
+                new ByteArrayInputStream(out.toByteArray()))) {
+            testee.forEachRemaining(event -> {
+                final MyEvent myEvent = (MyEvent) event.getData().getObj();
+                assertThat(myEvent.getDescription()).isEqualTo("Event #" + no.getAndIncrement());
+            });
+        }
+
+        // VERIFY
+        assertThat(no.get()).isEqualTo(count);
+
+    }
+
+    @Test
+    public void testReadWrongRoot() {
+
+        final byte[] xml = "<Event/>".getBytes(StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> new EscEventsJaxbReader(createUnmarshaller(), new ByteArrayInputStream(xml)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expected root element 'Events', but was: Event");
+
+    }
+
+    private static Unmarshaller createUnmarshaller() {
+        return new UnmarshallerBuilder().addClassesToBeBound(EscEvents.class, EscMeta.class, MyMeta.class, MyEvent.class,
+                Base64Data.class).build();
+    }
+
+}
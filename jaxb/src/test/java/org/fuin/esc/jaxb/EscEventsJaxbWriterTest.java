@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jaxb;
+
+import jakarta.xml.bind.Marshaller;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.utils4j.jaxb.MarshallerBuilder;
+import org.junit.jupiter.api.Test;
+import org.xmlunit.builder.DiffBuilder;
+import org.xmlunit.diff.Diff;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.utils4j.jaxb.JaxbUtils.marshal;
+
+/**
+ * Test for {@link EscEventsJaxbWriter} class.
+ */
+public class EscEventsJaxbWriterTest {
+
+    @Test
+    public void testWriteSameFormatAsEscEvents() throws Exception {
+
+        // PREPARE
+        final EscEvent event1 = createEvent(1);
+        final EscEvent event2 = createEvent(2);
+        final EscEvent event3 = createEvent(3);
+        final String expectedXml = marshal(createMarshaller(), new EscEvents(event1, event2, event3));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // TEST
+        try (final EscEventsJaxbWriter testee = new EscEventsJaxbWriter(createMarshaller(), out)) {
+            testee.write(event1);
+            testee.write(event2);
+            testee.write(event3);
+        }
+
+        // VERIFY
+        final Diff documentDiff = DiffBuilder.compare(expectedXml).withTest(out.toString(StandardCharsets.UTF_8))
+                .ignoreWhitespace().build();
+        assertThat(documentDiff.hasDifferences()).describedAs(documentDiff.toString()).isFalse();
+
+    }
+
+    @Test
+    public void testWriteAfterClose() throws Exception {
+
+        // PREPARE
+        final EscEventsJaxbWriter testee = new EscEventsJaxbWriter(createMarshaller(), new ByteArrayOutputStream());
+        testee.close();
+
+        // TEST & VERIFY
+        assertThatThrownBy(() -> testee.write(createEvent(1))).isInstanceOf(IllegalStateException.class)
+                .hasMessage("Writer is already closed");
+
+    }
+
+    static Marshaller createMarshaller() {
+        return new MarshallerBuilder().addClassesToBeBound(EscEvents.class, EscMeta.class, MyMeta.class, MyEvent.class,
+                Base64Data.class).build();
+    }
+
+    static EscEvent createEvent(final int no) {
+        final UUID uuid = UUID.randomUUID();
+        final MyEvent myEvent = new MyEvent(uuid, "Event #" + no);
+        final EnhancedMimeType contentType = EnhancedMimeType.create("application", "xml", StandardCharsets.UTF_8, "1");
+        final EscMeta escMeta = new EscMeta(MyEvent.TYPE.asBaseType(), contentType, MyMeta.TYPE.asBaseType(), contentType,
+                new MyMeta("abc"));
+        return new EscEvent(uuid, MyEvent.TYPE.asBaseType(), new DataWrapper(myEvent), new DataWrapper(escMeta));
+    }
+
+}
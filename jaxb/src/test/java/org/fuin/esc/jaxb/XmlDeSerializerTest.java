@@ -0,0 +1,172 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jaxb;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for the {@link XmlDeSerializer} class.
+ */
+class XmlDeSerializerTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ITERATIONS = 500;
+
+    @Test
+    void testMarshalUnmarshal() throws Exception {
+
+        // PREPARE
+        final XmlDeSerializer testee = XmlDeSerializer.builder().add(MyEvent.class).build();
+        final MyEvent event = new MyEvent(UUID.randomUUID(), "Hello, world!");
+
+        // TEST
+        final byte[] data = testee.marshal(event, MyEvent.SER_TYPE);
+        final MyEvent fromBytes = testee.unmarshal(data, MyEvent.SER_TYPE, testee.getMimeType());
+        final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(data));
+        final MyEvent fromNode = testee.unmarshal(document, MyEvent.SER_TYPE, testee.getMimeType());
+
+        // VERIFY
+        assertThat(new String(data, StandardCharsets.UTF_8)).contains("Hello, world!");
+        assertThat(fromBytes.getId()).isEqualTo(event.getId());
+        assertThat(fromBytes.getDescription()).isEqualTo(event.getDescription());
+        assertThat(fromNode.getId()).isEqualTo(event.getId());
+        assertThat(fromNode.getDescription()).isEqualTo(event.getDescription());
+
+    }
+
+    @Test
+    void testMarshalUnmarshalStream() {
+
+        // PREPARE
+        final XmlDeSerializer testee = XmlDeSerializer.builder().add(MyEvent.class).build();
+        final MyEvent event = new MyEvent(UUID.randomUUID(), "Hello, stream!");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('x');
+
+        // TEST
+        testee.marshal(event, MyEvent.SER_TYPE, out);
+        final byte[] data = out.toByteArray();
+        final MyEvent fromStream = testee.unmarshalStream(new ByteArrayInputStream(data, 1, data.length - 1),
+                MyEvent.SER_TYPE, testee.getMimeType());
+        final MyEvent fromBuffer = testee.unmarshalBuffer(ByteBuffer.wrap(data, 1, data.length - 1),
+                MyEvent.SER_TYPE, testee.getMimeType());
+
+        // VERIFY
+        assertThat(testee.writesStream()).isTrue();
+        assertThat(data[0]).isEqualTo((byte) 'x');
+        assertThat(Arrays.copyOfRange(data, 1, data.length)).isEqualTo(testee.marshal(event, MyEvent.SER_TYPE));
+        assertThat(fromStream.getId()).isEqualTo(event.getId());
+        assertThat(fromStream.getDescription()).isEqualTo(event.getDescription());
+        assertThat(fromBuffer.getId()).isEqualTo(event.getId());
+
+    }
+
+    @Test
+    void testUnmarshalInvalidData() {
+
+        // PREPARE
+        final XmlDeSerializer testee = XmlDeSerializer.builder().add(MyEvent.class).build();
+        final byte[] invalid = "<MyEvent id=".getBytes(StandardCharsets.UTF_8);
+        final MyEvent event = new MyEvent("Still working");
+
+        // TEST & VERIFY
+        assertThatThrownBy(() -> testee.unmarshal(invalid, MyEvent.SER_TYPE, testee.getMimeType()))
+                .isInstanceOf(RuntimeException.class);
+        final MyEvent copy = testee.unmarshal(testee.marshal(event, MyEvent.SER_TYPE), MyEvent.SER_TYPE,
+                testee.getMimeType());
+        assertThat(copy.getDescription()).isEqualTo("Still working");
+
+    }
+
+    @Test
+    void testSupports() throws Exception {
+
+        // PREPARE
+        final XmlDeSerializer testee = XmlDeSerializer.builder().add(MyEvent.class).build();
+        final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+
+        // TEST & VERIFY
+        assertThat(testee.supports(byte[].class)).isTrue();
+        assertThat(testee.supports(document.getClass())).isTrue();
+        assertThat(testee.supports(String.class)).isFalse();
+
+    }
+
+    @Test
+    void testConcurrentMarshalUnmarshal() throws Exception {
+
+        // PREPARE
+        final XmlDeSerializer testee = XmlDeSerializer.builder().add(MyEvent.class).build();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Integer>> futures = new ArrayList<>();
+        try {
+
+            // TEST
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int ok = 0;
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        final MyEvent event = new MyEvent(UUID.randomUUID(), "Thread " + thread + " event " + i);
+                        final byte[] data = testee.marshal(event, MyEvent.SER_TYPE);
+                        final MyEvent copy = testee.unmarshal(data, MyEvent.SER_TYPE, testee.getMimeType());
+                        if (copy.getId().equals(event.getId())
+                                && copy.getDescription().equals(event.getDescription())) {
+                            ok++;
+                        }
+                    }
+                    return ok;
+                }));
+            }
+            start.countDown();
+
+            // VERIFY
+            for (final Future<Integer> future : futures) {
+                assertThat(future.get(1, TimeUnit.MINUTES)).isEqualTo(ITERATIONS);
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+}
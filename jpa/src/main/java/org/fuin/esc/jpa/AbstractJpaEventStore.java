@@ -25,6 +25,7 @@ import jakarta.persistence.metamodel.EntityType;
 import jakarta.validation.constraints.NotNull;
 import org.fuin.esc.api.CommonEvent;
 import org.fuin.esc.api.DeserializerRegistry;
+import org.fuin.esc.api.EscJfrEvents;
 import org.fuin.esc.api.EventNotFoundException;
 import org.fuin.esc.api.ReadableEventStore;
 import org.fuin.esc.api.SerializedDataType;
@@ -195,6 +196,7 @@ public abstract class AbstractJpaEventStore extends AbstractReadableEventStore i
         }
 
         // Prepare SQL
+        final EscJfrEvents.ReadSlice jfrEvent = EscJfrEvents.ReadSlice.start();
         final NativeSqlCondition greaterOrEqualEventNumber = new NativeSqlCondition(JPA_STREAM_EVENT_PREFIX,
                 JpaStreamEvent.COLUMN_EVENT_NUMBER, ">=", start);
         final List<NativeSqlCondition> conditions = createNativeSqlConditions(streamId,
@@ -204,7 +206,9 @@ public abstract class AbstractJpaEventStore extends AbstractReadableEventStore i
         final Query query = em.createNativeQuery(sql, JpaEvent.class);
         setNativeSqlParameters(query, conditions);
         query.setMaxResults(count);
+        final EscJfrEvents.JpaQuery jfrQuery = EscJfrEvents.JpaQuery.start();
         final List<JpaEvent> resultList = query.getResultList();
+        jfrQuery.complete(streamId, sql, resultList.size());
 
         // Return result
         final List<CommonEvent> events = asCommonEvents(resultList);
@@ -212,7 +216,10 @@ public abstract class AbstractJpaEventStore extends AbstractReadableEventStore i
         final long nextEventNumber = (start + events.size());
         final boolean endOfStream = (events.size() < count);
 
-        return new StreamEventsSlice(fromEventNumber, events, nextEventNumber, endOfStream);
+        final StreamEventsSlice slice = new StreamEventsSlice(fromEventNumber, events, nextEventNumber,
+                endOfStream, sizeInBytes(resultList));
+        jfrEvent.complete(streamId, start, true, slice);
+        return slice;
 
     }
 
@@ -244,6 +251,7 @@ public abstract class AbstractJpaEventStore extends AbstractReadableEventStore i
         }
 
         // Prepare SQL
+        final EscJfrEvents.ReadSlice jfrEvent = EscJfrEvents.ReadSlice.start();
         final NativeSqlCondition greaterOrEqualEventNumber = new NativeSqlCondition(JPA_STREAM_EVENT_PREFIX,
                 JpaStreamEvent.COLUMN_EVENT_NUMBER, "<=", start);
         final List<NativeSqlCondition> conditions = createNativeSqlConditions(streamId,
@@ -253,7 +261,9 @@ public abstract class AbstractJpaEventStore extends AbstractReadableEventStore i
         final Query query = em.createNativeQuery(sql, JpaEvent.class);
         setNativeSqlParameters(query, conditions);
         query.setMaxResults(count);
+        final EscJfrEvents.JpaQuery jfrQuery = EscJfrEvents.JpaQuery.start();
         final List<JpaEvent> resultList = query.getResultList();
+        jfrQuery.complete(streamId, sql, resultList.size());
 
         // Return result
         final List<CommonEvent> events = asCommonEvents(resultList);
@@ -264,7 +274,10 @@ public abstract class AbstractJpaEventStore extends AbstractReadableEventStore i
         }
         final boolean endOfStream = (start - count) < 0;
 
-        return new StreamEventsSlice(fromEventNumber, events, nextEventNumber, endOfStream);
+        final StreamEventsSlice slice = new StreamEventsSlice(fromEventNumber, events, nextEventNumber,
+                endOfStream, sizeInBytes(resultList));
+        jfrEvent.complete(streamId, start, false, slice);
+        return slice;
 
     }
 
@@ -537,6 +550,17 @@ public abstract class AbstractJpaEventStore extends AbstractReadableEventStore i
         return events;
     }
 
+    private static long sizeInBytes(final List<JpaEvent> eventEntries) {
+        long size = 0;
+        for (final JpaEvent eventEntry : eventEntries) {
+            size += eventEntry.getData().getRaw().length;
+            if (eventEntry.getMeta() != null) {
+                size += eventEntry.getMeta().getRaw().length;
+            }
+        }
+        return size;
+    }
+
     private CommonEvent asCommonEvent(final JpaEvent jpaEvent) {
         final Object data = deserialize(jpaEvent.getData());
         final Object meta = deserialize(jpaEvent.getMeta());
@@ -23,6 +23,7 @@ import jakarta.persistence.TypedQuery;
 import jakarta.validation.constraints.NotNull;
 import org.fuin.esc.api.CommonEvent;
 import org.fuin.esc.api.DeserializerRegistry;
+import org.fuin.esc.api.EscJfrEvents;
 import org.fuin.esc.api.EventStore;
 import org.fuin.esc.api.ExpectedVersion;
 import org.fuin.esc.api.SerializedDataType;
@@ -111,6 +112,7 @@ public final class JpaEventStore extends AbstractJpaEventStore implements EventS
             throw new StreamReadOnlyException(streamId);
         }
 
+        final EscJfrEvents.Append jfrEvent = EscJfrEvents.Append.start();
         JpaStream stream = findAndLockJpaStream(streamId);
         if (stream == null) {
             LOG.debug("Stream '{}' not found, creating it", streamId);
@@ -132,14 +134,20 @@ public final class JpaEventStore extends AbstractJpaEventStore implements EventS
                 throw new WrongExpectedVersionException(streamId, expectedVersion, stream.getVersion());
             }
         }
+        long bytes = 0;
         for (int i = 0; i < toAppend.size(); i++) {
             final JpaEvent eventEntry = asJpaEvent(toAppend.get(i));
             if (eventEntry != null) {
                 getEm().persist(eventEntry);
                 final JpaStreamEvent streamEvent = stream.createEvent(streamId, eventEntry);
                 getEm().persist(streamEvent);
+                bytes += eventEntry.getData().getRaw().length;
+                if (eventEntry.getMeta() != null) {
+                    bytes += eventEntry.getMeta().getRaw().length;
+                }
             }
         }
+        jfrEvent.complete(streamId, toAppend.size(), bytes);
         return stream.getVersion();
 
     }
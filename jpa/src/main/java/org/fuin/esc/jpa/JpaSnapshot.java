@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+/**
+ * Latest snapshot of a stream.
+ */
+@Table(name = JpaSnapshot.TABLE_NAME)
+@Entity
+public class JpaSnapshot {
+
+    /** SQL table name. */
+    public static final String TABLE_NAME = "SNAPSHOTS";
+
+    @Id
+    @NotNull
+    @Column(name = "STREAM_NAME", nullable = false, updatable = false, length = 250)
+    private String streamName;
+
+    @Column(name = "VERSION", nullable = false)
+    private long version;
+
+    @Embedded
+    @NotNull
+    private JpaData data;
+
+    /**
+     * Protected default constructor for JPA.
+     */
+    protected JpaSnapshot() { //NOSONAR Ignore uninitialized fields
+        super();
+    }
+
+    /**
+     * Constructor with all data.
+     *
+     * @param streamName
+     *            Unique name of the stream.
+     * @param version
+     *            Number of the last event contained in the state.
+     * @param data
+     *            Serialized state.
+     */
+    public JpaSnapshot(@NotNull final String streamName, final long version, @NotNull final JpaData data) {
+        super();
+        Contract.requireArgNotNull("streamName", streamName);
+        Contract.requireArgNotNull("data", data);
+        this.streamName = streamName;
+        this.version = version;
+        this.data = data;
+    }
+
+    /**
+     * Returns the unique name of the stream.
+     *
+     * @return Stream name.
+     */
+    @NotNull
+    public String getStreamName() {
+        return streamName;
+    }
+
+    /**
+     * Returns the number of the last event contained in the state.
+     *
+     * @return Event number.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the serialized state.
+     *
+     * @return State.
+     */
+    @NotNull
+    public JpaData getData() {
+        return data;
+    }
+
+    /**
+     * Replaces the state.
+     *
+     * @param version
+     *            Number of the last event contained in the state.
+     * @param data
+     *            Serialized state.
+     */
+    public void update(final long version, @NotNull final JpaData data) {
+        Contract.requireArgNotNull("data", data);
+        this.version = version;
+        this.data = data;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((streamName == null) ? 0 : streamName.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (!(obj instanceof JpaSnapshot other))
+            return false;
+        if (streamName == null) {
+            return other.streamName == null;
+        } else return streamName.equals(other.streamName);
+    }
+
+    @Override
+    public String toString() {
+        return streamName + " (" + version + ")";
+    }
+
+}
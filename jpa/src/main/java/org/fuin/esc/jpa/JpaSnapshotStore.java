@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jpa;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.DeserializerRegistry;
+import org.fuin.esc.api.SerializedDataType;
+import org.fuin.esc.api.SerializerRegistry;
+import org.fuin.esc.api.Snapshot;
+import org.fuin.esc.api.SnapshotStore;
+import org.fuin.esc.api.StreamId;
+import org.fuin.esc.spi.EscSpiUtils;
+import org.fuin.esc.spi.SerializedData;
+import org.fuin.objects4j.common.Contract;
+
+/**
+ * JPA based snapshot store that keeps the latest snapshot of every stream in the {@link JpaSnapshot#TABLE_NAME}
+ * table. Transactions are handled outside, like for the {@link JpaEventStore}. Saving replaces an existing snapshot
+ * with {@link EntityManager#merge(Object)}. Only two transactions that both save the very first snapshot of the same
+ * stream can still collide on the primary key when they commit.
+ */
+public final class JpaSnapshotStore implements SnapshotStore {
+
+    private final EntityManager em;
+
+    private final SerializerRegistry serRegistry;
+
+    private final DeserializerRegistry desRegistry;
+
+    /**
+     * Constructor with all mandatory data.
+     *
+     * @param em
+     *            Entity manager.
+     * @param serRegistry
+     *            Registry used to locate serializers.
+     * @param desRegistry
+     *            Registry used to locate deserializers.
+     */
+    public JpaSnapshotStore(@NotNull final EntityManager em, @NotNull final SerializerRegistry serRegistry,
+                            @NotNull final DeserializerRegistry desRegistry) {
+        super();
+        Contract.requireArgNotNull("em", em);
+        Contract.requireArgNotNull("serRegistry", serRegistry);
+        Contract.requireArgNotNull("desRegistry", desRegistry);
+        this.em = em;
+        this.serRegistry = serRegistry;
+        this.desRegistry = desRegistry;
+    }
+
+    @Override
+    public void saveSnapshot(@NotNull final Snapshot snapshot) {
+        Contract.requireArgNotNull("snapshot", snapshot);
+
+        final SerializedDataType serDataType = new SerializedDataType(snapshot.getDataType().asBaseType());
+        final JpaData data = new JpaData(EscSpiUtils.serialize(serRegistry, serDataType, snapshot.getData()));
+        // Merge inserts or updates the row in one call, so an existing snapshot never causes a duplicate key
+        em.merge(new JpaSnapshot(snapshot.getStreamId().asString(), snapshot.getVersion(), data));
+    }
+
+    @Override
+    @Nullable
+    public Snapshot loadSnapshot(@NotNull final StreamId streamId) {
+        Contract.requireArgNotNull("streamId", streamId);
+
+        final JpaSnapshot jpaSnapshot = em.find(JpaSnapshot.class, streamId.asString());
+        if (jpaSnapshot == null) {
+            return null;
+        }
+        final JpaData data = jpaSnapshot.getData();
+        final SerializedData serializedData = new SerializedData(
+                new SerializedDataType(data.getTypeName().asBaseType()), data.getMimeType(), data.getRaw());
+        return new Snapshot(streamId, jpaSnapshot.getVersion(), data.getTypeName(),
+                EscSpiUtils.deserialize(desRegistry, serializedData));
+    }
+
+    @Override
+    public void deleteSnapshot(@NotNull final StreamId streamId) {
+        Contract.requireArgNotNull("streamId", streamId);
+
+        final JpaSnapshot jpaSnapshot = em.find(JpaSnapshot.class, streamId.asString());
+        if (jpaSnapshot != null) {
+            em.remove(jpaSnapshot);
+        }
+    }
+
+}
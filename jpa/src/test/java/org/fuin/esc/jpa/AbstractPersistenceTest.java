@@ -87,6 +87,18 @@ public abstract class AbstractPersistenceTest extends AbstractTest {
         }
     }
 
+    /**
+     * Returns the entity manager factory.
+     *
+     * @return Factory used to create the entity manager.
+     */
+    protected static EntityManagerFactory getEmf() {
+        if (emf == null) {
+            throw new IllegalStateException("Entity manager factory not available - Something went wrong...");
+        }
+        return emf;
+    }
+
     /**
      * Returns the entity manager.
      *
@@ -22,6 +22,7 @@ import org.fuin.esc.api.EnhancedMimeType;
 import org.fuin.esc.api.EventId;
 import org.fuin.esc.api.EventStore;
 import org.fuin.esc.api.ExpectedVersion;
+import org.fuin.esc.api.GroupCommitEventStore;
 import org.fuin.esc.api.SerializedDataType;
 import org.fuin.esc.api.SimpleCommonEvent;
 import org.fuin.esc.api.SimpleSerializerDeserializerRegistry;
@@ -37,6 +38,7 @@ import org.fuin.esc.jpa.examples.VendorStream;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -121,6 +123,77 @@ public final class JpaEventStoreTest extends AbstractPersistenceTest {
 
     }
 
+    @Test
+    public void testGroupCommitWritesInCallerTransaction() throws Exception {
+
+        // PREPARE
+        final SimpleStreamId streamId = new SimpleStreamId("GroupCommitStream-" + UUID.randomUUID());
+        final EventA eventA = new EventA("John Doe");
+
+        try (final JpaEventStore delegate = createNoParamsStore();
+             final GroupCommitEventStore testee = new GroupCommitEventStore(delegate, Duration.ofMillis(1), 10,
+                     Duration.ofSeconds(10))) {
+            testee.open();
+
+            // TEST
+            beginTransaction();
+            try {
+                final long version = testee.appendToStream(streamId, ExpectedVersion.NO_OR_EMPTY_STREAM.getNo(),
+                        new SimpleCommonEvent(new EventId(), EventA.TYPE, eventA));
+                assertThat(version).isEqualTo(0);
+                assertThat(delegate.streamExists(streamId)).isTrue();
+            } finally {
+                rollbackTransaction();
+            }
+
+            // VERIFY
+            beginTransaction();
+            try {
+                assertThat(delegate.streamExists(streamId)).isFalse();
+            } finally {
+                rollbackTransaction();
+            }
+
+            // TEST
+            final EventId eventId = new EventId();
+            beginTransaction();
+            try {
+                testee.appendToStream(streamId, ExpectedVersion.NO_OR_EMPTY_STREAM.getNo(),
+                        new SimpleCommonEvent(eventId, EventA.TYPE, eventA));
+                commitTransaction();
+            } catch (final Exception ex) {
+                rollbackTransaction();
+                throw ex;
+            }
+
+            // VERIFY
+            beginTransaction();
+            try {
+                final StreamEventsSlice slice = delegate.readEventsForward(streamId, 0, 2);
+                assertThat(slice.getEvents()).hasSize(1);
+                assertThat(slice.getEvents().get(0).getId()).isEqualTo(eventId);
+            } finally {
+                rollbackTransaction();
+            }
+
+        }
+
+    }
+
+    private JpaEventStore createNoParamsStore() {
+        return new JpaEventStore(getEm(), new JpaIdStreamFactory() {
+            @Override
+            public JpaStream createStream(final StreamId streamId) {
+                return new NoParamsStream(streamId);
+            }
+
+            @Override
+            public boolean containsType(final StreamId streamId) {
+                return true;
+            }
+        }, getSerDeserializerRegistry(), getSerDeserializerRegistry());
+    }
+
     private static void execute(final EventStore eventStore, final StreamId streamId,
                                 final CommonEvent commonEvent, final EventId eventId) throws Exception {
         beginTransaction();
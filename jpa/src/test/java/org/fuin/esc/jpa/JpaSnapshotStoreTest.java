@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jpa;
+
+import jakarta.persistence.EntityManager;
+import org.fuin.esc.api.SimpleStreamId;
+import org.fuin.esc.api.Snapshot;
+import org.fuin.esc.api.StreamId;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for the {@link JpaSnapshotStore} class.
+ */
+public final class JpaSnapshotStoreTest extends AbstractPersistenceTest {
+
+    @Test
+    public void testSaveLoadDelete() {
+
+        // PREPARE
+        final StreamId streamId = new SimpleStreamId("SnapshotStream");
+        final JpaSnapshotStore testee = new JpaSnapshotStore(getEm(), getSerDeserializerRegistry(),
+                getSerDeserializerRegistry());
+
+        // TEST & VERIFY
+        beginTransaction();
+        try {
+            assertThat(testee.loadSnapshot(streamId)).isNull();
+            testee.saveSnapshot(new Snapshot(streamId, 1, EventA.TYPE, new EventA("first")));
+            commitTransaction();
+        } catch (final RuntimeException ex) {
+            rollbackTransaction();
+            throw ex;
+        }
+        getEm().clear();
+
+        beginTransaction();
+        try {
+            final Snapshot first = testee.loadSnapshot(streamId);
+            assertThat(first).isNotNull();
+            assertThat(first.getVersion()).isEqualTo(1);
+            assertThat(first.getDataType()).isEqualTo(EventA.TYPE);
+            assertThat(first.getData()).usingRecursiveComparison().isEqualTo(new EventA("first"));
+            testee.saveSnapshot(new Snapshot(streamId, 5, EventA.TYPE, new EventA("second")));
+            commitTransaction();
+        } catch (final RuntimeException ex) {
+            rollbackTransaction();
+            throw ex;
+        }
+        getEm().clear();
+
+        beginTransaction();
+        try {
+            final Snapshot second = testee.loadSnapshot(streamId);
+            assertThat(second).isNotNull();
+            assertThat(second.getVersion()).isEqualTo(5);
+            assertThat(second.getData()).usingRecursiveComparison().isEqualTo(new EventA("second"));
+            testee.deleteSnapshot(streamId);
+            commitTransaction();
+        } catch (final RuntimeException ex) {
+            rollbackTransaction();
+            throw ex;
+        }
+
+        assertThat(testee.loadSnapshot(streamId)).isNull();
+
+    }
+
+    @Test
+    public void testSaveAfterOtherTransactionSavedFirst() {
+
+        // PREPARE
+        final StreamId streamId = new SimpleStreamId("ConcurrentSnapshotStream");
+        final JpaSnapshotStore testee = new JpaSnapshotStore(getEm(), getSerDeserializerRegistry(),
+                getSerDeserializerRegistry());
+        final EntityManager otherEm = getEmf().createEntityManager();
+        try {
+            final JpaSnapshotStore other = new JpaSnapshotStore(otherEm, getSerDeserializerRegistry(),
+                    getSerDeserializerRegistry());
+
+            // TEST
+            beginTransaction();
+            try {
+                assertThat(testee.loadSnapshot(streamId)).isNull();
+
+                // Another transaction stores the first snapshot in the meantime
+                otherEm.getTransaction().begin();
+                other.saveSnapshot(new Snapshot(streamId, 3, EventA.TYPE, new EventA("other")));
+                otherEm.getTransaction().commit();
+
+                testee.saveSnapshot(new Snapshot(streamId, 4, EventA.TYPE, new EventA("mine")));
+                commitTransaction();
+            } catch (final RuntimeException ex) {
+                rollbackTransaction();
+                throw ex;
+            }
+            getEm().clear();
+
+            // VERIFY
+            final Snapshot loaded = testee.loadSnapshot(streamId);
+            assertThat(loaded).isNotNull();
+            assertThat(loaded.getVersion()).isEqualTo(4);
+            assertThat(loaded.getData()).usingRecursiveComparison().isEqualTo(new EventA("mine"));
+        } finally {
+            otherEm.close();
+        }
+
+    }
+
+}
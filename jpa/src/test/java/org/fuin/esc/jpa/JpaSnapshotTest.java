@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jpa;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.TypeName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link JpaSnapshot} class.
+ */
+public class JpaSnapshotTest {
+
+    @Test
+    public void testEqualsHashCode() {
+        EqualsVerifier.forClass(JpaSnapshot.class)
+                .suppress(Warning.STRICT_INHERITANCE)
+                .suppress(Warning.NONFINAL_FIELDS)
+                .suppress(Warning.ALL_FIELDS_SHOULD_BE_USED).verify();
+    }
+
+    @Test
+    public void testConstructorAndUpdate() {
+
+        // PREPARE
+        final JpaData first = new JpaData(new TypeName("MyState"), EnhancedMimeType.create("application/json"),
+                new byte[] { 1 });
+        final JpaData second = new JpaData(new TypeName("MyState"), EnhancedMimeType.create("application/json"),
+                new byte[] { 2 });
+        final JpaSnapshot testee = new JpaSnapshot("MyStream", 1, first);
+
+        // TEST
+        testee.update(7, second);
+
+        // VERIFY
+        assertThat(testee.getStreamName()).isEqualTo("MyStream");
+        assertThat(testee.getVersion()).isEqualTo(7);
+        assertThat(testee.getData()).isEqualTo(second);
+        assertThat(testee).hasToString("MyStream (7)");
+
+    }
+
+}
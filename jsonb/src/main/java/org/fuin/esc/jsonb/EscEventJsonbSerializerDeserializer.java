@@ -8,6 +8,7 @@ import jakarta.json.bind.serializer.JsonbSerializer;
 import jakarta.json.bind.serializer.SerializationContext;
 import jakarta.json.stream.JsonGenerator;
 import jakarta.json.stream.JsonParser;
+import org.fuin.esc.api.Deserializer;
 import org.fuin.esc.api.DeserializerRegistry;
 import org.fuin.esc.api.EnhancedMimeType;
 import org.fuin.esc.api.IBase64Data;
@@ -54,10 +55,17 @@ public final class EscEventJsonbSerializerDeserializer implements JsonbSerialize
                         escEvent.setMeta(new DataWrapper(ctx.deserialize(EscMeta.class, parser)));
                         break;
                     case IEscEvent.EL_DATA:
-                        parser.next(); // Skip key and deserialize object
-                        // We cannot directly deserialize into target type as meta information might not be
-                        // set at this point in time as the order of the tags is undefined.
-                        content = ctx.deserialize(JsonValue.class, parser);
+                        final JsonParser.Event dataEvent = parser.next(); // Skip key and deserialize object
+                        final Deserializer direct = directDeserializer(dataEvent, escEvent);
+                        if (direct == null) {
+                            // Meta information is not known yet (the order of the tags is undefined)
+                            // or the data is not plain JSON: Buffer it and handle it at the end
+                            content = ctx.deserialize(JsonValue.class, parser);
+                        } else {
+                            final EscMeta escMeta = (EscMeta) escEvent.getMeta().getObj();
+                            escEvent.setData(new DataWrapper(direct.unmarshal(new JsonbParserValue(parser, ctx),
+                                    new SerializedDataType(escEvent.getEventType()), escMeta.getDataContentType())));
+                        }
                         break;
                     default:
                         // ignore
@@ -66,6 +74,11 @@ public final class EscEventJsonbSerializerDeserializer implements JsonbSerialize
             }
         }
 
+        if (escEvent.getData() != null) { //NOSONAR Can be null because it's not set above...
+            // Already deserialized in a single pass
+            return escEvent;
+        }
+
         // Handle data at the end, because metadata is only safely available at the end of the process
         if (content == null) {
             throw new IllegalStateException("Expected content to be set, but was never processed during parse process");
@@ -90,12 +103,23 @@ public final class EscEventJsonbSerializerDeserializer implements JsonbSerialize
         return escEvent;
     }
 
+    private Deserializer directDeserializer(final JsonParser.Event dataEvent, final EscEvent escEvent) {
+        if (escEvent.getEventType() == null || escEvent.getMeta() == null //NOSONAR Can be null if not parsed yet
+                || !(escEvent.getMeta().getObj() instanceof EscMeta escMeta)) {
+            return null;
+        }
+        return EscJsonbUtils.directDeserializer(dataEvent, new SerializedDataType(escEvent.getEventType()),
+                escMeta.getDataContentType(), EscEvent.SER_TYPE, deserializerRegistry);
+    }
+
     @Override
     public void serialize(EscEvent escEvent, JsonGenerator generator, SerializationContext ctx) {
         generator.writeStartObject();
         if (escEvent != null) {
             generator.write(IEscEvent.EL_EVENT_ID, escEvent.getEventId());
             generator.write(IEscEvent.EL_EVENT_TYPE, escEvent.getEventType());
+            // Meta data first allows reading the data in a single pass
+            ctx.serialize(IEscEvent.EL_META_DATA, escEvent.getMeta().getObj(), generator);
             if (escEvent.getData().getObj() instanceof Base64Data base64Data) {
                 generator.writeStartObject(IEscEvent.EL_DATA);
                 generator.write(IBase64Data.EL_ROOT_NAME, base64Data.getEncoded());
@@ -105,7 +129,6 @@ public final class EscEventJsonbSerializerDeserializer implements JsonbSerialize
                 EscJsonbUtils.serialize(generator, ctx, serializerRegistry,
                         serDataType, IEscEvent.EL_DATA, escEvent.getData().getObj());
             }
-            ctx.serialize(IEscEvent.EL_META_DATA, escEvent.getMeta().getObj(), generator);
         }
         generator.writeEnd();
     }
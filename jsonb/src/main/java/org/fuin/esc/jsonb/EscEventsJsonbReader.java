@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jsonb;
+
+import jakarta.json.Json;
+import jakarta.json.bind.JsonbException;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+import jakarta.json.stream.JsonParser;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.jsonb.JsonbProvider;
+
+import java.io.Closeable;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Reads events one by one from a JSON array in the format of a serialized {@link EscEvents} instance. The array is
+ * traversed with the JSON-P streaming parser and only the current event is held in memory, so arbitrary large batches
+ * can be processed with {@link #forEachRemaining(java.util.function.Consumer)}. Closing the reader closes the underlying
+ * stream. This class is not thread-safe.<br>
+ * <br>
+ * The JSON-B API cannot bind a value at the current position of a parser. Therefore, the tokens of an event are copied
+ * from the parser into a reused text buffer that is then bound with JSON-B. This still reads every event twice, but
+ * avoids building an intermediate DOM for it.
+ */
+public final class EscEventsJsonbReader implements Iterator<EscEvent>, Closeable {
+
+    private final JsonbProvider jsonbProvider;
+
+    private final JsonParser parser;
+
+    private final JsonGeneratorFactory generatorFactory;
+
+    private final StringWriter buffer;
+
+    private JsonParser.Event current;
+
+    /**
+     * Constructor with mandatory data.
+     *
+     * @param jsonbProvider Provides the JSON-B instance with the ESC deserializers registered.
+     * @param reader        Reader to read the events from.
+     */
+    public EscEventsJsonbReader(@NotNull final JsonbProvider jsonbProvider, @NotNull final Reader reader) {
+        super();
+        this.jsonbProvider = Objects.requireNonNull(jsonbProvider, "jsonbProvider==null");
+        Objects.requireNonNull(reader, "reader==null");
+        this.parser = Json.createParser(reader);
+        this.generatorFactory = Json.createGeneratorFactory(null);
+        this.buffer = new StringWriter();
+        final JsonParser.Event first = parser.next();
+        if (first != JsonParser.Event.START_ARRAY) {
+            throw new IllegalArgumentException("Expected start of an array, but was: " + first);
+        }
+        current = parser.next();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (current == JsonParser.Event.START_OBJECT) {
+            return true;
+        }
+        if (current == JsonParser.Event.END_ARRAY) {
+            return false;
+        }
+        throw new IllegalStateException("Expected an event or end of the array, but was: " + current);
+    }
+
+    @Override
+    public EscEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            final EscEvent event = jsonbProvider.jsonb().fromJson(copyObject(), EscEvent.class);
+            current = parser.next();
+            return event;
+        } catch (final JsonbException ex) {
+            throw new RuntimeException("Error reading event", ex);
+        }
+    }
+
+    /**
+     * Copies the object at the current position of the parser into the buffer.
+     *
+     * @return JSON text of the object.
+     */
+    private String copyObject() {
+        buffer.getBuffer().setLength(0);
+        try (final JsonGenerator generator = generatorFactory.createGenerator(buffer)) {
+            generator.writeStartObject();
+            int depth = 1;
+            while (depth > 0) {
+                switch (parser.next()) {
+                    case START_OBJECT:
+                        generator.writeStartObject();
+                        depth++;
+                        break;
+                    case START_ARRAY:
+                        generator.writeStartArray();
+                        depth++;
+                        break;
+                    case END_OBJECT:
+                    case END_ARRAY:
+                        generator.writeEnd();
+                        depth--;
+                        break;
+                    case KEY_NAME:
+                        generator.writeKey(parser.getString());
+                        break;
+                    case VALUE_STRING:
+                        generator.write(parser.getString());
+                        break;
+                    case VALUE_NUMBER:
+                        generator.write(parser.getBigDecimal());
+                        break;
+                    case VALUE_TRUE:
+                        generator.write(true);
+                        break;
+                    case VALUE_FALSE:
+                        generator.write(false);
+                        break;
+                    default:
+                        generator.writeNull();
+                        break;
+                }
+            }
+        }
+        return buffer.toString();
+    }
+
+    @Override
+    public void close() {
+        parser.close();
+    }
+
+}
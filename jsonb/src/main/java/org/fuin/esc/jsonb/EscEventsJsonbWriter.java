@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jsonb;
+
+import jakarta.json.bind.JsonbException;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.jsonb.JsonbProvider;
+
+import java.io.Closeable;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Writes events one by one as JSON array to a character stream. The result has the same format as a serialized
+ * {@link EscEvents} instance, but the events are never collected in memory. Each event is serialized by JSON-B directly
+ * into the target writer. Closing the writer finishes the array and closes the underlying stream. This class is not
+ * thread-safe.
+ */
+public final class EscEventsJsonbWriter implements Closeable {
+
+    private final JsonbProvider jsonbProvider;
+
+    private final Writer writer;
+
+    private final Writer eventWriter;
+
+    private boolean first;
+
+    private boolean closed;
+
+    /**
+     * Constructor with mandatory data.
+     *
+     * @param jsonbProvider Provides the JSON-B instance with the ESC serializers registered.
+     * @param writer        Writer to write the events to.
+     */
+    public EscEventsJsonbWriter(@NotNull final JsonbProvider jsonbProvider, @NotNull final Writer writer) {
+        super();
+        this.jsonbProvider = Objects.requireNonNull(jsonbProvider, "jsonbProvider==null");
+        this.writer = Objects.requireNonNull(writer, "writer==null");
+        // JSON-B closes the writer after every call, but the array is not finished yet
+        this.eventWriter = new FilterWriter(writer) {
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        this.first = true;
+        try {
+            writer.write('[');
+        } catch (final IOException ex) {
+            throw new RuntimeException("Error starting events array", ex);
+        }
+    }
+
+    /**
+     * Appends a single event to the array.
+     *
+     * @param event Event to write.
+     */
+    public void write(@NotNull final EscEvent event) {
+        Objects.requireNonNull(event, "event==null");
+        if (closed) {
+            throw new IllegalStateException("Writer is already closed");
+        }
+        try {
+            if (first) {
+                first = false;
+            } else {
+                writer.write(',');
+            }
+            jsonbProvider.jsonb().toJson(event, eventWriter);
+        } catch (final JsonbException | IOException ex) {
+            throw new RuntimeException("Error writing event: " + event.getEventId(), ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.write(']');
+        } finally {
+            writer.close();
+        }
+    }
+
+}
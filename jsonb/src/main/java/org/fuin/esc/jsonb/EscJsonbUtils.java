@@ -17,6 +17,7 @@
  */
 package org.fuin.esc.jsonb;
 
+import jakarta.annotation.Nullable;
 import jakarta.json.JsonString;
 import jakarta.json.JsonValue;
 import jakarta.json.bind.adapter.JsonbAdapter;
@@ -24,6 +25,7 @@ import jakarta.json.bind.serializer.JsonbDeserializer;
 import jakarta.json.bind.serializer.JsonbSerializer;
 import jakarta.json.bind.serializer.SerializationContext;
 import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
 import org.fuin.esc.api.Deserializer;
 import org.fuin.esc.api.DeserializerRegistry;
 import org.fuin.esc.api.EnhancedMimeType;
@@ -32,6 +34,7 @@ import org.fuin.esc.api.SerializedDataType;
 import org.fuin.esc.api.SerializedDataTypeRegistry;
 import org.fuin.esc.api.Serializer;
 import org.fuin.esc.api.SerializerRegistry;
+import org.fuin.esc.api.TransferEncoding;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -248,7 +251,7 @@ public final class EscJsonbUtils {
         final byte[] bytes;
         if (content.getValueType() == JsonValue.ValueType.STRING) {
             final String base64 = ((JsonString) content).getString();
-            bytes = Base64.getDecoder().decode(base64);
+            bytes = TransferEncoding.decode(dataContentType, Base64.getDecoder().decode(base64));
         } else if (content.getValueType() == JsonValue.ValueType.OBJECT) {
             bytes = content.toString().getBytes(dataContentType.getEncoding());
         } else {
@@ -259,6 +262,40 @@ public final class EscJsonbUtils {
 
     }
 
+    /**
+     * Returns the deserializer that can read a value directly from a parser positioned at it. This is only possible
+     * for a JSON object that is not transfer encoded and whose deserializer {@link Deserializer#supports(Class)
+     * supports} a {@link JsonbParserValue}. As the value is read with the context of the enclosing structure, the
+     * deserializer must also be the one registered for the enclosing type. Otherwise, a differently configured
+     * JSON-B instance would read the value. In all other cases the value has to be buffered and deserialized with
+     * {@link #deserialize(JsonValue, SerializedDataType, EnhancedMimeType, DeserializerRegistry)}.
+     *
+     * @param event                Current event of the parser.
+     * @param dataType             Type of the value or {@literal null} if not known yet.
+     * @param dataContentType      Mime type of the value or {@literal null} if not known yet.
+     * @param enclosingType        Type of the structure that contains the value.
+     * @param deserializerRegistry Used to find the deserializer to use.
+     * @return Deserializer or {@literal null} if the value cannot be read directly.
+     */
+    @Nullable
+    static Deserializer directDeserializer(final JsonParser.Event event,
+                                           @Nullable final SerializedDataType dataType,
+                                           @Nullable final EnhancedMimeType dataContentType,
+                                           final SerializedDataType enclosingType,
+                                           final DeserializerRegistry deserializerRegistry) {
+        if (event != JsonParser.Event.START_OBJECT || dataType == null || dataContentType == null
+                || !dataContentType.isJson() || dataContentType.getParameter(TransferEncoding.PARAMETER) != null
+                || !deserializerRegistry.deserializerExists(enclosingType)) {
+            return null;
+        }
+        final Deserializer deserializer = deserializerRegistry.getDeserializer(dataType, dataContentType);
+        if (deserializer.supports(JsonbParserValue.class)
+                && deserializer == deserializerRegistry.getDeserializer(enclosingType)) {
+            return deserializer;
+        }
+        return null;
+    }
+
     /**
      * Creates all available JSON-B serializers necessary for the ESC implementation.
      *
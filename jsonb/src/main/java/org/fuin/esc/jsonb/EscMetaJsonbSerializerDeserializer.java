@@ -7,6 +7,7 @@ import jakarta.json.bind.serializer.JsonbSerializer;
 import jakarta.json.bind.serializer.SerializationContext;
 import jakarta.json.stream.JsonGenerator;
 import jakarta.json.stream.JsonParser;
+import org.fuin.esc.api.Deserializer;
 import org.fuin.esc.api.DeserializerRegistry;
 import org.fuin.esc.api.EnhancedMimeType;
 import org.fuin.esc.api.IBase64Data;
@@ -63,12 +64,19 @@ public final class EscMetaJsonbSerializerDeserializer implements JsonbSerializer
                                 if (escMeta.getMetaContentType() == null) {
                                     throw new IllegalStateException("Content type for meta is not defined");
                                 }
-                                parser.next();
-                                final JsonValue content = ctx.deserialize(JsonValue.class, parser);
+                                final JsonParser.Event metaEvent = parser.next();
                                 final SerializedDataType metaType = new SerializedDataType(escMeta.getMetaType());
                                 final EnhancedMimeType metaContentType = escMeta.getMetaContentType();
-                                final Object meta = EscJsonbUtils.deserialize(content, metaType, metaContentType, deserializerRegistry);
-                                escMeta.setMeta(meta);
+                                final Deserializer direct = EscJsonbUtils.directDeserializer(metaEvent,
+                                        metaType, metaContentType, EscMeta.SER_TYPE, deserializerRegistry);
+                                if (direct == null) {
+                                    final JsonValue content = ctx.deserialize(JsonValue.class, parser);
+                                    escMeta.setMeta(EscJsonbUtils.deserialize(content, metaType, metaContentType,
+                                            deserializerRegistry));
+                                } else {
+                                    escMeta.setMeta(direct.unmarshal(new JsonbParserValue(parser, ctx), metaType,
+                                            metaContentType));
+                                }
                             }
                             break;
                     }
@@ -0,0 +1,35 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jsonb;
+
+import jakarta.json.bind.serializer.DeserializationContext;
+import jakarta.json.stream.JsonParser;
+import org.fuin.utils4j.TestOmitted;
+
+/**
+ * JSON value at the current position of a parser that is consumed by a JSON-B deserializer. Passing this to
+ * {@link org.fuin.esc.api.Deserializer#unmarshal(Object, org.fuin.esc.api.SerializedDataType, org.fuin.esc.api.EnhancedMimeType)}
+ * avoids rendering an already parsed structure as text and parsing it again. Only deserializers that
+ * {@link org.fuin.esc.api.Deserializer#supports(Class) support} this type accept it.
+ *
+ * @param parser Parser positioned at the start of the value.
+ * @param ctx    Context of the enclosing structure that is used to read the value.
+ */
+@TestOmitted("Simple value holder that is tested along with the other tests in this package")
+public record JsonbParserValue(JsonParser parser, DeserializationContext ctx) {
+}
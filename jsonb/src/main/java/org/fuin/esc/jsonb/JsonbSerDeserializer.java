@@ -21,18 +21,21 @@ import jakarta.json.JsonStructure;
 import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbException;
 import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.CountingOutputStream;
 import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.EscJfrEvents;
+import org.fuin.esc.api.PooledByteArrayOutputStream;
 import org.fuin.esc.api.SerDeserializer;
 import org.fuin.esc.api.SerializedDataType;
 import org.fuin.esc.api.SerializedDataTypeRegistry;
 import org.fuin.objects4j.jsonb.JsonbProvider;
-import org.fuin.utils4j.TestOmitted;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
@@ -41,9 +44,8 @@ import java.util.Objects;
 
 /**
  * Serializes and deserializes an object from/to JSON using JSON-B. The content type for serialization is always "application/json". This
- * implementation supports only <code>byte[]</code> for unmarshalling content. Trying to use something else will result in an exception.
+ * implementation supports <code>byte[]</code>, {@link JsonStructure} and {@link JsonbParserValue} for unmarshalling content. Trying to use something else will result in an exception.
  */
-@TestOmitted("Test implicitly with other tests")
 public final class JsonbSerDeserializer implements SerDeserializer, Closeable {
 
     private final EnhancedMimeType mimeType;
@@ -79,23 +81,42 @@ public final class JsonbSerDeserializer implements SerDeserializer, Closeable {
 
     @Override
     public byte[] marshal(@NotNull final Object obj, @NotNull final SerializedDataType type) {
+        final PooledByteArrayOutputStream out = PooledByteArrayOutputStream.acquire();
+        try {
+            marshal(obj, type, out);
+            return out.toByteArray();
+        } finally {
+            out.release();
+        }
+    }
+
+    @Override
+    public void marshal(@NotNull final Object obj, @NotNull final SerializedDataType type, @NotNull final OutputStream out) {
         Objects.requireNonNull(obj, "obj==null");
         Objects.requireNonNull(type, "type==null");
+        Objects.requireNonNull(out, "out==null");
+        final EscJfrEvents.Serialize event = EscJfrEvents.Serialize.start();
         try {
             final Class<?> clasz = typeRegistry.findClass(type);
             if (!obj.getClass().isAssignableFrom(clasz)) {
                 throw new IllegalStateException("The instance class '" + obj.getClass().getName() + "' is not assignable from '"
                         + clasz.getName() + "'. The registry returned an incompatible type for '" + type + "'");
             }
-            final ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
-            final Writer writer = new OutputStreamWriter(bos, mimeType.getEncoding());
-            jsonbProvider.jsonb().toJson(obj, writer);
-            return bos.toByteArray();
-        } catch (final JsonbException ex) {
+            final CountingOutputStream counter = new CountingOutputStream(out);
+            try (final Writer writer = new OutputStreamWriter(counter, mimeType.getEncoding())) {
+                jsonbProvider.jsonb().toJson(obj, writer);
+            }
+            event.complete(type, mimeType, counter.getCount());
+        } catch (final JsonbException | IOException ex) {
             throw new RuntimeException("Error serializing data", ex);
         }
     }
 
+    @Override
+    public boolean writesStream() {
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T unmarshal(@NotNull final Object data, @NotNull final SerializedDataType type, @NotNull final EnhancedMimeType mimeType) {
@@ -105,17 +126,28 @@ public final class JsonbSerDeserializer implements SerDeserializer, Closeable {
         if (!mimeType.getBaseType().equals(this.mimeType.getBaseType())) {
             throw new IllegalArgumentException("Cannot handle: " + mimeType);
         }
+        final EscJfrEvents.Deserialize event = EscJfrEvents.Deserialize.start();
         try {
             final Class<?> clasz = typeRegistry.findClass(type);
             if (clasz.isAssignableFrom(data.getClass())) {
                 return (T) data;
             }
+            if (data instanceof JsonbParserValue value) {
+                // Read with the context of the enclosing structure: Only valid if that was created by this instance
+                final T result = (T) value.ctx().deserialize(clasz, value.parser());
+                event.complete(type, mimeType, data);
+                return result;
+            }
             if (data instanceof JsonStructure js) {
-                return (T) jsonbProvider.jsonb().fromJson(js.toString(), clasz);
+                final T result = (T) jsonbProvider.jsonb().fromJson(js.toString(), clasz);
+                event.complete(type, mimeType, data);
+                return result;
             }
             if (data instanceof byte[]) {
                 final Reader reader = new InputStreamReader(new ByteArrayInputStream((byte[]) data), mimeType.getEncoding());
-                return (T) jsonbProvider.jsonb().fromJson(reader, clasz);
+                final T result = (T) jsonbProvider.jsonb().fromJson(reader, clasz);
+                event.complete(type, mimeType, data);
+                return result;
             }
             throw new IllegalArgumentException("Expected data to be of type byte[], but was: " + data.getClass().getName());
 
@@ -132,6 +164,34 @@ public final class JsonbSerDeserializer implements SerDeserializer, Closeable {
         }
     }
 
+    @Override
+    public boolean supports(@NotNull final Class<?> dataClass) {
+        return byte[].class.equals(dataClass) || JsonStructure.class.isAssignableFrom(dataClass)
+                || JsonbParserValue.class.equals(dataClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T unmarshalStream(@NotNull final InputStream in, @NotNull final SerializedDataType type,
+                                 @NotNull final EnhancedMimeType mimeType) {
+        Objects.requireNonNull(in, "in==null");
+        Objects.requireNonNull(type, "type==null");
+        Objects.requireNonNull(mimeType, "mimeType==null");
+        if (!mimeType.getBaseType().equals(this.mimeType.getBaseType())) {
+            throw new IllegalArgumentException("Cannot handle: " + mimeType);
+        }
+        final EscJfrEvents.Deserialize event = EscJfrEvents.Deserialize.start();
+        try {
+            final Class<?> clasz = typeRegistry.findClass(type);
+            final Reader reader = new InputStreamReader(in, mimeType.getEncoding());
+            final T result = (T) jsonbProvider.jsonb().fromJson(reader, clasz);
+            event.complete(type, mimeType, in);
+            return result;
+        } catch (final JsonbException ex) {
+            throw new RuntimeException("Error de-serializing data of type '" + type + "' from stream", ex);
+        }
+    }
+
     @Override
     public void close() throws IOException {
         try {
@@ -20,6 +20,8 @@ package org.fuin.esc.jsonb;
 import jakarta.activation.MimeTypeParseException;
 import jakarta.json.bind.JsonbConfig;
 import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.HistogramEventStoreMetrics;
+import org.fuin.esc.api.InstrumentedSerDeserializerRegistry;
 import org.fuin.esc.api.SerDeserializerRegistry;
 import org.fuin.esc.api.SerializedDataTypeRegistry;
 import org.fuin.esc.api.SimpleSerializerDeserializerRegistry;
@@ -29,6 +31,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -140,6 +143,118 @@ public class EscEventTest extends AbstractTest {
         }
     }
 
+    @Test
+    public final void testUnmarshalJsonBMetaFirst() throws Exception {
+
+        // PREPARE
+        final String json = """
+                {
+                    "EventId":"b2a936ce-d479-414f-b67f-3df4da383d47",
+                    "EventType":"MyEvent",
+                    "MetaData":{
+                        "data-type":"MyEvent",
+                        "data-content-type":"application/json; encoding=UTF-8",
+                        "meta-type":"MyMeta",
+                        "meta-content-type":"application/json; encoding=UTF-8",
+                        "MyMeta":{
+                            "user":"abc"
+                        }
+                    },
+                    "Data":{
+                        "id":"b2a936ce-d479-414f-b67f-3df4da383d47",
+                        "description":"Hello, JSON!"
+                    }
+                }
+                """;
+
+        try (final JsonbProvider provider = getJsonbProvider()) {
+
+            // TEST
+            final EscEvent testee = provider.jsonb().fromJson(json, EscEvent.class);
+
+            // VERIFY
+            assertThat(testee.getEventId()).isEqualTo("b2a936ce-d479-414f-b67f-3df4da383d47");
+            assertThat(testee.getData().getObj()).isInstanceOf(MyEvent.class);
+            final MyEvent myEvent = (MyEvent) testee.getData().getObj();
+            assertThat(myEvent.getId()).isEqualTo("b2a936ce-d479-414f-b67f-3df4da383d47");
+            assertThat(myEvent.getDescription()).isEqualTo("Hello, JSON!");
+            final EscMeta escMeta = (EscMeta) testee.getMeta().getObj();
+            assertThat(escMeta.getMeta()).isInstanceOf(MyMeta.class);
+            assertThat(((MyMeta) escMeta.getMeta()).getUser()).isEqualTo("abc");
+
+        }
+    }
+
+    @Test
+    public final void testUnmarshalJsonBMetaFirstInstrumented() throws Exception {
+
+        // PREPARE
+        final String json = """
+                {
+                    "EventId":"b2a936ce-d479-414f-b67f-3df4da383d47",
+                    "EventType":"MyEvent",
+                    "MetaData":{
+                        "data-type":"MyEvent",
+                        "data-content-type":"application/json; encoding=UTF-8",
+                        "meta-type":"MyMeta",
+                        "meta-content-type":"application/json; encoding=UTF-8",
+                        "MyMeta":{
+                            "user":"abc"
+                        }
+                    },
+                    "Data":{
+                        "id":"b2a936ce-d479-414f-b67f-3df4da383d47",
+                        "description":"Hello, JSON!"
+                    }
+                }
+                """;
+        final HistogramEventStoreMetrics metrics = new HistogramEventStoreMetrics(Duration.ofSeconds(1));
+        final JsonbConfig jsonbConfig = TestUtils.createJsonbConfig();
+        try (final JsonbProvider provider = new JsonbProvider(jsonbConfig)) {
+            final JsonbSerDeserializer serDeserializer = TestUtils.createSerDeserializer(provider,
+                    TestUtils.createSerializedDataTypeRegistry());
+            final InstrumentedSerDeserializerRegistry registry = new InstrumentedSerDeserializerRegistry(
+                    TestUtils.createSerDeserializerRegistry(serDeserializer), metrics);
+            TestUtils.register(jsonbConfig, registry, registry);
+
+            // TEST
+            final EscEvent testee = provider.jsonb().fromJson(json, EscEvent.class);
+
+            // VERIFY
+            final MyEvent myEvent = (MyEvent) testee.getData().getObj();
+            assertThat(myEvent.getDescription()).isEqualTo("Hello, JSON!");
+            final EscMeta escMeta = (EscMeta) testee.getMeta().getObj();
+            assertThat(((MyMeta) escMeta.getMeta()).getUser()).isEqualTo("abc");
+            assertThat(metrics.getDeserializationLatency(MyEvent.SER_TYPE).getCount()).isEqualTo(1);
+            assertThat(metrics.getDeserializationLatency(MyMeta.SER_TYPE).getCount()).isEqualTo(1);
+
+        }
+    }
+
+    @Test
+    public void testMarshalWritesMetaFirst() throws Exception {
+
+        // PREPARE
+        final EnhancedMimeType contentType = EnhancedMimeType.create("application/json; encoding=UTF-8");
+        final EscMeta escMeta = new EscMeta(MyEvent.SER_TYPE.asBaseType(), contentType);
+        final MyEvent myEvent = new MyEvent(UUID.fromString("b2a936ce-d479-414f-b67f-3df4da383d47"), "Hello, JSON!");
+        final EscEvent event = new EscEvent(UUID.fromString("b2a936ce-d479-414f-b67f-3df4da383d47"),
+                MyEvent.TYPE.asBaseType(), new DataWrapper(myEvent), new DataWrapper(escMeta));
+
+        try (final JsonbProvider provider = getJsonbProvider()) {
+
+            // TEST
+            final String json = provider.jsonb().toJson(event);
+            final EscEvent copy = provider.jsonb().fromJson(json, EscEvent.class);
+
+            // VERIFY
+            assertThat(json.indexOf("\"MetaData\"")).isLessThan(json.indexOf("\"Data\""));
+            assertThat(((MyEvent) copy.getData().getObj()).getDescription()).isEqualTo("Hello, JSON!");
+
+        }
+
+    }
+
     @Test
     public void testMarshalJsonBBase64() throws Exception {
 
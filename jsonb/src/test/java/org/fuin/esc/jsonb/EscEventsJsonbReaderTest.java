@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jsonb;
+
+import org.fuin.objects4j.jsonb.JsonbProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.esc.jsonb.EscEventsJsonbWriterTest.createEvent;
+
+/**
+ * Test for {@link EscEventsJsonbReader} class.
+ */
+public class EscEventsJsonbReaderTest extends AbstractTest {
+
+    @Test
+    public void testReadEscEventsFormat() throws Exception {
+
+        try (final JsonbProvider provider = getJsonbProvider()) {
+
+            // PREPARE
+            final EscEvent event1 = createEvent(1);
+            final EscEvent event2 = createEvent(2);
+            final String json = provider.jsonb().toJson(new EscEvents(event1, event2));
+
+            // TEST
+            final List<EscEvent> events = new ArrayList<>();
+            try (final EscEventsJsonbReader testee = new EscEventsJsonbReader(provider, new StringReader(json))) {
+                testee.forEachRemaining(events::add);
+                assertThat(testee.hasNext()).isFalse();
+                assertThatThrownBy(testee::next).isInstanceOf(NoSuchElementException.class);
+            }
+
+            // VERIFY
+            assertThat(events).hasSize(2);
+            assertThat(events.get(0).getEventId()).isEqualTo(event1.getEventId());
+            assertThat(events.get(1).getEventId()).isEqualTo(event2.getEventId());
+            assertThat(events.get(1).getData().getObj()).isInstanceOf(MyEvent.class);
+            assertThat(((MyEvent) events.get(1).getData().getObj()).getDescription()).isEqualTo("Event #2");
+            assertThat(((EscMeta) events.get(1).getMeta().getObj()).getMeta()).isInstanceOf(MyMeta.class);
+
+        }
+
+    }
+
+    @Test
+    public void testReadLargeBatch() throws Exception {
+
+        try (final JsonbProvider provider = getJsonbProvider()) {
+
+            // PREPARE
+            final int count = 10000;
+            final StringWriter out = new StringWriter();
+            try (final EscEventsJsonbWriter writer = new EscEventsJsonbWriter(provider, out)) {
+                for (int i = 0; i < count; i++) {
+                    writer.write(createEvent(i));
+                }
+            }
+
+            // TEST
+            final AtomicInteger no = new AtomicInteger();
+            try (final EscEventsJsonbReader testee = new EscEventsJsonbReader(provider, new StringReader(out.toString()))) {
+                testee.forEachRemaining(event -> {
+                    final MyEvent myEvent = (MyEvent) event.getData().getObj();
+                    assertThat(myEvent.getDescription()).isEqualTo("Event #" + no.getAndIncrement());
+                });
+            }
+
+            // VERIFY
+            assertThat(no.get()).isEqualTo(count);
+
+        }
+
+    }
+
+    @Test
+    public void testReadAllValueTypes() throws Exception {
+
+        try (final JsonbProvider provider = getJsonbProvider()) {
+
+            // PREPARE
+            final String json = """
+                    [
+                        {
+                            "EventId":"b2a936ce-d479-414f-b67f-3df4da383d47",
+                            "EventType":"MyEvent",
+                            "MetaData":{
+                                "data-type":"MyEvent",
+                                "data-content-type":"application/json; encoding=UTF-8",
+                                "meta-type":"MyMeta",
+                                "meta-content-type":"application/json; encoding=UTF-8",
+                                "MyMeta":{
+                                    "user":"abc"
+                                }
+                            },
+                            "Data":{
+                                "id":"b2a936ce-d479-414f-b67f-3df4da383d47",
+                                "description":"Say \\"Hello\\" \\u00e4\\n",
+                                "ignored":[1, -2.5e3, 12345678901234567890, true, false, null, {"a":[]}]
+                            }
+                        }
+                    ]
+                    """;
+
+            // TEST
+            final List<EscEvent> events = new ArrayList<>();
+            try (final EscEventsJsonbReader testee = new EscEventsJsonbReader(provider, new StringReader(json))) {
+                testee.forEachRemaining(events::add);
+            }
+
+            // VERIFY
+            assertThat(events).hasSize(1);
+            final MyEvent myEvent = (MyEvent) events.get(0).getData().getObj();
+            assertThat(myEvent.getDescription()).isEqualTo("Say \"Hello\" \u00e4\n");
+            assertThat(((MyMeta) ((EscMeta) events.get(0).getMeta().getObj()).getMeta()).getUser()).isEqualTo("abc");
+
+        }
+
+    }
+
+    @Test
+    public void testReadNoArray() throws Exception {
+
+        try (final JsonbProvider provider = getJsonbProvider()) {
+            assertThatThrownBy(() -> new EscEventsJsonbReader(provider, new StringReader("{}")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Expected start of an array, but was: START_OBJECT");
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jsonb;
+
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.objects4j.jsonb.JsonbProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link EscEventsJsonbWriter} class.
+ */
+public class EscEventsJsonbWriterTest extends AbstractTest {
+
+    @Test
+    public void testWriteSameFormatAsEscEvents() throws Exception {
+
+        try (final JsonbProvider provider = getJsonbProvider()) {
+
+            // PREPARE
+            final EscEvent event1 = createEvent(1);
+            final EscEvent event2 = createEvent(2);
+            final EscEvent event3 = createEvent(3);
+            final String expectedJson = provider.jsonb().toJson(new EscEvents(event1, event2, event3));
+            final StringWriter out = new StringWriter();
+
+            // TEST
+            try (final EscEventsJsonbWriter testee = new EscEventsJsonbWriter(provider, out)) {
+                testee.write(event1);
+                testee.write(event2);
+                testee.write(event3);
+            }
+
+            // VERIFY
+            assertThatJson(out.toString()).isEqualTo(expectedJson);
+
+        }
+
+    }
+
+    @Test
+    public void testWriteEmpty() throws Exception {
+
+        try (final JsonbProvider provider = getJsonbProvider()) {
+
+            // PREPARE
+            final StringWriter out = new StringWriter();
+
+            // TEST
+            new EscEventsJsonbWriter(provider, out).close();
+
+            // VERIFY
+            assertThatJson(out.toString()).isEqualTo("[]");
+
+        }
+
+    }
+
+    @Test
+    public void testWriteAfterClose() throws Exception {
+
+        try (final JsonbProvider provider = getJsonbProvider()) {
+
+            // PREPARE
+            final EscEventsJsonbWriter testee = new EscEventsJsonbWriter(provider, new StringWriter());
+            testee.close();
+
+            // TEST & VERIFY
+            assertThatThrownBy(() -> testee.write(createEvent(1))).isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Writer is already closed");
+
+        }
+
+    }
+
+    static EscEvent createEvent(final int no) {
+        final UUID uuid = UUID.randomUUID();
+        final MyEvent myEvent = new MyEvent(uuid, "Event #" + no);
+        final EnhancedMimeType contentType = EnhancedMimeType.create("application", "json", StandardCharsets.UTF_8);
+        final EscMeta escMeta = new EscMeta(MyEvent.SER_TYPE.asBaseType(), contentType, MyMeta.SER_TYPE.asBaseType(), contentType,
+                new MyMeta("abc"));
+        return new EscEvent(uuid, MyEvent.TYPE.asBaseType(), new DataWrapper(myEvent), new DataWrapper(escMeta));
+    }
+
+}
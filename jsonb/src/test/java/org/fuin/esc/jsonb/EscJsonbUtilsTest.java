@@ -23,11 +23,22 @@ import jakarta.json.bind.serializer.JsonbSerializer;
 import jakarta.json.bind.serializer.SerializationContext;
 import jakarta.json.stream.JsonGenerator;
 import jakarta.json.stream.JsonParser;
+import org.fuin.esc.api.Deserializer;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.HistogramEventStoreMetrics;
+import org.fuin.esc.api.InstrumentedSerDeserializerRegistry;
+import org.fuin.esc.api.SerDeserializerRegistry;
+import org.fuin.esc.api.SerializedDataTypeRegistry;
+import org.fuin.esc.api.SimpleSerializerDeserializerRegistry;
+import org.fuin.objects4j.jsonb.JsonbProvider;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Type;
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.fuin.esc.jsonb.EscJsonbUtils.MIME_TYPE;
+import static org.fuin.esc.jsonb.EscJsonbUtils.addEscSerDeserializer;
 
 /**
  * Tests the {@link EscJsonbUtils} class.
@@ -173,5 +184,72 @@ public class EscJsonbUtilsTest {
 
     }
 
-}
+    @Test
+    public void testDirectDeserializer() {
+
+        // PREPARE
+        final JsonbSerDeserializer serDeserializer = TestUtils.createSerDeserializer(
+                new JsonbProvider(TestUtils.createJsonbConfig()), TestUtils.createSerializedDataTypeRegistry());
+        final SerDeserializerRegistry registry = TestUtils.createSerDeserializerRegistry(serDeserializer);
+        final EnhancedMimeType json = EnhancedMimeType.create("application/json; encoding=UTF-8");
+        final EnhancedMimeType base64 = EnhancedMimeType.create(
+                "application/json; transfer-encoding=base64; encoding=UTF-8");
+
+        // TEST & VERIFY
+        assertThat(EscJsonbUtils.directDeserializer(JsonParser.Event.START_OBJECT, MyEvent.SER_TYPE, json,
+                EscEvent.SER_TYPE, registry)).isSameAs(serDeserializer);
+        assertThat(EscJsonbUtils.directDeserializer(JsonParser.Event.VALUE_STRING, MyEvent.SER_TYPE, json,
+                EscEvent.SER_TYPE, registry)).isNull();
+        assertThat(EscJsonbUtils.directDeserializer(JsonParser.Event.START_OBJECT, MyEvent.SER_TYPE, base64,
+                EscEvent.SER_TYPE, registry)).isNull();
+        assertThat(EscJsonbUtils.directDeserializer(JsonParser.Event.START_OBJECT, MyEvent.SER_TYPE, null,
+                EscEvent.SER_TYPE, registry)).isNull();
+        assertThat(EscJsonbUtils.directDeserializer(JsonParser.Event.START_OBJECT, null, json,
+                EscEvent.SER_TYPE, registry)).isNull();
+
+    }
+
+    @Test
+    public void testDirectDeserializerOtherConfig() {
+
+        // PREPARE
+        final SerializedDataTypeRegistry typeRegistry = TestUtils.createSerializedDataTypeRegistry();
+        final JsonbSerDeserializer envelopeDeSer = TestUtils.createSerDeserializer(
+                new JsonbProvider(TestUtils.createJsonbConfig()), typeRegistry);
+        final JsonbSerDeserializer dataDeSer = TestUtils.createSerDeserializer(
+                new JsonbProvider(TestUtils.createJsonbConfig()), typeRegistry);
+        final SerDeserializerRegistry registry = addEscSerDeserializer(
+                new SimpleSerializerDeserializerRegistry.Builder(MIME_TYPE), envelopeDeSer)
+                .add(MyEvent.SER_TYPE, dataDeSer, dataDeSer.getMimeType())
+                .build();
+        final EnhancedMimeType json = EnhancedMimeType.create("application/json; encoding=UTF-8");
+
+        // TEST & VERIFY
+        assertThat(EscJsonbUtils.directDeserializer(JsonParser.Event.START_OBJECT, MyEvent.SER_TYPE, json,
+                EscEvent.SER_TYPE, registry)).isNull();
+        assertThat(EscJsonbUtils.directDeserializer(JsonParser.Event.START_OBJECT, MyEvent.SER_TYPE, json,
+                MyEvent.SER_TYPE, registry)).isSameAs(dataDeSer);
+
+    }
 
+    @Test
+    public void testDirectDeserializerInstrumented() {
+
+        // PREPARE
+        final JsonbSerDeserializer serDeserializer = TestUtils.createSerDeserializer(
+                new JsonbProvider(TestUtils.createJsonbConfig()), TestUtils.createSerializedDataTypeRegistry());
+        final InstrumentedSerDeserializerRegistry registry = new InstrumentedSerDeserializerRegistry(
+                TestUtils.createSerDeserializerRegistry(serDeserializer),
+                new HistogramEventStoreMetrics(Duration.ofSeconds(1)));
+        final EnhancedMimeType json = EnhancedMimeType.create("application/json; encoding=UTF-8");
+
+        // TEST
+        final Deserializer direct = EscJsonbUtils.directDeserializer(JsonParser.Event.START_OBJECT,
+                MyEvent.SER_TYPE, json, EscEvent.SER_TYPE, registry);
+
+        // VERIFY
+        assertThat(direct).isNotNull().isSameAs(registry.getDeserializer(MyEvent.SER_TYPE, json));
+
+    }
+
+}
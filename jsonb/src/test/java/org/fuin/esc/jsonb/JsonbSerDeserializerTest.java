@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.jsonb;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link JsonbSerDeserializer} class.
+ */
+public class JsonbSerDeserializerTest extends AbstractTest {
+
+    private static final EnhancedMimeType MIME_TYPE = EnhancedMimeType.create("application", "json", StandardCharsets.UTF_8);
+
+    @Test
+    public void testMarshalUnmarshalBytes() {
+
+        // PREPARE
+        final JsonbSerDeserializer testee = getSerDeserializer();
+        final MyEvent original = new MyEvent("Hello, bytes!");
+
+        // TEST
+        final byte[] data = testee.marshal(original, MyEvent.SER_TYPE);
+        final MyEvent copy = testee.unmarshal(data, MyEvent.SER_TYPE, MIME_TYPE);
+
+        // VERIFY
+        assertThat(copy.getId()).isEqualTo(original.getId());
+        assertThat(copy.getDescription()).isEqualTo(original.getDescription());
+
+    }
+
+    @Test
+    public void testMarshalUnmarshalStream() {
+
+        // PREPARE
+        final JsonbSerDeserializer testee = getSerDeserializer();
+        final MyEvent original = new MyEvent("Hello, stream!");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // TEST
+        testee.marshal(original, MyEvent.SER_TYPE, out);
+        final MyEvent fromStream = testee.unmarshalStream(new ByteArrayInputStream(out.toByteArray()), MyEvent.SER_TYPE, MIME_TYPE);
+        final MyEvent fromBuffer = testee.unmarshalBuffer(ByteBuffer.wrap(out.toByteArray()), MyEvent.SER_TYPE, MIME_TYPE);
+
+        // VERIFY
+        assertThat(testee.writesStream()).isTrue();
+        assertThat(out.toByteArray()).isEqualTo(testee.marshal(original, MyEvent.SER_TYPE));
+        assertThat(fromStream.getId()).isEqualTo(original.getId());
+        assertThat(fromStream.getDescription()).isEqualTo(original.getDescription());
+        assertThat(fromBuffer.getId()).isEqualTo(original.getId());
+
+    }
+
+    @Test
+    public void testSupports() {
+
+        // PREPARE
+        final JsonbSerDeserializer testee = getSerDeserializer();
+
+        // TEST & VERIFY
+        assertThat(testee.supports(byte[].class)).isTrue();
+        assertThat(testee.supports(JsonObject.class)).isTrue();
+        assertThat(testee.supports(Json.createObjectBuilder().build().getClass())).isTrue();
+        assertThat(testee.supports(String.class)).isFalse();
+
+    }
+
+}
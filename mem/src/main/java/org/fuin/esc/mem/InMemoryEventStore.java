@@ -19,6 +19,7 @@ package org.fuin.esc.mem;
 
 import jakarta.validation.constraints.NotNull;
 import org.fuin.esc.api.CommonEvent;
+import org.fuin.esc.api.EscJfrEvents;
 import org.fuin.esc.api.EventNotFoundException;
 import org.fuin.esc.api.ExpectedVersion;
 import org.fuin.esc.api.StreamAlreadyExistsException;
@@ -134,6 +135,7 @@ public final class InMemoryEventStore extends AbstractReadableEventStore impleme
         Contract.requireArgMin("start", start, 0);
         Contract.requireArgMin("count", count, 1);
         ensureOpen();
+        final EscJfrEvents.ReadSlice jfrEvent = EscJfrEvents.ReadSlice.start();
 
         final List<CommonEvent> events = getStream(streamId, ExpectedVersion.ANY.getNo()).getEvents();
 
@@ -145,7 +147,9 @@ public final class InMemoryEventStore extends AbstractReadableEventStore impleme
         final long nextEventNumber = (start + result.size());
         final boolean endOfStream = (result.size() < count);
 
-        return new StreamEventsSlice(fromEventNumber, result, nextEventNumber, endOfStream);
+        final StreamEventsSlice slice = new StreamEventsSlice(fromEventNumber, result, nextEventNumber, endOfStream);
+        jfrEvent.complete(streamId, start, true, slice);
+        return slice;
 
     }
 
@@ -156,6 +160,7 @@ public final class InMemoryEventStore extends AbstractReadableEventStore impleme
         Contract.requireArgMin("start", start, 0);
         Contract.requireArgMin("count", count, 1);
         ensureOpen();
+        final EscJfrEvents.ReadSlice jfrEvent = EscJfrEvents.ReadSlice.start();
 
         final List<CommonEvent> events = getStream(streamId, ExpectedVersion.ANY.getNo()).getEvents();
 
@@ -173,7 +178,9 @@ public final class InMemoryEventStore extends AbstractReadableEventStore impleme
         }
         final boolean endOfStream = (start - count) < 0;
 
-        return new StreamEventsSlice(fromEventNumber, result, nextEventNumber, endOfStream);
+        final StreamEventsSlice slice = new StreamEventsSlice(fromEventNumber, result, nextEventNumber, endOfStream);
+        jfrEvent.complete(streamId, start, false, slice);
+        return slice;
     }
 
     @Override
@@ -228,6 +235,7 @@ public final class InMemoryEventStore extends AbstractReadableEventStore impleme
         Contract.requireArgNotNull("streamId", streamId);
         Contract.requireArgNotNull("toAppend", toAppend);
         ensureOpen();
+        final EscJfrEvents.Append jfrEvent = EscJfrEvents.Append.start();
 
         if (streamId.isProjection()) {
             throw new StreamReadOnlyException(streamId);
@@ -255,8 +263,9 @@ public final class InMemoryEventStore extends AbstractReadableEventStore impleme
         }
 
         stream.addAll(toAppend);
+        jfrEvent.complete(streamId, toAppend.size(), -1);
 
-        notifyListeners(streamId, toAppend, 0);
+        notifyListeners(streamId, toAppend, 0, stream.getVersion() - toAppend.size() + 1);
 
         return stream.getVersion();
 
@@ -307,7 +316,7 @@ public final class InMemoryEventStore extends AbstractReadableEventStore impleme
         }
         list.add(new InternalSubscription(subscription, onEvent));
 
-        notifyListeners(streamId, events, eventNumber);
+        notifyListeners(streamId, events, eventNumber, 0);
 
         return subscription;
 
@@ -360,7 +369,8 @@ public final class InMemoryEventStore extends AbstractReadableEventStore impleme
         }
     }
 
-    private void notifyListeners(final StreamId streamId, final List<CommonEvent> events, final long idx) {
+    private void notifyListeners(final StreamId streamId, final List<CommonEvent> events, final long idx,
+                                 final long firstEventNumber) {
 
         if ((idx > -1) && (idx < events.size())) {
 
@@ -374,7 +384,9 @@ public final class InMemoryEventStore extends AbstractReadableEventStore impleme
                     final List<CommonEvent> copy = new ArrayList<>(events);
                     executor.execute(() -> {
                         for (long i = idx; i < copy.size(); i++) {
+                            final EscJfrEvents.SubscriptionDelivery jfrEvent = EscJfrEvents.SubscriptionDelivery.start();
                             eventListener.accept(subscription, copy.get((int) i));
+                            jfrEvent.complete(subscription, firstEventNumber + i);
                         }
                     });
                 }
@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.mem;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.DeserializerRegistry;
+import org.fuin.esc.api.SerializedDataType;
+import org.fuin.esc.api.SerializerRegistry;
+import org.fuin.esc.api.Snapshot;
+import org.fuin.esc.api.SnapshotStore;
+import org.fuin.esc.api.StreamId;
+import org.fuin.esc.api.TypeName;
+import org.fuin.esc.spi.EscSpiUtils;
+import org.fuin.esc.spi.SerializedData;
+import org.fuin.objects4j.common.Contract;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory snapshot store for unit testing. The state is serialized when it is saved and deserialized every time it
+ * is loaded, like the persistent snapshot stores do. This way the caller gets its own copy of the state and may
+ * change it without affecting the stored snapshot. This class is thread-safe.
+ */
+public final class InMemorySnapshotStore implements SnapshotStore {
+
+    private final Map<String, StoredSnapshot> snapshots;
+
+    private final SerializerRegistry serRegistry;
+
+    private final DeserializerRegistry desRegistry;
+
+    /**
+     * Constructor with all mandatory data.
+     *
+     * @param serRegistry Registry used to locate serializers.
+     * @param desRegistry Registry used to locate deserializers.
+     */
+    public InMemorySnapshotStore(@NotNull final SerializerRegistry serRegistry,
+                                 @NotNull final DeserializerRegistry desRegistry) {
+        super();
+        Contract.requireArgNotNull("serRegistry", serRegistry);
+        Contract.requireArgNotNull("desRegistry", desRegistry);
+        this.snapshots = new ConcurrentHashMap<>();
+        this.serRegistry = serRegistry;
+        this.desRegistry = desRegistry;
+    }
+
+    @Override
+    public void saveSnapshot(@NotNull final Snapshot snapshot) {
+        Contract.requireArgNotNull("snapshot", snapshot);
+        final SerializedDataType serDataType = new SerializedDataType(snapshot.getDataType().asBaseType());
+        final SerializedData data = EscSpiUtils.serialize(serRegistry, serDataType, snapshot.getData());
+        snapshots.put(snapshot.getStreamId().asString(),
+                new StoredSnapshot(snapshot.getVersion(), snapshot.getDataType(), data));
+    }
+
+    @Override
+    @Nullable
+    public Snapshot loadSnapshot(@NotNull final StreamId streamId) {
+        Contract.requireArgNotNull("streamId", streamId);
+        final StoredSnapshot stored = snapshots.get(streamId.asString());
+        if (stored == null) {
+            return null;
+        }
+        return new Snapshot(streamId, stored.version(), stored.dataType(),
+                EscSpiUtils.deserialize(desRegistry, stored.data()));
+    }
+
+    @Override
+    public void deleteSnapshot(@NotNull final StreamId streamId) {
+        Contract.requireArgNotNull("streamId", streamId);
+        snapshots.remove(streamId.asString());
+    }
+
+    /**
+     * Serialized snapshot.
+     *
+     * @param version  Number of the last event contained in the state.
+     * @param dataType Unique name of the type of the state.
+     * @param data     Serialized state.
+     */
+    private record StoredSnapshot(long version, TypeName dataType, SerializedData data) {
+    }
+
+}
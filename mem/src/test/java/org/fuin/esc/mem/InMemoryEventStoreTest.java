@@ -18,6 +18,7 @@
 package org.fuin.esc.mem;
 
 import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.AdaptiveChunkSize;
 import org.fuin.esc.api.CommonEvent;
 import org.fuin.esc.api.EscApiUtils;
 import org.fuin.esc.api.EventId;
@@ -34,10 +35,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -96,6 +100,52 @@ public class InMemoryEventStoreTest {
 
     }
 
+    @Test
+    public void testStreamAllEventsForward() {
+
+        // PREPARE
+        final StreamId streamId = new SimpleStreamId("MyStream");
+        final CommonEvent eventOne = event("One");
+        final CommonEvent eventTwo = event("Two");
+        final CommonEvent eventThree = event("Three");
+        testee.appendToStream(streamId, ExpectedVersion.NO_OR_EMPTY_STREAM.getNo(), eventOne, eventTwo, eventThree);
+
+        // TEST
+        final List<CommonEvent> events;
+        try (final Stream<CommonEvent> stream = testee.streamAllEventsForward(streamId, 0, 2)) {
+            events = stream.toList();
+        }
+
+        // VERIFY
+        assertThat(events).containsExactly(eventOne, eventTwo, eventThree);
+        try (final Stream<CommonEvent> stream = testee.streamAllEventsForward(new SimpleStreamId("Unknown"), 0, 2)) {
+            assertThat(stream).isEmpty();
+        }
+
+    }
+
+    @Test
+    public void testReadAllEventsForwardAdaptive() {
+
+        // PREPARE
+        final StreamId streamId = new SimpleStreamId("MyStream");
+        final CommonEvent eventOne = event("One");
+        final CommonEvent eventTwo = event("Two");
+        final CommonEvent eventThree = event("Three");
+        testee.appendToStream(streamId, ExpectedVersion.NO_OR_EMPTY_STREAM.getNo(), eventOne, eventTwo, eventThree);
+        final List<StreamEventsSlice> slices = new ArrayList<>();
+
+        // TEST
+        testee.readAllEventsForward(streamId, 0, new AdaptiveChunkSize(1, 10, 1024, Duration.ofSeconds(10)),
+                slices::add);
+
+        // VERIFY
+        assertThat(slices).hasSize(2);
+        assertThat(slices.get(0).getEvents()).containsExactly(eventOne);
+        assertThat(slices.get(1).getEvents()).containsExactly(eventTwo, eventThree);
+
+    }
+
     @Test
     public void testReadEventsBackward() {
 
@@ -0,0 +1,170 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.mem;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.EventId;
+import org.fuin.esc.api.ExpectedVersion;
+import org.fuin.esc.api.SerDeserializer;
+import org.fuin.esc.api.SerializedDataType;
+import org.fuin.esc.api.SimpleCommonEvent;
+import org.fuin.esc.api.SimpleSerializerDeserializerRegistry;
+import org.fuin.esc.api.SimpleStreamId;
+import org.fuin.esc.api.Snapshot;
+import org.fuin.esc.api.SnapshotLoader;
+import org.fuin.esc.api.StreamId;
+import org.fuin.esc.api.TypeName;
+import org.fuin.esc.spi.TextDeSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link InMemorySnapshotStore} class.
+ */
+public class InMemorySnapshotStoreTest {
+
+    private static final StreamId STREAM_ID = new SimpleStreamId("MyStream");
+
+    private static final TypeName STATE_TYPE = new TypeName("MyState");
+
+    private static final TypeName BUILDER_TYPE = new TypeName("MyBuilderState");
+
+    private SimpleSerializerDeserializerRegistry registry;
+
+    @BeforeEach
+    public void setup() {
+        final TextDeSerializer textDeSer = new TextDeSerializer();
+        final StringBuilderSerDeserializer builderDeSer = new StringBuilderSerDeserializer();
+        registry = new SimpleSerializerDeserializerRegistry.Builder(textDeSer.getMimeType())
+                .add(new SerializedDataType(STATE_TYPE.asBaseType()), textDeSer, textDeSer.getMimeType())
+                .add(new SerializedDataType(BUILDER_TYPE.asBaseType()), builderDeSer, builderDeSer.getMimeType())
+                .build();
+    }
+
+    @Test
+    public void testSaveLoadDelete() {
+
+        // PREPARE
+        final InMemorySnapshotStore testee = new InMemorySnapshotStore(registry, registry);
+        final Snapshot first = new Snapshot(STREAM_ID, 1, STATE_TYPE, "first");
+        final Snapshot second = new Snapshot(STREAM_ID, 2, STATE_TYPE, "second");
+
+        // TEST & VERIFY
+        assertThat(testee.loadSnapshot(STREAM_ID)).isNull();
+        testee.saveSnapshot(first);
+        assertThat(testee.loadSnapshot(new SimpleStreamId("MyStream"))).isEqualTo(first);
+        testee.saveSnapshot(second);
+        assertThat(testee.loadSnapshot(STREAM_ID)).isEqualTo(second);
+        testee.deleteSnapshot(STREAM_ID);
+        assertThat(testee.loadSnapshot(STREAM_ID)).isNull();
+
+    }
+
+    @Test
+    public void testSnapshotLoader() {
+
+        // PREPARE
+        final InMemoryEventStore eventStore = new InMemoryEventStore(Executors.newCachedThreadPool());
+        eventStore.open();
+        final InMemorySnapshotStore testee = new InMemorySnapshotStore(registry, registry);
+        final SnapshotLoader loader = new SnapshotLoader(eventStore, testee, 2, 3);
+        for (int i = 0; i < 5; i++) {
+            eventStore.appendToStream(STREAM_ID,
+                    new SimpleCommonEvent(new EventId(), new TypeName("MyEvent"), String.valueOf(i)));
+        }
+
+        // TEST
+        final Snapshot loaded = loader.load(STREAM_ID, STATE_TYPE, () -> "",
+                (state, event) -> state + event.getData());
+
+        // VERIFY
+        assertThat(loaded.getVersion()).isEqualTo(4);
+        assertThat(loaded.getData()).isEqualTo("01234");
+        assertThat(testee.loadSnapshot(STREAM_ID)).isEqualTo(loaded);
+        assertThat(loader.load(new SimpleStreamId("Unknown"), STATE_TYPE, () -> "",
+                (state, event) -> state + event.getData()).getVersion())
+                .isEqualTo(ExpectedVersion.NO_OR_EMPTY_STREAM.getNo());
+
+        eventStore.close();
+
+    }
+
+    @Test
+    public void testMutatingApplier() {
+
+        // PREPARE
+        final InMemoryEventStore eventStore = new InMemoryEventStore(Executors.newCachedThreadPool());
+        eventStore.open();
+        final InMemorySnapshotStore testee = new InMemorySnapshotStore(registry, registry);
+        final SnapshotLoader loader = new SnapshotLoader(eventStore, testee, 2, 2);
+        for (int i = 0; i < 3; i++) {
+            eventStore.appendToStream(STREAM_ID,
+                    new SimpleCommonEvent(new EventId(), new TypeName("MyEvent"), String.valueOf(i)));
+        }
+
+        // TEST
+        final Snapshot first = loader.load(STREAM_ID, BUILDER_TYPE, StringBuilder::new,
+                (state, event) -> state.append(event.getData()));
+        ((StringBuilder) first.getData()).append("changed by caller");
+        eventStore.appendToStream(STREAM_ID, new SimpleCommonEvent(new EventId(), new TypeName("MyEvent"), "3"));
+        final Snapshot second = loader.load(STREAM_ID, BUILDER_TYPE, StringBuilder::new,
+                (state, event) -> state.append(event.getData()));
+
+        // VERIFY
+        assertThat(second.getVersion()).isEqualTo(3);
+        assertThat(second.getData()).hasToString("0123");
+        assertThat(second.getData()).isNotSameAs(first.getData());
+        assertThat(testee.loadSnapshot(STREAM_ID).getData()).hasToString("012");
+
+        eventStore.close();
+
+    }
+
+    /**
+     * Serializes a mutable {@link StringBuilder} as text.
+     */
+    private static final class StringBuilderSerDeserializer implements SerDeserializer {
+
+        private final TextDeSerializer text = new TextDeSerializer();
+
+        @Override
+        public EnhancedMimeType getMimeType() {
+            return text.getMimeType();
+        }
+
+        @Override
+        public byte[] marshal(@NotNull final Object obj, @NotNull final SerializedDataType type) {
+            return obj.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T unmarshal(@NotNull final Object data, @NotNull final SerializedDataType type,
+                               @NotNull final EnhancedMimeType mimeType) {
+            return (T) new StringBuilder(text.<String>unmarshal(data, type, mimeType));
+        }
+
+    }
+
+}
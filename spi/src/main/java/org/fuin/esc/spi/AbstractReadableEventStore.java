@@ -17,13 +17,22 @@
  */
 package org.fuin.esc.spi;
 
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.AdaptiveChunkSize;
+import org.fuin.esc.api.CommonEvent;
 import org.fuin.esc.api.ReadableEventStore;
 import org.fuin.esc.api.StreamEventsSlice;
 import org.fuin.esc.api.StreamId;
-import org.fuin.esc.api.StreamNotFoundException;
+import org.fuin.objects4j.common.Contract;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Provides some basic functionality for event store implementations.
  */
@@ -37,27 +46,87 @@ public abstract class AbstractReadableEventStore implements ReadableEventStore {
                                            final long startingAtEventNumber, final int chunkSize,
                                            final ChunkEventHandler handler) {
 
-        long sliceStart = startingAtEventNumber;
-        StreamEventsSlice currentSlice;
-        do {
-            try {
-                LOG.debug(
-                        "Read slice: streamId={}, sliceStart={}, sliceCount={}",
-                        streamId, sliceStart, chunkSize);
-                currentSlice = readEventsForward(streamId, sliceStart,
-                        chunkSize);
-                LOG.debug("Result slice: {}", currentSlice);
-            } catch (final StreamNotFoundException ex) {
-                // Nothing to read
-                LOG.debug(ex.getMessage());
-                break;
+        try (final PrefetchingSliceIterator slices = slices(streamId, startingAtEventNumber, chunkSize)) {
+            while (slices.hasNext()) {
+                handler.handle(slices.next());
             }
-            if (!currentSlice.getEvents().isEmpty()) {
-                handler.handle(currentSlice);
+        }
+
+    }
+
+    @Override
+    public final void readAllEventsForward(@NotNull final StreamId streamId,
+                                           final long startingAtEventNumber,
+                                           @NotNull final AdaptiveChunkSize chunkSize,
+                                           @NotNull final ChunkEventHandler handler) {
+
+        Contract.requireArgNotNull("chunkSize", chunkSize);
+        Contract.requireArgNotNull("handler", handler);
+
+        try (final PrefetchingSliceIterator slices = new PrefetchingSliceIterator(sliceStart -> {
+            final int count = chunkSize.getChunkSize();
+            LOG.debug("Read slice: streamId={}, sliceStart={}, sliceCount={}", streamId, sliceStart, count);
+            final long started = System.nanoTime();
+            return readEventsForwardAsync(streamId, sliceStart, count).thenApply(slice -> {
+                chunkSize.update(slice.getEvents().size(), slice.getSizeInBytes(), System.nanoTime() - started);
+                return slice;
+            });
+        }, startingAtEventNumber, getPrefetchDepth())) {
+            while (slices.hasNext()) {
+                handler.handle(slices.next());
             }
-            sliceStart = currentSlice.getNextEventNumber();
-        } while (!currentSlice.isEndOfStream());
+        }
+
+    }
+
+    @Override
+    public final Stream<CommonEvent> streamAllEventsForward(final StreamId streamId,
+                                                            final long startingAtEventNumber,
+                                                            final int chunkSize) {
+
+        final PrefetchingSliceIterator slices = slices(streamId, startingAtEventNumber, chunkSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(slices,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(slices::close)
+                .flatMap(slice -> slice.getEvents().stream());
+
+    }
+
+    /**
+     * Reads a slice of events asynchronously. The default implementation reads synchronously in the calling thread,
+     * as not all event stores are thread-safe. Implementations that support concurrent reads should
+     * override this method together with {@link #getPrefetchDepth()}.
+     *
+     * @param streamId
+     *            The stream to read from.
+     * @param start
+     *            The starting point to read from.
+     * @param count
+     *            The count of items to read.
+     *
+     * @return Future with the slice read from the stream.
+     */
+    protected CompletableFuture<StreamEventsSlice> readEventsForwardAsync(final StreamId streamId,
+                                                                          final long start, final int count) {
+        return CompletableFuture.completedFuture(readEventsForward(streamId, start, count));
+    }
+
+    /**
+     * Returns the number of slices that are read in advance while the current one is processed. The default is
+     * zero as the default {@link #readEventsForwardAsync(StreamId, long, int)} is synchronous.
+     *
+     * @return Maximum number of slices read ahead.
+     */
+    protected int getPrefetchDepth() {
+        return 0;
+    }
 
+    private PrefetchingSliceIterator slices(final StreamId streamId, final long startingAtEventNumber,
+                                            final int chunkSize) {
+        return new PrefetchingSliceIterator(sliceStart -> {
+            LOG.debug("Read slice: streamId={}, sliceStart={}, sliceCount={}", streamId, sliceStart, chunkSize);
+            return readEventsForwardAsync(streamId, sliceStart, chunkSize);
+        }, startingAtEventNumber, getPrefetchDepth());
     }
 
 }
@@ -25,9 +25,11 @@ import org.fuin.esc.api.DeserializerRegistry;
 import org.fuin.esc.api.EnhancedMimeType;
 import org.fuin.esc.api.IBaseTypeFactory;
 import org.fuin.esc.api.IEscMeta;
+import org.fuin.esc.api.PooledByteArrayOutputStream;
 import org.fuin.esc.api.SerializedDataType;
 import org.fuin.esc.api.Serializer;
 import org.fuin.esc.api.SerializerRegistry;
+import org.fuin.esc.api.TransferEncoding;
 import org.fuin.objects4j.common.Contract;
 
 import java.util.Arrays;
@@ -69,7 +71,40 @@ public final class EscSpiUtils {
         Contract.requireArgNotNull("type", type);
 
         final Serializer serializer = registry.getSerializer(type);
-        return new SerializedData(type, serializer.getMimeType(), serializer.marshal(data, type));
+        return new SerializedData(type, serializer.getMimeType(), marshal(serializer, data, type));
+    }
+
+    /**
+     * Serializes an object into a buffer of the current thread and copies the result once into a new array. This
+     * avoids growing a new buffer for every object if the serializer writes directly into a stream. Other
+     * serializers already create an array that is returned as is.
+     *
+     * @param serializer
+     *            Serializer to use.
+     * @param data
+     *            Object to serialize.
+     * @param type
+     *            Type of the object.
+     *
+     * @return Serialized object.
+     */
+    @NotNull
+    public static byte[] marshal(@NotNull final Serializer serializer, @NotNull final Object data,
+                                 @NotNull final SerializedDataType type) {
+        Contract.requireArgNotNull("serializer", serializer);
+        Contract.requireArgNotNull("data", data);
+        Contract.requireArgNotNull("type", type);
+
+        if (!serializer.writesStream()) {
+            return serializer.marshal(data, type);
+        }
+        final PooledByteArrayOutputStream out = PooledByteArrayOutputStream.acquire();
+        try {
+            serializer.marshal(data, type, out);
+            return out.toByteArray();
+        } finally {
+            out.release();
+        }
     }
 
     /**
@@ -220,17 +255,46 @@ public final class EscSpiUtils {
             return baseTypeFactory.createEscMeta(dataType, dataContentType, metaType, metaSerializer.getMimeType(), commonEvent.getMeta());
         }
 
-        final byte[] serMeta = metaSerializer.marshal(commonEvent.getMeta(), serDataType);
+        final byte[] serMeta = marshal(metaSerializer, commonEvent.getMeta(), serDataType);
         final EnhancedMimeType metaContentType = contentType(metaSerializer.getMimeType(), targetContentType);
         return baseTypeFactory.createEscMeta(dataType, dataContentType, metaType, metaContentType, baseTypeFactory.createBase64Data(serMeta));
 
     }
 
-    private static EnhancedMimeType contentType(final EnhancedMimeType sourceContentType, final EnhancedMimeType targetContentType) {
+    /**
+     * Returns the content type used in the meta information for data of a given type that is embedded into an
+     * envelope with the target content type.
+     *
+     * @param sourceContentType
+     *            Content type of the serialized data.
+     * @param targetContentType
+     *            Content type of the envelope.
+     *
+     * @return Source content type if the encoding matches the target, else the source with base64 transfer encoding.
+     */
+    public static EnhancedMimeType contentType(@NotNull final EnhancedMimeType sourceContentType,
+                                               @NotNull final EnhancedMimeType targetContentType) {
         if (sourceContentType.matchEncoding(targetContentType)) {
             return sourceContentType;
         }
-        return EnhancedMimeType.create(sourceContentType + "; transfer-encoding=base64");
+        return contentType(sourceContentType, TransferEncoding.BASE64);
+    }
+
+    /**
+     * Returns the content type used in the meta information for data of a given type that is embedded into an
+     * envelope with a transfer encoding.
+     *
+     * @param sourceContentType
+     *            Content type of the serialized data.
+     * @param transferEncoding
+     *            Transfer encoding used to embed the data.
+     *
+     * @return Source content type with the transfer encoding.
+     */
+    public static EnhancedMimeType contentType(@NotNull final EnhancedMimeType sourceContentType,
+                                               @NotNull final TransferEncoding transferEncoding) {
+        return EnhancedMimeType.create(sourceContentType + "; " + TransferEncoding.PARAMETER + "="
+                + transferEncoding.getName());
     }
 
 }
@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.spi;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.esc.api.StreamEventsSlice;
+import org.fuin.esc.api.StreamNotFoundException;
+import org.fuin.objects4j.common.Contract;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongFunction;
+
+/**
+ * Iterates over the non-empty slices of a stream in forward direction. Up to a given number of slices are requested
+ * in advance, so reading the next slices overlaps with processing the current one if the reader works
+ * asynchronously. A stream that does not exist has no slices. This class is not thread-safe.
+ */
+final class PrefetchingSliceIterator implements Iterator<StreamEventsSlice>, AutoCloseable {
+
+    private final LongFunction<CompletableFuture<StreamEventsSlice>> reader;
+
+    private final long start;
+
+    private final int prefetchDepth;
+
+    private final Deque<CompletableFuture<StreamEventsSlice>> prefetched;
+
+    private CompletableFuture<StreamEventsSlice> last;
+
+    private StreamEventsSlice next;
+
+    private boolean done;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param reader        Reads a slice starting with the given event number.
+     * @param start         Number of the first event to read.
+     * @param prefetchDepth Number of slices to request in advance (0 = Read a slice only when it's needed).
+     */
+    PrefetchingSliceIterator(@NotNull final LongFunction<CompletableFuture<StreamEventsSlice>> reader,
+                             final long start, final int prefetchDepth) {
+        super();
+        Contract.requireArgNotNull("reader", reader);
+        Contract.requireArgMin("start", start, 0);
+        Contract.requireArgMin("prefetchDepth", prefetchDepth, 0);
+        this.reader = reader;
+        this.start = start;
+        this.prefetchDepth = prefetchDepth;
+        this.prefetched = new ArrayDeque<>();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !done) {
+            final StreamEventsSlice slice = take();
+            if (slice == null) {
+                close();
+            } else {
+                if (slice.isEndOfStream()) {
+                    close();
+                }
+                if (!slice.getEvents().isEmpty()) {
+                    next = slice;
+                }
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public StreamEventsSlice next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final StreamEventsSlice slice = next;
+        next = null;
+        return slice;
+    }
+
+    /**
+     * Stops reading. Slices that were already requested are ignored.
+     */
+    @Override
+    public void close() {
+        done = true;
+        for (final CompletableFuture<StreamEventsSlice> future : prefetched) {
+            future.cancel(false);
+        }
+        prefetched.clear();
+    }
+
+    private StreamEventsSlice take() {
+        final CompletableFuture<StreamEventsSlice> future;
+        if (prefetched.isEmpty()) {
+            future = nextLink();
+        } else {
+            future = prefetched.poll();
+        }
+        while (prefetched.size() < prefetchDepth) {
+            prefetched.add(nextLink());
+        }
+        try {
+            return future.join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof StreamNotFoundException) {
+                // Nothing to read
+                return null;
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private CompletableFuture<StreamEventsSlice> nextLink() {
+        if (last == null) {
+            last = read(start);
+        } else {
+            last = last.thenCompose(slice -> {
+                if (slice == null || slice.isEndOfStream()) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                return read(slice.getNextEventNumber());
+            });
+        }
+        return last;
+    }
+
+    private CompletableFuture<StreamEventsSlice> read(final long sliceStart) {
+        try {
+            return reader.apply(sliceStart);
+        } catch (final RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+}
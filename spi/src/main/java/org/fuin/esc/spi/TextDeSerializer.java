@@ -19,6 +19,7 @@ package org.fuin.esc.spi;
 
 import jakarta.validation.constraints.NotNull;
 import org.fuin.esc.api.EnhancedMimeType;
+import org.fuin.esc.api.EscJfrEvents;
 import org.fuin.esc.api.SerDeserializer;
 import org.fuin.esc.api.SerializedDataType;
 
@@ -61,7 +62,10 @@ public final class TextDeSerializer implements SerDeserializer {
             throw new IllegalArgumentException("Can only handle instances of type 'String', but not: "
                     + obj.getClass());
         }
-        return str.getBytes(mimeType.getEncoding());
+        final EscJfrEvents.Serialize event = EscJfrEvents.Serialize.start();
+        final byte[] result = str.getBytes(mimeType.getEncoding());
+        event.complete(type, mimeType, result);
+        return result;
     }
 
     @SuppressWarnings("unchecked")
@@ -69,7 +73,10 @@ public final class TextDeSerializer implements SerDeserializer {
     public <T> T unmarshal(@NotNull final Object data, @NotNull final SerializedDataType type, @NotNull final EnhancedMimeType mimeType) {
 
         if (data instanceof byte[]) {
-            return (T) new String((byte[]) data, mimeType.getEncoding());
+            final EscJfrEvents.Deserialize event = EscJfrEvents.Deserialize.start();
+            final T result = (T) new String((byte[]) data, mimeType.getEncoding());
+            event.complete(type, mimeType, data);
+            return result;
         }
         if (data instanceof String) {
             // Simply return it
@@ -80,4 +87,9 @@ public final class TextDeSerializer implements SerDeserializer {
 
     }
 
+    @Override
+    public boolean supports(@NotNull final Class<?> dataClass) {
+        return byte[].class.equals(dataClass) || String.class.equals(dataClass);
+    }
+
 }
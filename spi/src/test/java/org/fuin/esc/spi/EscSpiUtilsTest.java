@@ -30,10 +30,12 @@ import org.fuin.esc.api.Serializer;
 import org.fuin.esc.api.SerializerRegistry;
 import org.fuin.esc.api.SimpleCommonEvent;
 import org.fuin.esc.api.SimpleSerializerDeserializerRegistry;
+import org.fuin.esc.api.TransferEncoding;
 import org.fuin.esc.api.TypeName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -107,6 +109,55 @@ public class EscSpiUtilsTest {
 
     }
 
+    @Test
+    public void testMarshal() {
+
+        // PREPARE
+        final SerializedDataType type = new SerializedDataType("whatever");
+        final Serializer serializer = dummySerializer("text/plain");
+
+        // TEST
+        final byte[] first = EscSpiUtils.marshal(serializer, "One", type);
+        final byte[] second = EscSpiUtils.marshal(serializer, "Two", type);
+
+        // VERIFY
+        assertThat(first).isEqualTo("One".getBytes());
+        assertThat(second).isEqualTo("Two".getBytes());
+
+    }
+
+    @Test
+    public void testMarshalWithoutStream() {
+
+        // PREPARE
+        final SerializedDataType type = new SerializedDataType("whatever");
+        final byte[] data = "One".getBytes();
+        final Serializer serializer = new Serializer() {
+            @Override
+            public EnhancedMimeType getMimeType() {
+                return EnhancedMimeType.create("text/plain");
+            }
+
+            @Override
+            public <T> byte[] marshal(final T obj, final SerializedDataType type) {
+                return data;
+            }
+
+            @Override
+            public <T> void marshal(final T obj, final SerializedDataType type, final OutputStream out) {
+                throw new UnsupportedOperationException("Stream should not be used");
+            }
+        };
+
+        // TEST
+        final byte[] result = EscSpiUtils.marshal(serializer, "One", type);
+
+        // VERIFY
+        assertThat(serializer.writesStream()).isFalse();
+        assertThat(result).isSameAs(data);
+
+    }
+
     @Test
     public void testSerializeNoSerializerFound() {
 
@@ -228,6 +279,24 @@ public class EscSpiUtilsTest {
 
     }
 
+    @Test
+    public void testContentType() {
+
+        // PREPARE
+        final EnhancedMimeType xml = EnhancedMimeType.create("application/xml; encoding=UTF-8");
+        final EnhancedMimeType json = EnhancedMimeType.create("application/json; encoding=UTF-8");
+
+        // TEST & VERIFY
+        assertThat(EscSpiUtils.contentType(xml, xml)).isSameAs(xml);
+        assertThat(EscSpiUtils.contentType(json, xml))
+                .hasToString("application/json; transfer-encoding=base64; encoding=UTF-8");
+        assertThat(EscSpiUtils.contentType(xml, TransferEncoding.GZIP_BASE64))
+                .hasToString("application/xml; transfer-encoding=gzip+base64; encoding=UTF-8");
+        assertThat(TransferEncoding.of(EscSpiUtils.contentType(json, TransferEncoding.GZIP_BASE64)))
+                .isEqualTo(TransferEncoding.GZIP_BASE64);
+
+    }
+
     private EnhancedMimeType mimeType(String str) {
         try {
             return new EnhancedMimeType(str);
@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ * <p>
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.esc.spi;
+
+import org.fuin.esc.api.CommonEvent;
+import org.fuin.esc.api.EventId;
+import org.fuin.esc.api.SimpleCommonEvent;
+import org.fuin.esc.api.SimpleStreamId;
+import org.fuin.esc.api.StreamDeletedException;
+import org.fuin.esc.api.StreamEventsSlice;
+import org.fuin.esc.api.StreamNotFoundException;
+import org.fuin.esc.api.TypeName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the {@link PrefetchingSliceIterator} class.
+ */
+public class PrefetchingSliceIteratorTest {
+
+    private static final SimpleStreamId STREAM_ID = new SimpleStreamId("MyStream");
+
+    @Test
+    public void testIterateWithoutPrefetch() {
+
+        // PREPARE
+        final FakeStream stream = new FakeStream(5, 2);
+        final PrefetchingSliceIterator testee = new PrefetchingSliceIterator(stream, 0, 0);
+
+        // TEST
+        final List<Long> starts = new ArrayList<>();
+        while (testee.hasNext()) {
+            starts.add(testee.next().getFromEventNumber());
+            // Nothing is read in advance
+            assertThat(stream.requests).hasSize(starts.size());
+        }
+
+        // VERIFY
+        assertThat(starts).containsExactly(0L, 2L, 4L);
+        assertThat(stream.requests).containsExactly(0L, 2L, 4L);
+
+    }
+
+    @Test
+    public void testIterateWithPrefetch() {
+
+        // PREPARE
+        final FakeStream stream = new FakeStream(10, 2);
+        final PrefetchingSliceIterator testee = new PrefetchingSliceIterator(stream, 0, 2);
+
+        // TEST
+        assertThat(testee.hasNext()).isTrue();
+        final StreamEventsSlice first = testee.next();
+
+        // VERIFY
+        assertThat(first.getFromEventNumber()).isEqualTo(0L);
+        // Current slice and two more read in advance
+        assertThat(stream.requests).containsExactly(0L, 2L, 4L);
+
+    }
+
+    @Test
+    public void testNothingReadBeforeFirstAccess() {
+
+        // PREPARE
+        final FakeStream stream = new FakeStream(10, 2);
+
+        // TEST
+        final PrefetchingSliceIterator testee = new PrefetchingSliceIterator(stream, 0, 2);
+
+        // VERIFY
+        assertThat(stream.requests).isEmpty();
+        assertThat(testee.hasNext()).isTrue();
+        assertThat(stream.requests).isNotEmpty();
+
+    }
+
+    @Test
+    public void testSkipEmptySlices() {
+
+        // PREPARE
+        final PrefetchingSliceIterator testee = new PrefetchingSliceIterator(start -> {
+            if (start == 0) {
+                return CompletableFuture.completedFuture(new StreamEventsSlice(0, List.of(), 3, false));
+            }
+            return CompletableFuture.completedFuture(slice(start, 1, true));
+        }, 0, 1);
+
+        // TEST & VERIFY
+        assertThat(testee.hasNext()).isTrue();
+        assertThat(testee.next().getFromEventNumber()).isEqualTo(3L);
+        assertThat(testee.hasNext()).isFalse();
+        assertThatThrownBy(testee::next).isInstanceOf(NoSuchElementException.class);
+
+    }
+
+    @Test
+    public void testStreamNotFound() {
+
+        // PREPARE
+        final PrefetchingSliceIterator testee = new PrefetchingSliceIterator(start -> {
+            throw new StreamNotFoundException(STREAM_ID);
+        }, 0, 1);
+
+        // TEST & VERIFY
+        assertThat(testee.hasNext()).isFalse();
+
+    }
+
+    @Test
+    public void testFailedRead() {
+
+        // PREPARE
+        final PrefetchingSliceIterator testee = new PrefetchingSliceIterator(
+                start -> CompletableFuture.failedFuture(new StreamDeletedException(STREAM_ID)), 0, 1);
+
+        // TEST & VERIFY
+        assertThatThrownBy(testee::hasNext).isInstanceOf(StreamDeletedException.class);
+
+    }
+
+    @Test
+    public void testClose() {
+
+        // PREPARE
+        final FakeStream stream = new FakeStream(10, 2);
+        final PrefetchingSliceIterator testee = new PrefetchingSliceIterator(stream, 0, 1);
+        assertThat(testee.hasNext()).isTrue();
+        testee.next();
+
+        // TEST
+        testee.close();
+
+        // VERIFY
+        assertThat(testee.hasNext()).isFalse();
+        assertThat(stream.requests).containsExactly(0L, 2L);
+
+    }
+
+    private static StreamEventsSlice slice(final long start, final int count, final boolean endOfStream) {
+        final List<CommonEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(new SimpleCommonEvent(new EventId(), new TypeName("MyEvent"), "Event " + (start + i)));
+        }
+        return new StreamEventsSlice(start, events, start + count, endOfStream);
+    }
+
+    /**
+     * Stream with a given number of events that completes all reads immediately.
+     */
+    private static final class FakeStream implements LongFunction<CompletableFuture<StreamEventsSlice>> {
+
+        private final int size;
+
+        private final int count;
+
+        private final List<Long> requests = new ArrayList<>();
+
+        FakeStream(final int size, final int count) {
+            this.size = size;
+            this.count = count;
+        }
+
+        @Override
+        public CompletableFuture<StreamEventsSlice> apply(final long start) {
+            requests.add(start);
+            final int n = (int) Math.min(count, size - start);
+            return CompletableFuture.completedFuture(slice(start, n, count > n));
+        }
+
+    }
+
+}
@@ -87,5 +87,14 @@ public class TextDeSerializerTest {
 
     }
 
-}
+    @Test
+    public void testSupports() {
+
+        // TEST & VERIFY
+        assertThat(testee.supports(byte[].class)).isTrue();
+        assertThat(testee.supports(String.class)).isTrue();
+        assertThat(testee.supports(Integer.class)).isFalse();
 
+    }
+
+}